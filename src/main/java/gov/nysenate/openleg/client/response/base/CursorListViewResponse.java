@@ -0,0 +1,73 @@
+package gov.nysenate.openleg.client.response.base;
+
+import com.google.common.collect.Range;
+import gov.nysenate.openleg.client.view.base.ListView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
+import gov.nysenate.openleg.util.DateUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A list response that is paginated with a cursor rather than an offset. The total number of results is not
+ * known; instead the response contains the cursor that will retrieve the next page, if there is one.
+ */
+public class CursorListViewResponse<ViewType> extends BaseResponse
+{
+    protected ListView<ViewType> result;
+    protected LocalDateTime fromDateTime;
+    protected LocalDateTime toDateTime;
+    protected int limit;
+    protected String nextCursor;
+
+    protected CursorListViewResponse(ListView<ViewType> result, Range<LocalDateTime> dateTimeRange, int limit,
+                                     Optional<UpdateCursor> nextCursor) {
+        this.result = result;
+        this.fromDateTime = DateUtils.startOfDateTimeRange(dateTimeRange);
+        this.toDateTime = DateUtils.endOfDateTimeRange(dateTimeRange);
+        this.limit = limit;
+        this.nextCursor = nextCursor.map(UpdateCursor::encode).orElse(null);
+        if (result != null) {
+            success = true;
+            this.responseType = result.getViewType();
+        }
+    }
+
+    /**
+     * Creates a response whose views are created from the given content as the response is written.
+     * @see ListView#ofMapped(List, Function)
+     */
+    public static <SourceType, ViewType extends ViewObject> CursorListViewResponse<ViewType> ofMapped(
+            List<SourceType> source, Function<? super SourceType, ViewType> viewMapper,
+            Range<LocalDateTime> dateTimeRange, int limit, Optional<UpdateCursor> nextCursor) {
+        return new CursorListViewResponse<>(ListView.ofMapped(source, viewMapper), dateTimeRange, limit, nextCursor);
+    }
+
+    public ListView<ViewType> getResult() {
+        return result;
+    }
+
+    public LocalDateTime getFromDateTime() {
+        return fromDateTime;
+    }
+
+    public LocalDateTime getToDateTime() {
+        return toDateTime;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /** @return String - Pass as the 'cursor' param to get the next page, null if this is the last page */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
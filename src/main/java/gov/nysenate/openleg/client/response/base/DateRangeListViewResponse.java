@@ -8,6 +8,7 @@ import gov.nysenate.openleg.util.DateUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 
 public class DateRangeListViewResponse<ViewType> extends ListViewResponse<ViewType>
 {
@@ -26,6 +27,16 @@ public class DateRangeListViewResponse<ViewType> extends ListViewResponse<ViewTy
         return new DateRangeListViewResponse<>(ListView.of(items), dateTimeRange, total, limitOffset);
     }
 
+    /**
+     * Creates a response whose views are created from the given content as the response is written.
+     * @see ListView#ofMapped(List, Function)
+     */
+    public static <SourceType, ViewType extends ViewObject> DateRangeListViewResponse<ViewType> ofMapped(
+        List<SourceType> source, Function<? super SourceType, ViewType> viewMapper,
+        Range<LocalDateTime> dateTimeRange, int total, LimitOffset limitOffset) {
+        return new DateRangeListViewResponse<>(ListView.ofMapped(source, viewMapper), dateTimeRange, total, limitOffset);
+    }
+
     public LocalDateTime getFromDateTime() {
         return fromDateTime;
     }
@@ -5,6 +5,7 @@ import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 
 import java.util.List;
+import java.util.function.Function;
 
 public class ListViewResponse<ViewType> extends PaginationResponse
 {
@@ -31,6 +32,15 @@ public class ListViewResponse<ViewType> extends PaginationResponse
         return new ListViewResponse<>(ListView.of(items), total, limitOffset);
     }
 
+    /**
+     * Creates a response whose views are created from the given content as the response is written.
+     * @see ListView#ofMapped(List, Function)
+     */
+    public static <SourceType, ViewType extends ViewObject> ListViewResponse<ViewType> ofMapped(
+            List<SourceType> source, Function<? super SourceType, ViewType> viewMapper, int total, LimitOffset limitOffset) {
+        return new ListViewResponse<>(ListView.ofMapped(source, viewMapper), total, limitOffset);
+    }
+
     public static ListViewResponse<String> ofStringList(List<String> items, int total, LimitOffset limitOffset) {
         return new ListViewResponse<>(ListView.ofStringList(items), total, limitOffset);
     }
@@ -25,6 +25,7 @@ public enum ErrorCode
 
     LAW_DOC_NOT_FOUND(21, "The requested law document was not found"),
     LAW_TREE_NOT_FOUND(22, "The requested law tree was not found"),
+    LAW_TEXT_STREAMS_BUSY(23, "Too many full law text requests are in progress, please retry shortly"),
 
     /** --- Spotcheck --- */
 
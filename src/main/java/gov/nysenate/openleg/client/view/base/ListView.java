@@ -1,16 +1,32 @@
 package gov.nysenate.openleg.client.view.base;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 
 import java.util.List;
+import java.util.function.Function;
 
 public class ListView<ViewType> implements ViewObject
 {
-    protected ImmutableList<ViewType> items;
+    protected List<ViewType> items;
 
     public static <ViewType extends ViewObject> ListView<ViewType> of(List<ViewType> items) {
         return new ListView<>(items);
     }
+    /**
+     * Creates a list view whose items are mapped from the source list on demand rather than up front.
+     * Each view is created as it is serialized, so the full list of views never has to be held in memory.
+     *
+     * @param source List<SourceType> - The content to create views from.
+     * @param viewMapper Function<SourceType, ViewType> - Creates a view for an item of content.
+     * @return ListView<ViewType>
+     */
+    public static <SourceType, ViewType extends ViewObject> ListView<ViewType> ofMapped(
+            List<SourceType> source, Function<? super SourceType, ViewType> viewMapper) {
+        ListView<ViewType> listView = new ListView<>();
+        listView.items = Lists.transform(ImmutableList.copyOf(source), viewMapper::apply);
+        return listView;
+    }
     public static ListView<String> ofStringList(List<String> items) {
         return new ListView<>(items);
     }
@@ -29,7 +45,7 @@ public class ListView<ViewType> implements ViewObject
         }
     }
 
-    public ImmutableList<ViewType> getItems() {
+    public List<ViewType> getItems() {
         return items;
     }
 
@@ -6,12 +6,13 @@ import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
-import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A BillView with some extra details.
@@ -30,15 +31,19 @@ public class DetailBillView extends BillView implements ViewObject
     public DetailBillView(Bill bill, BillDataService billDataService) {
         super(bill);
 
-        Map<String, BillInfoView> refs = new HashMap<>();
+        Set<BaseBillId> refIds = new LinkedHashSet<>();
         // Previous version refs
-        bill.getAllPreviousVersions().stream().forEach(billId -> addBillInfoRefToMap(billDataService, refs, billId));
+        bill.getAllPreviousVersions().stream().forEach(billId -> addBillIdRef(refIds, billId));
         // Same as refs from each amendment
         bill.getAmendmentList().stream().flatMap(a -> a.getSameAs().stream())
-            .forEach(billId -> addBillInfoRefToMap(billDataService, refs, billId));
+            .forEach(billId -> addBillIdRef(refIds, billId));
         // Substituted by ref
-        addBillInfoRefToMap(billDataService, refs, bill.getSubstitutedBy());
+        addBillIdRef(refIds, bill.getSubstitutedBy());
 
+        // Referenced bills that are not found are left out of the map
+        Map<String, BillInfoView> refs = new HashMap<>();
+        billDataService.getBillInfos(refIds)
+            .forEach(billInfo -> refs.put(BaseBillId.of(billInfo.getBillId()).toString(), new BillInfoView(billInfo)));
         this.billInfoRefs = MapView.of(refs);
     }
 
@@ -56,19 +61,11 @@ public class DetailBillView extends BillView implements ViewObject
     /** --- Internal --- */
 
     /**
-     * Checks if the supplied map has a key with the given bill id and associates a BillInfoView if found.
+     * Adds the base bill id of the given bill id to the set of referenced bills if it is not null.
      */
-    private void addBillInfoRefToMap(BillDataService billDataService, Map<String, BillInfoView> refs, BillId billId) {
+    private void addBillIdRef(Set<BaseBillId> refIds, BillId billId) {
         if (billId != null) {
-            BaseBillId baseBillId = BaseBillId.of(billId);
-            if (!refs.containsKey(baseBillId.toString())) {
-                try {
-                    refs.put(baseBillId.toString(), new BillInfoView(billDataService.getBillInfo(baseBillId)));
-                }
-                catch (BillNotFoundEx ex) {
-                    logger.trace("Bill reference not found while constructing detailed bill view", ex);
-                }
-            }
+            refIds.add(BaseBillId.of(billId));
         }
     }
 }
\ No newline at end of file
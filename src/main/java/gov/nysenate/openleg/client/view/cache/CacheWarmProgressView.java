@@ -0,0 +1,62 @@
+package gov.nysenate.openleg.client.view.cache;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.model.cache.CacheWarmProgressEvent;
+
+import java.time.LocalDateTime;
+
+public class CacheWarmProgressView implements ViewObject
+{
+    protected String cacheName;
+    protected int completed;
+    protected int total;
+    protected double percentComplete;
+    protected boolean done;
+    protected LocalDateTime startDateTime;
+    protected LocalDateTime updateDateTime;
+
+    public CacheWarmProgressView(CacheWarmProgressEvent progress) {
+        if (progress != null) {
+            this.cacheName = progress.getContentCache().name();
+            this.completed = progress.getCompleted();
+            this.total = progress.getTotal();
+            this.percentComplete = (total > 0) ? (100.0 * completed) / total : 100.0;
+            this.done = progress.isDone();
+            this.startDateTime = progress.getStartDateTime();
+            this.updateDateTime = progress.getUpdateDateTime();
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "cache-warm-progress";
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public double getPercentComplete() {
+        return percentComplete;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public LocalDateTime getUpdateDateTime() {
+        return updateDateTime;
+    }
+}
@@ -0,0 +1,28 @@
+package gov.nysenate.openleg.client.view.law;
+
+import gov.nysenate.openleg.model.law.LawTreeNode;
+
+/**
+ * A single law document within a bulk law export. The nodes are exported one per line in tree order without
+ * their children, so each one refers to its parent instead.
+ */
+public class LawNodeExportView extends LawNodeView
+{
+    protected String parentLocationId;
+
+    public LawNodeExportView(LawTreeNode treeNode, String text) {
+        super(treeNode, 0, documentId -> text);
+        if (treeNode != null && treeNode.getParent() != null) {
+            this.parentLocationId = treeNode.getParent().getLocationId();
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "law-node-export";
+    }
+
+    public String getParentLocationId() {
+        return parentLocationId;
+    }
+}
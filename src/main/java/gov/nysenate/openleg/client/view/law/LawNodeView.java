@@ -2,13 +2,13 @@ package gov.nysenate.openleg.client.view.law;
 
 import gov.nysenate.openleg.client.view.base.ListView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
-import gov.nysenate.openleg.model.law.LawDocument;
 import gov.nysenate.openleg.model.law.LawTreeNode;
 
 import java.time.LocalDate;
-import java.util.Map;
+import java.util.HashSet;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 public class LawNodeView extends LawDocInfoView implements ViewObject
 {
@@ -22,26 +22,43 @@ public class LawNodeView extends LawDocInfoView implements ViewObject
     protected ListView<LawNodeView> documents;
 
     public LawNodeView(LawTreeNode treeNode, Integer depth) {
-        this(treeNode, depth, null);
+        this(treeNode, depth, (Function<String, String>) null);
     }
 
-    public LawNodeView(LawTreeNode treeNode, Integer depth, Map<String, LawDocument> docMap) {
+    /**
+     * The child views are created as the view is serialized, so when a text lookup is given the text of each
+     * document is looked up in tree order.
+     *
+     * @param treeNode LawTreeNode
+     * @param depth Integer - Include child nodes up to this depth, null for the full depth
+     * @param textLookup Function<String, String> - Returns the text of a document by document id, null for no text.
+     */
+    public LawNodeView(LawTreeNode treeNode, Integer depth, Function<String, String> textLookup) {
         super((treeNode != null) ? treeNode.getLawDocInfo() : null);
         if (treeNode != null) {
             initFromLawTreeNode(treeNode);
-            this.text = (docMap != null && docMap.containsKey(treeNode.getDocumentId()))
-                ? docMap.get(treeNode.getDocumentId()).getText()
-                : null;
+            this.text = (textLookup != null) ? textLookup.apply(treeNode.getDocumentId()) : null;
             if (depth == null || depth > 0) {
                 final Integer childDepth = (depth != null) ? depth - 1 : null;
-                this.documents = ListView.of(
-                        treeNode.getChildNodeList().stream()
-                                .map(n -> new LawNodeView(n, childDepth, docMap))
-                                .collect(Collectors.toList()));
+                this.documents = ListView.ofMapped(treeNode.getChildNodeList(),
+                                                   n -> new LawNodeView(n, childDepth, textLookup));
             }
         }
     }
 
+    /**
+     * Returns the ids of the documents that are included in a view of the given node and depth.
+     *
+     * @param treeNode LawTreeNode
+     * @param depth Integer - Include child nodes up to this depth, null for the full depth
+     * @return Set<String>
+     */
+    public static Set<String> getDocumentIds(LawTreeNode treeNode, Integer depth) {
+        Set<String> documentIds = new HashSet<>();
+        addDocumentIds(treeNode, depth, documentIds);
+        return documentIds;
+    }
+
     private void initFromLawTreeNode(LawTreeNode treeNode) {
         this.sequenceNo = treeNode.getSequenceNo();
         this.repealedDate = treeNode.getRepealedDate();
@@ -52,6 +69,14 @@ public class LawNodeView extends LawDocInfoView implements ViewObject
         this.toSection = (toSection.isPresent()) ? toSection.get().getLocationId() : null;
     }
 
+    private static void addDocumentIds(LawTreeNode treeNode, Integer depth, Set<String> documentIds) {
+        documentIds.add(treeNode.getDocumentId());
+        if (depth == null || depth > 0) {
+            final Integer childDepth = (depth != null) ? depth - 1 : null;
+            treeNode.getChildNodeList().forEach(n -> addDocumentIds(n, childDepth, documentIds));
+        }
+    }
+
     @Override
     public String getViewType() {
         return "law-node";
@@ -1,15 +1,14 @@
 package gov.nysenate.openleg.client.view.law;
 
 import gov.nysenate.openleg.client.view.base.ViewObject;
-import gov.nysenate.openleg.model.law.LawDocument;
 import gov.nysenate.openleg.model.law.LawTree;
 import gov.nysenate.openleg.model.law.LawTreeNode;
 import gov.nysenate.openleg.service.law.data.LawDocumentNotFoundEx;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 public class LawTreeView implements ViewObject
 {
@@ -22,15 +21,21 @@ public class LawTreeView implements ViewObject
         this(lawTree, fromLocation, depth, null);
     }
 
-    public LawTreeView(LawTree lawTree, String fromLocation, Integer depth, Map<String, LawDocument> docMap) {
+    /**
+     * @param lawTree LawTree
+     * @param fromLocation String - Start the tree at the node with this location id, null for the root node
+     * @param depth Integer - Include child nodes up to this depth, null for the full depth
+     * @param textLookup Function<String, String> - Returns the text of a document by document id, null for no text.
+     */
+    public LawTreeView(LawTree lawTree, String fromLocation, Integer depth, Function<String, String> textLookup) {
         if (lawTree != null) {
             lawVersion = new LawVersionIdView(lawTree.getLawVersionId());
             info = new LawInfoView(lawTree.getLawInfo());
             publishedDates = lawTree.getPublishedDates();
             if (fromLocation != null && !fromLocation.isEmpty()) {
-                Optional<LawTreeNode> fromNode = lawTree.getRootNode().findNode(info.lawId + fromLocation, false);
+                Optional<LawTreeNode> fromNode = lawTree.find(info.lawId + fromLocation);
                 if (fromNode.isPresent()) {
-                    documents = new LawNodeView(fromNode.get(), depth, docMap);
+                    documents = new LawNodeView(fromNode.get(), depth, textLookup);
                 }
                 else {
                     throw new LawDocumentNotFoundEx(info.lawId, LocalDate.now(),
@@ -38,7 +43,7 @@ public class LawTreeView implements ViewObject
                 }
             }
             else {
-                documents = new LawNodeView(lawTree.getRootNode(), depth, docMap);
+                documents = new LawNodeView(lawTree.getRootNode(), depth, textLookup);
             }
         }
     }
@@ -0,0 +1,79 @@
+package gov.nysenate.openleg.client.view.process;
+
+import gov.nysenate.openleg.client.view.base.MapView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.model.process.DataProcessPipelineRun;
+
+import java.time.LocalDateTime;
+
+public class DataProcessPipelineRunView implements ViewObject
+{
+    protected String pipeline;
+    protected boolean skipped;
+    protected LocalDateTime queuedDateTime;
+    protected LocalDateTime startDateTime;
+    protected LocalDateTime endDateTime;
+    protected long waitMillis;
+    protected long processMillis;
+    protected MapView<String, Integer> collated;
+    protected MapView<String, Integer> ingested;
+
+    /** --- Constructors --- */
+
+    public DataProcessPipelineRunView(DataProcessPipelineRun pipelineRun) {
+        if (pipelineRun != null) {
+            this.pipeline = pipelineRun.getPipeline();
+            this.skipped = pipelineRun.isSkipped();
+            this.queuedDateTime = pipelineRun.getQueuedDateTime();
+            this.startDateTime = pipelineRun.getStartDateTime();
+            this.endDateTime = pipelineRun.getEndDateTime();
+            this.waitMillis = pipelineRun.getWaitDuration().toMillis();
+            this.processMillis = pipelineRun.getProcessDuration().toMillis();
+            this.collated = MapView.ofIntMap(pipelineRun.getCollatedCounts());
+            this.ingested = MapView.ofIntMap(pipelineRun.getIngestedCounts());
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "data-process-pipeline-run";
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getPipeline() {
+        return pipeline;
+    }
+
+    public boolean isSkipped() {
+        return skipped;
+    }
+
+    public LocalDateTime getQueuedDateTime() {
+        return queuedDateTime;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    public long getProcessMillis() {
+        return processMillis;
+    }
+
+    public MapView<String, Integer> getCollated() {
+        return collated;
+    }
+
+    public MapView<String, Integer> getIngested() {
+        return ingested;
+    }
+}
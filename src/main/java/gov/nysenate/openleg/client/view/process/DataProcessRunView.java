@@ -1,10 +1,13 @@
 package gov.nysenate.openleg.client.view.process;
 
+import gov.nysenate.openleg.client.view.base.ListView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.model.process.DataProcessRun;
 
 import java.time.LocalDateTime;
 
+import static java.util.stream.Collectors.toList;
+
 public class DataProcessRunView implements ViewObject
 {
     protected int id;
@@ -12,6 +15,7 @@ public class DataProcessRunView implements ViewObject
     protected LocalDateTime endDateTime;
     protected String invokedBy;
     protected String exceptions;
+    protected ListView<DataProcessPipelineRunView> pipelines;
 
     /** --- Constructors --- */
 
@@ -22,6 +26,9 @@ public class DataProcessRunView implements ViewObject
             this.endDateTime = run.getEndDateTime();
             this.invokedBy = run.getInvokedBy();
             this.exceptions = run.getExceptions().toString();
+            this.pipelines = ListView.of(run.getPipelineRuns().stream()
+                    .map(DataProcessPipelineRunView::new)
+                    .collect(toList()));
         }
     }
 
@@ -51,4 +58,8 @@ public class DataProcessRunView implements ViewObject
     public String getExceptions() {
         return exceptions;
     }
+
+    public ListView<DataProcessPipelineRunView> getPipelines() {
+        return pipelines;
+    }
 }
@@ -0,0 +1,78 @@
+package gov.nysenate.openleg.client.view.search;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.service.base.search.SearchIndexUpdateQueue;
+
+public class SearchIndexQueueView implements ViewObject
+{
+    protected String searchIndex;
+    protected int queueDepth;
+    protected int maxPending;
+    protected long queued;
+    protected long coalesced;
+    protected long indexed;
+    protected long batches;
+    protected long retried;
+    protected long failed;
+    protected long blocked;
+
+    public SearchIndexQueueView(SearchIndexUpdateQueue<?, ?> queue) {
+        if (queue != null) {
+            this.searchIndex = queue.getSearchIndex().name();
+            this.queueDepth = queue.getQueueDepth();
+            this.maxPending = queue.getMaxPending();
+            this.queued = queue.getQueuedCount();
+            this.coalesced = queue.getCoalescedCount();
+            this.indexed = queue.getIndexedCount();
+            this.batches = queue.getBatchCount();
+            this.retried = queue.getRetriedCount();
+            this.failed = queue.getFailedCount();
+            this.blocked = queue.getBlockedCount();
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "search-index-queue";
+    }
+
+    public String getSearchIndex() {
+        return searchIndex;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public long getQueued() {
+        return queued;
+    }
+
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    public long getIndexed() {
+        return indexed;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public long getRetried() {
+        return retried;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getBlocked() {
+        return blocked;
+    }
+}
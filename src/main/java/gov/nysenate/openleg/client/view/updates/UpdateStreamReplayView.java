@@ -0,0 +1,49 @@
+package gov.nysenate.openleg.client.view.updates;
+
+import com.google.common.collect.ImmutableList;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+
+import java.util.List;
+
+/**
+ * The update stream tokens published after a client's last seen position.
+ * If the replay is not complete, some tokens are no longer buffered (or the stream was restarted) and the client
+ * should catch up using the /updates api before relying on the stream.
+ */
+public class UpdateStreamReplayView implements ViewObject
+{
+    protected String streamId;
+    protected long position;
+    protected boolean complete;
+    protected ImmutableList<UpdateStreamTokenView> tokens;
+
+    public UpdateStreamReplayView(String streamId, long position, boolean complete,
+                                  List<UpdateStreamTokenView> tokens) {
+        this.streamId = streamId;
+        this.position = position;
+        this.complete = complete;
+        this.tokens = ImmutableList.copyOf(tokens);
+    }
+
+    @Override
+    public String getViewType() {
+        return "update-stream-replay";
+    }
+
+    public String getStreamId() {
+        return streamId;
+    }
+
+    /** @return long - the position of the latest token published on the stream */
+    public long getPosition() {
+        return position;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public ImmutableList<UpdateStreamTokenView> getTokens() {
+        return tokens;
+    }
+}
@@ -0,0 +1,53 @@
+package gov.nysenate.openleg.client.view.updates;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.model.updates.UpdateStreamTopic;
+
+import java.time.LocalDateTime;
+
+/**
+ * A compact update token published on the update stream.
+ * The stream id and position identify the token within the stream and are used to resume after a reconnect.
+ */
+public class UpdateStreamTokenView implements ViewObject
+{
+    protected String streamId;
+    protected long position;
+    protected String contentType;
+    protected ViewObject id;
+    protected LocalDateTime processedDateTime;
+
+    public UpdateStreamTokenView(String streamId, long position, UpdateStreamTopic topic, ViewObject id,
+                                 LocalDateTime processedDateTime) {
+        this.streamId = streamId;
+        this.position = position;
+        this.contentType = topic.toString();
+        this.id = id;
+        this.processedDateTime = processedDateTime;
+    }
+
+    @Override
+    public String getViewType() {
+        return "update-stream-token";
+    }
+
+    public String getStreamId() {
+        return streamId;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public ViewObject getId() {
+        return id;
+    }
+
+    public LocalDateTime getProcessedDateTime() {
+        return processedDateTime;
+    }
+}
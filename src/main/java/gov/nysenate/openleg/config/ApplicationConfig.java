@@ -12,6 +12,7 @@ import gov.nysenate.openleg.model.agenda.Agenda;
 import gov.nysenate.openleg.model.agenda.AgendaId;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
 import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
 import gov.nysenate.openleg.processor.base.IngestCache;
@@ -19,6 +20,7 @@ import gov.nysenate.openleg.util.AsciiArt;
 import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.SizeOfPolicyConfiguration;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.client.Client;
@@ -165,9 +167,12 @@ public class ApplicationConfig implements CachingConfigurer
     @Value("${sobi.batch.process.size:100}")
     private int sobiBatchSize;
 
+    @Value("${sobi.batch.process.max.mb:256}")
+    private long sobiBatchMaxMb;
+
     @Bean(name = "billIngestCache")
     public IngestCache<BaseBillId, Bill, SobiFragment> billIngestCache() {
-        return new IngestCache<>(sobiBatchSize);
+        return new IngestCache<>(sobiBatchSize, sobiBatchMaxMb * 1024 * 1024, ApplicationConfig::estimateBillSize);
     }
 
     @Bean(name = "agendaIngestCache")
@@ -179,4 +184,19 @@ public class ApplicationConfig implements CachingConfigurer
     public IngestCache<CalendarId, Calendar, SobiFragment> calendarIngestCache() {
         return new IngestCache<>(100);
     }
+
+    /**
+     * A cheap approximation of the heap used by a bill that is dominated by the amendment texts and memos.
+     * Strings are counted at two bytes per character and every other element is given a flat estimate.
+     */
+    private static long estimateBillSize(Bill bill) {
+        long size = 1024 + 2L * (StringUtils.length(bill.getTitle()) + StringUtils.length(bill.getSummary()));
+        size += 256L * (bill.getActions().size() + bill.getMilestones().size());
+        for (BillAmendment amendment : bill.getAmendmentList()) {
+            size += 1024 + 2L * (StringUtils.length(amendment.getFullText()) + StringUtils.length(amendment.getMemo()));
+            size += 128L * (amendment.getCoSponsors().size() + amendment.getMultiSponsors().size());
+            size += 8192L * amendment.getVotesList().size();
+        }
+        return size;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.config;
 
+import gov.nysenate.openleg.controller.api.base.JsonResponseConverter;
 import gov.nysenate.openleg.util.AsciiArt;
 import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.slf4j.Logger;
@@ -95,11 +96,13 @@ public class WebApplicationConfig extends WebMvcConfigurerAdapter implements Sch
         configurer.favorPathExtension(false);
     }
 
+    /**
+     * Json responses are written compactly unless pretty printing is requested.
+     * @see JsonResponseConverter
+     */
     @Bean
     public MappingJackson2HttpMessageConverter jackson2Converter() {
-        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
-        converter.setObjectMapper(appConfig.objectMapper());
-        return converter;
+        return new JsonResponseConverter(appConfig.objectMapper());
     }
 
     @Bean(name = "taskScheduler", destroyMethod = "shutdown")
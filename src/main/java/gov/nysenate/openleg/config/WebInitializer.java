@@ -69,6 +69,12 @@ public class WebInitializer implements WebApplicationInitializer
         /** Api Key Authentication */
         DelegatingFilterProxy apiAuthFilter = new DelegatingFilterProxy("apiAuthFilter", dispatcherContext);
         servletContext.addFilter("apiAuthFilter", apiAuthFilter)
+                .addMappingForUrlPatterns(EnumSet.of(REQUEST, FORWARD, INCLUDE), false, BaseCtrl.BASE_API_PATH + "/*",
+                                          WebSocketsConfig.UPDATE_STREAM_ENDPOINT + "/*");
+
+        /** Api Response Compression */
+        DelegatingFilterProxy gzipFilter = new DelegatingFilterProxy("gzipFilter", dispatcherContext);
+        servletContext.addFilter("gzipFilter", gzipFilter)
                 .addMappingForUrlPatterns(EnumSet.of(REQUEST, FORWARD, INCLUDE), false, BaseCtrl.BASE_API_PATH + "/*");
     }
 }
\ No newline at end of file
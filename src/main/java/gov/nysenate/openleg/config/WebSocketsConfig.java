@@ -1,7 +1,9 @@
 package gov.nysenate.openleg.config;
 
 
+import gov.nysenate.openleg.controller.api.update.UpdateStreamAccessInterceptor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.AbstractWebSocketMessageBrokerConfigurer;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
@@ -11,6 +13,11 @@ import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 @EnableWebSocketMessageBroker
 public class WebSocketsConfig extends AbstractWebSocketMessageBrokerConfigurer
 {
+    /** Public STOMP endpoint for the update stream, authenticated by api key like the rest of the api. */
+    public static final String UPDATE_STREAM_ENDPOINT = "/stream/updates";
+
+    private final UpdateStreamAccessInterceptor updateStreamAccessInterceptor = new UpdateStreamAccessInterceptor();
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         super.configureMessageBroker(registry);
@@ -21,5 +28,14 @@ public class WebSocketsConfig extends AbstractWebSocketMessageBrokerConfigurer
     @Override
     public void registerStompEndpoints(StompEndpointRegistry stompEndpointRegistry) {
         stompEndpointRegistry.addEndpoint("/sock").withSockJS();
+        stompEndpointRegistry.addEndpoint(UPDATE_STREAM_ENDPOINT)
+                .setAllowedOrigins("*")
+                .addInterceptors(updateStreamAccessInterceptor)
+                .withSockJS();
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.setInterceptors(updateStreamAccessInterceptor);
     }
 }
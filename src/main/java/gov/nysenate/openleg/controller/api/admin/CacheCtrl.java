@@ -2,10 +2,12 @@ package gov.nysenate.openleg.controller.api.admin;
 
 import com.google.common.collect.Sets;
 import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
 import gov.nysenate.openleg.client.response.base.ListViewResponse;
 import gov.nysenate.openleg.client.response.base.SimpleResponse;
 import gov.nysenate.openleg.client.view.cache.CacheStatsView;
+import gov.nysenate.openleg.client.view.cache.CacheWarmProgressView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.controller.api.base.InvalidRequestParamEx;
 import gov.nysenate.openleg.dao.base.LimitOffset;
@@ -15,6 +17,7 @@ import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.cache.CacheEvictEvent;
 import gov.nysenate.openleg.model.cache.CacheEvictIdEvent;
 import gov.nysenate.openleg.model.cache.CacheWarmEvent;
+import gov.nysenate.openleg.model.cache.CacheWarmProgressEvent;
 import gov.nysenate.openleg.model.cache.ContentCache;
 import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.entity.Chamber;
@@ -35,7 +38,10 @@ import org.springframework.web.context.request.WebRequest;
 
 import javax.annotation.PostConstruct;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_ADMIN_API_PATH;
@@ -49,6 +55,9 @@ public class CacheCtrl extends BaseCtrl
     @Autowired private EventBus eventBus;
     @Autowired private CacheManager cacheManager;
 
+    /** The most recent warm up progress reported for each cache. */
+    private final Map<ContentCache, CacheWarmProgressEvent> warmProgress = new ConcurrentHashMap<>();
+
     @PostConstruct
     private void init() {
         eventBus.register(this);
@@ -87,6 +96,26 @@ public class CacheCtrl extends BaseCtrl
         return new SimpleResponse(true, "Cache warming requests completed for " + targetCaches, "cache-warm");
     }
 
+    /**
+     * Cache Warming Progress API
+     * --------------------------
+     *
+     * Gets the progress of the latest warm up for each cache that reports it: (GET) /api/3/admin/cache/warm
+     */
+    @RequiresPermissions("admin:cacheEdit")
+    @RequestMapping(value = "/warm", method = RequestMethod.GET)
+    public BaseResponse getCacheWarmProgress() {
+        List<CacheWarmProgressView> progressViews = warmProgress.values().stream()
+            .map(CacheWarmProgressView::new)
+            .collect(Collectors.toList());
+        return ListViewResponse.of(progressViews, progressViews.size(), LimitOffset.ALL);
+    }
+
+    @Subscribe
+    public void handleCacheWarmProgressEvent(CacheWarmProgressEvent progressEvent) {
+        warmProgress.put(progressEvent.getContentCache(), progressEvent);
+    }
+
     /**
      * Cache Evict API
      * ---------------
@@ -161,6 +190,8 @@ public class CacheCtrl extends BaseCtrl
             throws MissingServletRequestParameterException {
         switch (targetCache) {
             case BILL:
+            case BILL_INFO:
+            case BILL_TEXT:
                 return getBaseBillId(request);
             case AGENDA:
                 return getAgendaId(request);
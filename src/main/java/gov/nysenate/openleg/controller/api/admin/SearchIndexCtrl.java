@@ -3,13 +3,17 @@ package gov.nysenate.openleg.controller.api.admin;
 import com.google.common.collect.Sets;
 import com.google.common.eventbus.EventBus;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.ListViewResponse;
 import gov.nysenate.openleg.client.response.base.SimpleResponse;
 import gov.nysenate.openleg.client.response.error.ErrorCode;
 import gov.nysenate.openleg.client.response.error.ErrorResponse;
+import gov.nysenate.openleg.client.view.search.SearchIndexQueueView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.search.ClearIndexEvent;
 import gov.nysenate.openleg.model.search.RebuildIndexEvent;
+import gov.nysenate.openleg.service.base.search.SearchIndexUpdateQueueManager;
 import org.apache.shiro.authz.annotation.RequiresAuthentication;
 import org.apache.shiro.authz.annotation.RequiresPermissions;
 import org.slf4j.Logger;
@@ -21,7 +25,9 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.annotation.PostConstruct;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_ADMIN_API_PATH;
 
@@ -32,6 +38,7 @@ public class SearchIndexCtrl extends BaseCtrl
     private static final Logger logger = LoggerFactory.getLogger(SearchIndexCtrl.class);
 
     @Autowired private EventBus eventBus;
+    @Autowired private SearchIndexUpdateQueueManager indexUpdateQueueManager;
 
     @PostConstruct
     private void init() {
@@ -81,6 +88,20 @@ public class SearchIndexCtrl extends BaseCtrl
         return response;
     }
 
+    /**
+     * Search Index Update Queue API
+     *
+     * Get the depth and throughput of the queues that index content updates: (GET) /api/3/admin/index/queues
+     */
+    @RequiresPermissions("admin:searchIndexEdit")
+    @RequestMapping(value = "/queues", method = RequestMethod.GET)
+    public BaseResponse getUpdateQueues() {
+        List<SearchIndexQueueView> queueViews = indexUpdateQueueManager.getQueues().stream()
+            .map(SearchIndexQueueView::new)
+            .collect(Collectors.toList());
+        return ListViewResponse.of(queueViews, queueViews.size(), LimitOffset.ALL);
+    }
+
     /** --- Internal --- */
 
     private Set<SearchIndex> getTargetIndices(String indexType) throws IllegalArgumentException {
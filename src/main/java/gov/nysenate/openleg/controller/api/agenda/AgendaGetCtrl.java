@@ -12,6 +12,7 @@ import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.agenda.*;
+import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.entity.Chamber;
 import gov.nysenate.openleg.model.entity.CommitteeId;
 import gov.nysenate.openleg.model.search.SearchException;
@@ -19,6 +20,8 @@ import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.agenda.data.AgendaDataService;
 import gov.nysenate.openleg.service.agenda.search.AgendaSearchService;
+import gov.nysenate.openleg.service.base.data.ContentVersion;
+import gov.nysenate.openleg.service.base.data.ContentVersionService;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.util.OutputUtils;
 import org.slf4j.Logger;
@@ -26,6 +29,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -44,6 +48,7 @@ public class AgendaGetCtrl extends BaseCtrl
     @Autowired private AgendaDataService agendaData;
     @Autowired private AgendaSearchService agendaSearch;
     @Autowired private BillDataService billData;
+    @Autowired private ContentVersionService contentVersions;
 
     /**
      * Agenda List Retrieval API
@@ -71,8 +76,12 @@ public class AgendaGetCtrl extends BaseCtrl
      * the agenda. This response will contain data for committee agendas.
      */
     @RequestMapping(value = "/{year:[\\d]{4}}/{agendaNo}")
-    public BaseResponse getAgenda(@PathVariable int year, @PathVariable int agendaNo) {
-        Agenda agenda = agendaData.getAgenda(new AgendaId(agendaNo, year));
+    public BaseResponse getAgenda(@PathVariable int year, @PathVariable int agendaNo, WebRequest request) {
+        AgendaId agendaId = new AgendaId(agendaNo, year);
+        if (checkNotModified(request, getAgendaVersion(agendaId))) {
+            return null;
+        }
+        Agenda agenda = agendaData.getAgenda(agendaId);
         return new ViewObjectResponse<>(new AgendaView(agenda, billData));
     }
 
@@ -83,12 +92,17 @@ public class AgendaGetCtrl extends BaseCtrl
      * Retrieve a specific committee within an agenda:
      * (GET) /api/3/agendas/{year}/{agendaNo}/{committeeName}
      *
-     * where year and agendaNo are the same as {@link #getAgenda(int, int)} and 'committeeName' refers to the
+     * where year and agendaNo are the same as {@link #getAgenda(int, int, WebRequest)} and 'committeeName' refers to the
      * name of the senate committee.
      */
     @RequestMapping(value = "/{year:[\\d]{4}}/{agendaNo}/{commName}")
-    public BaseResponse getAgenda(@PathVariable int year, @PathVariable int agendaNo, @PathVariable String commName) {
-        Agenda agenda = agendaData.getAgenda(new AgendaId(agendaNo, year));
+    public BaseResponse getAgenda(@PathVariable int year, @PathVariable int agendaNo, @PathVariable String commName,
+                                  WebRequest request) {
+        AgendaId agendaId = new AgendaId(agendaNo, year);
+        if (checkNotModified(request, getAgendaVersion(agendaId))) {
+            return null;
+        }
+        Agenda agenda = agendaData.getAgenda(agendaId);
         CommitteeId committeeId = new CommitteeId(Chamber.SENATE, commName);
         if (agenda.hasCommittee(committeeId)) {
             return new ViewObjectResponse<>(new AgendaCommFlatView(agenda, committeeId, billData));
@@ -130,6 +144,13 @@ public class AgendaGetCtrl extends BaseCtrl
                 meetingViews, Range.closed(fromDateTime, toDateTime), meetingViews.size(), LimitOffset.ALL);
     }
 
+    /** --- Internal --- */
+
+    /** Agenda views include bill info for each of the agenda items. */
+    private ContentVersion getAgendaVersion(AgendaId agendaId) {
+        return contentVersions.getVersion(agendaId).combine(contentVersions.getLatestVersion(BaseBillId.class));
+    }
+
     /** --- Exception Handlers --- */
 
     @ExceptionHandler(AgendaNotFoundEx.class)
@@ -29,7 +29,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
-import static java.util.stream.Collectors.toList;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 /**
@@ -130,16 +129,16 @@ public class AgendaUpdatesCtrl extends BaseCtrl
         if (!detail) {
             PaginatedList<UpdateToken<AgendaId>> updateTokens =
                 agendaUpdatesDao.getUpdates(updateRange, updateType, sortOrder, limOff);
-            return DateRangeListViewResponse.of(updateTokens.getResults().stream()
-                .map(token -> new UpdateTokenView(token, new AgendaIdView(token.getId())))
-                .collect(toList()), updateRange, updateTokens.getTotal(), limOff);
+            return DateRangeListViewResponse.ofMapped(updateTokens.getResults(),
+                token -> new UpdateTokenView(token, new AgendaIdView(token.getId())),
+                updateRange, updateTokens.getTotal(), limOff);
         }
         else {
             PaginatedList<UpdateDigest<AgendaId>> updateDigests =
                 agendaUpdatesDao.getDetailedUpdates(updateRange, updateType, sortOrder, limOff);
-            return DateRangeListViewResponse.of(updateDigests.getResults().stream()
-                .map(digest -> new UpdateDigestView(digest, new AgendaIdView(digest.getId())))
-                .collect(toList()), updateRange, updateDigests.getTotal(), limOff);
+            return DateRangeListViewResponse.ofMapped(updateDigests.getResults(),
+                digest -> new UpdateDigestView(digest, new AgendaIdView(digest.getId())),
+                updateRange, updateDigests.getTotal(), limOff);
         }
     }
 
@@ -151,8 +150,8 @@ public class AgendaUpdatesCtrl extends BaseCtrl
 
         PaginatedList<UpdateDigest<AgendaId>> digests = agendaUpdatesDao.getDetailedUpdatesForAgenda(
             agendaId, updateRange, updateType, sortOrder, limOff);
-        return DateRangeListViewResponse.of(digests.getResults().stream()
-            .map(digest -> new UpdateDigestView(digest, new AgendaIdView(digest.getId())))
-            .collect(toList()), updateRange, digests.getTotal(), limOff);
+        return DateRangeListViewResponse.ofMapped(digests.getResults(),
+            digest -> new UpdateDigestView(digest, new AgendaIdView(digest.getId())),
+            updateRange, digests.getTotal(), limOff);
     }
 }
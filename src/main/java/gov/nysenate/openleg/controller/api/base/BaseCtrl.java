@@ -18,6 +18,7 @@ import gov.nysenate.openleg.model.notification.Notification;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.UnexpectedSearchException;
 import gov.nysenate.openleg.model.updates.UpdateType;
+import gov.nysenate.openleg.service.base.data.ContentVersion;
 import org.apache.catalina.connector.ClientAbortException;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -50,9 +51,15 @@ public abstract class BaseCtrl
     public static final String BASE_API_PATH = "/api/3";
     public static final String BASE_ADMIN_API_PATH = BASE_API_PATH + "/admin";
 
+    /** Content type of newline delimited json responses, i.e. one json object per line. */
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
     /** Maximum number of results that can be requested via the query params. */
     private static final int MAX_LIMIT = 1000;
 
+    /** Request parameter containing the api key. */
+    private static final String API_KEY_PARAM = "key";
+
     @Autowired
     private EventBus eventBus;
 
@@ -408,6 +415,29 @@ public abstract class BaseCtrl
         requireParameters(request, paramMap);
     }
 
+    /** --- Conditional Requests --- */
+
+    /**
+     * Sets the ETag and Last-Modified headers for the given content version and checks them against the
+     * If-None-Match / If-Modified-Since request headers. If the client's copy is current the response status is
+     * set to 304 and the request handler should return null without loading the content.
+     *
+     * @param request WebRequest
+     * @param version ContentVersion - The version of the requested content
+     * @param variant Object... - Any values besides the request parameters that determine the response content
+     * @return boolean - true if the content has not been modified
+     */
+    protected boolean checkNotModified(WebRequest request, ContentVersion version, Object... variant) {
+        int variantHash = Arrays.hashCode(variant);
+        for (Map.Entry<String, String[]> param : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            // The api key doesn't affect the content
+            if (!API_KEY_PARAM.equals(param.getKey())) {
+                variantHash = 31 * variantHash + param.getKey().hashCode() + Arrays.hashCode(param.getValue());
+            }
+        }
+        return request.checkNotModified(version.getETag(variantHash), version.getModifiedMillis());
+    }
+
     /** --- Generic Exception Handlers --- */
 
     @ExceptionHandler(Exception.class)
@@ -0,0 +1,208 @@
+package gov.nysenate.openleg.controller.api.base;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses API responses with gzip when the client accepts it. The decision to compress is made once the
+ * response body is first written, so responses without a body, responses that already have a content encoding
+ * and content that is already compressed (pdfs, images, archives) are sent as is.
+ */
+@Component("gzipFilter")
+public class GzipFilter implements Filter
+{
+    @Value("${api.response.gzip:true}")
+    private boolean gzipEnabled = true;
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain) throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) req;
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (!gzipEnabled || acceptEncoding == null || !acceptEncoding.toLowerCase().contains("gzip")) {
+            chain.doFilter(req, res);
+            return;
+        }
+        GzipResponseWrapper response = new GzipResponseWrapper((HttpServletResponse) res);
+        try {
+            chain.doFilter(req, response);
+        }
+        finally {
+            response.finish();
+        }
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) {}
+
+    @Override
+    public void destroy() {}
+
+    /** --- Internal --- */
+
+    private static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return true;
+        }
+        String type = contentType.toLowerCase();
+        return !(type.startsWith("image/") || type.startsWith("application/pdf") || type.startsWith("application/zip")
+                 || type.startsWith("application/gzip") || type.startsWith("application/x-gzip"));
+    }
+
+    private static class GzipResponseWrapper extends HttpServletResponseWrapper
+    {
+        private ServletOutputStream outputStream;
+        private GZIPOutputStream gzipStream;
+        private PrintWriter writer;
+
+        public GzipResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called on this response");
+            }
+            return getStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (outputStream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called on this response");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(getStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        /** The length of the compressed content is not known up front. */
+        @Override
+        public void setContentLength(int len) {
+            if (!isCompressing()) {
+                super.setContentLength(len);
+            }
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (!isCompressing()) {
+                super.setContentLengthLong(len);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) || !isCompressing()) {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) || !isCompressing()) {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (gzipStream != null) {
+                gzipStream.flush();
+            }
+            super.flushBuffer();
+        }
+
+        /**
+         * Writes out the remainder of the compressed content.
+         */
+        public void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (gzipStream != null) {
+                gzipStream.finish();
+            }
+        }
+
+        /** --- Internal --- */
+
+        /** Compression is assumed until the body is written unless the content type rules it out. */
+        private boolean isCompressing() {
+            return gzipStream != null || (outputStream == null && getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                                          && isCompressible(getContentType()));
+        }
+
+        private ServletOutputStream getStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream responseStream = super.getOutputStream();
+                if (!isCommitted() && getHeader(HttpHeaders.CONTENT_ENCODING) == null && isCompressible(getContentType())) {
+                    super.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                    super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                    gzipStream = new GZIPOutputStream(responseStream, true);
+                    outputStream = new GzipServletOutputStream(responseStream, gzipStream);
+                }
+                else {
+                    outputStream = responseStream;
+                }
+            }
+            return outputStream;
+        }
+    }
+
+    private static class GzipServletOutputStream extends ServletOutputStream
+    {
+        private final ServletOutputStream responseStream;
+        private final GZIPOutputStream gzipStream;
+
+        public GzipServletOutputStream(ServletOutputStream responseStream, GZIPOutputStream gzipStream) {
+            this.responseStream = responseStream;
+            this.gzipStream = gzipStream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            gzipStream.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            gzipStream.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            gzipStream.flush();
+        }
+
+        /** Completes the compressed content but leaves closing the response stream to the container. */
+        @Override
+        public void close() throws IOException {
+            gzipStream.finish();
+        }
+
+        @Override
+        public boolean isReady() {
+            return responseStream.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            responseStream.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package gov.nysenate.openleg.controller.api.base;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+
+/**
+ * Writes json responses without any indentation unless the client asks for it with the 'pretty' request
+ * parameter, e.g. /api/3/bills/2015?pretty=true. Compact output is noticeably smaller for large list responses.
+ *
+ * Responses are serialized straight to the response stream, so list views that create their items on demand
+ * are written out item by item.
+ */
+public class JsonResponseConverter extends MappingJackson2HttpMessageConverter
+{
+    public static final String PRETTY_PARAM = "pretty";
+
+    /**
+     * @param objectMapper ObjectMapper - A copy of this mapper with indentation disabled is used for serialization.
+     */
+    public JsonResponseConverter(ObjectMapper objectMapper) {
+        super(objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT));
+    }
+
+    @Override
+    protected void writePrefix(JsonGenerator generator, Object object) throws IOException {
+        if (isPrettyPrintRequested()) {
+            generator.useDefaultPrettyPrinter();
+        }
+        super.writePrefix(generator, object);
+    }
+
+    /**
+     * @return boolean - true if the current request asked for indented output.
+     */
+    public static boolean isPrettyPrintRequested() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            String pretty = ((ServletRequestAttributes) attributes).getRequest().getParameter(PRETTY_PARAM);
+            return pretty != null && (pretty.isEmpty() || Boolean.parseBoolean(pretty));
+        }
+        return false;
+    }
+}
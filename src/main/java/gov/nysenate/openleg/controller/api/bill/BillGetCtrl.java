@@ -19,10 +19,13 @@ import gov.nysenate.openleg.model.bill.BillAmendment;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResults;
+import gov.nysenate.openleg.service.base.data.ContentVersion;
+import gov.nysenate.openleg.service.base.data.ContentVersionService;
 import gov.nysenate.openleg.service.bill.data.BillAmendNotFoundEx;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
 import gov.nysenate.openleg.service.bill.search.BillSearchService;
+import gov.nysenate.openleg.service.pdf.PdfArtifactCache;
 import gov.nysenate.openleg.util.BillTextUtils;
 import gov.nysenate.openleg.util.OutputUtils;
 import gov.nysenate.openleg.util.StringDiffer;
@@ -30,17 +33,13 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayOutputStream;
 import java.util.LinkedList;
-import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -56,6 +55,8 @@ public class BillGetCtrl extends BaseCtrl
 
     @Autowired protected BillDataService billData;
     @Autowired protected BillSearchService billSearch;
+    @Autowired protected ContentVersionService contentVersions;
+    @Autowired protected PdfArtifactCache pdfCache;
 
     protected enum BillViewLevel
     {
@@ -102,11 +103,12 @@ public class BillGetCtrl extends BaseCtrl
         SearchResults<BaseBillId> results =
             billSearch.searchBills(SessionYear.of(sessionYear), sort, limOff);
         // The bill data is retrieved from the data service so the data is always fresh.
-        return ListViewResponse.of(
-            results.getResults().stream()
-                .map(r -> (full) ? new BillView(billData.getBill(r.getResult()))
-                        : new BillInfoView(billData.getBillInfo(r.getResult())))
-                .collect(Collectors.toList()), results.getTotalResults(), limOff);
+        // The views are created as the response is written rather than all at once.
+        return (full)
+            ? ListViewResponse.ofMapped(billData.getBills(results.getRawResults()), BillView::new,
+                                        results.getTotalResults(), limOff)
+            : ListViewResponse.ofMapped(billData.getBillInfos(results.getRawResults()), BillInfoView::new,
+                                        results.getTotalResults(), limOff);
     }
 
     /**
@@ -119,11 +121,20 @@ public class BillGetCtrl extends BaseCtrl
      * Request Parameters: view - Specify the level of detail (defaults to BillViewLevel.DEFAULT)
      *
      * Expected Output: BillView, DetailedBillView, or BillInfoView
+     *                  Responds with 304 Not Modified if the client's copy (If-None-Match / If-Modified-Since) is current
      */
     @RequestMapping(value = "/{sessionYear:[\\d]{4}}/{printNo}")
     public BaseResponse getBill(@PathVariable int sessionYear, @PathVariable String printNo, WebRequest request) {
         BaseBillId baseBillId = getBaseBillId(printNo, sessionYear, "printNo");
         BillViewLevel level = BillViewLevel.getValue(request.getParameter("view"));
+        ContentVersion version = contentVersions.getVersion(baseBillId);
+        if (level == BillViewLevel.WITH_REFS || level == BillViewLevel.WITH_REFS_NO_FULLTEXT) {
+            // Info for the related bills is included as well
+            version = version.combine(contentVersions.getLatestVersion(BaseBillId.class));
+        }
+        if (checkNotModified(request, version)) {
+            return null;
+        }
         ViewObject viewObject;
         switch (level) {
             case INFO: viewObject = new BillInfoView(billData.getBillInfo(baseBillId)); break;
@@ -150,9 +161,7 @@ public class BillGetCtrl extends BaseCtrl
      * @return Bill
      */
     private Bill getFullTextStrippedBill(BaseBillId baseBillId) {
-        Bill strippedBill = billData.getBill(baseBillId);
-        strippedBill.getAmendmentList().forEach(a -> a.setFullText(""));
-        return strippedBill;
+        return billData.getBill(baseBillId, false);
     }
 
     /**
@@ -167,15 +176,11 @@ public class BillGetCtrl extends BaseCtrl
      * Expected Output: PDF response
      */
     @RequestMapping(value = "/{sessionYear:[\\d]{4}}/{printNo}.pdf")
-    public ResponseEntity<byte[]> getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo)
-                           throws Exception {
+    public void getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo,
+                           HttpServletRequest request, HttpServletResponse response) throws Exception {
         BillId billId = getBillId(printNo, sessionYear, "printNo");
         Bill bill = billData.getBill(BaseBillId.of(billId));
-        ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
-        BillPdfView.writeBillPdf(bill, billId.getVersion(), pdfBytes);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("application/pdf"));
-        return new ResponseEntity<>(pdfBytes.toByteArray(), headers, HttpStatus.OK);
+        pdfCache.writeBillPdf(bill, billId.getVersion(), request, response);
     }
 
     /**
@@ -3,6 +3,7 @@ package gov.nysenate.openleg.controller.api.bill;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
 import gov.nysenate.openleg.client.response.base.ListViewResponse;
 import gov.nysenate.openleg.client.view.base.SearchResultView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.client.view.bill.BillIdView;
 import gov.nysenate.openleg.client.view.bill.BillInfoView;
 import gov.nysenate.openleg.client.view.bill.BillView;
@@ -20,6 +21,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
 import static java.util.stream.Collectors.toList;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -80,13 +84,22 @@ public class BillSearchCtrl extends BaseCtrl
     /** --- Internal --- */
 
     private BaseResponse getBillSearchResponse(SearchResults<BaseBillId> results, boolean full, boolean idOnly, LimitOffset limOff) {
+        // Fetch the bill data for all of the results at once
+        Map<BaseBillId, ViewObject> billViews = new HashMap<>();
+        if (full) {
+            billData.getBills(results.getRawResults())
+                .forEach(bill -> billViews.put(bill.getBaseBillId(), new BillView(bill)));
+        }
+        else if (!idOnly) {
+            billData.getBillInfos(results.getRawResults())
+                .forEach(billInfo -> billViews.put(BaseBillId.of(billInfo.getBillId()), new BillInfoView(billInfo)));
+        }
         return ListViewResponse.of(
             results.getResults().stream()
-                .map(r -> new SearchResultView((full)
-                        ? new BillView(billData.getBill(r.getResult()))
-                        : (idOnly)
-                            ? new BillIdView(r.getResult())
-                            : new BillInfoView(billData.getBillInfo(r.getResult())), r.getRank(), r.getHighlights()))
+                .filter(r -> (idOnly && !full) || billViews.containsKey(r.getResult()))
+                .map(r -> new SearchResultView((idOnly && !full)
+                        ? new BillIdView(r.getResult())
+                        : billViews.get(r.getResult()), r.getRank(), r.getHighlights()))
                 .collect(toList()), results.getTotalResults(), limOff);
     }
 }
\ No newline at end of file
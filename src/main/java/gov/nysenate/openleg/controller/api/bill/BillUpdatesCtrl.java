@@ -16,6 +16,7 @@ import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.bill.data.BillUpdatesDao;
 import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.bill.BillUpdateField;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
@@ -32,6 +33,8 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -148,26 +151,45 @@ public class BillUpdatesCtrl extends BaseCtrl
         if (!detail) {
             PaginatedList<UpdateToken<BaseBillId>> updateTokens =
                 billUpdatesDao.getUpdates(updateRange, updateType, fieldFilter, sortOrder, limOff);
-            return DateRangeListViewResponse.of(updateTokens.getResults().stream()
-                .map(token ->
-                    (!summary) ? new UpdateTokenView(token, new BaseBillIdView(token.getId()))
-                               : new UpdateTokenModelView(token, new BaseBillIdView(token.getId()),
-                                                                 new SimpleBillInfoView(billData.getBillInfo(token.getId())))
-                ).collect(toList()), updateRange, updateTokens.getTotal(), limOff);
+            Map<BaseBillId, BillInfo> billInfos = (summary)
+                ? getBillInfoMap(updateTokens.getResults().stream().map(UpdateToken::getId))
+                : Collections.emptyMap();
+            return DateRangeListViewResponse.ofMapped(updateTokens.getResults(),
+                token -> (!summary) ? new UpdateTokenView(token, new BaseBillIdView(token.getId()))
+                                    : new UpdateTokenModelView(token, new BaseBillIdView(token.getId()),
+                                                                      new SimpleBillInfoView(getBillInfo(billInfos, token.getId()))),
+                updateRange, updateTokens.getTotal(), limOff);
         }
         else {
             PaginatedList<UpdateDigest<BaseBillId>> updateDigests =
                 billUpdatesDao.getDetailedUpdates(updateRange, updateType, fieldFilter, sortOrder, limOff);
-            return DateRangeListViewResponse.of(updateDigests.getResults().stream()
-                .map(digest ->
-                        (!summary) ? new UpdateDigestView(digest, new BaseBillIdView(digest.getId()))
-                                   : new UpdateDigestModelView(digest, new BaseBillIdView(digest.getId()),
-                                                                       new SimpleBillInfoView(billData.getBillInfo(digest.getId())))
-                )
-                .collect(toList()), updateRange, updateDigests.getTotal(), limOff);
+            Map<BaseBillId, BillInfo> billInfos = (summary)
+                ? getBillInfoMap(updateDigests.getResults().stream().map(UpdateDigest::getId))
+                : Collections.emptyMap();
+            return DateRangeListViewResponse.ofMapped(updateDigests.getResults(),
+                digest -> (!summary) ? new UpdateDigestView(digest, new BaseBillIdView(digest.getId()))
+                                     : new UpdateDigestModelView(digest, new BaseBillIdView(digest.getId()),
+                                                                         new SimpleBillInfoView(getBillInfo(billInfos, digest.getId()))),
+                updateRange, updateDigests.getTotal(), limOff);
         }
     }
 
+    /**
+     * Fetches the bill infos for all of the given bill ids at once.
+     */
+    private Map<BaseBillId, BillInfo> getBillInfoMap(Stream<BaseBillId> billIds) {
+        return billData.getBillInfos(billIds.collect(toList())).stream()
+            .collect(Collectors.toMap(billInfo -> BaseBillId.of(billInfo.getBillId()), billInfo -> billInfo,
+                                      (a, b) -> a));
+    }
+
+    /**
+     * Gets the bill info from the pre-fetched map, falling back to the data service if it is not present.
+     */
+    private BillInfo getBillInfo(Map<BaseBillId, BillInfo> billInfos, BaseBillId billId) {
+        return billInfos.containsKey(billId) ? billInfos.get(billId) : billData.getBillInfo(billId);
+    }
+
     private BaseResponse getUpdatesForBillDuring(int sessionYear, String printNo, LocalDateTime from, LocalDateTime to,
                                                  WebRequest request) {
         BillUpdateField filterField = getUpdateFieldFromParam(request.getParameter("filter"));
@@ -177,9 +199,9 @@ public class BillUpdatesCtrl extends BaseCtrl
         UpdateType updateType = getUpdateTypeFromParam(request);
         PaginatedList<UpdateDigest<BaseBillId>> digests = billUpdatesDao.getDetailedUpdatesForBill(
             getBaseBillId(printNo, sessionYear, "printNo"), updateRange, updateType, filterField, sortOrder, limOff);
-        return DateRangeListViewResponse.of(digests.getResults().stream()
-            .map(digest -> new UpdateDigestView(digest, new BaseBillIdView(digest.getId())))
-            .collect(toList()), updateRange, digests.getTotal(), limOff);
+        return DateRangeListViewResponse.ofMapped(digests.getResults(),
+            digest -> new UpdateDigestView(digest, new BaseBillIdView(digest.getId())),
+            updateRange, digests.getTotal(), limOff);
     }
 
     private BillUpdateField getUpdateFieldFromParam(String filter) {
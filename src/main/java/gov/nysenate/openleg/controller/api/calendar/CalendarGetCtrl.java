@@ -11,7 +11,10 @@ import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.calendar.*;
+import gov.nysenate.openleg.service.base.data.ContentVersion;
+import gov.nysenate.openleg.service.base.data.ContentVersionService;
 import gov.nysenate.openleg.service.calendar.data.CalendarDataService;
 import gov.nysenate.openleg.service.calendar.data.CalendarNotFoundEx;
 import org.slf4j.Logger;
@@ -37,6 +40,9 @@ public class CalendarGetCtrl extends BaseCtrl
     @Autowired
     private CalendarViewFactory calendarViewFactory;
 
+    @Autowired
+    private ContentVersionService contentVersions;
+
     /** --- Request Handlers --- */
 
     /**
@@ -124,8 +130,13 @@ public class CalendarGetCtrl extends BaseCtrl
     @RequestMapping(value = "/{year:\\d{4}}/{calNo:\\d+}")
     public BaseResponse getCalendar(@PathVariable int year,
                                     @PathVariable int calNo,
-                                    @RequestParam(defaultValue = "true") boolean full) {
-        Calendar calendar = calendarDataService.getCalendar(new CalendarId(calNo, year));
+                                    @RequestParam(defaultValue = "true") boolean full,
+                                    WebRequest request) {
+        CalendarId calendarId = new CalendarId(calNo, year);
+        if (checkNotModified(request, getCalendarVersion(calendarId))) {
+            return null;
+        }
+        Calendar calendar = calendarDataService.getCalendar(calendarId);
         return new ViewObjectResponse<>(full ? calendarViewFactory.getCalendarView(calendar)
                                              : new SimpleCalendarView(calendar));
     }
@@ -140,7 +151,11 @@ public class CalendarGetCtrl extends BaseCtrl
     public BaseResponse getActiveList(@PathVariable int year,
                                       @PathVariable int calNo,
                                       @PathVariable int sequenceNo,
-                                      @RequestParam(defaultValue = "true") boolean full) {
+                                      @RequestParam(defaultValue = "true") boolean full,
+                                      WebRequest request) {
+        if (checkNotModified(request, getCalendarVersion(new CalendarId(calNo, year)))) {
+            return null;
+        }
         CalendarActiveList activeList = calendarDataService.getActiveList(
                                             new CalendarActiveListId(calNo, year, sequenceNo));
         return new ViewObjectResponse<>(full ? calendarViewFactory.getActiveListView(activeList)
@@ -157,7 +172,11 @@ public class CalendarGetCtrl extends BaseCtrl
     public BaseResponse getCalendarSupplemental(@PathVariable int year,
                                                 @PathVariable int calNo,
                                                 @PathVariable String version,
-                                                @RequestParam(defaultValue = "true") boolean full) {
+                                                @RequestParam(defaultValue = "true") boolean full,
+                                                WebRequest request) {
+        if (checkNotModified(request, getCalendarVersion(new CalendarId(calNo, year)))) {
+            return null;
+        }
         if (version.equalsIgnoreCase("floor")) {
             version = Version.DEFAULT.getValue();
         }
@@ -167,6 +186,13 @@ public class CalendarGetCtrl extends BaseCtrl
                                              : new SimpleCalendarSupView(calSup));
     }
 
+    /** --- Internal --- */
+
+    /** Calendar entries include bill info. */
+    private ContentVersion getCalendarVersion(CalendarId calendarId) {
+        return contentVersions.getVersion(calendarId).combine(contentVersions.getLatestVersion(BaseBillId.class));
+    }
+
     /** --- Exception Handlers --- */
 
     /**
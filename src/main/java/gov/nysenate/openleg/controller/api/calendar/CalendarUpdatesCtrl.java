@@ -24,7 +24,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
-import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -85,20 +84,16 @@ public class CalendarUpdatesCtrl extends BaseCtrl {
         if (!detail) {
             PaginatedList<UpdateToken<CalendarId>> updateTokens =
                 calendarUpdatesDao.getUpdates(updateType, updateRange, dateOrder, limitOffset);
-            response = DateRangeListViewResponse.of(
-                updateTokens.getResults().stream()
-                    .map(token -> new UpdateTokenView(token, new CalendarIdView(token.getId())))
-                    .collect(Collectors.toList()),
+            response = DateRangeListViewResponse.ofMapped(updateTokens.getResults(),
+                token -> new UpdateTokenView(token, new CalendarIdView(token.getId())),
                 updateRange, updateTokens.getTotal(), updateTokens.getLimOff()
             );
         }
         else {
             PaginatedList<UpdateDigest<CalendarId>> updateDigests =
                 calendarUpdatesDao.getDetailedUpdates(updateType, updateRange, dateOrder, limitOffset);
-            response = DateRangeListViewResponse.of(
-                updateDigests.getResults().stream()
-                        .map(digest -> new UpdateDigestView(digest, new CalendarIdView(digest.getId())))
-                        .collect(Collectors.toList()),
+            response = DateRangeListViewResponse.ofMapped(updateDigests.getResults(),
+                digest -> new UpdateDigestView(digest, new CalendarIdView(digest.getId())),
                 updateRange, updateDigests.getTotal(), updateDigests.getLimOff()
             );
         }
@@ -145,10 +140,8 @@ public class CalendarUpdatesCtrl extends BaseCtrl {
         PaginatedList<UpdateDigest<CalendarId>> updateDigests =
             calendarUpdatesDao.getDetailedUpdatesForCalendar(updateType, new CalendarId(calendarNo, year),
                 updateRange, dateOrder, limitOffset);
-        return DateRangeListViewResponse.of(
-            updateDigests.getResults().stream()
-                .map(digest -> new UpdateDigestView(digest, new CalendarIdView(digest.getId())))
-                    .collect(Collectors.toList()),
+        return DateRangeListViewResponse.ofMapped(updateDigests.getResults(),
+            digest -> new UpdateDigestView(digest, new CalendarIdView(digest.getId())),
             updateDigests.getTotal(), LimitOffset.ALL
         );
     }
@@ -22,7 +22,6 @@ import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -77,8 +76,7 @@ public class PublicHearingUpdatesCtrl extends BaseCtrl
         LimitOffset limOff = getLimitOffset(request, 25);
         Range<LocalDateTime> dateRange = getOpenRange(from, to, "from", "to");
         PaginatedList<PublicHearingUpdateToken> updates = publicHearingDao.publicHearingsUpdatedDuring(dateRange, SortOrder.ASC, limOff);
-        return ListViewResponse.of(updates.getResults().stream()
-                .map(PublicHearingUpdateTokenView::new)
-                .collect(Collectors.toList()), updates.getTotal(), limOff);
+        return ListViewResponse.ofMapped(updates.getResults(), PublicHearingUpdateTokenView::new, updates.getTotal(),
+                                         limOff);
     }
 }
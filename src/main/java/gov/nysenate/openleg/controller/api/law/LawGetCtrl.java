@@ -1,5 +1,8 @@
 package gov.nysenate.openleg.controller.api.law;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
 import gov.nysenate.openleg.client.response.base.ListViewResponse;
@@ -9,26 +12,40 @@ import gov.nysenate.openleg.client.response.error.ErrorResponse;
 import gov.nysenate.openleg.client.response.error.ViewObjectErrorResponse;
 import gov.nysenate.openleg.client.view.law.*;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.controller.api.base.JsonResponseConverter;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.law.*;
+import gov.nysenate.openleg.service.base.data.ContentVersionService;
 import gov.nysenate.openleg.service.law.data.LawDataService;
 import gov.nysenate.openleg.service.law.data.LawDocumentNotFoundEx;
 import gov.nysenate.openleg.service.law.data.LawTreeNotFoundEx;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
 import static java.util.stream.Collectors.collectingAndThen;
+import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static java.util.stream.Collectors.toList;
 
 @RestController
@@ -38,6 +55,28 @@ public class LawGetCtrl extends BaseCtrl
     private static final Logger logger = LoggerFactory.getLogger(LawGetCtrl.class);
 
     @Autowired private LawDataService lawDataService;
+    @Autowired private ContentVersionService contentVersions;
+    @Autowired private ObjectMapper objectMapper;
+
+    /** Content type of the gzipped law export downloads. */
+    private static final String GZIP_VALUE = "application/gzip";
+
+    /** Seconds a client should wait before retrying when too many law text streams are in progress. */
+    private static final String TEXT_STREAMS_RETRY_AFTER = "10";
+
+    /** The maximum number of responses that stream law text from the database at once. */
+    @Value("${law.text.stream.max:3}") private int maxTextStreams;
+
+    private ObjectWriter lineWriter;
+
+    /** Limits the streamed responses, since each one holds a database connection while it is written. */
+    private Semaphore textStreams;
+
+    @PostConstruct
+    public void init() {
+        lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        textStreams = new Semaphore(maxTextStreams);
+    }
 
     /** --- Request Handlers --- */
 
@@ -84,15 +123,74 @@ public class LawGetCtrl extends BaseCtrl
     public BaseResponse getLawTree(@PathVariable String lawId, @RequestParam(required = false) String date,
                                    @RequestParam(required = false) String fromLocation,
                                    @RequestParam(required = false) Integer depth,
-                                   @RequestParam(defaultValue = "false") boolean full) {
+                                   @RequestParam(defaultValue = "false") boolean full,
+                                   WebRequest request, HttpServletResponse response) throws IOException {
+        if (checkNotModified(request, contentVersions.getVersion(lawId.toUpperCase()))) {
+            return null;
+        }
         LocalDate publishedDate = (date != null) ? parseISODate(date, "date") : null;
         LawTree lawTree = lawDataService.getLawTree(lawId, publishedDate);
-        ViewObjectResponse<LawTreeView> response =
-            (full) ? new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth,
-                                                              lawDataService.getLawDocuments(lawId, publishedDate)))
-                   : new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth));
-        response.setMessage("The document structure for " + lawId + " law");
-        return response;
+        String message = "The document structure for " + lawId + " law";
+        if (full) {
+            writeFullLawTree(lawTree, fromLocation, depth, message, response);
+            return null;
+        }
+        return new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth), message);
+    }
+
+    /**
+     * Law Export API
+     * --------------
+     *
+     * Exports every document in a law tree, including the document text, as newline delimited json.
+     * The documents are written one per line in tree order and refer to their parent by location id.
+     * The text is read from the database while the response is written, so a database connection is held for as
+     * long as the client takes to read the export. The number of concurrent exports and full law trees is limited
+     * by 'law.text.stream.max', requests over the limit get a 503 response with a Retry-After header.
+     *
+     * Usage
+     * (GET) /api/3/laws/{lawId}/export
+     *
+     * Optional Params:
+     * date (iso date) - The published date of the law tree (defaults to latest law tree)
+     * download (boolean) - If set to true the export is sent as a gzip file attachment (defaults to false)
+     *
+     * Expected output: LawNodeExportView lines
+     *                  (json is also listed as producible so that error responses can be written)
+     */
+    @RequestMapping(value = "/{lawId}/export", produces = {NDJSON_VALUE, GZIP_VALUE, APPLICATION_JSON_VALUE})
+    public void exportLaw(@PathVariable String lawId, @RequestParam(required = false) String date,
+                          @RequestParam(defaultValue = "false") boolean download,
+                          WebRequest request, HttpServletResponse response) throws IOException {
+        if (checkNotModified(request, contentVersions.getVersion(lawId.toUpperCase()), download)) {
+            return;
+        }
+        LocalDate publishedDate = (date != null) ? parseISODate(date, "date") : null;
+        LawTree lawTree = lawDataService.getLawTree(lawId, publishedDate);
+        streamLawText(lawTree, null, textLookup -> {
+            // The headers are set before the stream is obtained since the gzip filter decides whether to compress
+            // the response based on its content type at that point
+            if (download) {
+                response.setContentType(GZIP_VALUE);
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + lawTree.getLawId() +
+                                   "-" + lawTree.getPublishedDate() + ".ndjson.gz\"");
+            }
+            else {
+                response.setContentType(NDJSON_VALUE);
+                response.setCharacterEncoding("UTF-8");
+            }
+            OutputStream out = response.getOutputStream();
+            if (download) {
+                out = new GZIPOutputStream(out);
+            }
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                for (LawTreeNode node : lawTree.getAllNodes()) {
+                    writer.write(lineWriter.writeValueAsString(
+                            new LawNodeExportView(node, textLookup.apply(node.getDocumentId()))));
+                    writer.write('\n');
+                }
+            }
+        });
     }
 
     /**
@@ -113,7 +211,12 @@ public class LawGetCtrl extends BaseCtrl
     @RequestMapping("/{lawId}/{locationId}")
     public BaseResponse getLawDocument(@PathVariable String lawId, @PathVariable String locationId,
                                        @RequestParam(required = false) String date,
-                                       @RequestParam(required = false) String refTreeDate) {
+                                       @RequestParam(required = false) String refTreeDate,
+                                       WebRequest request) {
+        // The active document and tree default to the current date
+        if (checkNotModified(request, contentVersions.getVersion(lawId.toUpperCase()), LocalDate.now())) {
+            return null;
+        }
         LocalDate activeDate = (date != null) ? parseISODate(date, "date") : LocalDate.now();
         String documentId = lawId + locationId;
         LawDocument doc = lawDataService.getLawDocument(documentId, activeDate);
@@ -157,6 +260,73 @@ public class LawGetCtrl extends BaseCtrl
                 .collect(collectingAndThen(toList(), ListViewResponse::of));
     }
 
+    /** --- Internal Methods --- */
+
+    /**
+     * Writes the law tree with the document text straight to the response. The text is read from the database in
+     * tree order while the response is serialized, so the text of the whole law is never held in memory at once.
+     */
+    private void writeFullLawTree(LawTree lawTree, String fromLocation, Integer depth, String message,
+                                  HttpServletResponse response) throws IOException {
+        Optional<LawTreeNode> viewRoot = (fromLocation != null && !fromLocation.isEmpty())
+                ? lawTree.find(lawTree.getLawId() + fromLocation)
+                : Optional.of(lawTree.getRootNode());
+        Set<String> documentIds = viewRoot.map(node -> LawNodeView.getDocumentIds(node, depth))
+                .orElse(Collections.emptySet());
+        streamLawText(lawTree, documentIds, textLookup -> {
+            // Creating the view throws if the location doesn't exist, before anything is written
+            ViewObjectResponse<LawTreeView> lawTreeResponse =
+                    new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth, textLookup), message);
+            response.setContentType(APPLICATION_JSON_UTF8_VALUE);
+            ObjectWriter writer = (JsonResponseConverter.isPrettyPrintRequested())
+                    ? objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT)
+                    : objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+            writer.writeValue(response.getOutputStream(), lawTreeResponse);
+        });
+    }
+
+    /**
+     * Runs the text writer while the text of the law tree's documents is streamed from the database.
+     *
+     * @throws LawTextStreamsBusyEx if the maximum number of text streams are already in progress
+     */
+    private void streamLawText(LawTree lawTree, Set<String> documentIds, LawTextWriter textWriter) throws IOException {
+        if (!textStreams.tryAcquire()) {
+            throw new LawTextStreamsBusyEx();
+        }
+        try {
+            lawDataService.streamLawText(lawTree, documentIds, textLookup -> {
+                try {
+                    textWriter.write(textLookup);
+                }
+                catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+        catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        finally {
+            textStreams.release();
+        }
+    }
+
+    @FunctionalInterface
+    private interface LawTextWriter
+    {
+        void write(Function<String, String> textLookup) throws IOException;
+    }
+
+    private static class LawTextStreamsBusyEx extends RuntimeException
+    {
+        private static final long serialVersionUID = 4219540388531542810L;
+
+        public LawTextStreamsBusyEx() {
+            super("Too many law text streams in progress");
+        }
+    }
+
     /** --- Exception Handlers --- */
 
     @ExceptionHandler(LawTreeNotFoundEx.class)
@@ -165,6 +335,14 @@ public class LawGetCtrl extends BaseCtrl
         return new ViewObjectErrorResponse(ErrorCode.LAW_DOC_NOT_FOUND, new LawIdQueryView(ex.getLawId(), ex.getEndPubDate()));
     }
 
+    @ExceptionHandler(LawTextStreamsBusyEx.class)
+    @ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleLawTextStreamsBusyEx(LawTextStreamsBusyEx ex, HttpServletResponse response) {
+        logger.warn("Rejected a law text request, {} law text streams are in progress", maxTextStreams);
+        response.setHeader(HttpHeaders.RETRY_AFTER, TEXT_STREAMS_RETRY_AFTER);
+        return new ErrorResponse(ErrorCode.LAW_TEXT_STREAMS_BUSY);
+    }
+
     @ExceptionHandler(LawDocumentNotFoundEx.class)
     @ResponseStatus(value = HttpStatus.NOT_FOUND)
     public ErrorResponse handleLawDocNotFoundEx(LawDocumentNotFoundEx ex) {
@@ -8,7 +8,6 @@ import gov.nysenate.openleg.client.response.error.ErrorResponse;
 import gov.nysenate.openleg.client.response.error.ViewObjectErrorResponse;
 import gov.nysenate.openleg.client.view.transcript.TranscriptIdView;
 import gov.nysenate.openleg.client.view.transcript.TranscriptInfoView;
-import gov.nysenate.openleg.client.view.transcript.TranscriptPdfView;
 import gov.nysenate.openleg.client.view.transcript.TranscriptView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
@@ -17,19 +16,18 @@ import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.model.transcript.Transcript;
 import gov.nysenate.openleg.model.transcript.TranscriptId;
 import gov.nysenate.openleg.model.transcript.TranscriptNotFoundEx;
+import gov.nysenate.openleg.service.base.data.ContentVersionService;
+import gov.nysenate.openleg.service.pdf.PdfArtifactCache;
 import gov.nysenate.openleg.service.transcript.data.TranscriptDataService;
 import gov.nysenate.openleg.service.transcript.search.TranscriptSearchService;
 import org.apache.pdfbox.exceptions.COSVisitorException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.stream.Collectors;
 
@@ -49,6 +47,12 @@ public class TranscriptGetCtrl extends BaseCtrl
     @Autowired
     private TranscriptSearchService transcriptSearch;
 
+    @Autowired
+    private ContentVersionService contentVersions;
+
+    @Autowired
+    private PdfArtifactCache pdfCache;
+
     /**
      * Transcript Listing API
      * ----------------------
@@ -107,9 +111,13 @@ public class TranscriptGetCtrl extends BaseCtrl
      * Expected Output: TranscriptView
      */
     @RequestMapping("/{filename:.*}")
-    public BaseResponse getTranscript(@PathVariable String filename) {
+    public BaseResponse getTranscript(@PathVariable String filename, WebRequest request) {
+        TranscriptId transcriptId = new TranscriptId(filename);
+        if (checkNotModified(request, contentVersions.getVersion(transcriptId))) {
+            return null;
+        }
         return new ViewObjectResponse<>(
-            new TranscriptView(transcriptData.getTranscript(new TranscriptId(filename))),
+            new TranscriptView(transcriptData.getTranscript(transcriptId)),
                 "Data for transcript " + filename);
     }
 
@@ -124,15 +132,11 @@ public class TranscriptGetCtrl extends BaseCtrl
      * Expected Output: PDF response.
      */
     @RequestMapping("/{filename}.pdf")
-    public ResponseEntity<byte[]> getTranscriptPdf(@PathVariable String filename)
-            throws IOException, COSVisitorException {
+    public void getTranscriptPdf(@PathVariable String filename, HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException, COSVisitorException {
         TranscriptId transcriptId = new TranscriptId(filename);
         Transcript transcript = transcriptData.getTranscript(transcriptId);
-        ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
-        TranscriptPdfView.writeTranscriptPdf(transcript, pdfBytes);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("application/pdf"));
-        return new ResponseEntity<>(pdfBytes.toByteArray(), headers, HttpStatus.OK);
+        pdfCache.writeTranscriptPdf(transcript, request, response);
     }
 
     /** --- Internal --- */
@@ -21,7 +21,6 @@ import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -77,8 +76,6 @@ public class TranscriptUpdatesCtrl extends BaseCtrl
         LimitOffset limOff = getLimitOffset(request, 25);
         Range<LocalDateTime> range = getOpenRange(from, to, "from", "to");
         PaginatedList<TranscriptUpdateToken> updates = transcriptDao.transcriptsUpdatedDuring(range, SortOrder.ASC, limOff);
-        return ListViewResponse.of(updates.getResults().stream()
-                .map(TranscriptUpdateTokenView::new)
-                .collect(Collectors.toList()), updates.getTotal(), limOff);
+        return ListViewResponse.ofMapped(updates.getResults(), TranscriptUpdateTokenView::new, updates.getTotal(), limOff);
     }
 }
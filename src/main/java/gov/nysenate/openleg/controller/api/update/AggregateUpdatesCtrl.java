@@ -1,7 +1,11 @@
 package gov.nysenate.openleg.controller.api.update;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.CursorListViewResponse;
 import gov.nysenate.openleg.client.response.base.DateRangeListViewResponse;
 import gov.nysenate.openleg.client.view.agenda.AgendaIdView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
@@ -12,6 +16,7 @@ import gov.nysenate.openleg.client.view.law.LawVersionIdView;
 import gov.nysenate.openleg.client.view.updates.UpdateDigestView;
 import gov.nysenate.openleg.client.view.updates.UpdateTokenView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.controller.api.base.InvalidRequestParamEx;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
@@ -21,10 +26,7 @@ import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.law.LawDocId;
 import gov.nysenate.openleg.model.law.LawVersionId;
-import gov.nysenate.openleg.model.updates.UpdateContentType;
-import gov.nysenate.openleg.model.updates.UpdateDigest;
-import gov.nysenate.openleg.model.updates.UpdateToken;
-import gov.nysenate.openleg.model.updates.UpdateType;
+import gov.nysenate.openleg.model.updates.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -32,12 +34,14 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.function.Function;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.*;
 import static org.springframework.http.MediaType.*;
@@ -46,8 +50,23 @@ import static org.springframework.http.MediaType.*;
 @RequestMapping(value = BASE_API_PATH + "/updates", method = RequestMethod.GET, produces = APPLICATION_JSON_VALUE)
 public class AggregateUpdatesCtrl extends BaseCtrl {
 
+    /** Maximum page size when paginating with a cursor. */
+    private static final int MAX_CURSOR_LIMIT = 1000;
+
+    /** Number of updates retrieved at a time when streaming. */
+    private static final int STREAM_PAGE_SIZE = 1000;
+
     @Autowired AggregateUpdatesDao updatesDao;
 
+    @Autowired ObjectMapper objectMapper;
+
+    private ObjectWriter lineWriter;
+
+    @PostConstruct
+    public void init() {
+        lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
     /**
      * Aggregate Updates API
      * ---------------------
@@ -63,6 +82,9 @@ public class AggregateUpdatesCtrl extends BaseCtrl {
      *                 type (string) - Update type (processed, published) Default: processed
      *                 limit, offset (int) - Paginate
      *                 order (string) - Order by update
+     *                 cursor (string) - Paginate with a cursor instead of an offset.  Pass an empty cursor to get the
+     *                                   first page and the 'nextCursor' from each response to get the following page.
+     *                                   Deep pages are much cheaper to retrieve this way.
      *
      * Expected Response: List of UpdateTokenView or UpdateDigestTokenView if detail = true
      */
@@ -89,20 +111,120 @@ public class AggregateUpdatesCtrl extends BaseCtrl {
         LimitOffset limitOffset = getLimitOffset(webRequest, 50);
         SortOrder order = getSortOrder(webRequest, SortOrder.DESC);
 
+        String cursorParam = webRequest.getParameter("cursor");
+        if (cursorParam != null) {
+            int limit = limitOffset.hasLimit() ? limitOffset.getLimit() : MAX_CURSOR_LIMIT;
+            Optional<UpdateCursor> cursor = parseCursor(cursorParam);
+            return detail
+                    ? getCursorResponse(updatesDao.getUpdateDigests(dateTimeRange, contentTypes, updateType, order, cursor,
+                                                                    limit, fields),
+                                        this::getDigestView, dateTimeRange, limit)
+                    : getCursorResponse(updatesDao.getUpdateTokens(dateTimeRange, contentTypes, updateType, order, cursor, limit),
+                                        this::getTokenView, dateTimeRange, limit);
+        }
         return detail
                 ? getDigestResponse(dateTimeRange, updateType, contentTypes, fields, limitOffset, order)
                 : getTokenResponse(dateTimeRange, updateType, contentTypes, limitOffset, order);
     }
 
+    /**
+     * Aggregate Updates Stream API
+     * ----------------------------
+     *
+     * Streams all updates within the range as newline delimited json, with one update per line.
+     * Intended for clients that mirror openleg data, which can request the updates since their last sync.
+     *
+     * Usages:
+     * (GET) /api/3/updates/stream/{from date-time}
+     * (GET) /api/3/updates/stream/{from date-time}/{to date-time}
+     *
+     * Request Params: detail, fields, content-type, type - Same as the aggregate updates api
+     *                 order (string) - Order by update Default: ASC
+     *                 cursor (string) - Resume from a cursor returned by the aggregate updates api
+     *
+     * Expected Response: UpdateTokenView or UpdateDigestView (if detail = true) lines
+     *                    (json is also listed as producible so that error responses can be written)
+     */
+    @RequestMapping(value = "/stream/{from:.*\\.?.*}", produces = {NDJSON_VALUE, APPLICATION_JSON_VALUE})
+    public void streamAggregateUpdates(@PathVariable String from, WebRequest webRequest,
+                                       HttpServletResponse response) throws IOException {
+        streamUpdates(parseISODateTime(from, "from"), LocalDateTime.now(), webRequest, response);
+    }
+
+    @RequestMapping(value = "/stream/{from}/{to:.*\\.?.*}", produces = {NDJSON_VALUE, APPLICATION_JSON_VALUE})
+    public void streamAggregateUpdates(@PathVariable String from, @PathVariable String to, WebRequest webRequest,
+                                       HttpServletResponse response) throws IOException {
+        streamUpdates(parseISODateTime(from, "from"), parseISODateTime(to, "to"), webRequest, response);
+    }
+
+    /**
+     * Writes out all updates matching the request, a page at a time, so that memory use does not depend on the
+     * number of updates.
+     */
+    private void streamUpdates(LocalDateTime from, LocalDateTime to, WebRequest webRequest,
+                               HttpServletResponse response) throws IOException {
+        Range<LocalDateTime> dateTimeRange = getOpenRange(from, to, "from", "to");
+        UpdateType updateType = getUpdateTypeFromParam(webRequest);
+        boolean detail = getBooleanParam(webRequest, "detail", false);
+        boolean fields = getBooleanParam(webRequest, "fields", false);
+        Set<UpdateContentType> contentTypes = getContentTypes(webRequest);
+        SortOrder order = getSortOrder(webRequest, SortOrder.ASC);
+        Optional<UpdateCursor> cursor = parseCursor(Optional.ofNullable(webRequest.getParameter("cursor")).orElse(""));
+
+        response.setContentType(NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        Writer writer = response.getWriter();
+        do {
+            if (detail) {
+                UpdateCursorPage<UpdateDigest<Map<String, String>>> page = updatesDao.getUpdateDigests(
+                        dateTimeRange, contentTypes, updateType, order, cursor, STREAM_PAGE_SIZE, fields);
+                writeLines(writer, page.getResults(), this::getDigestView);
+                cursor = page.getNextCursor();
+            }
+            else {
+                UpdateCursorPage<UpdateToken<Map<String, String>>> page = updatesDao.getUpdateTokens(
+                        dateTimeRange, contentTypes, updateType, order, cursor, STREAM_PAGE_SIZE);
+                writeLines(writer, page.getResults(), this::getTokenView);
+                cursor = page.getNextCursor();
+            }
+            writer.flush();
+        } while (cursor.isPresent());
+    }
+
+    private <T> void writeLines(Writer writer, List<T> updates, Function<T, ? extends ViewObject> viewMapper)
+            throws IOException {
+        for (T update : updates) {
+            writer.write(lineWriter.writeValueAsString(viewMapper.apply(update)));
+            writer.write('\n');
+        }
+    }
+
+    private <T> BaseResponse getCursorResponse(UpdateCursorPage<T> page, Function<T, ? extends ViewObject> viewMapper,
+                                               Range<LocalDateTime> dateTimeRange, int limit) {
+        return CursorListViewResponse.ofMapped(page.getResults(), viewMapper, dateTimeRange, limit, page.getNextCursor());
+    }
+
+    /**
+     * Parses a cursor request param, an empty param indicates the first page.
+     */
+    private Optional<UpdateCursor> parseCursor(String cursorParam) {
+        if (cursorParam.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UpdateCursor.decode(cursorParam));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestParamEx(cursorParam, "cursor", "string", "A cursor from a previous updates response");
+        }
+    }
+
     private BaseResponse getTokenResponse(Range<LocalDateTime> dateTimeRange, UpdateType updateType,
                                           Set<UpdateContentType> contentTypes,
                                           LimitOffset limitOffset, SortOrder order) {
         PaginatedList<UpdateToken<Map<String, String>>> result =
                 updatesDao.getUpdateTokens(dateTimeRange, contentTypes, updateType, order, limitOffset);
-        return DateRangeListViewResponse.of(
-                result.getResults().stream()
-                        .map(this::getTokenView)
-                        .collect(Collectors.toList()),
+        return DateRangeListViewResponse.ofMapped(result.getResults(),
+                this::getTokenView,
                 dateTimeRange, result.getTotal(), limitOffset);
     }
 
@@ -111,10 +233,8 @@ public class AggregateUpdatesCtrl extends BaseCtrl {
                                            LimitOffset limitOffset, SortOrder order) {
         PaginatedList<UpdateDigest<Map<String, String>>> result =
                 updatesDao.getUpdateDigests(dateTimeRange, contentTypes, updateType, order, limitOffset, fields);
-        return DateRangeListViewResponse.of(
-                result.getResults().stream()
-                        .map(this::getDigestView)
-                        .collect(Collectors.toList()),
+        return DateRangeListViewResponse.ofMapped(result.getResults(),
+                this::getDigestView,
                 dateTimeRange, result.getTotal(), limitOffset);
     }
 
@@ -0,0 +1,71 @@
+package gov.nysenate.openleg.controller.api.update;
+
+import gov.nysenate.openleg.model.updates.UpdateStreamTopic;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptorAdapter;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * Limits STOMP sessions opened through the public update stream endpoint to the update stream.
+ *
+ * The public endpoint shares its message broker with the admin endpoint, which also carries admin only
+ * destinations such as the api request log. Sessions are marked when they are opened through the public endpoint
+ * and may then only subscribe to the update topics and the replay destination.
+ */
+public class UpdateStreamAccessInterceptor extends ChannelInterceptorAdapter implements HandshakeInterceptor
+{
+    private static final String UPDATE_STREAM_ONLY_ATTR = "updateStreamOnly";
+
+    private static final String REPLAY_DESTINATION_PREFIX = "/app/updates/replay/";
+
+    /** --- HandshakeInterceptor implementation --- */
+
+    /** Marks sessions opened through the endpoint that this interceptor is added to. */
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler,
+                                   Map<String, Object> attributes) {
+        attributes.put(UPDATE_STREAM_ONLY_ATTR, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler,
+                               Exception exception) {}
+
+    /** --- ChannelInterceptor implementation --- */
+
+    /** Rejects messages from marked sessions that are not needed to receive the update stream. */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+        if (attributes == null || !Boolean.TRUE.equals(attributes.get(UPDATE_STREAM_ONLY_ATTR))) {
+            return message;
+        }
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        if (messageType == SimpMessageType.MESSAGE) {
+            throw new MessageDeliveryException(message, "Messages cannot be sent on the update stream");
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (messageType == SimpMessageType.SUBSCRIBE && !isUpdateStreamDestination(destination)) {
+            throw new MessageDeliveryException(message, "Cannot subscribe to " + destination + " on the update stream");
+        }
+        return message;
+    }
+
+    /** --- Internal --- */
+
+    private static boolean isUpdateStreamDestination(String destination) {
+        return StringUtils.startsWith(destination, UpdateStreamTopic.DESTINATION_PREFIX + "/") ||
+               StringUtils.startsWith(destination, REPLAY_DESTINATION_PREFIX);
+    }
+}
@@ -0,0 +1,56 @@
+package gov.nysenate.openleg.controller.api.update;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import gov.nysenate.openleg.model.updates.UpdateStreamTopic;
+import gov.nysenate.openleg.service.updates.UpdateStreamService;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Update Stream API (STOMP)
+ *
+ * Clients connect to the /stream/updates SockJS endpoint, passing their api key as the 'key' query parameter
+ * (e.g. /stream/updates?key=...), and subscribe to /event/updates/{topic} for each type of content they are
+ * interested in (agenda, bill, calendar, law, transcript). Each message is an update-stream-token.
+ * Sessions on this endpoint can only subscribe to the update stream destinations.
+ *
+ * Tokens are sent in position order, so a client can resume from the position of the last token it received.
+ *
+ * To resume after a reconnect, clients subscribe to their topics and then to
+ * /app/updates/replay/{streamId}/{position} with the stream id and position of the last token they received.
+ * The reply is an update-stream-replay containing the missed tokens. An optional 'topics' header
+ * (comma separated, e.g. 'bill,agenda') limits the replay to those topics.
+ * Tokens received on both the replay and the live subscription can be told apart by their position.
+ * If the replay is not complete, the client should catch up using the /api/3/updates api.
+ */
+@Controller
+public class UpdateStreamCtrl
+{
+    @Autowired private UpdateStreamService updateStreamService;
+
+    @SubscribeMapping("/updates/replay/{streamId}/{position}")
+    public JsonNode replay(@DestinationVariable String streamId, @DestinationVariable long position,
+                           @Header(value = "topics", required = false) String topics) {
+        return updateStreamService.toJson(
+                updateStreamService.getReplay(streamId, position, getTopics(topics)));
+    }
+
+    /** --- Internal --- */
+
+    private Set<UpdateStreamTopic> getTopics(String topics) {
+        Set<UpdateStreamTopic> topicSet = EnumSet.noneOf(UpdateStreamTopic.class);
+        for (String topic : StringUtils.split(StringUtils.defaultString(topics), ',')) {
+            try {
+                topicSet.add(UpdateStreamTopic.getValue(topic));
+            } catch (IllegalArgumentException ignored) {}
+        }
+        return topicSet.isEmpty() ? EnumSet.allOf(UpdateStreamTopic.class) : topicSet;
+    }
+}
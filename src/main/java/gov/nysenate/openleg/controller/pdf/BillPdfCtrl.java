@@ -1,25 +1,20 @@
 package gov.nysenate.openleg.controller.pdf;
 
-import gov.nysenate.openleg.client.view.bill.BillPdfView;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.service.bill.data.BillAmendNotFoundEx;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
+import gov.nysenate.openleg.service.pdf.PdfArtifactCache;
 import org.apache.pdfbox.exceptions.COSVisitorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -32,10 +27,11 @@ public class BillPdfCtrl
     private static final Logger logger = LoggerFactory.getLogger(BillPdfCtrl.class);
 
     @Autowired protected BillDataService billData;
+    @Autowired protected PdfArtifactCache pdfCache;
 
     @RequestMapping(value = "/{sessionYear:[\\d]{4}}/{printNo}")
-    public ResponseEntity<byte[]> getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo,
-                                             HttpServletRequest request, HttpServletResponse response)
+    public void getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo,
+                           HttpServletRequest request, HttpServletResponse response)
             throws IOException {
         try {
             BillId billId = new BillId(printNo, sessionYear);
@@ -49,11 +45,7 @@ public class BillPdfCtrl
                 response.sendRedirect(urlString);
             } else {
                 Bill bill = billData.getBill(BaseBillId.of(billId));
-                ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
-                BillPdfView.writeBillPdf(bill, billId.getVersion(), pdfBytes);
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.parseMediaType("application/pdf"));
-                return new ResponseEntity<>(pdfBytes.toByteArray(), headers, HttpStatus.OK);
+                pdfCache.writeBillPdf(bill, billId.getVersion(), request, response);
             }
         } catch (BillNotFoundEx | BillAmendNotFoundEx ex) {
             response.sendError(404, ex.getMessage());
@@ -61,6 +53,5 @@ public class BillPdfCtrl
             logger.error("Exception in bill pdf viewer.", ex);
             response.sendError(404, "PDF text for " + printNo + " " + sessionYear + " is not available.");
         }
-        return null;
     }
 }
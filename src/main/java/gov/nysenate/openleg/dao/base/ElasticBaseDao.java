@@ -6,9 +6,11 @@ import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequestBuilder;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.admin.indices.exists.indices.IndicesExistsRequest;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteAction;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteRequestBuilder;
@@ -18,6 +20,10 @@ import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.SearchType;
 import org.elasticsearch.client.Client;
+import org.elasticsearch.cluster.metadata.AliasMetaData;
+import org.elasticsearch.common.collect.ImmutableOpenMap;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.IndexNotFoundException;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -29,13 +35,14 @@ import org.elasticsearch.search.sort.SortBuilders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import javax.annotation.PostConstruct;
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -48,6 +55,17 @@ public abstract class ElasticBaseDao
     @Autowired
     protected Client searchClient;
 
+    /** The maximum size of a single bulk request sent by a bulk indexer. */
+    @Value("${elastic.search.bulk.size.mb:5}")
+    private int bulkSizeMb;
+
+    /** The number of bulk requests a bulk indexer may have in flight at once. */
+    @Value("${elastic.search.bulk.concurrent.requests:2}")
+    private int bulkConcurrentRequests;
+
+    /** Indices that requests for an alias are sent to while the alias is being created, keyed by alias. */
+    private final Map<String, String> aliasRedirects = new ConcurrentHashMap<>();
+
     @PostConstruct
     private void init() {
         createIndices();
@@ -103,7 +121,7 @@ public abstract class ElasticBaseDao
     protected SearchRequestBuilder getSearchRequest(String indexName, QueryBuilder query, QueryBuilder postFilter,
                                                     List<HighlightBuilder.Field> highlightedFields, RescoreBuilder.Rescorer rescorer,
                                                     List<SortBuilder> sort, LimitOffset limitOffset, boolean fetchSource) {
-        SearchRequestBuilder searchBuilder = searchClient.prepareSearch(indexName)
+        SearchRequestBuilder searchBuilder = searchClient.prepareSearch(resolveIndex(indexName))
                 .setSearchType(SearchType.QUERY_THEN_FETCH)
                 .setQuery(query)
                 .setRescorer(rescorer)
@@ -161,7 +179,7 @@ public abstract class ElasticBaseDao
      * @return Optional<T></T>
      */
     protected <T> Optional<T> getRequest(String index, String type, String id, Function<GetResponse, T> responseMapper) {
-        GetResponse getResponse = searchClient.prepareGet(index, type, id).execute().actionGet();
+        GetResponse getResponse = searchClient.prepareGet(resolveIndex(index), type, id).execute().actionGet();
         if (getResponse.isExists()) {
             return Optional.of(responseMapper.apply(getResponse));
         }
@@ -172,16 +190,103 @@ public abstract class ElasticBaseDao
      * Performs a bulk request execution while making sure that the bulk request is actually valid to
      * prevent exceptions.
      * @param bulkRequest BulkRequestBuilder
+     * @return BulkResponse - null if the request was not executed
      */
-    protected void safeBulkRequestExecute(BulkRequestBuilder bulkRequest) {
+    protected BulkResponse safeBulkRequestExecute(BulkRequestBuilder bulkRequest) {
         if (bulkRequest != null && bulkRequest.numberOfActions() > 0) {
-            bulkRequest.execute().actionGet();
+            return bulkRequest.execute().actionGet();
         }
+        return null;
+    }
+
+    /**
+     * Creates a bulk indexer that sends size bounded bulk requests concurrently.
+     * The caller is responsible for closing the indexer.
+     *
+     * @return ElasticBulkIndexer
+     */
+    public ElasticBulkIndexer getBulkIndexer() {
+        return new ElasticBulkIndexer(searchClient, new ByteSizeValue(bulkSizeMb, ByteSizeUnit.MB), bulkConcurrentRequests);
+    }
+
+    /**
+     * Creates a new index whose name is derived from the given alias and the current time. The new index can be
+     * populated while the alias keeps serving searches and then put into service via {@link #swapAlias}.
+     *
+     * @param alias String
+     * @return String - The name of the new index
+     */
+    protected String createVersionedIndex(String alias) {
+        String indexName = alias + "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        createIndex(indexName);
+        return indexName;
+    }
+
+    /**
+     * Returns the names of the indices that the given alias points to. The result is empty if the alias
+     * does not exist, or if the name belongs to a concrete index instead.
+     *
+     * @param alias String
+     * @return Set<String>
+     */
+    protected Set<String> getAliasedIndices(String alias) {
+        ImmutableOpenMap<String, List<AliasMetaData>> aliases =
+            searchClient.admin().indices().prepareGetAliases(alias).execute().actionGet().getAliases();
+        Set<String> indices = new HashSet<>();
+        aliases.keysIt().forEachRemaining(index -> {
+            if (!aliases.get(index).isEmpty()) {
+                indices.add(index);
+            }
+        });
+        return indices;
+    }
+
+    /**
+     * Atomically points the alias at the given index and then deletes the indices it pointed to before.
+     *
+     * An alias cannot share its name with an index, so if a concrete index exists with the alias name
+     * (i.e. it was created before aliases were used) it has to be deleted before the alias is added. Elastic Search
+     * 2.x cannot do both in a single aliases request, so while that happens the requests this dao makes for the
+     * alias (see {@link #resolveIndex}) are sent straight to the new index instead.
+     *
+     * @param alias String
+     * @param indexName String - The index that the alias should point to.
+     */
+    protected void swapAlias(String alias, String indexName) {
+        Set<String> oldIndices = getAliasedIndices(alias);
+        if (oldIndices.isEmpty() && indicesExist(alias)) {
+            aliasRedirects.put(alias, indexName);
+            try {
+                deleteIndex(alias);
+                searchClient.admin().indices().prepareAliases().addAlias(indexName, alias).execute().actionGet();
+            }
+            finally {
+                aliasRedirects.remove(alias);
+            }
+        }
+        else {
+            IndicesAliasesRequestBuilder aliasRequest = searchClient.admin().indices().prepareAliases();
+            oldIndices.forEach(oldIndex -> aliasRequest.removeAlias(oldIndex, alias));
+            aliasRequest.addAlias(indexName, alias).execute().actionGet();
+        }
+        logger.info("Search alias {} now points to index {}", alias, indexName);
+        oldIndices.forEach(this::deleteIndex);
+    }
+
+    /**
+     * Returns the index that requests for the given index or alias should be sent to. This is the given name
+     * unless the alias is currently being put in place of a concrete index by {@link #swapAlias}.
+     *
+     * @param indexName String
+     * @return String
+     */
+    protected String resolveIndex(String indexName) {
+        return aliasRedirects.getOrDefault(indexName, indexName);
     }
 
     protected void deleteEntry(String indexName, String type, String id) {
         DeleteRequestBuilder request = searchClient.prepareDelete();
-        request.setIndex(indexName);
+        request.setIndex(resolveIndex(indexName));
         request.setType(type);
         request.setId(id);
         request.execute().actionGet();
@@ -0,0 +1,118 @@
+package gov.nysenate.openleg.dao.base;
+
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends index requests to elastic search through a {@link BulkProcessor}. The requests are grouped into bulk
+ * requests of a maximum size in bytes, and several bulk requests can be in flight at once. Adding a request
+ * blocks while the maximum number of bulk requests are executing, which keeps the producer from getting too
+ * far ahead of the cluster.
+ *
+ * The number of documents and bytes that were indexed are tracked so that progress can be reported.
+ * Instances should be obtained via {@link ElasticBaseDao#getBulkIndexer()} and closed once all requests were added.
+ */
+public class ElasticBulkIndexer implements AutoCloseable
+{
+    private static final Logger logger = LoggerFactory.getLogger(ElasticBulkIndexer.class);
+
+    /** The maximum amount of time to wait for outstanding bulk requests when closing. */
+    private static final long CLOSE_TIMEOUT_MINUTES = 10;
+
+    private final BulkProcessor bulkProcessor;
+
+    private final AtomicLong indexedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong indexedBytes = new AtomicLong();
+
+    public ElasticBulkIndexer(Client client, ByteSizeValue bulkSize, int concurrentRequests) {
+        this.bulkProcessor = BulkProcessor.builder(client, new Listener())
+            .setBulkActions(-1)
+            .setBulkSize(bulkSize)
+            .setConcurrentRequests(concurrentRequests)
+            .build();
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Queues a document to be indexed.
+     *
+     * @param index String - The index to add the document to.
+     * @param type String - The document type.
+     * @param id String - The document id.
+     * @param source String - The json source of the document.
+     */
+    public void index(String index, String type, String id, String source) {
+        bulkProcessor.add(new IndexRequest(index, type, id).source(source));
+    }
+
+    /**
+     * Sends any queued requests and waits for all outstanding bulk requests to complete.
+     */
+    @Override
+    public void close() {
+        try {
+            if (!bulkProcessor.awaitClose(CLOSE_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+                logger.error("Timed out waiting for bulk index requests to complete");
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** --- Getters --- */
+
+    /** The number of documents that were successfully indexed. */
+    public long getIndexedCount() {
+        return indexedCount.get();
+    }
+
+    /** The number of documents that failed to be indexed. */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /** The approximate number of bytes that were sent to elastic search. */
+    public long getIndexedBytes() {
+        return indexedBytes.get();
+    }
+
+    /** --- Internal --- */
+
+    private class Listener implements BulkProcessor.Listener
+    {
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request) {
+            logger.debug("Sending bulk request {} with {} actions", executionId, request.numberOfActions());
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+            long failures = Arrays.stream(response.getItems()).filter(item -> item.isFailed()).count();
+            indexedCount.addAndGet(request.numberOfActions() - failures);
+            failedCount.addAndGet(failures);
+            indexedBytes.addAndGet(request.estimatedSizeInBytes());
+            if (response.hasFailures()) {
+                logger.error("Bulk request {} had failures: {}", executionId, response.buildFailureMessage());
+            }
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+            failedCount.addAndGet(request.numberOfActions());
+            logger.error("Bulk request " + executionId + " failed", failure);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package gov.nysenate.openleg.dao.base;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.*;
+
+/**
+ * Collects parameterized update statements so that they can be sent to the database as JDBC batches
+ * instead of as individual round trips.
+ *
+ * Statements are executed grouped by query, in the order that the queries were registered. Callers should
+ * therefore register queries in an order that respects any foreign key or delete-before-insert dependencies
+ * between them. Queries that are added without being registered are executed after all registered queries.
+ *
+ * Upserts follow the same UPDATE-then-INSERT convention used throughout the dao layer, except that all of
+ * the updates are batched first and only the param sets that did not affect any rows are batch inserted.
+ */
+public class SqlBatchUpdate
+{
+    private static final Logger logger = LoggerFactory.getLogger(SqlBatchUpdate.class);
+
+    private final NamedParameterJdbcTemplate jdbcNamed;
+    private final String schema;
+
+    /** Queued param sources keyed by query, in execution order. */
+    private final Map<BasicSqlQuery, List<SqlParameterSource>> updates = new LinkedHashMap<>();
+
+    /** Maps an upsert's update query to the insert query to run when the update matches no rows. */
+    private final Map<BasicSqlQuery, BasicSqlQuery> upsertInserts = new HashMap<>();
+
+    public SqlBatchUpdate(NamedParameterJdbcTemplate jdbcNamed, String schema) {
+        this.jdbcNamed = jdbcNamed;
+        this.schema = schema;
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Reserves a position in the execution order for each of the given queries.
+     *
+     * @param queries BasicSqlQuery...
+     * @return SqlBatchUpdate - this instance
+     */
+    public SqlBatchUpdate register(BasicSqlQuery... queries) {
+        for (BasicSqlQuery query : queries) {
+            updates.putIfAbsent(query, new ArrayList<>());
+        }
+        return this;
+    }
+
+    /**
+     * Reserves a position in the execution order for an UPDATE-then-INSERT query pair.
+     *
+     * @param updateQuery BasicSqlQuery - Executed for every queued param source.
+     * @param insertQuery BasicSqlQuery - Executed for the param sources whose update did not match any rows.
+     * @return SqlBatchUpdate - this instance
+     */
+    public SqlBatchUpdate registerUpsert(BasicSqlQuery updateQuery, BasicSqlQuery insertQuery) {
+        register(updateQuery);
+        upsertInserts.put(updateQuery, insertQuery);
+        return this;
+    }
+
+    /**
+     * Queues a statement for the given query.
+     *
+     * @param query BasicSqlQuery
+     * @param params SqlParameterSource
+     */
+    public void add(BasicSqlQuery query, SqlParameterSource params) {
+        updates.computeIfAbsent(query, q -> new ArrayList<>()).add(params);
+    }
+
+    /**
+     * @return int - The number of statements currently queued.
+     */
+    public int size() {
+        return updates.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Sends all queued statements to the database, one batch per query, and clears the queue.
+     * This should be called within a transaction if the statements need to be applied atomically.
+     */
+    public void execute() {
+        for (Map.Entry<BasicSqlQuery, List<SqlParameterSource>> entry : updates.entrySet()) {
+            List<SqlParameterSource> paramList = entry.getValue();
+            if (paramList.isEmpty()) {
+                continue;
+            }
+            int[] counts = batchUpdate(entry.getKey(), paramList);
+            BasicSqlQuery insertQuery = upsertInserts.get(entry.getKey());
+            if (insertQuery != null) {
+                List<SqlParameterSource> insertParams = new ArrayList<>();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        insertParams.add(paramList.get(i));
+                    }
+                }
+                if (!insertParams.isEmpty()) {
+                    batchUpdate(insertQuery, insertParams);
+                }
+            }
+            paramList.clear();
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    private int[] batchUpdate(BasicSqlQuery query, List<SqlParameterSource> paramList) {
+        logger.trace("Executing batch of {} statements for {}", paramList.size(), query);
+        return jdbcNamed.batchUpdate(query.getSql(schema), paramList.toArray(new SqlParameterSource[paramList.size()]));
+    }
+}
@@ -9,8 +9,10 @@ import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.dao.DataAccessException;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,6 +41,27 @@ public interface BillDao
      */
     public BillInfo getBillInfo(BillId billId) throws DataAccessException;
 
+    /**
+     * Retrieves full Bills for each of the given base bill ids. Rather than issuing the queries for each bill
+     * individually, each piece of bill data is fetched for many bills at once, making this much cheaper than
+     * calling {@link #getBill(BillId)} in a loop.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @return List<Bill> - In the same order as the given ids. Ids that don't match a bill are omitted.
+     * @throws DataAccessException
+     */
+    public List<Bill> getBills(Collection<BaseBillId> billIds) throws DataAccessException;
+
+    /**
+     * Retrieves BillInfos for each of the given base bill ids using bulk queries.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @return List<BillInfo> - In the same order as the given ids. Ids that don't match a bill are omitted.
+     * @throws DataAccessException
+     * @see #getBills(Collection)
+     */
+    public List<BillInfo> getBillInfos(Collection<BaseBillId> billIds) throws DataAccessException;
+
     /**
      * This method applies the memo and full text for all amendments contained in the given Bill object.
      * This can be used by caching implementations where the bill object is kept in memory but the references
@@ -49,6 +72,15 @@ public interface BillDao
      */
     public void applyText(Bill strippedBill) throws DataAccessException;
 
+    /**
+     * Applies the memo and full text to each of the given stripped Bills using bulk queries.
+     *
+     * @param strippedBills Collection<Bill>
+     * @throws DataAccessException
+     * @see #applyText(Bill)
+     */
+    public void applyText(Collection<Bill> strippedBills) throws DataAccessException;
+
     /**
      * Gets a List of BaseBillIds for the given session year with options to order and limit the results.
      *
@@ -102,4 +134,14 @@ public interface BillDao
      * @throws DataAccessException - If there was an error while trying to save the Bill.
      */
     public void updateBill(Bill bill, SobiFragment sobiFragment) throws DataAccessException;
+
+    /**
+     * Updates or inserts all of the given bills, each associated with the SobiFragment that triggered its
+     * update (null if not applicable). This is intended for persisting many bills at once, e.g. when the
+     * ingest cache is flushed, so the writes are batched and applied within a single transaction.
+     *
+     * @param billFragments Collection<Pair<Bill, SobiFragment>>
+     * @throws DataAccessException - If there was an error while trying to save the Bills.
+     */
+    public void updateBills(Collection<Pair<Bill, SobiFragment>> billFragments) throws DataAccessException;
 }
@@ -1,8 +1,10 @@
 package gov.nysenate.openleg.dao.bill.data;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.MapDifference;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Range;
+import com.google.common.hash.Hashing;
 import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.dao.common.BillVoteRowHandler;
 import gov.nysenate.openleg.model.agenda.AgendaId;
@@ -19,6 +21,7 @@ import gov.nysenate.openleg.service.bill.data.ApprovalNotFoundException;
 import gov.nysenate.openleg.service.bill.data.VetoDataService;
 import gov.nysenate.openleg.service.bill.data.VetoNotFoundException;
 import gov.nysenate.openleg.service.entity.member.data.MemberService;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,7 +32,9 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
@@ -38,12 +43,16 @@ import java.util.*;
 
 import static gov.nysenate.openleg.util.CollectionUtils.difference;
 import static gov.nysenate.openleg.util.DateUtils.toDate;
+import static java.util.stream.Collectors.toList;
 
 @Repository
 public class SqlBillDao extends SqlBaseDao implements BillDao
 {
     private static final Logger logger = LoggerFactory.getLogger(SqlBillDao.class);
 
+    /** The maximum number of bills that are fetched by a single round of bulk queries. */
+    private static final int BULK_FETCH_SIZE = 500;
+
     @Autowired private MemberService memberService;
     @Autowired private VetoDataService vetoDataService;
     @Autowired private ApprovalDataService approvalDataService;
@@ -114,6 +123,40 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         return bill.getBillInfo();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public List<Bill> getBills(Collection<BaseBillId> billIds) throws DataAccessException {
+        List<Bill> bills = new ArrayList<>(billIds.size());
+        for (List<BaseBillId> billIdPage : Iterables.partition(new LinkedHashSet<>(billIds), BULK_FETCH_SIZE)) {
+            logger.trace("Fetching {} bills from database...", billIdPage.size());
+            bills.addAll(getBillPage(billIdPage));
+        }
+        return bills;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<BillInfo> getBillInfos(Collection<BaseBillId> billIds) throws DataAccessException {
+        List<BillInfo> billInfos = new ArrayList<>(billIds.size());
+        for (List<BaseBillId> billIdPage : Iterables.partition(new LinkedHashSet<>(billIds), BULK_FETCH_SIZE)) {
+            logger.trace("Fetching {} bill infos from database...", billIdPage.size());
+            final ImmutableParams bulkParams = getBulkParams(billIdPage);
+            Map<BaseBillId, Bill> billMap = getBulkBaseBills(billIdPage, bulkParams);
+            Map<BaseBillId, BillSponsor> sponsors = getBulkBillSponsors(bulkParams);
+            Map<BaseBillId, List<BillStatus>> milestones = queryByBaseBillId(SqlBillQuery.GET_BILLS_MILESTONES,
+                new OrderBy("rank", SortOrder.ASC), bulkParams, new BillMilestoneRowMapper());
+            Map<BaseBillId, List<BillAction>> actions = queryByBaseBillId(SqlBillQuery.SELECT_BILLS_ACTIONS,
+                new OrderBy("sequence_no", SortOrder.ASC), bulkParams, new BillActionRowMapper());
+            billMap.forEach((baseBillId, bill) -> {
+                bill.setSponsor(sponsors.get(baseBillId));
+                bill.setMilestones(new LinkedList<>(milestones.getOrDefault(baseBillId, Collections.emptyList())));
+                bill.setActions(actions.getOrDefault(baseBillId, new ArrayList<>()));
+                billInfos.add(bill.getBillInfo());
+            });
+        }
+        return billInfos;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void applyText(Bill strippedBill) throws DataAccessException {
@@ -129,6 +172,22 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         });
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void applyText(Collection<Bill> strippedBills) throws DataAccessException {
+        Map<BaseBillId, Bill> billMap = new HashMap<>();
+        strippedBills.forEach(bill -> billMap.put(bill.getBaseBillId(), bill));
+        for (List<BaseBillId> billIdPage : Iterables.partition(billMap.keySet(), BULK_FETCH_SIZE)) {
+            jdbcNamed.query(SqlBillQuery.SELECT_BILLS_TEXT.getSql(schema()), getBulkParams(billIdPage),
+                (RowCallbackHandler) (ResultSet rs) -> {
+                    Bill bill = billMap.get(new BaseBillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year")));
+                    BillAmendment ba = bill.getAmendment(Version.of(rs.getString("bill_amend_version")));
+                    ba.setMemo(rs.getString("sponsor_memo"));
+                    ba.setFullText(rs.getString("full_text"));
+                });
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -138,44 +197,37 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
      * reference is used to keep track of changes to the bill.
      */
     @Override
+    @Transactional
     public void updateBill(Bill bill, SobiFragment sobiFragment) {
-        logger.trace("Updating Bill {} in database...", bill);
-        // Update the bill record
-        final ImmutableParams billParams = ImmutableParams.from(getBillParams(bill, sobiFragment));
-        if (jdbcNamed.update(SqlBillQuery.UPDATE_BILL.getSql(schema()), billParams) == 0) {
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL.getSql(schema()), billParams);
+        updateBills(Collections.singletonList(Pair.of(bill, sobiFragment)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The existing state of each bill is still read individually in order to determine what has changed,
+     * but all of the resulting inserts, updates, and deletes are queued up and sent to the database as
+     * one JDBC batch per statement type within a single transaction.
+     */
+    @Override
+    @Transactional
+    public void updateBills(Collection<Pair<Bill, SobiFragment>> billFragments) {
+        logger.trace("Updating {} Bills in database...", billFragments.size());
+        SqlBatchUpdate batch = getBillBatchUpdate();
+        for (Pair<Bill, SobiFragment> billFragment : billFragments) {
+            queueBillUpdates(billFragment.getLeft(), billFragment.getRight(), batch);
         }
-        // Update the bill amendments
-        for (BillAmendment amendment : bill.getAmendmentList()) {
-            final ImmutableParams amendParams = ImmutableParams.from(getBillAmendmentParams(amendment, sobiFragment));
-            if (jdbcNamed.update(SqlBillQuery.UPDATE_BILL_AMENDMENT.getSql(schema()), amendParams) == 0) {
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_AMENDMENT.getSql(schema()), amendParams);
-            }
-            // Update the same as bills
-            updateBillSameAs(amendment, sobiFragment, amendParams);
-            // Update the co-sponsors list
-            updateBillCosponsor(amendment, sobiFragment, amendParams);
-            // Update the multi-sponsors list
-            updateBillMultiSponsor(amendment, sobiFragment, amendParams);
-            // Update votes
-            updateBillVotes(amendment, sobiFragment, amendParams);
+        logger.trace("Executing {} batched bill statements", batch.size());
+        batch.execute();
+        for (Pair<Bill, SobiFragment> billFragment : billFragments) {
+            Bill bill = billFragment.getLeft();
+            // Update the bill object to include any indirect previous versions resulting from the new prev version
+            bill.setAllPreviousVersions(getAllPreviousVersions(getBaseParams(bill.getBaseBillId())));
+            // Update veto messages
+            updateVetoMessages(bill, billFragment.getRight());
+            // Update approval message
+            updateApprovalMessage(bill, billFragment.getRight());
         }
-        // Update the publish statuses of the amendments
-        updateBillAmendPublishStatus(bill, sobiFragment, billParams);
-        // Update the sponsor
-        updateBillSponsor(bill, sobiFragment, billParams);
-        // Update the milestones
-        updateBillMilestones(bill, sobiFragment, billParams);
-        // Determine which actions need to be inserted/deleted. Individual actions are never updated.
-        updateActions(bill, sobiFragment, billParams);
-        // Determine if the previous versions have changed and insert accordingly.
-        updatePreviousBillVersion(bill, sobiFragment, billParams);
-        // Update associated committees
-        updateBillCommittees(bill, sobiFragment, billParams);
-        // Update veto messages
-        updateVetoMessages(bill, sobiFragment);
-        // Update approval message
-        updateApprovalMessage(bill, sobiFragment);
     }
 
     /** {@inheritDoc} */
@@ -308,13 +360,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     public LinkedList<BillStatus> getBillMilestones(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("rank", SortOrder.ASC);
         return new LinkedList<>(jdbcNamed.query(SqlBillQuery.GET_BILL_MILESTONES.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-            (rs, rowNum) -> {
-                BillStatus status = new BillStatus(BillStatusType.valueOf(rs.getString("status")), getLocalDateFromRs(rs, "date"));
-                status.setActionSequenceNo(rs.getInt("action_sequence_no"));
-                status.setCommitteeId(getCommitteeIdFromRs(rs));
-                status.setCalendarNo((rs.getInt("cal_no") != 0) ? rs.getInt("cal_no") : null);
-                return status;
-            }));
+            new BillMilestoneRowMapper()));
     }
 
     /**
@@ -324,6 +370,17 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         return jdbcNamed.query(SqlBillQuery.SELECT_BILL_AMENDMENTS.getSql(schema()), baseParams, new BillAmendmentRowMapper());
     }
 
+    /**
+     * Fetch a digest of the stored columns of each of the bill's amendments, with the memo and full text reduced to
+     * md5 hashes so that they don't have to be read just to check whether they changed.
+     */
+    private Map<Version, AmendmentDigest> getBillAmendmentDigests(ImmutableParams baseParams) {
+        Map<Version, AmendmentDigest> digests = new HashMap<>();
+        jdbcNamed.query(SqlBillQuery.SELECT_BILL_AMENDMENT_DIGESTS.getSql(schema()), baseParams, (RowCallbackHandler) rs ->
+            digests.put(Version.of(rs.getString("bill_amend_version")), new AmendmentDigest(rs)));
+        return digests;
+    }
+
     /**
      * Get a map of the publish statuses for each amendment version.
      */
@@ -383,10 +440,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     public List<CommitteeAgendaId> getCommitteeAgendas(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("aic.meeting_date_time", SortOrder.ASC);
         return jdbcNamed.query(SqlBillQuery.SELECT_COMM_AGENDA_IDS.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-            (rs, rowNum) ->
-                new CommitteeAgendaId(new AgendaId(rs.getInt("agenda_no"), rs.getInt("year")),
-                                      new CommitteeId(Chamber.SENATE, rs.getString("committee_name")))
-            );
+            new CommitteeAgendaIdRowMapper());
     }
 
     /**
@@ -400,80 +454,283 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
             });
     }
 
+    /** --- Bulk Retrieval Methods --- */
+
+    /**
+     * Fetches full bills for a page of base bill ids. Each piece of bill data is fetched for the whole page
+     * with a single query, so the number of queries does not depend on the number of bills.
+     */
+    protected List<Bill> getBillPage(List<BaseBillId> billIds) {
+        final ImmutableParams bulkParams = getBulkParams(billIds);
+        Map<BaseBillId, Bill> billMap = getBulkBaseBills(billIds, bulkParams);
+        if (billMap.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Amendment level data
+        Map<BaseBillId, List<BillAmendment>> amendments = queryByBaseBillId(
+            SqlBillQuery.SELECT_BILLS_AMENDMENTS, null, bulkParams, new BillAmendmentRowMapper());
+        Map<BillId, List<BillId>> sameAs = queryByBillId(
+            SqlBillQuery.SELECT_BILLS_SAME_AS, bulkParams, new BillSameAsRowMapper());
+        Map<BillId, List<SessionMember>> coSponsors = queryByBillId(
+            SqlBillQuery.SELECT_BILLS_COSPONSORS, bulkParams, new BillMemberRowMapper(memberService));
+        Map<BillId, List<SessionMember>> multiSponsors = queryByBillId(
+            SqlBillQuery.SELECT_BILLS_MULTISPONSORS, bulkParams, new BillMemberRowMapper(memberService));
+        Map<BillId, List<BillVote>> votes = getBulkBillVotes(bulkParams);
+        // Bill level data
+        Map<BaseBillId, List<Pair<Version, PublishStatus>>> publishStatuses = queryByBaseBillId(
+            SqlBillQuery.SELECT_BILLS_AMEND_PUBLISH_STATUSES, null, bulkParams, (rs, rowNum) -> Pair.of(
+                Version.of(rs.getString("bill_amend_version")), new BillAmendPublishStatusRowMapper().mapRow(rs, rowNum)));
+        Map<BaseBillId, BillSponsor> sponsors = getBulkBillSponsors(bulkParams);
+        Map<BaseBillId, List<SessionMember>> additionalSponsors = queryByBaseBillId(
+            SqlBillQuery.SELECT_BILLS_ADDTL_SPONSORS, new OrderBy("sequence_no", SortOrder.ASC), bulkParams,
+            new BillMemberRowMapper(memberService));
+        Map<BaseBillId, List<BillStatus>> milestones = queryByBaseBillId(
+            SqlBillQuery.GET_BILLS_MILESTONES, new OrderBy("rank", SortOrder.ASC), bulkParams, new BillMilestoneRowMapper());
+        Map<BaseBillId, List<BillAction>> actions = queryByBaseBillId(
+            SqlBillQuery.SELECT_BILLS_ACTIONS, new OrderBy("sequence_no", SortOrder.ASC), bulkParams, new BillActionRowMapper());
+        Map<BaseBillId, List<BillId>> directPrevVersions = queryByBaseBillId(
+            SqlBillQuery.SELECT_BILLS_PREVIOUS_VERSIONS, null, bulkParams, new BillPreviousVersionRowMapper());
+        Map<BaseBillId, List<BillId>> allPrevVersions = queryByBaseBillId(
+            SqlBillQuery.SELECT_ALL_BILLS_PREVIOUS_VERSIONS, null, bulkParams, new BillPreviousVersionRowMapper());
+        Map<BaseBillId, List<CommitteeVersionId>> committees = queryByBaseBillId(
+            SqlBillQuery.SELECT_BILLS_COMMITTEES, null, bulkParams, new BillCommitteeRowMapper());
+        Map<BaseBillId, List<CommitteeAgendaId>> committeeAgendas = queryByBaseBillId(
+            SqlBillQuery.SELECT_BILLS_COMM_AGENDA_IDS, new OrderBy("aic.meeting_date_time", SortOrder.ASC), bulkParams,
+            new CommitteeAgendaIdRowMapper());
+        Map<BaseBillId, List<CalendarId>> calendars = queryByBaseBillId(
+            SqlBillQuery.SELECT_BILLS_CALENDAR_IDS,
+            new OrderBy("cs.calendar_year", SortOrder.ASC, "cs.calendar_no", SortOrder.ASC), bulkParams,
+            (rs, rowNum) -> new CalendarId(rs.getInt("calendar_no"), rs.getInt("calendar_year")));
+        // Vetoes and approvals are rare so they are only fetched for the bills that have them
+        Set<BaseBillId> vetoedBills = queryByBaseBillId(
+            SqlBillQuery.SELECT_VETOED_BILL_IDS, null, bulkParams, (rs, rowNum) -> null).keySet();
+        Set<BaseBillId> approvedBills = queryByBaseBillId(
+            SqlBillQuery.SELECT_APPROVED_BILL_IDS, null, bulkParams, (rs, rowNum) -> null).keySet();
+
+        for (Bill bill : billMap.values()) {
+            BaseBillId baseBillId = bill.getBaseBillId();
+            List<BillAmendment> billAmendments = amendments.getOrDefault(baseBillId, new ArrayList<>());
+            for (BillAmendment amendment : billAmendments) {
+                BillId billId = amendment.getBillId();
+                amendment.setSameAs(new HashSet<>(sameAs.getOrDefault(billId, Collections.emptyList())));
+                amendment.setCoSponsors(coSponsors.getOrDefault(billId, new ArrayList<>()));
+                amendment.setMultiSponsors(multiSponsors.getOrDefault(billId, new ArrayList<>()));
+                amendment.setVotesMap(votes.getOrDefault(billId, new ArrayList<>()));
+            }
+            bill.addAmendments(billAmendments);
+            TreeMap<Version, PublishStatus> publishStatusMap = new TreeMap<>();
+            publishStatuses.getOrDefault(baseBillId, Collections.emptyList())
+                .forEach(pair -> publishStatusMap.put(pair.getLeft(), pair.getRight()));
+            bill.setPublishStatuses(publishStatusMap);
+            bill.setSponsor(sponsors.get(baseBillId));
+            bill.setAdditionalSponsors(additionalSponsors.getOrDefault(baseBillId, new ArrayList<>()));
+            bill.setMilestones(new LinkedList<>(milestones.getOrDefault(baseBillId, Collections.emptyList())));
+            bill.setActions(actions.getOrDefault(baseBillId, new ArrayList<>()));
+            List<BillId> directPrevVersion = directPrevVersions.getOrDefault(baseBillId, Collections.emptyList());
+            bill.setDirectPreviousVersion(directPrevVersion.isEmpty() ? null : directPrevVersion.get(0));
+            bill.setAllPreviousVersions(new TreeSet<>(allPrevVersions.getOrDefault(baseBillId, Collections.emptyList())));
+            bill.setPastCommittees(new TreeSet<>(committees.getOrDefault(baseBillId, Collections.emptyList())));
+            bill.setVetoMessages(vetoedBills.contains(baseBillId) ? getBillVetoMessages(baseBillId) : new HashMap<>());
+            bill.setApprovalMessage(approvedBills.contains(baseBillId) ? getBillApprovalMessage(baseBillId) : null);
+            bill.setCommitteeAgendas(committeeAgendas.getOrDefault(baseBillId, new ArrayList<>()));
+            bill.setCalendars(calendars.getOrDefault(baseBillId, new ArrayList<>()));
+        }
+        return new ArrayList<>(billMap.values());
+    }
+
+    /**
+     * Get the base bill instances for the bulk params, ordered the same as the given bill ids.
+     * Bill ids that do not exist are omitted.
+     */
+    protected Map<BaseBillId, Bill> getBulkBaseBills(List<BaseBillId> billIds, ImmutableParams bulkParams) {
+        Map<BaseBillId, Bill> fetched = new HashMap<>();
+        jdbcNamed.query(SqlBillQuery.SELECT_BILLS.getSql(schema()), bulkParams, new BillRowMapper())
+            .forEach(bill -> fetched.put(bill.getBaseBillId(), bill));
+        Map<BaseBillId, Bill> billMap = new LinkedHashMap<>();
+        billIds.stream()
+            .filter(fetched::containsKey)
+            .forEach(billId -> billMap.put(billId, fetched.get(billId)));
+        return billMap;
+    }
+
+    /**
+     * Get the sponsors for the bills in the bulk params.
+     */
+    protected Map<BaseBillId, BillSponsor> getBulkBillSponsors(ImmutableParams bulkParams) {
+        Map<BaseBillId, BillSponsor> sponsors = new HashMap<>();
+        queryByBaseBillId(SqlBillQuery.SELECT_BILLS_SPONSORS, null, bulkParams, new BillSponsorRowMapper(memberService))
+            .forEach((baseBillId, billSponsors) -> sponsors.put(baseBillId, billSponsors.get(0)));
+        return sponsors;
+    }
+
+    /**
+     * Get the votes for the bills in the bulk params, grouped by amendment.
+     */
+    protected Map<BillId, List<BillVote>> getBulkBillVotes(ImmutableParams bulkParams) {
+        BillVoteRowHandler voteHandler = new BillVoteRowHandler(memberService);
+        jdbcNamed.query(SqlBillQuery.SELECT_BILLS_VOTES.getSql(schema()), bulkParams, voteHandler);
+        Map<BillId, List<BillVote>> votes = new HashMap<>();
+        voteHandler.getBillVotes().forEach(vote ->
+            votes.computeIfAbsent(vote.getBillId(), billId -> new ArrayList<>()).add(vote));
+        return votes;
+    }
+
+    /**
+     * Runs a bulk query and groups the mapped rows by the base bill id of each row.
+     */
+    private <T> Map<BaseBillId, List<T>> queryByBaseBillId(SqlBillQuery query, OrderBy orderBy,
+                                                          ImmutableParams bulkParams, RowMapper<T> rowMapper) {
+        String sql = (orderBy != null) ? query.getSql(schema(), orderBy, LimitOffset.ALL) : query.getSql(schema());
+        Map<BaseBillId, List<T>> results = new HashMap<>();
+        jdbcNamed.query(sql, bulkParams, (RowCallbackHandler) rs -> {
+            BaseBillId baseBillId = new BaseBillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year"));
+            results.computeIfAbsent(baseBillId, id -> new ArrayList<>()).add(rowMapper.mapRow(rs, rs.getRow()));
+        });
+        return results;
+    }
+
+    /**
+     * Runs a bulk query and groups the mapped rows by the amendment bill id of each row.
+     */
+    private <T> Map<BillId, List<T>> queryByBillId(SqlBillQuery query, ImmutableParams bulkParams,
+                                                   RowMapper<T> rowMapper) {
+        Map<BillId, List<T>> results = new HashMap<>();
+        jdbcNamed.query(query.getSql(schema()), bulkParams, (RowCallbackHandler) rs -> {
+            BillId billId = new BillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year"),
+                                       rs.getString("bill_amend_version"));
+            results.computeIfAbsent(billId, id -> new ArrayList<>()).add(rowMapper.mapRow(rs, rs.getRow()));
+        });
+        return results;
+    }
+
+    /**
+     * Returns a batch with the bill update queries registered in an order that satisfies the dependencies
+     * between them, i.e. parent rows are written before child rows and deletes precede inserts.
+     */
+    protected SqlBatchUpdate getBillBatchUpdate() {
+        return new SqlBatchUpdate(jdbcNamed, schema())
+            .registerUpsert(SqlBillQuery.UPDATE_BILL, SqlBillQuery.INSERT_BILL)
+            .registerUpsert(SqlBillQuery.UPDATE_BILL_AMENDMENT, SqlBillQuery.INSERT_BILL_AMENDMENT)
+            .register(SqlBillQuery.DELETE_SAME_AS, SqlBillQuery.INSERT_BILL_SAME_AS)
+            .register(SqlBillQuery.DELETE_BILL_COSPONSOR, SqlBillQuery.UPDATE_BILL_COSPONSOR,
+                      SqlBillQuery.INSERT_BILL_COSPONSOR)
+            .register(SqlBillQuery.DELETE_BILL_MULTISPONSOR, SqlBillQuery.UPDATE_BILL_MULTISPONSOR,
+                      SqlBillQuery.INSERT_BILL_MULTISPONSOR)
+            .register(SqlBillQuery.DELETE_BILL_VOTES_INFO, SqlBillQuery.INSERT_BILL_VOTES_INFO,
+                      SqlBillQuery.INSERT_BILL_VOTES_ROLL)
+            .register(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS, SqlBillQuery.INSERT_BILL_AMEND_PUBLISH_STATUS)
+            .registerUpsert(SqlBillQuery.UPDATE_BILL_SPONSOR, SqlBillQuery.INSERT_BILL_SPONSOR)
+            .register(SqlBillQuery.DELETE_BILL_SPONSOR)
+            .register(SqlBillQuery.DELETE_BILL_MILESTONE, SqlBillQuery.INSERT_BILL_MILESTONE)
+            .register(SqlBillQuery.DELETE_BILL_ACTION, SqlBillQuery.INSERT_BILL_ACTION)
+            .register(SqlBillQuery.DELETE_BILL_PREVIOUS_VERSION)
+            .registerUpsert(SqlBillQuery.UPDATE_BILL_PREVIOUS_VERSION, SqlBillQuery.INSERT_BILL_PREVIOUS_VERSION)
+            .register(SqlBillQuery.DELETE_BILL_COMMITTEE, SqlBillQuery.INSERT_BILL_COMMITTEE);
+    }
+
+    /**
+     * Determines the writes needed to persist the given bill and queues them in the batch.
+     */
+    protected void queueBillUpdates(Bill bill, SobiFragment sobiFragment, SqlBatchUpdate batch) {
+        // Update the bill record
+        final ImmutableParams billParams = ImmutableParams.from(getBillParams(bill, sobiFragment));
+        batch.add(SqlBillQuery.UPDATE_BILL, billParams);
+        // Update the bill amendments, skipping any whose persisted columns have not changed
+        Map<Version, AmendmentDigest> existingAmendments = getBillAmendmentDigests(billParams);
+        for (BillAmendment amendment : bill.getAmendmentList()) {
+            final ImmutableParams amendParams = ImmutableParams.from(getBillAmendmentParams(amendment, sobiFragment));
+            if (!amendmentRowEquals(amendment, existingAmendments.get(amendment.getVersion()))) {
+                batch.add(SqlBillQuery.UPDATE_BILL_AMENDMENT, amendParams);
+            }
+            // Update the same as bills
+            updateBillSameAs(amendment, sobiFragment, amendParams, batch);
+            // Update the co-sponsors list
+            updateBillCosponsor(amendment, sobiFragment, amendParams, batch);
+            // Update the multi-sponsors list
+            updateBillMultiSponsor(amendment, sobiFragment, amendParams, batch);
+            // Update votes
+            updateBillVotes(amendment, sobiFragment, amendParams, batch);
+        }
+        // Update the publish statuses of the amendments
+        updateBillAmendPublishStatus(bill, sobiFragment, billParams, batch);
+        // Update the sponsor
+        updateBillSponsor(bill, sobiFragment, billParams, batch);
+        // Update the milestones
+        updateBillMilestones(bill, sobiFragment, billParams, batch);
+        // Determine which actions need to be inserted/deleted. Individual actions are never updated.
+        updateActions(bill, sobiFragment, billParams, batch);
+        // Determine if the previous versions have changed and insert accordingly.
+        updatePreviousBillVersion(bill, sobiFragment, billParams, batch);
+        // Update associated committees
+        updateBillCommittees(bill, sobiFragment, billParams, batch);
+    }
+
     /**
      * Updates the bill's same as set.
      */
-    protected void updateBillSameAs(BillAmendment amendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
+    protected void updateBillSameAs(BillAmendment amendment, SobiFragment sobiFragment, ImmutableParams amendParams,
+                                    SqlBatchUpdate batch) {
         Set<BillId> existingSameAs = getSameAsBills(amendParams);
         if (!existingSameAs.equals(amendment.getSameAs())) {
             Set<BillId> newSameAs = new HashSet<>(amendment.getSameAs());
             newSameAs.removeAll(existingSameAs);             // New same as bill ids to insert
             existingSameAs.removeAll(amendment.getSameAs()); // Old same as bill ids to delete
-            existingSameAs.forEach(billId -> {
-                ImmutableParams sameAsParams = ImmutableParams.from(getBillSameAsParams(amendment, billId, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.DELETE_SAME_AS.getSql(schema()), sameAsParams);
-            });
-            newSameAs.forEach(billId -> {
-                ImmutableParams sameAsParams = ImmutableParams.from(getBillSameAsParams(amendment, billId, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_SAME_AS.getSql(schema()), sameAsParams);
-            });
+            existingSameAs.forEach(billId -> batch.add(SqlBillQuery.DELETE_SAME_AS,
+                ImmutableParams.from(getBillSameAsParams(amendment, billId, sobiFragment))));
+            newSameAs.forEach(billId -> batch.add(SqlBillQuery.INSERT_BILL_SAME_AS,
+                ImmutableParams.from(getBillSameAsParams(amendment, billId, sobiFragment))));
         }
     }
 
     /**
      * Updates the bill's action list into the database.
      */
-    protected void updateActions(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
+    protected void updateActions(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams, SqlBatchUpdate batch) {
         List<BillAction> existingBillActions = getBillActions(billParams);
         List<BillAction> newBillActions = new ArrayList<>(bill.getActions());
         newBillActions.removeAll(existingBillActions);    // New actions to insert
         existingBillActions.removeAll(bill.getActions()); // Old actions to delete
         // Delete actions that are not in the updated list
         for (BillAction action : existingBillActions) {
-            MapSqlParameterSource actionParams = getBillActionParams(action, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_ACTION.getSql(schema()), actionParams);
+            batch.add(SqlBillQuery.DELETE_BILL_ACTION, getBillActionParams(action, sobiFragment));
         }
         // Insert all new actions
         for (BillAction action : newBillActions) {
-            MapSqlParameterSource actionParams = getBillActionParams(action, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_ACTION.getSql(schema()), actionParams);
+            batch.add(SqlBillQuery.INSERT_BILL_ACTION, getBillActionParams(action, sobiFragment));
         }
     }
 
     /**
      * Update the bill's previous version.
      */
-    protected void updatePreviousBillVersion(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
+    protected void updatePreviousBillVersion(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams,
+                                             SqlBatchUpdate batch) {
+        BillId existingPrevVersion = getDirectPrevVersion(billParams);
+        if (Objects.equals(existingPrevVersion, bill.getDirectPreviousVersion())) {
+            return;
+        }
         if (bill.getDirectPreviousVersion() == null) {
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_PREVIOUS_VERSION.getSql(schema()), billParams);
+            batch.add(SqlBillQuery.DELETE_BILL_PREVIOUS_VERSION, billParams);
         }
         else {
-            MapSqlParameterSource params = getBillPrevVersionParams(bill, sobiFragment);
-            if (jdbcNamed.update(SqlBillQuery.UPDATE_BILL_PREVIOUS_VERSION.getSql(schema()), params) == 0) {
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_PREVIOUS_VERSION.getSql(schema()), params);
-            }
+            batch.add(SqlBillQuery.UPDATE_BILL_PREVIOUS_VERSION, getBillPrevVersionParams(bill, sobiFragment));
         }
-        // Update the bill object to include any indirect previous versions resulting from the new prev version
-        bill.setAllPreviousVersions(getAllPreviousVersions(billParams));
     }
 
     /**
      * Update the bill's previous committee set.
      */
-    protected void updateBillCommittees(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
+    protected void updateBillCommittees(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams,
+                                        SqlBatchUpdate batch) {
         Set<CommitteeVersionId> existingComms = getBillCommittees(billParams);
         if (!existingComms.equals(bill.getPastCommittees())) {
             Set<CommitteeVersionId> newComms = new HashSet<>(bill.getPastCommittees());
             newComms.removeAll(existingComms);                 // New committees to insert
             existingComms.removeAll(bill.getPastCommittees()); // Old committees to delete
-            existingComms.forEach(cvid -> {
-                ImmutableParams commParams = ImmutableParams.from(getBillCommitteeParams(bill, cvid, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.DELETE_BILL_COMMITTEE.getSql(schema()), commParams);
-            });
-            newComms.forEach(cvid -> {
-                ImmutableParams commParams = ImmutableParams.from(getBillCommitteeParams(bill, cvid, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_COMMITTEE.getSql(schema()), commParams);
-            });
+            existingComms.forEach(cvid -> batch.add(SqlBillQuery.DELETE_BILL_COMMITTEE,
+                ImmutableParams.from(getBillCommitteeParams(bill, cvid, sobiFragment))));
+            newComms.forEach(cvid -> batch.add(SqlBillQuery.INSERT_BILL_COMMITTEE,
+                ImmutableParams.from(getBillCommitteeParams(bill, cvid, sobiFragment))));
         }
     }
 
@@ -497,32 +754,44 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     /**
      * Update the bill's sponsor information.
      */
-    protected void updateBillSponsor(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
+    protected void updateBillSponsor(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams,
+                                     SqlBatchUpdate batch) {
+        BillSponsor existingSponsor = getBillSponsor(billParams);
+        if (Objects.equals(existingSponsor, bill.getSponsor())) {
+            return;
+        }
         if (bill.getSponsor() != null) {
-            MapSqlParameterSource params = getBillSponsorParams(bill, sobiFragment);
-            if (jdbcNamed.update(SqlBillQuery.UPDATE_BILL_SPONSOR.getSql(schema()), params) == 0) {
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_SPONSOR.getSql(schema()), params);
-            }
+            batch.add(SqlBillQuery.UPDATE_BILL_SPONSOR, getBillSponsorParams(bill, sobiFragment));
         }
         else {
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_SPONSOR.getSql(schema()), billParams);
+            batch.add(SqlBillQuery.DELETE_BILL_SPONSOR, billParams);
         }
     }
 
     /**
      * Update the bill milestones list.
      */
-    protected void updateBillMilestones(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
+    protected void updateBillMilestones(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams,
+                                        SqlBatchUpdate batch) {
         List<BillStatus> existingMilestones = getBillMilestones(billParams);
         List<BillStatus> newMilestones = bill.getMilestones();
-        // If old list is not the same as the new list, wipe the old and insert the new. We won't
-        // need to keep track of updates for this, so no reason to be precise like cosponsors for example.
+        // Milestones are typically only appended, so compare rank by rank and only replace the milestones
+        // that differ rather than wiping and re-inserting the whole list.
         if (!existingMilestones.equals(newMilestones)) {
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_MILESTONES.getSql(schema()), billParams);
-            int rank = 1;
-            for (BillStatus status : newMilestones) {
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_MILESTONE.getSql(schema()),
-                    getMilestoneParams(bill, status, rank++, sobiFragment));
+            int size = Math.max(existingMilestones.size(), newMilestones.size());
+            for (int i = 0; i < size; i++) {
+                int rank = i + 1;
+                BillStatus existing = (i < existingMilestones.size()) ? existingMilestones.get(i) : null;
+                BillStatus status = (i < newMilestones.size()) ? newMilestones.get(i) : null;
+                if (Objects.equals(existing, status)) {
+                    continue;
+                }
+                if (existing != null) {
+                    batch.add(SqlBillQuery.DELETE_BILL_MILESTONE, billParams.add(new MapSqlParameterSource("rank", rank)));
+                }
+                if (status != null) {
+                    batch.add(SqlBillQuery.INSERT_BILL_MILESTONE, getMilestoneParams(bill, status, rank, sobiFragment));
+                }
             }
         }
     }
@@ -530,7 +799,8 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     /**
      * Update the bill's amendment publish statuses.
      */
-    protected void updateBillAmendPublishStatus(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
+    protected void updateBillAmendPublishStatus(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams,
+                                                SqlBatchUpdate batch) {
         Map<Version, PublishStatus> existingPubStatus = getBillAmendPublishStatuses(billParams);
         Map<Version, PublishStatus> newPubStatus = bill.getAmendPublishStatusMap();
         MapDifference<Version, PublishStatus> diff = Maps.difference(existingPubStatus, newPubStatus);
@@ -540,101 +810,88 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
                 LocalDateTime dateTime = (sobiFragment != null) ? sobiFragment.getPublishedDateTime()
                                                                 : LocalDateTime.now();
                 PublishStatus unPubStatus = new PublishStatus(false, dateTime, false, "No longer referenced");
-                MapSqlParameterSource params = getBillPublishStatusParams(bill, version, unPubStatus, sobiFragment);
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
+                batch.add(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS,
+                    getBillPublishStatusParams(bill, version, unPubStatus, sobiFragment));
             }
         });
         // Update changed publish statuses if the existing is not an override
         diff.entriesDiffering().forEach((version,pubStatus) -> {
             if (!pubStatus.leftValue().isOverride()) {
-                MapSqlParameterSource params = getBillPublishStatusParams(bill, version, pubStatus.rightValue(), sobiFragment);
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
+                batch.add(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS,
+                    getBillPublishStatusParams(bill, version, pubStatus.rightValue(), sobiFragment));
             }
         });
         // Insert new publish statuses
-        diff.entriesOnlyOnRight().forEach((version,pubStatus) -> {
-            MapSqlParameterSource params = getBillPublishStatusParams(bill, version, pubStatus, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
-        });
+        diff.entriesOnlyOnRight().forEach((version,pubStatus) ->
+            batch.add(SqlBillQuery.INSERT_BILL_AMEND_PUBLISH_STATUS,
+                getBillPublishStatusParams(bill, version, pubStatus, sobiFragment)));
     }
 
     /**
      * Update the bill's co sponsor list by deleting, inserting, and updating as needed.
      */
-    protected void updateBillCosponsor(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
+    protected void updateBillCosponsor(BillAmendment billAmendment, SobiFragment sobiFragment,
+                                       ImmutableParams amendParams, SqlBatchUpdate batch) {
         List<SessionMember> existingCoSponsors = getCoSponsors(amendParams);
         if (!existingCoSponsors.equals(billAmendment.getCoSponsors())) {
             MapDifference<SessionMember, Integer> diff = difference(existingCoSponsors, billAmendment.getCoSponsors(), 1);
             // Delete old cosponsors
-            diff.entriesOnlyOnLeft().forEach((member,ordinal) -> {
-                ImmutableParams cspParams = amendParams.add(new MapSqlParameterSource("sessionMemberId", member.getSessionMemberId()));
-                jdbcNamed.update(SqlBillQuery.DELETE_BILL_COSPONSOR.getSql(schema()), cspParams);
-            });
+            diff.entriesOnlyOnLeft().forEach((member,ordinal) -> batch.add(SqlBillQuery.DELETE_BILL_COSPONSOR,
+                amendParams.add(new MapSqlParameterSource("sessionMemberId", member.getSessionMemberId()))));
             // Update re-ordered cosponsors
-            diff.entriesDiffering().forEach((member,ordinal) -> {
-                ImmutableParams cspParams = ImmutableParams.from(
-                    getCoMultiSponsorParams(billAmendment, member, ordinal.rightValue(),sobiFragment));
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_COSPONSOR.getSql(schema()), cspParams);
-            });
+            diff.entriesDiffering().forEach((member,ordinal) -> batch.add(SqlBillQuery.UPDATE_BILL_COSPONSOR,
+                ImmutableParams.from(getCoMultiSponsorParams(billAmendment, member, ordinal.rightValue(), sobiFragment))));
             // Insert new cosponsors
-            diff.entriesOnlyOnRight().forEach((member,ordinal) -> {
-                ImmutableParams cspParams = ImmutableParams.from(
-                    getCoMultiSponsorParams(billAmendment, member, ordinal,sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_COSPONSOR.getSql(schema()), cspParams);
-            });
+            diff.entriesOnlyOnRight().forEach((member,ordinal) -> batch.add(SqlBillQuery.INSERT_BILL_COSPONSOR,
+                ImmutableParams.from(getCoMultiSponsorParams(billAmendment, member, ordinal, sobiFragment))));
         }
     }
 
     /**
      * Update the bill's multi-sponsor list by deleting, inserting, and updating as needed.
      */
-    protected void updateBillMultiSponsor(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
+    protected void updateBillMultiSponsor(BillAmendment billAmendment, SobiFragment sobiFragment,
+                                          ImmutableParams amendParams, SqlBatchUpdate batch) {
         List<SessionMember> existingMultiSponsors = getMultiSponsors(amendParams);
         if (!existingMultiSponsors.equals(billAmendment.getMultiSponsors())) {
             MapDifference<SessionMember, Integer> diff = difference(existingMultiSponsors, billAmendment.getMultiSponsors(), 1);
             // Delete old multisponsors
-            diff.entriesOnlyOnLeft().forEach((member,ordinal) -> {
-                ImmutableParams mspParams = amendParams.add(new MapSqlParameterSource("sessionMemberId", member.getSessionMemberId()));
-                jdbcNamed.update(SqlBillQuery.DELETE_BILL_MULTISPONSOR.getSql(schema()), mspParams);
-            });
+            diff.entriesOnlyOnLeft().forEach((member,ordinal) -> batch.add(SqlBillQuery.DELETE_BILL_MULTISPONSOR,
+                amendParams.add(new MapSqlParameterSource("sessionMemberId", member.getSessionMemberId()))));
             // Update re-ordered multisponsors
-            diff.entriesDiffering().forEach((member,ordinal) -> {
-                ImmutableParams mspParams = ImmutableParams.from(
-                    getCoMultiSponsorParams(billAmendment, member, ordinal.rightValue(),sobiFragment));
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_MULTISPONSOR.getSql(schema()), mspParams);
-            });
+            diff.entriesDiffering().forEach((member,ordinal) -> batch.add(SqlBillQuery.UPDATE_BILL_MULTISPONSOR,
+                ImmutableParams.from(getCoMultiSponsorParams(billAmendment, member, ordinal.rightValue(), sobiFragment))));
             // Insert new multisponsors
-            diff.entriesOnlyOnRight().forEach((member,ordinal) -> {
-                ImmutableParams mspParams = ImmutableParams.from(
-                    getCoMultiSponsorParams(billAmendment, member, ordinal,sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_MULTISPONSOR.getSql(schema()), mspParams);
-            });
+            diff.entriesOnlyOnRight().forEach((member,ordinal) -> batch.add(SqlBillQuery.INSERT_BILL_MULTISPONSOR,
+                ImmutableParams.from(getCoMultiSponsorParams(billAmendment, member, ordinal, sobiFragment))));
         }
     }
 
     /**
      * Update the bill amendment's list of votes.
      */
-    protected void updateBillVotes(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
+    protected void updateBillVotes(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams,
+                                   SqlBatchUpdate batch) {
         List<BillVote> existingBillVotes = getBillVotes(amendParams);
         List<BillVote> newBillVotes = new ArrayList<>(billAmendment.getVotesList());
         newBillVotes.removeAll(existingBillVotes);
         existingBillVotes.removeAll(billAmendment.getVotesList());
         // Delete all outdated votes
         for (BillVote billVote : existingBillVotes) {
-            MapSqlParameterSource voteInfoParams = getBillVoteInfoParams(billAmendment, billVote, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_VOTES_INFO.getSql(schema()), voteInfoParams);
+            batch.add(SqlBillQuery.DELETE_BILL_VOTES_INFO, getBillVoteInfoParams(billAmendment, billVote, sobiFragment));
         }
         // Insert the new/updated votes
         for (BillVote billVote : newBillVotes) {
             MapSqlParameterSource voteParams = getBillVoteInfoParams(billAmendment, billVote, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_VOTES_INFO.getSql(schema()), voteParams);
+            batch.add(SqlBillQuery.INSERT_BILL_VOTES_INFO, voteParams);
             for (BillVoteCode voteCode : billVote.getMemberVotes().keySet()) {
-                voteParams.addValue("voteCode", voteCode.name().toLowerCase());
                 for (SessionMember member : billVote.getMembersByVote(voteCode)) {
-                    voteParams.addValue("sessionMemberId", member.getSessionMemberId());
-                    voteParams.addValue("memberShortName", member.getLbdcShortName());
-                    jdbcNamed.update(SqlBillQuery.INSERT_BILL_VOTES_ROLL.getSql(schema()), voteParams);
+                    // Each roll entry needs its own param source since the batch holds on to them until execution
+                    MapSqlParameterSource rollParams = new MapSqlParameterSource(voteParams.getValues())
+                        .addValue("voteCode", voteCode.name().toLowerCase())
+                        .addValue("sessionMemberId", member.getSessionMemberId())
+                        .addValue("memberShortName", member.getLbdcShortName());
+                    batch.add(SqlBillQuery.INSERT_BILL_VOTES_ROLL, rollParams);
                 }
             }
         }
@@ -686,15 +943,23 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         }
     }
 
+    private static class BillAmendPublishStatusRowMapper implements RowMapper<PublishStatus>
+    {
+        @Override
+        public PublishStatus mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new PublishStatus(
+                rs.getBoolean("published"), getLocalDateTimeFromRs(rs, "effect_date_time"),
+                rs.getBoolean("override"), rs.getString("notes"));
+        }
+    }
+
     private static class BillAmendPublishStatusHandler implements RowCallbackHandler
     {
         TreeMap<Version, PublishStatus> publishStatusMap = new TreeMap<>();
 
         @Override
         public void processRow(ResultSet rs) throws SQLException {
-            PublishStatus pubStatus = new PublishStatus(
-                rs.getBoolean("published"), getLocalDateTimeFromRs(rs, "effect_date_time"),
-                rs.getBoolean("override"), rs.getString("notes"));
+            PublishStatus pubStatus = new BillAmendPublishStatusRowMapper().mapRow(rs, rs.getRow());
             publishStatusMap.put(Version.of(rs.getString("bill_amend_version")), pubStatus);
         }
 
@@ -795,6 +1060,27 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         }
     }
 
+    private static class BillMilestoneRowMapper implements RowMapper<BillStatus>
+    {
+        @Override
+        public BillStatus mapRow(ResultSet rs, int rowNum) throws SQLException {
+            BillStatus status = new BillStatus(BillStatusType.valueOf(rs.getString("status")), getLocalDateFromRs(rs, "date"));
+            status.setActionSequenceNo(rs.getInt("action_sequence_no"));
+            status.setCommitteeId(getCommitteeIdFromRs(rs));
+            status.setCalendarNo((rs.getInt("cal_no") != 0) ? rs.getInt("cal_no") : null);
+            return status;
+        }
+    }
+
+    private static class CommitteeAgendaIdRowMapper implements RowMapper<CommitteeAgendaId>
+    {
+        @Override
+        public CommitteeAgendaId mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new CommitteeAgendaId(new AgendaId(rs.getInt("agenda_no"), rs.getInt("year")),
+                                         new CommitteeId(Chamber.SENATE, rs.getString("committee_name")));
+        }
+    }
+
     /** --- Param Source Methods --- */
 
     public ImmutableParams getBaseParams(BillId billId) {
@@ -803,6 +1089,15 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
                 .addValue("sessionYear", billId.getSession().getYear()));
     }
 
+    /**
+     * Returns params for the bulk queries, which expect the bill ids as a list of (print no, session year) pairs.
+     */
+    public ImmutableParams getBulkParams(Collection<BaseBillId> billIds) {
+        return ImmutableParams.from(new MapSqlParameterSource("billIds", billIds.stream()
+            .map(billId -> new Object[]{billId.getBasePrintNo(), billId.getSession().getYear()})
+            .collect(toList())));
+    }
+
     public ImmutableParams getBillIdParams(BillId billId) {
         return ImmutableParams.from(new MapSqlParameterSource()
                 .addValue("printNo", billId.getBasePrintNo())
@@ -985,6 +1280,52 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
               .addValue("version", billAmendment.getVersion().getValue());
     }
 
+    /**
+     * Checks if the columns stored in the bill amendment table match the given amendment.
+     * Returns false if the existing digest is null, i.e. the amendment has not been persisted yet.
+     */
+    private static boolean amendmentRowEquals(BillAmendment amendment, AmendmentDigest existing) {
+        return existing != null &&
+               Objects.equals(md5(amendment.getMemo()), existing.memoMd5) &&
+               Objects.equals(amendment.getActClause(), existing.actClause) &&
+               Objects.equals(md5(amendment.getFullText()), existing.fullTextMd5) &&
+               Objects.equals(amendment.isStricken(), existing.stricken) &&
+               Objects.equals(amendment.getLawSection(), existing.lawSection) &&
+               Objects.equals(amendment.getLaw(), existing.lawCode) &&
+               Objects.equals(amendment.isUniBill(), existing.uniBill);
+    }
+
+    /**
+     * Hex md5 of the text, matching postgres' md5() of a text column (null for null).
+     */
+    private static String md5(String text) {
+        return text != null ? Hashing.md5().hashString(text, StandardCharsets.UTF_8).toString() : null;
+    }
+
+    /**
+     * The stored columns of a bill amendment row, as selected by SELECT_BILL_AMENDMENT_DIGESTS.
+     */
+    private static class AmendmentDigest
+    {
+        private final String memoMd5;
+        private final String actClause;
+        private final String fullTextMd5;
+        private final boolean stricken;
+        private final boolean uniBill;
+        private final String lawSection;
+        private final String lawCode;
+
+        private AmendmentDigest(ResultSet rs) throws SQLException {
+            this.memoMd5 = rs.getString("sponsor_memo_md5");
+            this.actClause = rs.getString("act_clause");
+            this.fullTextMd5 = rs.getString("full_text_md5");
+            this.stricken = rs.getBoolean("stricken");
+            this.uniBill = rs.getBoolean("uni_bill");
+            this.lawSection = rs.getString("law_section");
+            this.lawCode = rs.getString("law_code");
+        }
+    }
+
     /**
      * Get a CommitteeId from the result set or null if column doesn't have a value.
      */
@@ -93,6 +93,12 @@ public enum SqlBillQuery implements BasicSqlQuery
         "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT + "\n" +
         "WHERE bill_print_no = :printNo AND bill_session_year = :sessionYear"
     ),
+    SELECT_BILL_AMENDMENT_DIGESTS(
+        "SELECT bill_amend_version, md5(sponsor_memo) AS sponsor_memo_md5, act_clause, md5(full_text) AS full_text_md5,\n" +
+        "       stricken, uni_bill, law_section, law_code\n" +
+        "FROM ${schema}." + SqlTable.BILL_AMENDMENT + "\n" +
+        "WHERE bill_print_no = :printNo AND bill_session_year = :sessionYear"
+    ),
     UPDATE_BILL_AMENDMENT(
         "UPDATE ${schema}." + SqlTable.BILL_AMENDMENT + "\n" +
         "SET sponsor_memo = :sponsorMemo, act_clause = :actClause, full_text = :fullText, stricken = :stricken, " +
@@ -321,6 +327,9 @@ public enum SqlBillQuery implements BasicSqlQuery
         "DELETE FROM ${schema}." + SqlTable.BILL_MILESTONE + "\n" +
         "WHERE bill_print_no = :printNo AND bill_session_year = :sessionYear"
     ),
+    DELETE_BILL_MILESTONE("" +
+        DELETE_BILL_MILESTONES.sql + " AND rank = :rank"
+    ),
 
     /** --- Associated Committee Agenda Ids --- */
 
@@ -338,6 +347,106 @@ public enum SqlBillQuery implements BasicSqlQuery
         "FROM ${schema}." + SqlTable.CALENDAR_SUP_ENTRY + " cse\n" +
         "JOIN ${schema}." + SqlTable.CALENDAR_SUPPLEMENTAL + " cs ON cse.calendar_sup_id = cs.id\n" +
         "WHERE bill_print_no = :printNo AND bill_session_year = :sessionYear"
+    ),
+
+    /** --- Bulk Bill Retrieval ---
+     * The following queries fetch rows for a set of bills at once. The :billIds param is expected to be a
+     * list of (print no, session year) pairs. */
+
+    SELECT_BILLS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_SPONSORS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_SPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_ADDTL_SPONSORS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_ADDITIONAL_SPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_TEXT(
+        "SELECT bill_print_no, bill_session_year, bill_amend_version, sponsor_memo, full_text \n" +
+        "FROM ${schema}.bill_amendment \n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_AMENDMENTS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_AMEND_PUBLISH_STATUSES(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_PUBLISH_STATUS + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_COSPONSORS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_COSPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY sequence_no ASC"
+    ),
+    SELECT_BILLS_MULTISPONSORS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_MULTISPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY sequence_no ASC"
+    ),
+    SELECT_BILLS_VOTES(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_VOTE_INFO + " info \n" +
+        "JOIN ${schema}." + SqlTable.BILL_AMENDMENT_VOTE_ROLL + " roll ON info.id = roll.vote_id\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_ACTIONS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_ACTION + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_SAME_AS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_SAME_AS + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_COMMITTEES(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_COMMITTEE + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_PREVIOUS_VERSIONS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_PREVIOUS_VERSION + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_ALL_BILLS_PREVIOUS_VERSIONS(
+        "WITH RECURSIVE prev_version(root_print_no, root_session_year, bill_id, amend_version, session_year) AS ( \n" +
+        "    SELECT bill_print_no, bill_session_year, prev_bill_print_no, prev_amend_version, prev_bill_session_year \n" +
+        "    FROM ${schema}.bill_previous_version \n" +
+        "    WHERE (bill_print_no, bill_session_year) IN (:billIds) \n" +
+        "" +
+        "    UNION \n" +
+        "    SELECT root_print_no, root_session_year, prev_bill_print_no, prev_amend_version, prev_bill_session_year \n" +
+        "    FROM prev_version, ${schema}.bill_previous_version \n" +
+        "    WHERE bill_print_no = bill_id AND bill_session_year = session_year) \n" +
+        "SELECT root_print_no AS bill_print_no, root_session_year AS bill_session_year, \n" +
+        "       bill_id AS prev_bill_print_no, amend_version AS prev_amend_version, " +
+        "       session_year AS prev_bill_session_year \n" +
+        "FROM prev_version"
+    ),
+    GET_BILLS_MILESTONES(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_MILESTONE + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_COMM_AGENDA_IDS(
+        "SELECT aici.bill_print_no, aici.bill_session_year, aic.agenda_no, aic.year, aic.committee_name \n" +
+        "FROM ${schema}." + SqlTable.AGENDA_INFO_COMMITTEE_ITEM + " aici\n" +
+        "JOIN ${schema}." + SqlTable.AGENDA_INFO_COMMITTEE + " aic ON aici.info_committee_id = aic.id\n" +
+        "WHERE (aici.bill_print_no, aici.bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_CALENDAR_IDS(
+        "SELECT cse.bill_print_no, cse.bill_session_year, cs.calendar_no, cs.calendar_year \n" +
+        "FROM ${schema}." + SqlTable.CALENDAR_SUP_ENTRY + " cse\n" +
+        "JOIN ${schema}." + SqlTable.CALENDAR_SUPPLEMENTAL + " cs ON cse.calendar_sup_id = cs.id\n" +
+        "WHERE (cse.bill_print_no, cse.bill_session_year) IN (:billIds)"
+    ),
+    SELECT_VETOED_BILL_IDS(
+        "SELECT DISTINCT bill_print_no, bill_session_year FROM ${schema}." + SqlTable.BILL_VETO + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_APPROVED_BILL_IDS(
+        "SELECT DISTINCT bill_print_no, bill_session_year FROM ${schema}." + SqlTable.BILL_APPROVAL + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
     );
 
     private String sql;
@@ -40,6 +40,7 @@ public interface BillSearchDao
      * Updates the bill index with the content of the supplied Bills.
      *
      * @param bills Collection<Bill>
+     * @throws org.elasticsearch.ElasticsearchException if any of the bills could not be indexed
      */
     public void updateBillIndex(Collection<Bill> bills);
 
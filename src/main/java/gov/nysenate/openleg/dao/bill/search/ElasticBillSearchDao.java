@@ -3,13 +3,16 @@ package gov.nysenate.openleg.dao.bill.search;
 import com.google.common.collect.Lists;
 import gov.nysenate.openleg.client.view.bill.BillView;
 import gov.nysenate.openleg.dao.base.ElasticBaseDao;
+import gov.nysenate.openleg.dao.base.ElasticBulkIndexer;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.util.OutputUtils;
+import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -64,10 +67,13 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
             List<BillView> billViewList = bills.stream().map(BillView::new).collect(Collectors.toList());
             billViewList.forEach(b ->
                 bulkRequest.add(
-                    searchClient.prepareIndex(billIndexName, Integer.toString(b.getSession()), b.getBasePrintNo())
+                    searchClient.prepareIndex(resolveIndex(billIndexName), Integer.toString(b.getSession()), b.getBasePrintNo())
                                 .setSource(OutputUtils.toJson(b)))
             );
-            safeBulkRequestExecute(bulkRequest);
+            BulkResponse response = safeBulkRequestExecute(bulkRequest);
+            if (response != null && response.hasFailures()) {
+                throw new ElasticsearchException("Failed to index bills: " + response.buildFailureMessage());
+            }
         }
     }
 
@@ -79,6 +85,57 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
         }
     }
 
+    /**
+     * Creates a new, empty bill index that can be populated via {@link #indexBills} without affecting
+     * searches. Use {@link #activateBillIndex} to start serving searches from it.
+     *
+     * @return String - The name of the new index
+     */
+    public String createNewBillIndex() {
+        return createVersionedIndex(billIndexName);
+    }
+
+    /**
+     * Queues the given bills to be indexed into the given index via the bulk indexer.
+     *
+     * @param indexer ElasticBulkIndexer
+     * @param indexName String
+     * @param bills Collection<Bill>
+     */
+    public void indexBills(ElasticBulkIndexer indexer, String indexName, Collection<Bill> bills) {
+        bills.stream().map(BillView::new).forEach(b ->
+            indexer.index(indexName, Integer.toString(b.getSession()), b.getBasePrintNo(), OutputUtils.toJson(b)));
+    }
+
+    /**
+     * Removes the given bills from the given index, which may be an index created via {@link #createNewBillIndex()}.
+     *
+     * @param indexName String
+     * @param billIds Collection<BaseBillId>
+     */
+    public void deleteBillsFromIndex(String indexName, Collection<BaseBillId> billIds) {
+        billIds.forEach(billId ->
+            deleteEntry(indexName, Integer.toString(billId.getSession().getYear()), billId.getBasePrintNo()));
+    }
+
+    /**
+     * Points the bill index alias at the given index and removes the index that was previously in service.
+     *
+     * @param indexName String - An index created via {@link #createNewBillIndex()}
+     */
+    public void activateBillIndex(String indexName) {
+        swapAlias(billIndexName, indexName);
+    }
+
+    /**
+     * Deletes an index created via {@link #createNewBillIndex()} that will not be put into service.
+     *
+     * @param indexName String
+     */
+    public void discardBillIndex(String indexName) {
+        deleteIndex(indexName);
+    }
+
     /**
      * {@inheritDoc}
      */
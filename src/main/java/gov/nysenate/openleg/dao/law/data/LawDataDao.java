@@ -6,8 +6,11 @@ import org.springframework.dao.DataAccessException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Data interface to retrieve and persist laws documents and their associated document trees.
@@ -92,6 +95,15 @@ public interface LawDataDao
      */
     public void updateLawDocument(LawFile lawFile, LawDocument lawDocument);
 
+    /**
+     * Updates or inserts a collection of LawDocuments, as in {@link #updateLawDocument(LawFile, LawDocument)},
+     * using as few round trips to the database as possible.
+     *
+     * @param lawFile LawFile - The law file source that triggered the update.
+     * @param lawDocuments Collection<LawDocument> - The law documents to persist.
+     */
+    public void updateLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments);
+
     /**
      * Updates or inserts the tree structure for the laws via the given LawTree. The law id and the published date
      * in the LawTree will be used as the unique identifiers for the tree.
@@ -100,4 +112,15 @@ public interface LawDataDao
      * @param lawTree LawTree - The law tree to persist.
      */
     public void updateLawTree(LawFile lawFile, LawTree lawTree);
-}
\ No newline at end of file
+
+    /**
+     * Reads the text of the documents in the given law tree, in tree order, and hands it to the text handler
+     * through a cursor. The cursor can only be used until the handler returns, and a database connection and
+     * transaction are held open until then, so callers writing to a client should limit how many run at once.
+     *
+     * @param lawTree LawTree - The tree whose documents' text is read.
+     * @param documentIds Set<String> - The ids of the documents whose text will be looked up, null for all.
+     * @param textHandler Consumer<LawTextCursor> - Looks up the text while the cursor is open.
+     */
+    public void streamLawTreeText(LawTree lawTree, Set<String> documentIds, Consumer<LawTextCursor> textHandler);
+}
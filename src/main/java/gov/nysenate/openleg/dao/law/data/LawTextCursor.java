@@ -0,0 +1,68 @@
+package gov.nysenate.openleg.dao.law.data;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Looks up law document text from rows that are read one at a time, e.g. from a database cursor.
+ *
+ * The rows are expected to arrive in the same order that the text is looked up in (tree order), in which case
+ * each lookup simply reads the next wanted row. Rows for documents that are looked up later are held until they
+ * are needed, and rows for documents that were not requested are skipped, so the text is returned correctly
+ * whatever order the rows arrive in.
+ */
+public class LawTextCursor implements Function<String, String>
+{
+    /** Rows of document id and text. */
+    private final Iterator<Pair<String, String>> rows;
+
+    /** The document ids that will be looked up, or null if all of them may be. */
+    private final Set<String> documentIds;
+
+    /** Text of the rows that were read ahead of their lookup. */
+    private final Map<String, String> readAhead = new HashMap<>();
+
+    /**
+     * @param rows Iterator<Pair<String, String>> - Document id and text rows
+     * @param documentIds Set<String> - The document ids that will be looked up, null to keep all rows
+     */
+    public LawTextCursor(Iterator<Pair<String, String>> rows, Set<String> documentIds) {
+        this.rows = rows;
+        this.documentIds = documentIds;
+    }
+
+    /**
+     * Returns the text of the given document. Each document's text can only be looked up once.
+     *
+     * @param documentId String
+     * @return String - The document text or null if there is no row for the document.
+     */
+    @Override
+    public String apply(String documentId) {
+        if (readAhead.containsKey(documentId)) {
+            return readAhead.remove(documentId);
+        }
+        while (rows.hasNext()) {
+            Pair<String, String> row = rows.next();
+            if (row.getLeft().equals(documentId)) {
+                return row.getRight();
+            }
+            if (documentIds == null || documentIds.contains(row.getLeft())) {
+                readAhead.put(row.getLeft(), row.getRight());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return int - The number of rows currently held for later lookups.
+     */
+    public int getReadAheadCount() {
+        return readAhead.size();
+    }
+}
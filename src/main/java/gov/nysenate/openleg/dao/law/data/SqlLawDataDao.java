@@ -15,14 +15,14 @@ import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.util.DateUtils.toDate;
@@ -32,6 +32,12 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
 {
     private static final Logger logger = LoggerFactory.getLogger(SqlLawDataDao.class);
 
+    /** The maximum number of law documents or tree nodes sent to the database in a single JDBC batch. */
+    private static final int LAW_BATCH_SIZE = 1000;
+
+    /** The number of document text rows fetched from the cursor at a time when streaming a law's text. */
+    private static final int LAW_TEXT_FETCH_SIZE = 200;
+
     /** {@inheritDoc} */
     @Override
     public LawInfo getLawInfo(String lawId) throws DataAccessException {
@@ -112,8 +118,32 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
         }
     }
 
-    /** {@inheritDoc} */
+    /** {@inheritDoc}
+     *
+     *  The documents are updated in JDBC batches of {@link #LAW_BATCH_SIZE}, followed by a batch insert
+     *  of the documents that did not already exist.
+     */
+    @Override
+    @Transactional
+    public void updateLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments) {
+        SqlBatchUpdate batch = new SqlBatchUpdate(jdbcNamed, schema())
+                .registerUpsert(SqlLawDataQuery.UPDATE_LAW_DOCUMENT, SqlLawDataQuery.INSERT_LAW_DOCUMENT);
+        for (LawDocument lawDocument : lawDocuments) {
+            batch.add(SqlLawDataQuery.UPDATE_LAW_DOCUMENT,
+                    ImmutableParams.from(getLawDocumentParams(lawFile, lawDocument)));
+            if (batch.size() >= LAW_BATCH_SIZE) {
+                batch.execute();
+            }
+        }
+        batch.execute();
+    }
+
+    /** {@inheritDoc}
+     *
+     *  The tree nodes are inserted in JDBC batches of {@link #LAW_BATCH_SIZE}.
+     */
     @Override
+    @Transactional
     public void updateLawTree(LawFile lawFile, LawTree lawTree) {
         ImmutableParams lawInfoParams = ImmutableParams.from(getLawInfoParams(lawTree.getLawInfo()));
         // Update the law info or insert it
@@ -124,12 +154,74 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
         // Delete the existing tree if it exists
         jdbcNamed.update(SqlLawDataQuery.DELETE_TREE.getSql(schema()), treeIdParams);
         // Insert all the nodes in the tree
-        lawTree.getRootNode().getAllNodes().forEach(n -> {
-            ImmutableParams treeNodeParams = ImmutableParams.from(getLawTreeNodeParams(lawFile, lawTree, n));
-            jdbcNamed.update(SqlLawDataQuery.INSERT_LAW_TREE.getSql(schema()), treeNodeParams);
+        SqlBatchUpdate batch = new SqlBatchUpdate(jdbcNamed, schema()).register(SqlLawDataQuery.INSERT_LAW_TREE);
+        for (LawTreeNode node : lawTree.getAllNodes()) {
+            batch.add(SqlLawDataQuery.INSERT_LAW_TREE,
+                    ImmutableParams.from(getLawTreeNodeParams(lawFile, lawTree, node)));
+            if (batch.size() >= LAW_BATCH_SIZE) {
+                batch.execute();
+            }
+        }
+        batch.execute();
+    }
+
+    /** {@inheritDoc}
+     *
+     *  The rows are read through a server side cursor, which requires the surrounding transaction.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamLawTreeText(LawTree lawTree, Set<String> documentIds, Consumer<LawTextCursor> textHandler) {
+        ImmutableParams treeParams = ImmutableParams.from(getLawTreeParams(lawTree));
+        jdbcNamed.execute(SqlLawDataQuery.SELECT_LAW_TREE_TEXT.getSql(schema()), treeParams, ps -> {
+            ps.setFetchSize(LAW_TEXT_FETCH_SIZE);
+            try (ResultSet rs = ps.executeQuery()) {
+                textHandler.accept(new LawTextCursor(new TextRowIterator(rs), documentIds));
+            }
+            return null;
         });
     }
 
+    /**
+     * Reads document id and text rows from a result set as they are requested.
+     */
+    private static class TextRowIterator implements Iterator<Pair<String, String>>
+    {
+        private final ResultSet rs;
+        private Boolean hasNext;
+
+        public TextRowIterator(ResultSet rs) {
+            this.rs = rs;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) {
+                try {
+                    hasNext = rs.next();
+                }
+                catch (SQLException ex) {
+                    throw new DataRetrievalFailureException("Failed to read law document text", ex);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Pair<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            try {
+                return Pair.of(rs.getString("document_id"), rs.getString("text"));
+            }
+            catch (SQLException ex) {
+                throw new DataRetrievalFailureException("Failed to read law document text", ex);
+            }
+        }
+    }
+
     /**
      * Constructs a LawTree from the result set.
      */
@@ -177,9 +269,7 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
                 throw new DataRetrievalFailureException("Failed to construct LawTree, since there was no " +
                                                         "matching root node");
             }
-            LawTree tree = new LawTree(new LawVersionId(lawId, publishedDate), root, info);
-            tree.rebuildLookupMap();
-            return tree;
+            return new LawTree(new LawVersionId(lawId, publishedDate), root, info);
         }
     }
 
@@ -64,6 +64,15 @@ public enum SqlLawDataQuery implements BasicSqlQuery
         "WHERE t.law_id = :lawId AND t.published_date = max_date.pub_date"
     ),
 
+    SELECT_LAW_TREE_TEXT(
+        "SELECT t.doc_id AS document_id, d.text\n" +
+        "FROM ${schema}." + SqlTable.LAW_TREE + " t\n" +
+        "JOIN ${schema}." + SqlTable.LAW_DOCUMENT + " d\n" +
+        "     ON t.doc_id = d.document_id AND t.doc_published_date = d.published_date\n" +
+        "WHERE t.law_id = :lawId AND t.published_date = :publishedDate\n" +
+        "ORDER BY t.sequence_no"
+    ),
+
     SELECT_REPEALED_LAWS(
         "SELECT t.law_id, t.doc_id AS document_id, t.published_date, t.repealed_date\n" +
         "FROM master.law_tree t\n" +
@@ -40,4 +40,13 @@ public interface ApiLogDao
      * @throws DataAccessException
      */
     void saveApiResponse(ApiResponse res) throws DataAccessException;
+
+    /**
+     * Save a batch of ApiResponses into the persistence layer using a single round trip per table.
+     * If the responses are saved successfully a request id will be set on each of the passed in ApiResponses.
+     *
+     * @param responses List<ApiResponse>
+     * @throws DataAccessException
+     */
+    void saveApiResponses(List<ApiResponse> responses) throws DataAccessException;
 }
@@ -29,6 +29,14 @@ public enum ApiRequestResponseQuery implements BasicSqlQuery
         "VALUES (:requestTime, :url, :ipAddress::inet, :requestMethod, :userAgent, :apikey)" +"\n"+
         "RETURNING request_id"
     ),
+    SELECT_NEXT_REQUEST_IDS(
+        "SELECT nextval('public.request_request_id_seq') FROM generate_series(1, :count)"
+    ),
+    INSERT_REQUEST_WITH_ID(
+        "INSERT INTO public." + SqlTable.API_REQUEST + "\n"+
+        "(request_id, request_time, url, ipaddress, method, agent, apikey)" + "\n"+
+        "VALUES (:requestId, :requestTime, :url, :ipAddress::inet, :requestMethod, :userAgent, :apikey)"
+    ),
     INSERT_RESPONSE(
         "INSERT INTO public." + SqlTable.API_RESPONSE +"\n"+
         "(req_id, response_time, status_code, content_type, process_time)" + "\n"+
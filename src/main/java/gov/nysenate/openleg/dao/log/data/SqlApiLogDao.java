@@ -11,6 +11,7 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
@@ -61,6 +62,7 @@ public class SqlApiLogDao extends SqlBaseDao implements ApiLogDao
             .addValue("userAgent", req.getUserAgent())
             .addValue("apikey", req.getApiKey())
             .addValue("requestMethod", req.getRequestMethod())
+            .addValue("requestId", req.getRequestId())
         );
     }
 
@@ -104,4 +106,28 @@ public class SqlApiLogDao extends SqlBaseDao implements ApiLogDao
                     getApiResponseParams(response));
         }
      }
+
+    /** {@inheritDoc}
+     *
+     *  The request ids are reserved from the request id sequence up front so that both the requests and the
+     *  responses can be inserted as JDBC batches.
+     */
+    @Override
+    @Transactional
+    public void saveApiResponses(List<ApiResponse> responses) throws DataAccessException {
+        if (responses.isEmpty()) {
+            return;
+        }
+        List<Integer> requestIds = jdbcNamed.query(ApiRequestResponseQuery.SELECT_NEXT_REQUEST_IDS.getSql(schema()),
+                new MapSqlParameterSource("count", responses.size()), new SingleColumnRowMapper<>(Integer.class));
+        SqlBatchUpdate batch = new SqlBatchUpdate(jdbcNamed, schema())
+                .register(ApiRequestResponseQuery.INSERT_REQUEST_WITH_ID, ApiRequestResponseQuery.INSERT_RESPONSE);
+        for (int i = 0; i < responses.size(); i++) {
+            ApiResponse response = responses.get(i);
+            response.getBaseRequest().setRequestId(requestIds.get(i));
+            batch.add(ApiRequestResponseQuery.INSERT_REQUEST_WITH_ID, getApiRequestParams(response.getBaseRequest()));
+            batch.add(ApiRequestResponseQuery.INSERT_RESPONSE, getApiResponseParams(response));
+        }
+        batch.execute();
+    }
 }
@@ -4,13 +4,11 @@ import com.google.common.collect.Range;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
-import gov.nysenate.openleg.model.updates.UpdateContentType;
-import gov.nysenate.openleg.model.updates.UpdateDigest;
-import gov.nysenate.openleg.model.updates.UpdateToken;
-import gov.nysenate.openleg.model.updates.UpdateType;
+import gov.nysenate.openleg.model.updates.*;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 
@@ -58,4 +56,36 @@ public interface AggregateUpdatesDao {
                                                                                      SortOrder order, LimitOffset limitOffset) {
         return getUpdateDigests(dateTimeRange, types, updateType, order, limitOffset, false);
     }
+
+    /**
+     * Gets a page of update tokens that follow the given cursor position, as an alternative to offset based
+     * pagination via {@link #getUpdateTokens(Range, Set, UpdateType, SortOrder, LimitOffset)}.
+     * The total number of tokens is not counted, so the cost of retrieving a page does not depend on its depth.
+     *
+     * @param dateTimeRange Range<LocalDateTime> - restrict the date time range of returned update tokens
+     * @param types Set<UpdateContentType> - return updates for the content types specified in this set
+     * @param updateType UpdateType - specifies whether updates are retrieved based on published or processed date time
+     * @param order SortOrder - determines update sort order based on the update type
+     * @param after Optional<UpdateCursor> - return tokens after this position, or from the start if empty
+     * @param limit int - the maximum number of tokens to return
+     * @return UpdateCursorPage<UpdateToken<Map<String, String>>>
+     */
+    public UpdateCursorPage<UpdateToken<Map<String, String>>> getUpdateTokens(Range<LocalDateTime> dateTimeRange,
+                                                                             Set<UpdateContentType> types, UpdateType updateType,
+                                                                             SortOrder order, Optional<UpdateCursor> after,
+                                                                             int limit);
+
+    /**
+     * Gets a page of update digests that follow the given cursor position.
+     *
+     * @param after Optional<UpdateCursor> - return digests after this position, or from the start if empty
+     * @param limit int - the maximum number of digests to return
+     * @param detail boolean - will return detailed update digests if set to true
+     * @return UpdateCursorPage<UpdateDigest<Map<String, String>>>
+     * @see #getUpdateTokens(Range, Set, UpdateType, SortOrder, Optional, int)
+     */
+    public UpdateCursorPage<UpdateDigest<Map<String, String>>> getUpdateDigests(Range<LocalDateTime> dateTimeRange,
+                                                                               Set<UpdateContentType> types, UpdateType updateType,
+                                                                               SortOrder order, Optional<UpdateCursor> after,
+                                                                               int limit, boolean detail);
 }
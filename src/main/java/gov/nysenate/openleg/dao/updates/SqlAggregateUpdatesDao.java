@@ -4,15 +4,18 @@ import com.google.common.collect.Range;
 
 import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.updates.*;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Repository;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 import static gov.nysenate.openleg.dao.updates.SqlAggregateUpdatesQuery.*;
+import static gov.nysenate.openleg.util.DateUtils.toDate;
 
 @Repository
 public class SqlAggregateUpdatesDao extends SqlBaseDao implements AggregateUpdatesDao {
@@ -42,6 +45,97 @@ public class SqlAggregateUpdatesDao extends SqlBaseDao implements AggregateUpdat
         return rowHandler.getList();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public UpdateCursorPage<UpdateToken<Map<String, String>>> getUpdateTokens(Range<LocalDateTime> dateTimeRange,
+                                                                             Set<UpdateContentType> types, UpdateType updateType,
+                                                                             SortOrder order, Optional<UpdateCursor> after,
+                                                                             int limit) {
+        return getCursorPage(dateTimeRange, types, updateType, order, after, limit, UpdateReturnType.TOKEN,
+                aggregateUpdateTokenRowMapper);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UpdateCursorPage<UpdateDigest<Map<String, String>>> getUpdateDigests(Range<LocalDateTime> dateTimeRange,
+                                                                               Set<UpdateContentType> types, UpdateType updateType,
+                                                                               SortOrder order, Optional<UpdateCursor> after,
+                                                                               int limit, boolean detail) {
+        return getCursorPage(dateTimeRange, types, updateType, order, after, limit,
+                detail ? UpdateReturnType.DETAIL_DIGEST : UpdateReturnType.DIGEST, aggregateUpdateDigestRowMapper);
+    }
+
+    /** --- Internal Methods --- */
+
+    private <T> UpdateCursorPage<T> getCursorPage(Range<LocalDateTime> dateTimeRange, Set<UpdateContentType> types,
+                                                  UpdateType updateType, SortOrder order, Optional<UpdateCursor> after,
+                                                  int limit, UpdateReturnType returnType, RowMapper<T> rowMapper) {
+        SortOrder cursorOrder = (order == SortOrder.DESC) ? SortOrder.DESC : SortOrder.ASC;
+        Range<LocalDateTime> queryRange = dateTimeRange;
+        if (after.isPresent()) {
+            // Change log rows on the far side of the cursor can be skipped.  This holds for digests in either
+            // direction, but only when paging forward for tokens, since a token reports the latest change within the range.
+            LocalDateTime cursorDateTime = after.get().getDateTime();
+            Range<LocalDateTime> remaining = null;
+            if (cursorOrder == SortOrder.ASC) {
+                remaining = Range.atLeast(cursorDateTime);
+            }
+            else if (returnType != UpdateReturnType.TOKEN) {
+                remaining = Range.atMost(cursorDateTime);
+            }
+            if (remaining != null) {
+                if (!remaining.isConnected(queryRange) || remaining.intersection(queryRange).isEmpty()) {
+                    return new UpdateCursorPage<>(Collections.emptyList(), Optional.empty());
+                }
+                queryRange = remaining.intersection(queryRange);
+            }
+        }
+        MapSqlParameterSource params = getDateTimeRangeParams(queryRange);
+        after.ifPresent(cursor -> params
+                .addValue("cursorDateTime", toDate(cursor.getDateTime()))
+                .addValue("cursorContentType", cursor.getContentType().name())
+                .addValue("cursorKey", cursor.getKey()));
+        // One extra row is requested to find out if there is another page
+        String query = buildCursorQuery(schema(), limit + 1, cursorOrder, types, returnType, updateType, after.isPresent());
+        CursorPageRowHandler<T> rowHandler = new CursorPageRowHandler<>(limit, getOrderColumn(updateType), rowMapper);
+        jdbcNamed.query(query, params, rowHandler);
+        return rowHandler.getPage();
+    }
+
+    /**
+     * Collects up to 'limit' results and records the cursor position of the last one.
+     */
+    static class CursorPageRowHandler<T> implements RowCallbackHandler
+    {
+        private final int limit;
+        private final String orderColumn;
+        private final RowMapper<T> rowMapper;
+        private final List<T> results = new ArrayList<>();
+        private UpdateCursor lastCursor;
+        private boolean hasMore = false;
+
+        public CursorPageRowHandler(int limit, String orderColumn, RowMapper<T> rowMapper) {
+            this.limit = limit;
+            this.orderColumn = orderColumn;
+            this.rowMapper = rowMapper;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (results.size() >= limit) {
+                hasMore = true;
+                return;
+            }
+            results.add(rowMapper.mapRow(rs, results.size() + 1));
+            lastCursor = new UpdateCursor(getLocalDateTimeFromRs(rs, orderColumn),
+                    UpdateContentType.getValue(rs.getString("content_type")), rs.getString("cursor_key"));
+        }
+
+        public UpdateCursorPage<T> getPage() {
+            return new UpdateCursorPage<>(results, hasMore ? Optional.of(lastCursor) : Optional.empty());
+        }
+    }
+
     protected static final RowMapper<UpdateToken<Map<String, String>>> aggregateUpdateTokenRowMapper = (rs, num) ->
             new UpdateToken<>(getHstoreMap(rs, "id"),
                     UpdateContentType.getValue(rs.getString("content_type")),
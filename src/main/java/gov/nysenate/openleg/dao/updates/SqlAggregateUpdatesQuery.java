@@ -19,6 +19,20 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
         ") AS aggregate_query\n"
     ),
 
+    /** Selects a page of updates without counting the total, see {@link #buildCursorQuery}. */
+    SELECT_AGGREGATE_UPDATES_PAGE(
+        "SELECT *\n" +
+        "FROM (\n" +
+        "\tSELECT *, %s AS cursor_key\n" +
+        "\tFROM (\n" +
+            "%s\n" +
+        "\t) AS updates\n" +
+        ") AS aggregate_query\n"
+    ),
+    AGGREGATE_UPDATES_CURSOR_CONDITION(
+        "WHERE (${orderColumn}, content_type, cursor_key) %s (:cursorDateTime, :cursorContentType, :cursorKey)\n"
+    ),
+
     /** --- Standard Table Templates --- */
 
     STANDARD_UPDATE_SUBQUERY(
@@ -30,7 +44,7 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
     STANDARD_DIGEST_COLUMNS(
         "%s AS last_source_id, action_date_time AS last_processed_date_time, \n" +
         "\t\tpublished_date_time AS last_published_date_time,\n" +
-        "\t\ttable_name, action"
+        "\t\ttable_name, action, id AS change_id"
     ),
     STANDARD_TOKEN_COLUMNS(
         "MAX(%s) AS last_source_id, MAX(action_date_time) AS last_processed_date_time, \n" +
@@ -127,7 +141,7 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
      */
     public static String buildQuery(String schema, LimitOffset limOff, SortOrder order,
                                     Set<UpdateContentType> contentTypes, UpdateReturnType returnType, UpdateType updateType) {
-        OrderBy orderBy = new OrderBy(updateType == UpdateType.PROCESSED_DATE ? "last_processed_date_time" : "last_published_date_time", order);
+        OrderBy orderBy = new OrderBy(getOrderColumn(updateType), order);
         String aggregateQuery = String.format(
                 SELECT_AGGREGATE_UPDATES.getSql(schema, orderBy, limOff),
                 generateSubquery(contentTypes, returnType, schema));
@@ -139,6 +153,50 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
         return aggregateQuery;
     }
 
+    /**
+     * Generates a query string for a single page of updates that follow the given cursor position in the
+     * given sort order. Unlike {@link #buildQuery}, the total number of updates is not counted.
+     * Each row includes a 'cursor_key' column that, along with the date time and content type, identifies the
+     * row's position in the feed.
+     *
+     * @param schema String - The name of the master schema
+     * @param limit int - The maximum number of rows returned
+     * @param order SortOrder - Ordering for the query
+     * @param contentTypes Set<UpdateContentType> - The update content types to be retrieved
+     * @param returnType UpdateReturnType - The desired update return type
+     * @param updateType UpdateType - Determines which date column is used in the query
+     * @param afterCursor boolean - If true, only rows past the position given by the cursor params are returned
+     * @return String - An aggregate updates query string
+     */
+    public static String buildCursorQuery(String schema, int limit, SortOrder order,
+                                          Set<UpdateContentType> contentTypes, UpdateReturnType returnType,
+                                          UpdateType updateType, boolean afterCursor) {
+        String orderColumn = getOrderColumn(updateType);
+        OrderBy orderBy = new OrderBy(orderColumn, order, "content_type", order, "cursor_key", order);
+        String pageQuery = SELECT_AGGREGATE_UPDATES_PAGE.getSql();
+        if (afterCursor) {
+            pageQuery += String.format(AGGREGATE_UPDATES_CURSOR_CONDITION.getSql(), order == SortOrder.DESC ? "<" : ">");
+        }
+        // Tokens are keyed by content id, digests by their change log row
+        String cursorKey = returnType == UpdateReturnType.TOKEN ? "id::text" : "change_id::text";
+        pageQuery = String.format(
+                SqlQueryUtils.getSqlWithSchema(pageQuery, schema, orderBy, new LimitOffset(limit)),
+                cursorKey, generateSubquery(contentTypes, returnType, schema));
+        Map<String, String> replaceMap = ImmutableMap.<String, String>builder()
+                .putAll(getColumnReplaceMap(returnType))
+                .put("dateColumn", updateType == UpdateType.PROCESSED_DATE ? "action_date_time" : "published_date_time")
+                .put("orderColumn", orderColumn)
+                .build();
+        return StrSubstitutor.replace(pageQuery, replaceMap);
+    }
+
+    /**
+     * @return String - The name of the aggregate column that updates are ordered by for the given update type
+     */
+    public static String getOrderColumn(UpdateType updateType) {
+        return updateType == UpdateType.PROCESSED_DATE ? "last_processed_date_time" : "last_published_date_time";
+    }
+
     /**
      * Generates a subquery containing the union of updates queries for each represented content type
      */
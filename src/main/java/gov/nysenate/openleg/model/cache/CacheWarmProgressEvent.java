@@ -0,0 +1,51 @@
+package gov.nysenate.openleg.model.cache;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+/**
+ * Posted by a caching service as it warms one of its caches so that the progress of a warm up can be monitored.
+ */
+public class CacheWarmProgressEvent extends BaseCacheEvent
+{
+    protected ContentCache contentCache;
+    protected int completed;
+    protected int total;
+    protected boolean done;
+    protected LocalDateTime startDateTime;
+    protected LocalDateTime updateDateTime = LocalDateTime.now();
+
+    public CacheWarmProgressEvent(ContentCache contentCache, int completed, int total, boolean done,
+                                  LocalDateTime startDateTime) {
+        super(Collections.singleton(contentCache));
+        this.contentCache = contentCache;
+        this.completed = completed;
+        this.total = total;
+        this.done = done;
+        this.startDateTime = startDateTime;
+    }
+
+    public ContentCache getContentCache() {
+        return contentCache;
+    }
+
+    public int getCompleted() {
+        return completed;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public LocalDateTime getUpdateDateTime() {
+        return updateDateTime;
+    }
+}
@@ -11,6 +11,7 @@ public enum ContentCache
 {
     BILL,
     BILL_INFO,
+    BILL_TEXT,
     AGENDA,
     CALENDAR,
     LAW,
@@ -2,11 +2,11 @@ package gov.nysenate.openleg.model.law;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Container for the root node that comprises the hierarchy of components within a law. Tree traversal methods
@@ -30,6 +30,9 @@ public class LawTree
     /** Map of doc id to all nodes within this law tree. Necessary for quick lookup. */
     private Map<String, LawTreeNode> nodeLookupMap;
 
+    /** All nodes within this law tree in document order (i.e. the order returned by LawTreeNode#getAllNodes). */
+    private LawTreeNode[] nodeSequence;
+
     /** --- Constructors --- */
 
     public LawTree(LawVersionId lawVersionId, LawTreeNode rootNode, LawInfo lawInfo) {
@@ -40,20 +43,47 @@ public class LawTree
         this.rootNode = rootNode;
         this.lawInfo = lawInfo;
         this.publishedDates = Arrays.asList(lawVersionId.getPublishedDate());
+        rebuildLookupMap();
     }
 
     /** --- Method --- */
 
+    /**
+     * Indexes the nodes of this tree so that lookups by document id and navigation between nodes do not have to
+     * walk the tree. This is done on construction and must be called again if the tree structure is modified.
+     */
     public void rebuildLookupMap() {
-        this.nodeLookupMap = this.rootNode.getAllNodes().stream()
-            .collect(Collectors.toMap(LawTreeNode::getDocumentId, Function.identity()));
+        List<LawTreeNode> allNodes = this.rootNode.getAllNodes();
+        Map<String, LawTreeNode> lookupMap = new HashMap<>((int) (allNodes.size() / 0.75) + 1);
+        allNodes.forEach(node -> lookupMap.putIfAbsent(node.getDocumentId(), node));
+        // Nodes follow their ancestors in document order, so going in reverse indexes children before parents.
+        for (int i = allNodes.size() - 1; i >= 0; i--) {
+            allNodes.get(i).indexSectionRange();
+        }
+        this.nodeSequence = allNodes.toArray(new LawTreeNode[allNodes.size()]);
+        this.nodeLookupMap = lookupMap;
     }
 
     public Optional<LawTreeNode> find(String documentId) {
-        if (this.nodeLookupMap == null) rebuildLookupMap();
         return Optional.ofNullable(this.nodeLookupMap.get(documentId));
     }
 
+    /**
+     * Returns all the nodes within this tree in document order.
+     *
+     * @return List<LawTreeNode>
+     */
+    public List<LawTreeNode> getAllNodes() {
+        return Collections.unmodifiableList(Arrays.asList(nodeSequence));
+    }
+
+    /**
+     * @return int - The number of nodes within this tree.
+     */
+    public int getNodeCount() {
+        return nodeSequence.length;
+    }
+
     /** --- Delegates --- */
 
     public String getLawId() {
@@ -6,8 +6,6 @@ import org.apache.commons.lang3.StringUtils;
 import java.time.LocalDate;
 import java.util.*;
 
-import static java.util.stream.Collectors.toList;
-
 public class LawTreeNode implements Comparable<LawTreeNode>
 {
     /** This number indicates the order in which this node appears in the tree, starting at 1. */
@@ -29,6 +27,12 @@ public class LawTreeNode implements Comparable<LawTreeNode>
     /** Instance variable used to cache the section range once computed. */
     private Optional<Range<LawTreeNode>> sectionRange;
 
+    /** The children ordered by sequence number. Built on first use and cleared whenever the children change. */
+    private LawTreeNode[] orderedChildren;
+
+    /** The index of this node within the ordered children of its parent, set when the parent's array is built. */
+    private int siblingIndex = -1;
+
     /** --- Constructors --- */
 
     public LawTreeNode(LawDocInfo lawDocInfo, int sequenceNo) {
@@ -49,6 +53,21 @@ public class LawTreeNode implements Comparable<LawTreeNode>
         if (node == null) throw new IllegalArgumentException("Cannot add a null child node ");
         node.setParent(this);
         children.put(node.lawDocInfo.documentId, node);
+        resetOrderedChildren();
+    }
+
+    /**
+     * Removes the immediate child with the given document id.
+     *
+     * @param documentId String
+     * @return LawTreeNode - The removed child or null if there was no such child.
+     */
+    public LawTreeNode removeChild(String documentId) {
+        LawTreeNode removed = children.remove(documentId);
+        if (removed != null) {
+            resetOrderedChildren();
+        }
+        return removed;
     }
 
     /**
@@ -104,7 +123,7 @@ public class LawTreeNode implements Comparable<LawTreeNode>
      * @return List<LawTreeNode>
      */
     public List<LawTreeNode> getChildNodeList() {
-        return this.children.values().stream().sorted().collect(toList());
+        return Collections.unmodifiableList(Arrays.asList(getOrderedChildren()));
     }
 
     /**
@@ -137,10 +156,10 @@ public class LawTreeNode implements Comparable<LawTreeNode>
      */
     public Optional<LawTreeNode> getPrevSibling() {
         if (getParent() != null) {
-            List<LawTreeNode> childNodeList = getParent().getChildNodeList();
-            int index = childNodeList.indexOf(this);
+            LawTreeNode[] siblings = getParent().getOrderedChildren();
+            int index = getSiblingIndex(siblings);
             if (index > 0) {
-                return Optional.of(childNodeList.get(index - 1));
+                return Optional.of(siblings[index - 1]);
             }
         }
         return Optional.empty();
@@ -152,10 +171,10 @@ public class LawTreeNode implements Comparable<LawTreeNode>
      */
     public Optional<LawTreeNode> getNextSibling() {
         if (getParent() != null) {
-            List<LawTreeNode> childNodeList = getParent().getChildNodeList();
-            int index = childNodeList.indexOf(this);
-            if (index < childNodeList.size() - 1) {
-                return Optional.of(childNodeList.get(index + 1));
+            LawTreeNode[] siblings = getParent().getOrderedChildren();
+            int index = getSiblingIndex(siblings);
+            if (index >= 0 && index < siblings.length - 1) {
+                return Optional.of(siblings[index + 1]);
             }
         }
         return Optional.empty();
@@ -212,7 +231,7 @@ public class LawTreeNode implements Comparable<LawTreeNode>
         if (delete && lawTreeNode.isPresent()) {
             LawTreeNode parentNode = lawTreeNode.get().getParent();
             if (parentNode != null) {
-                parentNode.getChildren().remove(documentId);
+                parentNode.removeChild(documentId);
             }
         }
         return lawTreeNode;
@@ -242,6 +261,59 @@ public class LawTreeNode implements Comparable<LawTreeNode>
         return sb.toString();
     }
 
+    /**
+     * Sets the cached section range from the cached ranges of the children, which must already be indexed.
+     * This allows a whole tree to be indexed bottom up without searching each subtree again.
+     */
+    void indexSectionRange() {
+        if (getDocType().equals(LawDocumentType.SECTION)) {
+            sectionRange = Optional.of(Range.closed(this, this));
+            return;
+        }
+        LawTreeNode[] ordered = getOrderedChildren();
+        LawTreeNode first = null;
+        LawTreeNode last = null;
+        for (int i = 0; i < ordered.length && first == null; i++) {
+            first = ordered[i].getFromSection().orElse(null);
+        }
+        for (int i = ordered.length - 1; i >= 0 && last == null; i--) {
+            last = ordered[i].getToSection().orElse(null);
+        }
+        sectionRange = (first != null && last != null) ? Optional.of(Range.closed(first, last)) : Optional.empty();
+    }
+
+    /**
+     * Returns the children ordered by sequence number, building the array if the children changed.
+     */
+    private LawTreeNode[] getOrderedChildren() {
+        LawTreeNode[] ordered = orderedChildren;
+        if (ordered == null) {
+            ordered = children.values().toArray(new LawTreeNode[children.size()]);
+            Arrays.sort(ordered);
+            for (int i = 0; i < ordered.length; i++) {
+                ordered[i].siblingIndex = i;
+            }
+            orderedChildren = ordered;
+        }
+        return ordered;
+    }
+
+    private void resetOrderedChildren() {
+        orderedChildren = null;
+        sectionRange = null;
+    }
+
+    /**
+     * Returns the index of this node within the given sibling array, falling back to a scan if the
+     * stored index is out of date (e.g. this node was also added under another parent).
+     */
+    private int getSiblingIndex(LawTreeNode[] siblings) {
+        if (siblingIndex >= 0 && siblingIndex < siblings.length && siblings[siblingIndex] == this) {
+            return siblingIndex;
+        }
+        return Arrays.asList(siblings).indexOf(this);
+    }
+
     /**
      * Finds the first valid section under this law node.
      * @param node LawTreeNode
@@ -329,6 +401,9 @@ public class LawTreeNode implements Comparable<LawTreeNode>
 
     public void setSequenceNo(int sequenceNo) {
         this.sequenceNo = sequenceNo;
+        if (parent != null) {
+            parent.resetOrderedChildren();
+        }
     }
 
     public LawDocInfo getLawDocInfo() {
@@ -343,6 +418,7 @@ public class LawTreeNode implements Comparable<LawTreeNode>
         this.parent = parent;
     }
 
+    /** Children should be modified via {@link #addChild} and {@link #removeChild} to keep the ordering current. */
     public LinkedHashMap<String, LawTreeNode> getChildren() {
         return children;
     }
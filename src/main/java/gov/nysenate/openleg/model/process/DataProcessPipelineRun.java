@@ -0,0 +1,114 @@
+package gov.nysenate.openleg.model.process;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Timing and counts for a single processing pipeline (e.g. sobi, law) within a {@link DataProcessRun}.
+ */
+public class DataProcessPipelineRun
+{
+    /** Name of the pipeline. */
+    private String pipeline;
+
+    /** When this pipeline was queued to run. */
+    private LocalDateTime queuedDateTime;
+
+    /** When this pipeline started processing, after waiting for a processing slot if necessary. */
+    private volatile LocalDateTime startDateTime;
+
+    /** When this pipeline finished processing. */
+    private volatile LocalDateTime endDateTime;
+
+    /** True if the pipeline was not run because it was still running for a previous process run. */
+    private boolean skipped;
+
+    /** The number of items collated and ingested for each data type in the pipeline. */
+    private final Map<String, Integer> collatedCounts = new LinkedHashMap<>();
+    private final Map<String, Integer> ingestedCounts = new LinkedHashMap<>();
+
+    /** --- Constructors --- */
+
+    public DataProcessPipelineRun(String pipeline, LocalDateTime queuedDateTime, boolean skipped) {
+        this.pipeline = pipeline;
+        this.queuedDateTime = queuedDateTime;
+        this.skipped = skipped;
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @return Duration - the time spent waiting for a processing slot
+     */
+    public Duration getWaitDuration() {
+        return startDateTime != null ? Duration.between(queuedDateTime, startDateTime) : Duration.ZERO;
+    }
+
+    /**
+     * @return Duration - the time spent processing, up to now if the pipeline is still running
+     */
+    public Duration getProcessDuration() {
+        if (startDateTime == null) {
+            return Duration.ZERO;
+        }
+        return Duration.between(startDateTime, endDateTime != null ? endDateTime : LocalDateTime.now());
+    }
+
+    public synchronized void addCollatedCount(String type, int count) {
+        collatedCounts.merge(type, count, Integer::sum);
+    }
+
+    public synchronized void addIngestedCount(String type, int count) {
+        ingestedCounts.merge(type, count, Integer::sum);
+    }
+
+    @Override
+    public String toString() {
+        if (skipped) {
+            return pipeline + ": skipped (still running)";
+        }
+        return pipeline + ": waited " + getWaitDuration().toMillis() + " ms, processed in " +
+                getProcessDuration().toMillis() + " ms, collated " + getCollatedCounts() +
+                ", ingested " + getIngestedCounts();
+    }
+
+    /** --- Basic Getters/Setters --- */
+
+    public String getPipeline() {
+        return pipeline;
+    }
+
+    public LocalDateTime getQueuedDateTime() {
+        return queuedDateTime;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public void setStartDateTime(LocalDateTime startDateTime) {
+        this.startDateTime = startDateTime;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
+    public void setEndDateTime(LocalDateTime endDateTime) {
+        this.endDateTime = endDateTime;
+    }
+
+    public boolean isSkipped() {
+        return skipped;
+    }
+
+    public synchronized Map<String, Integer> getCollatedCounts() {
+        return new LinkedHashMap<>(collatedCounts);
+    }
+
+    public synchronized Map<String, Integer> getIngestedCounts() {
+        return new LinkedHashMap<>(ingestedCounts);
+    }
+}
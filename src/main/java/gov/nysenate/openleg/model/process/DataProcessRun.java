@@ -3,6 +3,8 @@ package gov.nysenate.openleg.model.process;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents basic information about a single data processing job that was run.
@@ -24,6 +26,9 @@ public class DataProcessRun
     /** Preserve any exception messages here. */
     private StringBuffer exceptions = new StringBuffer();
 
+    /** Timing for each processing pipeline that was started (or skipped) by this run. */
+    private final List<DataProcessPipelineRun> pipelineRuns = new CopyOnWriteArrayList<>();
+
     /** --- Constructors --- */
 
     public DataProcessRun() {}
@@ -50,6 +55,10 @@ public class DataProcessRun
         }
     }
 
+    public void addPipelineRun(DataProcessPipelineRun pipelineRun) {
+        this.pipelineRuns.add(pipelineRun);
+    }
+
     /** --- Basic Getters/Setters --- */
 
     public int getProcessId() {
@@ -87,4 +96,8 @@ public class DataProcessRun
     public StringBuffer getExceptions() {
         return exceptions;
     }
-}
\ No newline at end of file
+
+    public List<DataProcessPipelineRun> getPipelineRuns() {
+        return pipelineRuns;
+    }
+}
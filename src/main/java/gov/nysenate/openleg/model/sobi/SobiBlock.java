@@ -42,6 +42,9 @@ public class SobiBlock
     /** The number of characters in the data segment of the block */
     public static final int blockDataLength = 98;
 
+    /** The number of characters in a block header, i.e. the bill designator followed by the line type. */
+    public static final int headerLength = 12;
+
     /** The file name of the fragment that generated this block. */
     private String fragmentFileName;
 
@@ -115,6 +118,73 @@ public class SobiBlock
         this.dataBuffer.append("\n"+line.substring(12));
     }
 
+    /**
+     * Extends the block data with the data from the line in text[lineStart, lineEnd) without copying the line first.
+     * Null bytes are replaced with spaces.
+     *
+     * @see #extend(String)
+     */
+    public void extend(CharSequence text, int lineStart, int lineEnd) {
+        if (!this.isMultiline())
+            throw new RuntimeException("Only multi-line blocks may be extended");
+        this.dataBuffer.append('\n');
+        for (int i = lineStart + headerLength; i < lineEnd; i++) {
+            this.dataBuffer.append(nullToSpace(text.charAt(i)));
+        }
+    }
+
+    /**
+     * Checks if the line in text[lineStart, lineEnd) starts with a block header. This is equivalent to matching
+     * {@link #blockPattern} against the line after replacing null bytes with spaces, but checks the fixed width
+     * header by position instead of copying the line and running the regex.
+     *
+     * @param text CharSequence
+     * @param lineStart int - Index of the first character of the line.
+     * @param lineEnd int - Index after the last character of the line.
+     * @return boolean
+     */
+    public static boolean isBlockHeader(CharSequence text, int lineStart, int lineEnd) {
+        if (lineEnd - lineStart < headerLength) {
+            return false;
+        }
+        for (int i = 0; i < headerLength; i++) {
+            char c = nullToSpace(text.charAt(lineStart + i));
+            boolean valid;
+            if (i < 4 || (i >= 5 && i < 10)) {
+                valid = c >= '0' && c <= '9';
+            }
+            else if (i == 4) {
+                valid = c >= 'A' && c <= 'Z';
+            }
+            else if (i == 10) {
+                valid = c == ' ' || (c >= 'A' && c <= 'Z');
+            }
+            else {
+                valid = (c >= '1' && c <= '9') || (c >= 'A' && c <= 'Z');
+            }
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the line starting at the given index has the same header as this block.
+     *
+     * @param text CharSequence
+     * @param lineStart int - Index of the first character of a line that starts with a block header.
+     * @return boolean
+     */
+    public boolean hasHeader(CharSequence text, int lineStart) {
+        for (int i = 0; i < headerLength; i++) {
+            if (header.charAt(i) != nullToSpace(text.charAt(lineStart + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Blocks are considered equal if their header and data (trimmed of all excess whitespace) are
      * identical in content (case-sensitive).
@@ -174,6 +244,10 @@ public class SobiBlock
 
     /** --- Internal Methods --- */
 
+    private static char nullToSpace(char c) {
+        return (c == '\0') ? ' ' : c;
+    }
+
     /**
      * Ensures that the data segment of the block extends to the full 98 characters by appending spaces as needed
      * This is only applied to bill info blocks
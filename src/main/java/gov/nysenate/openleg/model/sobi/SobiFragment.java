@@ -5,9 +5,7 @@ import gov.nysenate.openleg.model.base.BaseSourceData;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
 
 /**
  * The SobiFragment class represents a portion of a SobiFile file that contains data pertaining
@@ -72,33 +70,37 @@ public class SobiFragment extends BaseSourceData
         List<SobiBlock> blocks = new ArrayList<>();
         if (isBlockFormat()) {
             SobiBlock block = null;
-            List<String> lines = new ArrayList<>(Arrays.asList(this.text.split("\\r?\\n")));
-            lines.add(""); // Add a trailing line to end the last block and remove edge cases
-            for (int lineNo = 0; lineNo < lines.size(); lineNo++) {
-                // Replace NULL bytes with spaces to properly format lines.
-                String line = lines.get(lineNo).replace('\0', ' ');
+            int lineNo = 0;
+            int lineStart = 0;
+            // Scan the text line by line. Only lines that start a new block are copied, all other lines are
+            // checked and appended in place.
+            while (true) {
+                int newLine = text.indexOf('\n', lineStart);
+                int lineEnd = (newLine >= 0) ? newLine : text.length();
+                if (lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
                 // Source file is not assumed to be 100% SOBI so we filter out other lines
-                Matcher headerMatcher = SobiBlock.blockPattern.matcher(line);
-                if (headerMatcher.find()) {
-                    if (block == null) {
-                        // No active block with a new matching line: create new block
-                        block = new SobiBlock(fragmentId, type, lineNo, line);
-                    }
-                    else if (block.getHeader().equals(headerMatcher.group()) && block.isMultiline()) {
+                if (SobiBlock.isBlockHeader(text, lineStart, lineEnd)) {
+                    if (block != null && block.isMultiline() && block.hasHeader(text, lineStart)) {
                         // Active multi-line block with a new matching line: extend block
-                        block.extend(line);
+                        block.extend(text, lineStart, lineEnd);
                     }
                     else {
-                        // Active block does not match new line or can't be extended: create new block
-                        block.setEndLineNo(lineNo - 1);
-                        blocks.add(block);
+                        // Replace NULL bytes with spaces to properly format lines.
+                        String line = text.substring(lineStart, lineEnd).replace('\0', ' ');
                         SobiBlock newBlock = new SobiBlock(fragmentId, type, lineNo, line);
-                        // Handle certain SOBI grouping edge cases.
-                        if (newBlock.getBillHeader().equals(block.getBillHeader())) {
-                            // The law code line can be omitted when blank but it always precedes the 'C' line
-                            if (newBlock.getType().equals(SobiLineType.SUMMARY) && !block.getType().equals(SobiLineType.LAW)) {
-                                blocks.add(new SobiBlock(fragmentId, type, lineNo,
-                                           block.getBillHeader() + SobiLineType.LAW.getTypeCode()));
+                        if (block != null) {
+                            // Active block does not match new line or can't be extended: end the block
+                            block.setEndLineNo(lineNo - 1);
+                            blocks.add(block);
+                            // Handle certain SOBI grouping edge cases.
+                            if (newBlock.getBillHeader().equals(block.getBillHeader())) {
+                                // The law code line can be omitted when blank but it always precedes the 'C' line
+                                if (newBlock.getType().equals(SobiLineType.SUMMARY) && !block.getType().equals(SobiLineType.LAW)) {
+                                    blocks.add(new SobiBlock(fragmentId, type, lineNo,
+                                               block.getBillHeader() + SobiLineType.LAW.getTypeCode()));
+                                }
                             }
                         }
                         // Start a new block
@@ -111,6 +113,16 @@ public class SobiFragment extends BaseSourceData
                     blocks.add(block);
                     block = null;
                 }
+                lineNo++;
+                if (newLine < 0) {
+                    break;
+                }
+                lineStart = newLine + 1;
+            }
+            if (block != null) {
+                // The end of the text ends the last block
+                block.setEndLineNo(lineNo - 1);
+                blocks.add(block);
             }
         }
         return blocks;
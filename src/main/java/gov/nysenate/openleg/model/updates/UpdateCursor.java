@@ -0,0 +1,103 @@
+package gov.nysenate.openleg.model.updates;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Marks a position within an ordered updates feed. Updates are ordered by their update date time, content type
+ * and a key that is unique within a content type, so the next page of updates can be found by seeking past this
+ * position instead of counting rows with an offset.
+ *
+ * Cursors are handed to clients as opaque strings, see {@link #encode()} and {@link #decode(String)}.
+ */
+public class UpdateCursor
+{
+    private static final String SEPARATOR = "|";
+
+    /** The update date time (processed or published depending on the feed) of the last returned update. */
+    private final LocalDateTime dateTime;
+
+    /** The content type of the last returned update. */
+    private final UpdateContentType contentType;
+
+    /** Uniquely identifies the last returned update within its date time and content type. */
+    private final String key;
+
+    /** --- Constructors --- */
+
+    public UpdateCursor(LocalDateTime dateTime, UpdateContentType contentType, String key) {
+        this.dateTime = Objects.requireNonNull(dateTime);
+        this.contentType = Objects.requireNonNull(contentType);
+        this.key = Objects.requireNonNull(key);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @return String - an opaque, url safe representation of this cursor
+     */
+    public String encode() {
+        String cursor = dateTime + SEPARATOR + contentType.name() + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor created by {@link #encode()}.
+     *
+     * @param cursor String
+     * @return UpdateCursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static UpdateCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + SEPARATOR, 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid update cursor: " + cursor);
+            }
+            return new UpdateCursor(LocalDateTime.parse(parts[0]), UpdateContentType.valueOf(parts[1]), parts[2]);
+        }
+        catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid update cursor: " + cursor, ex);
+        }
+    }
+
+    /** --- Overrides --- */
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UpdateCursor that = (UpdateCursor) o;
+        return Objects.equals(dateTime, that.dateTime) &&
+               contentType == that.contentType &&
+               Objects.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dateTime, contentType, key);
+    }
+
+    @Override
+    public String toString() {
+        return dateTime + SEPARATOR + contentType + SEPARATOR + key;
+    }
+
+    /** --- Basic Getters --- */
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    public UpdateContentType getContentType() {
+        return contentType;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
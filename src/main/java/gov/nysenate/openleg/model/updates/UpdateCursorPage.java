@@ -0,0 +1,34 @@
+package gov.nysenate.openleg.model.updates;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A page of results from an updates feed along with the cursor that retrieves the following page.
+ *
+ * @param <T> The type of update
+ */
+public class UpdateCursorPage<T>
+{
+    private final List<T> results;
+
+    /** Points to the last result, empty if there are no further results. */
+    private final Optional<UpdateCursor> nextCursor;
+
+    /** --- Constructors --- */
+
+    public UpdateCursorPage(List<T> results, Optional<UpdateCursor> nextCursor) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+    }
+
+    /** --- Basic Getters --- */
+
+    public List<T> getResults() {
+        return results;
+    }
+
+    public Optional<UpdateCursor> getNextCursor() {
+        return nextCursor;
+    }
+}
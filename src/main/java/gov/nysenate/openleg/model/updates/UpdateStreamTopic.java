@@ -0,0 +1,28 @@
+package gov.nysenate.openleg.model.updates;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The types of content published on the update stream. Each topic has its own STOMP destination so that
+ * clients only receive updates for the content they are interested in.
+ */
+public enum UpdateStreamTopic
+{
+    AGENDA,
+    BILL,
+    CALENDAR,
+    LAW,
+    TRANSCRIPT,
+    ;
+
+    public static final String DESTINATION_PREFIX = "/event/updates";
+
+    /** @return String - the destination that updates for this topic are published on, e.g. /event/updates/bill */
+    public String getDestination() {
+        return DESTINATION_PREFIX + "/" + name().toLowerCase();
+    }
+
+    public static UpdateStreamTopic getValue(String name) {
+        return valueOf(StringUtils.upperCase(StringUtils.trim(name)));
+    }
+}
@@ -1,10 +1,14 @@
 package gov.nysenate.openleg.processor;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.model.process.*;
+import gov.nysenate.openleg.processor.base.ProcessPipeline;
+import gov.nysenate.openleg.processor.base.ProcessPipelineScheduler;
+import gov.nysenate.openleg.processor.base.ProcessRunContext;
 import gov.nysenate.openleg.processor.base.ProcessService;
 import gov.nysenate.openleg.processor.hearing.PublicHearingProcessService;
 import gov.nysenate.openleg.processor.law.LawProcessService;
@@ -12,24 +16,39 @@ import gov.nysenate.openleg.processor.sobi.SobiProcessService;
 import gov.nysenate.openleg.processor.transcript.TranscriptProcessService;
 import gov.nysenate.openleg.service.process.DataProcessLogService;
 import gov.nysenate.openleg.service.spotcheck.base.BaseSpotcheckProcessService;
-import gov.nysenate.openleg.util.AsyncRunner;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
-import java.io.IOException;
+import javax.annotation.PreDestroy;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
 
 /**
  * Process all the things.
+ *
+ * Process services are grouped into independent pipelines (sobi, law, transcripts, public hearings and spotcheck
+ * references) that are run concurrently by a {@link ProcessPipelineScheduler}. The sobi pipeline, which produces
+ * bills, agendas and calendars, is a priority pipeline and never waits behind the others. A pipeline that is still
+ * running when the next process run starts is skipped by that run.
+ *
+ * The spotcheck pipeline compares references against the ingested bills, agendas and calendars, so it does not
+ * start until the most recently started sobi pipeline has finished. Spotchecks of a run therefore see all of the
+ * sobi data ingested by that run, although a later run may ingest more sobi data while a spotcheck is running.
  */
 @Service
 public class DataProcessor
@@ -39,7 +58,6 @@ public class DataProcessor
     @Autowired private Environment env;
     @Autowired private EventBus eventBus;
     @Autowired private DataProcessLogService processLogService;
-    @Autowired private AsyncRunner asyncRunner;
 
     @Autowired private SobiProcessService sobiProcessService;
     @Autowired private TranscriptProcessService transcriptProcessService;
@@ -48,7 +66,18 @@ public class DataProcessor
 
     @Autowired private List<BaseSpotcheckProcessService> spotcheckProcessServices;
 
-    private List<ProcessService> processServices;
+    /** The number of non priority pipelines that can run at the same time. */
+    @Value("${data.process.pipeline.slots:2}") private int pipelineSlots;
+
+    private List<ProcessPipeline> pipelines;
+
+    /** Pipelines that wait for the most recent run of another pipeline to finish before starting. */
+    private Map<ProcessPipeline, ProcessPipeline> prerequisites;
+
+    /** Completes when the most recently submitted run of the pipeline is done. */
+    private final Map<ProcessPipeline, CompletableFuture<Void>> latestPipelineRuns = new ConcurrentHashMap<>();
+
+    private ProcessPipelineScheduler pipelineScheduler;
 
     /** Hold a reference to the current data process run instance for event-based logging purposes. */
     private volatile DataProcessRun currentRun;
@@ -56,13 +85,24 @@ public class DataProcessor
     @PostConstruct
     public void init() {
         eventBus.register(this);
-        processServices = ImmutableList.<ProcessService>builder()
-            .add(sobiProcessService)
-            .add(transcriptProcessService)
-            .add(publicHearingProcessService)
-            .add(lawProcessService)
-            .addAll(spotcheckProcessServices)
-            .build();
+        ProcessPipeline sobiPipeline = new ProcessPipeline("sobi", true, ImmutableList.of(sobiProcessService));
+        ProcessPipeline spotcheckPipeline = new ProcessPipeline("spotcheck", false, spotcheckProcessServices);
+        pipelines = ImmutableList.of(
+            sobiPipeline,
+            new ProcessPipeline("transcript", false, ImmutableList.of(transcriptProcessService)),
+            new ProcessPipeline("public hearing", false, ImmutableList.of(publicHearingProcessService)),
+            new ProcessPipeline("law", false, ImmutableList.of(lawProcessService)),
+            spotcheckPipeline
+        );
+        prerequisites = ImmutableMap.of(spotcheckPipeline, sobiPipeline);
+        pipelineScheduler = new ProcessPipelineScheduler(pipelineSlots);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!pipelineScheduler.shutdown(60000)) {
+            logger.warn("Data processing pipelines did not finish before shutdown");
+        }
     }
 
     /* --- Main Methods --- */
@@ -73,22 +113,35 @@ public class DataProcessor
      * @param invoker String - describes method of invocation
      * @param async boolean - if true, processing will occur asynchronously.
      *              The unfinished {@link DataProcessRun} will be returned.
-     * @return {@link DataProcessRun}
+     * @return {@link DataProcessRun} - null if processing is disabled or every pipeline is still running
+     *                                  from a previous run, in which case no run is recorded
      * @throws Exception - If unhandled exceptions occur during processing
      */
-    public synchronized DataProcessRun run(String invoker, boolean async) throws Exception {
+    public DataProcessRun run(String invoker, boolean async) throws Exception {
         if (env.isProcessingEnabled()) {
+            List<ProcessPipeline> idlePipelines = lockIdlePipelines();
+            if (idlePipelines.isEmpty()) {
+                logger.info("Skipping data processing, all pipelines are still running from a previous run");
+                return null;
+            }
             logger.info("Starting data processor...");
-            currentRun = processLogService.startNewRun(LocalDateTime.now(), invoker);
+            DataProcessRun run;
+            try {
+                run = processLogService.startNewRun(LocalDateTime.now(), invoker);
+            }
+            catch (RuntimeException ex) {
+                idlePipelines.forEach(ProcessPipeline::unlock);
+                throw ex;
+            }
+            currentRun = run;
 
-            if (async) {
-                asyncRunner.run(this::doRun);
-            } else {
-                doRun();
+            CompletableFuture<Void> finished = startPipelines(run, idlePipelines);
+            if (!async) {
+                finished.join();
             }
 
             logger.info("Exiting data processor.");
-            return currentRun;
+            return run;
         }
         else {
             logger.debug("Data processing is disabled!");
@@ -103,19 +156,20 @@ public class DataProcessor
      * @return {@link DataProcessRun}
      * @throws Exception - If unhandled exceptions occur during processing
      */
-    public synchronized DataProcessRun run(String invoker) throws Exception {
+    public DataProcessRun run(String invoker) throws Exception {
         return run(invoker, false);
     }
 
     /**
      * If scheduled processing is enabled, the #run method will be invoked according to the
-     * configured cron value.
+     * configured cron value. The scheduled run does not wait for the pipelines to finish so that
+     * a long running pipeline does not prevent the next run from picking up new data for the others.
      */
     @Scheduled(cron = "${scheduler.process.cron}")
-    public synchronized void scheduledRun() {
+    public void scheduledRun() {
         if (env.isProcessingScheduled()) {
             try {
-                run("Scheduler");
+                run("Scheduler", true);
             }
             // Scheduled methods cannot let checked exceptions through
             catch (Exception ex) {
@@ -128,35 +182,36 @@ public class DataProcessor
 
     @Subscribe
     public void handleDataProcessErrorEvent(DataProcessErrorEvent ev) {
-        if (currentRun != null) {
-            currentRun.addException(ev.getMessage(), ev.getEx());
-        }
+        getCurrentRun().ifPresent(run -> run.addException(ev.getMessage(), ev.getEx()));
     }
 
     @Subscribe
     public void handleDataProcessUnitEvent(DataProcessUnitEvent ev) {
-        if (currentRun != null) {
+        getCurrentRun().ifPresent(run -> {
             DataProcessUnit unit = ev.getUnit();
-            processLogService.addUnit(currentRun.getProcessId(), unit);
+            processLogService.addUnit(run.getProcessId(), unit);
             if (!unit.getErrors().isEmpty()) {
-                eventBus.post(new DataProcessWarnEvent(currentRun.getProcessId(), unit));
+                eventBus.post(new DataProcessWarnEvent(run.getProcessId(), unit));
             }
-        }
+        });
     }
 
     /* --- Processing methods --- */
 
-    public synchronized void collate() {
+    /**
+     * Collates data for all pipelines on the calling thread, waiting for any running pipelines to finish first.
+     */
+    public void collate() {
         logger.debug("Begin collating data");
         Map<String, Integer> collatedCounts = new LinkedHashMap<>();
-        for (ProcessService processor : processServices) {
-            if (env.isProcessingEnabled()) {
-                int collatedCount = processor.collate();
-                if (collatedCount > 0) {
-                    collatedCounts.put(processor.getCollateType(), collatedCount);
-                }
+        for (ProcessPipeline pipeline : pipelines) {
+            pipeline.lock();
+            try {
+                collatedCounts.putAll(process(pipeline, ProcessService::collate, ProcessService::getCollateType));
+            }
+            finally {
+                pipeline.unlock();
             }
-
         }
         if (collatedCounts.size() > 0) {
             logger.debug("Completed collations:");
@@ -167,15 +222,19 @@ public class DataProcessor
         }
     }
 
-    public synchronized void ingest() throws IOException {
+    /**
+     * Ingests data for all pipelines on the calling thread, waiting for any running pipelines to finish first.
+     */
+    public void ingest() {
         logger.debug("Begin ingesting data");
         Map<String, Integer> ingestedCounts = new LinkedHashMap<>();
-        for (ProcessService processor : processServices) {
-            if (env.isProcessingEnabled()) {
-                int ingestedCount = processor.ingest();
-                if (ingestedCount > 0) {
-                    ingestedCounts.put(processor.getIngestType(), ingestedCount);
-                }
+        for (ProcessPipeline pipeline : pipelines) {
+            pipeline.lock();
+            try {
+                ingestedCounts.putAll(process(pipeline, ProcessService::ingest, ProcessService::getIngestType));
+            }
+            finally {
+                pipeline.unlock();
             }
         }
         if (ingestedCounts.size() > 0) {
@@ -187,25 +246,104 @@ public class DataProcessor
         }
     }
 
+    /**
+     * @return Optional<DataProcessRun> - the run being processed by the calling thread (see {@link ProcessRunContext}),
+     *                                    or the most recently started run if the thread is not processing for one.
+     */
     public Optional<DataProcessRun> getCurrentRun() {
-        return Optional.of(currentRun);
+        Optional<DataProcessRun> activeRun = ProcessRunContext.getActiveRun();
+        return activeRun.isPresent() ? activeRun : Optional.ofNullable(currentRun);
     }
 
     /* --- Internal Methods --- */
 
     /**
-     * Performs a data process run, recording any errors to the current {@link DataProcessRun}
+     * Locks each pipeline that isn't already queued or running, so that the pipelines can be started once
+     * a run has been recorded for them.
+     *
+     * @return List<ProcessPipeline> - the locked pipelines, to be passed to {@link #startPipelines}
+     */
+    private List<ProcessPipeline> lockIdlePipelines() {
+        return pipelines.stream()
+            .filter(ProcessPipeline::tryLock)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Submits the given locked pipelines to the pipeline scheduler and records the others as skipped.
+     * A pipeline with a prerequisite is started once the latest run of the prerequisite pipeline is done.
+     *
+     * @param run DataProcessRun
+     * @param idlePipelines List<ProcessPipeline> - pipelines locked by {@link #lockIdlePipelines()}
+     * @return CompletableFuture<Void> - completes once all started pipelines are done and the run is finished
      */
-    private synchronized void doRun() {
+    private CompletableFuture<Void> startPipelines(DataProcessRun run, List<ProcessPipeline> idlePipelines) {
+        List<CompletableFuture<Void>> started = new ArrayList<>();
+        for (ProcessPipeline pipeline : pipelines) {
+            if (idlePipelines.contains(pipeline)) {
+                DataProcessPipelineRun queued =
+                    new DataProcessPipelineRun(pipeline.getName(), LocalDateTime.now(), false);
+                CompletableFuture<Void> prerequisite = Optional.ofNullable(prerequisites.get(pipeline))
+                    .map(latestPipelineRuns::get)
+                    .orElse(CompletableFuture.completedFuture(null));
+                CompletableFuture<Void> pipelineRun = pipelineScheduler.submitLocked(pipeline,
+                    () -> ProcessRunContext.runWith(run, () -> runPipeline(run, pipeline, queued)), prerequisite);
+                latestPipelineRuns.put(pipeline, pipelineRun);
+                started.add(pipelineRun);
+                run.addPipelineRun(queued);
+            }
+            else {
+                logger.info("Skipping {} processing, it is still running from a previous run", pipeline);
+                run.addPipelineRun(new DataProcessPipelineRun(pipeline.getName(), LocalDateTime.now(), true));
+            }
+        }
+        return CompletableFuture.allOf(started.toArray(new CompletableFuture[started.size()]))
+            .whenComplete((result, ex) -> finishRun(run));
+    }
+
+    /**
+     * Collates and ingests data for a pipeline, recording any errors to the given {@link DataProcessRun}
+     */
+    private void runPipeline(DataProcessRun run, ProcessPipeline pipeline, DataProcessPipelineRun pipelineRun) {
+        pipelineRun.setStartDateTime(LocalDateTime.now());
         try {
-            collate();
-            ingest();
+            process(pipeline, ProcessService::collate, ProcessService::getCollateType)
+                .forEach(pipelineRun::addCollatedCount);
+            process(pipeline, ProcessService::ingest, ProcessService::getIngestType)
+                .forEach(pipelineRun::addIngestedCount);
         }
         catch (Exception ex) {
-            eventBus.post(new DataProcessErrorEvent("Unexpected Processing Error", ex, currentRun.getProcessId()));
+            eventBus.post(new DataProcessErrorEvent("Unexpected Processing Error", ex, run.getProcessId()));
             logger.error("Unexpected Processing Error:\n{}", ExceptionUtils.getStackTrace(ex));
         }
-        processLogService.finishRun(currentRun);
+        finally {
+            pipelineRun.setEndDateTime(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Applies a processing step to each process service in the pipeline.
+     *
+     * @return Map<String, Integer> - the number of items processed for each data type, omitting zero counts
+     */
+    private Map<String, Integer> process(ProcessPipeline pipeline, ToIntFunction<ProcessService> step,
+                                         Function<ProcessService, String> typeGetter) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (ProcessService processor : pipeline.getProcessServices()) {
+            if (env.isProcessingEnabled()) {
+                int count = step.applyAsInt(processor);
+                if (count > 0) {
+                    counts.merge(typeGetter.apply(processor), count, Integer::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    private void finishRun(DataProcessRun run) {
+        processLogService.finishRun(run);
+        logger.info("Finished data process run {}:", run.getProcessId());
+        run.getPipelineRuns().forEach(pipelineRun -> logger.info("  {}", pipelineRun));
     }
 
     private void logCounts(Map<String, Integer> counts) {
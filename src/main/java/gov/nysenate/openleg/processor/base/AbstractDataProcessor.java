@@ -74,6 +74,11 @@ public abstract class AbstractDataProcessor
 
     public void initBase() {
         eventBus.register(this);
+        // The ingest caches are shared by all processors and every processor flushes them the same way,
+        // so it does not matter which processor's flush method ends up registered.
+        billIngestCache.setFlushCallback(this::flushBillUpdates);
+        agendaIngestCache.setFlushCallback(this::flushAgendaUpdates);
+        calendarIngestCache.setFlushCallback(this::flushCalendarUpdates);
     }
 
     /** --- Common Methods --- */
@@ -165,9 +170,10 @@ public abstract class AbstractDataProcessor
      */
     protected void flushBillUpdates() {
         if (billIngestCache.getSize() > 0) {
-            logger.info("Flushing {} bills", billIngestCache.getSize());
-            billIngestCache.getCurrentCache().forEach(entry ->
-                billDataService.saveBill(entry.getLeft(), entry.getRight(), false));
+            logger.info("Flushing {} bills (~{} KB, {} hits / {} misses, {} auto flushes)", billIngestCache.getSize(),
+                        billIngestCache.getEstimatedBytes() / 1024, billIngestCache.getHitCount(),
+                        billIngestCache.getMissCount(), billIngestCache.getAutoFlushCount());
+            billDataService.saveBills(billIngestCache.getCurrentCache(), false);
             logger.debug("Broadcasting bill updates...");
             List<Bill> bills =
                 billIngestCache.getCurrentCache().stream().map(entry -> entry.getLeft()).collect(Collectors.toList());
@@ -1,31 +1,68 @@
 package gov.nysenate.openleg.processor.base;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.ToLongFunction;
 
 /**
  * A generic key-value pair cache to queue updates to the persistence layer so that they can be committed
  * to the file system more efficiently. The latest reference source data is associated with the cached item
  * since the persistence layer may want to know which pieces of source data the modifications came from.
  *
+ * The cache is bounded by a maximum number of entries and, optionally, a maximum approximate size in bytes.
+ * When a flush callback is registered, adding a new entry to a cache that has reached either bound will
+ * invoke the callback so the owner can persist and clear the existing entries first.
+ *
  * Key - The type for the key used to lookup values
  * Value - The type of values being stored
  * Source - The type that is used to encapsulate the source data
  */
 public class IngestCache<Key, Value, Source>
 {
+    private static final Logger logger = LoggerFactory.getLogger(IngestCache.class);
+
     private final Map<Key, Pair<Value, Source>> cache = new LinkedHashMap<>();
 
     private final int maxCapacity;
 
+    /** The maximum approximate size of the cached values in bytes. Not enforced if 0 or less. */
+    private final long maxBytes;
+
+    /** Estimates the retained size of a value in bytes. */
+    private final ToLongFunction<Value> sizeEstimator;
+
+    /** The size estimate of each cached value as of the last time it was set. */
+    private final Map<Key, Long> sizeEstimates = new HashMap<>();
+
+    private long estimatedBytes = 0;
+
+    /** Invoked to persist and clear the cache once a bound is reached. */
+    private Runnable flushCallback;
+
     /** Keep a reference to the first source in case of processing exceptions. */
     private Source firstSource;
 
+    /** --- Metrics --- */
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long flushCount = 0;
+    private long autoFlushCount = 0;
+
     public IngestCache(int capacity) {
+        this(capacity, 0, value -> 0);
+    }
+
+    public IngestCache(int capacity, long maxBytes, ToLongFunction<Value> sizeEstimator) {
         this.maxCapacity = capacity;
+        this.maxBytes = maxBytes;
+        this.sizeEstimator = sizeEstimator;
     }
 
     /**
@@ -40,13 +77,20 @@ public class IngestCache<Key, Value, Source>
     }
 
     /**
-     * Checks if the key is set in the cache.
+     * Checks if the key is set in the cache. Each call is recorded as a cache hit or miss.
      *
      * @param key String - Unique Id
      * @return boolean - true if key is found, false otherwise.
      */
     public boolean has(Key key) {
-        return cache.containsKey(key);
+        boolean found = cache.containsKey(key);
+        if (found) {
+            hitCount++;
+        }
+        else {
+            missCount++;
+        }
+        return found;
     }
 
     /**
@@ -60,7 +104,8 @@ public class IngestCache<Key, Value, Source>
 
     /**
      * Returns the maximum number of entries this cache should try to hold.
-     * Items will still be cached if this limit is exceeded, and must be managed externally.
+     * If a flush callback is registered, the cache will be flushed before a new entry is added past this limit.
+     * Otherwise items will still be cached if this limit is exceeded, and must be managed externally.
      *
      * @return item
      */
@@ -68,25 +113,63 @@ public class IngestCache<Key, Value, Source>
         return maxCapacity;
     }
 
+    /**
+     * Returns the approximate size in bytes of the cached values, as of the last time each was set.
+     *
+     * @return long
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Returns the maximum approximate size in bytes this cache should try to hold, 0 if not bounded by size.
+     *
+     * @return long
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
     /**
      * Indicates if the number of entries stored in the cache is greater than the
-     * set maximum capacity.
+     * set maximum capacity or the cached values exceed the maximum size.
      *
      * @return boolean
      */
     public boolean exceedsCapacity() {
-        return (getSize() > getMaxCapacity());
+        return getSize() > getMaxCapacity() || (maxBytes > 0 && estimatedBytes > maxBytes);
     }
 
     /**
-     * Puts a new entry into the cache.
+     * Registers a callback that will be run to flush the cache when a new entry is added while the cache is
+     * at capacity. The callback is expected to persist the current entries and call {@link #clearCache()}.
+     *
+     * @param flushCallback Runnable
+     */
+    public void setFlushCallback(Runnable flushCallback) {
+        this.flushCallback = flushCallback;
+    }
+
+    /**
+     * Puts a new entry into the cache. If the key is new and the cache has reached one of its bounds,
+     * the flush callback is invoked before the entry is added.
      *
      * @param key Key
      * @param obj Value
      * @param ref Source
      */
     public void set(Key key, Value obj, Source ref) {
+        if (flushCallback != null && !cache.containsKey(key) && isAtCapacity()) {
+            logger.debug("Ingest cache reached capacity with {} entries (~{} bytes), flushing",
+                         getSize(), estimatedBytes);
+            autoFlushCount++;
+            flushCallback.run();
+        }
         cache.put(key, Pair.of(obj, ref));
+        long size = sizeEstimator.applyAsLong(obj);
+        Long previousSize = sizeEstimates.put(key, size);
+        estimatedBytes += size - (previousSize != null ? previousSize : 0);
         if (firstSource == null && ref != null) {
             firstSource = ref;
         }
@@ -105,7 +188,40 @@ public class IngestCache<Key, Value, Source>
      * Clears out all the entries in the cache.
      */
     public void clearCache() {
+        if (!cache.isEmpty()) {
+            flushCount++;
+        }
         cache.clear();
+        sizeEstimates.clear();
+        estimatedBytes = 0;
         firstSource = null;
     }
-}
\ No newline at end of file
+
+    /** --- Metric Getters --- */
+
+    /** The number of lookups via {@link #has(Object)} that found an entry. */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /** The number of lookups via {@link #has(Object)} that did not find an entry. */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /** The number of times a non-empty cache was cleared, i.e. flushed. */
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    /** The number of flushes that were triggered by the cache reaching one of its bounds. */
+    public long getAutoFlushCount() {
+        return autoFlushCount;
+    }
+
+    /** --- Internal Methods --- */
+
+    private boolean isAtCapacity() {
+        return getSize() >= getMaxCapacity() || (maxBytes > 0 && estimatedBytes >= maxBytes);
+    }
+}
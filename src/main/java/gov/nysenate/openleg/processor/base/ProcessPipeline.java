@@ -0,0 +1,74 @@
+package gov.nysenate.openleg.processor.base;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A group of process services that are collated and ingested in order, independently of other pipelines.
+ * A pipeline is only run by one thread at a time.
+ *
+ * Priority pipelines are started as soon as they are requested. Other pipelines share a limited number of
+ * processing slots to bound the load they put on the database.
+ */
+public class ProcessPipeline
+{
+    private final String name;
+    private final boolean priority;
+    private final ImmutableList<ProcessService> processServices;
+
+    /** Held while the pipeline is queued or running. A semaphore is used since it is released on another thread. */
+    private final Semaphore lock = new Semaphore(1);
+
+    /** --- Constructors --- */
+
+    public ProcessPipeline(String name, boolean priority, List<? extends ProcessService> processServices) {
+        this.name = name;
+        this.priority = priority;
+        this.processServices = ImmutableList.copyOf(processServices);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @return boolean - true if the pipeline was locked, false if it is already queued or running
+     */
+    public boolean tryLock() {
+        return lock.tryAcquire();
+    }
+
+    /**
+     * Waits until the pipeline is no longer running and locks it.
+     */
+    public void lock() {
+        lock.acquireUninterruptibly();
+    }
+
+    public void unlock() {
+        lock.release();
+    }
+
+    public boolean isRunning() {
+        return lock.availablePermits() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isPriority() {
+        return priority;
+    }
+
+    public ImmutableList<ProcessService> getProcessServices() {
+        return processServices;
+    }
+}
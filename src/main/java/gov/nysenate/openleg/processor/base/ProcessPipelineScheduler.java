@@ -0,0 +1,123 @@
+package gov.nysenate.openleg.processor.base;
+
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs process pipelines concurrently, each on its own thread.
+ *
+ * A pipeline that is already queued or running is not submitted again, so a long running pipeline such as a large
+ * law ingest never holds up the other pipelines. Priority pipelines start immediately. The others wait for one of
+ * a fixed number of processing slots, in the order they were submitted, which bounds the number of database
+ * connections used for processing.
+ */
+public class ProcessPipelineScheduler
+{
+    /** Each pipeline runs on at most one thread at a time, so the number of threads is bounded by the pipelines. */
+    private final ExecutorService executor = Executors.newCachedThreadPool(new OpenlegThreadFactory("process"));
+
+    private final Semaphore slots;
+
+    /**
+     * @param slots int - the number of non priority pipelines that can run at the same time
+     */
+    public ProcessPipelineScheduler(int slots) {
+        if (slots < 1) {
+            throw new IllegalArgumentException("The number of process pipeline slots must be positive");
+        }
+        this.slots = new Semaphore(slots, true);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Runs the given task for the pipeline unless the pipeline is already queued or running.
+     *
+     * @param pipeline ProcessPipeline
+     * @param task Runnable - processes the pipeline
+     * @return Optional<CompletableFuture<Void>> - completes when the task is done, empty if the pipeline was not run
+     */
+    public Optional<CompletableFuture<Void>> submit(ProcessPipeline pipeline, Runnable task) {
+        if (!pipeline.tryLock()) {
+            return Optional.empty();
+        }
+        return Optional.of(submitLocked(pipeline, task));
+    }
+
+    /**
+     * Runs the given task for a pipeline whose lock is held by the caller (see {@link ProcessPipeline#tryLock()}).
+     * The lock is released once the task is done, or right away if the task could not be submitted.
+     *
+     * @param pipeline ProcessPipeline
+     * @param task Runnable - processes the pipeline
+     * @return CompletableFuture<Void> - completes when the task is done
+     */
+    public CompletableFuture<Void> submitLocked(ProcessPipeline pipeline, Runnable task) {
+        try {
+            return CompletableFuture.runAsync(() -> run(pipeline, task), executor);
+        }
+        catch (RuntimeException ex) {
+            pipeline.unlock();
+            throw ex;
+        }
+    }
+
+    /**
+     * Runs the given task for a pipeline whose lock is held by the caller once the prerequisite has completed,
+     * whether or not it succeeded. The pipeline stays locked but does not hold a processing slot while it waits.
+     *
+     * @param pipeline ProcessPipeline
+     * @param task Runnable - processes the pipeline
+     * @param prerequisite CompletableFuture<?> - the task is not started before this completes
+     * @return CompletableFuture<Void> - completes when the task is done
+     */
+    public CompletableFuture<Void> submitLocked(ProcessPipeline pipeline, Runnable task,
+                                                CompletableFuture<?> prerequisite) {
+        return prerequisite.handle((result, ex) -> (Void) null)
+            .thenCompose(v -> submitLocked(pipeline, task));
+    }
+
+    /**
+     * Stops accepting pipelines and waits for the running pipelines to finish.
+     *
+     * @param timeoutMillis long - the maximum time to wait
+     * @return boolean - true if all pipelines finished before the timeout
+     */
+    public boolean shutdown(long timeoutMillis) throws InterruptedException {
+        executor.shutdown();
+        return executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** @return int - the number of processing slots that are not in use */
+    public int getAvailableSlots() {
+        return slots.availablePermits();
+    }
+
+    /** --- Internal --- */
+
+    private void run(ProcessPipeline pipeline, Runnable task) {
+        try {
+            if (pipeline.isPriority()) {
+                task.run();
+            }
+            else {
+                slots.acquireUninterruptibly();
+                try {
+                    task.run();
+                }
+                finally {
+                    slots.release();
+                }
+            }
+        }
+        finally {
+            pipeline.unlock();
+        }
+    }
+}
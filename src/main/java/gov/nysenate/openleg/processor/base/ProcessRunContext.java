@@ -0,0 +1,62 @@
+package gov.nysenate.openleg.processor.base;
+
+import gov.nysenate.openleg.model.process.DataProcessRun;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * Tracks the data process run that the current thread is processing for.
+ *
+ * The runs of different pipelines may overlap, so processing events are attributed to the run of the thread that
+ * posted them. A pipeline that hands work off to helper threads should run it through {@link #propagate(Executor)}
+ * so that the events posted by the helpers are attributed to the same run.
+ */
+public final class ProcessRunContext
+{
+    private static final ThreadLocal<DataProcessRun> activeRun = new ThreadLocal<>();
+
+    private ProcessRunContext() {}
+
+    /**
+     * @return Optional<DataProcessRun> - the run that the calling thread is processing for
+     */
+    public static Optional<DataProcessRun> getActiveRun() {
+        return Optional.ofNullable(activeRun.get());
+    }
+
+    /**
+     * Runs the task on the calling thread as part of the given run.
+     *
+     * @param run DataProcessRun
+     * @param task Runnable
+     */
+    public static void runWith(DataProcessRun run, Runnable task) {
+        DataProcessRun previous = activeRun.get();
+        activeRun.set(run);
+        try {
+            task.run();
+        }
+        finally {
+            if (previous != null) {
+                activeRun.set(previous);
+            }
+            else {
+                activeRun.remove();
+            }
+        }
+    }
+
+    /**
+     * Wraps an executor so that each task runs as part of the run that was active on the thread that submitted it.
+     *
+     * @param executor Executor
+     * @return Executor
+     */
+    public static Executor propagate(Executor executor) {
+        return task -> {
+            DataProcessRun run = activeRun.get();
+            executor.execute(run != null ? () -> runWith(run, task) : task);
+        };
+    }
+}
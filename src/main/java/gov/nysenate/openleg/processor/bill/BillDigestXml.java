@@ -0,0 +1,162 @@
+package gov.nysenate.openleg.processor.bill;
+
+import gov.nysenate.openleg.util.XmlBinder;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static gov.nysenate.openleg.util.XmlStreamUtils.*;
+
+/**
+ * The content of a bill digest xml fragment, i.e. a 'digestsummary' document.
+ */
+public class BillDigestXml
+{
+    public static final String ROOT_ELEMENT = "digestsummary";
+
+    /** Binds a bill digest document in a single pass. */
+    public static final XmlBinder<BillDigestXml> BINDER = BillDigestXml::bind;
+
+    protected int sessionYear;
+    protected String house;
+    protected String printNo;
+    protected String action;
+
+    /** The text of the summary element, null if there is none. */
+    protected String summary;
+
+    /** The previous versions listed under the oldbill element(s). */
+    protected List<PreviousBill> previousBills;
+
+    /** A previous version of the bill as listed in the digest. */
+    public static class PreviousBill
+    {
+        protected int sessionYear;
+        protected String house;
+        protected String printNo;
+        protected String amendment;
+
+        public PreviousBill(int sessionYear, String house, String printNo, String amendment) {
+            this.sessionYear = sessionYear;
+            this.house = house;
+            this.printNo = printNo;
+            this.amendment = amendment;
+        }
+
+        public int getSessionYear() {
+            return sessionYear;
+        }
+
+        public String getHouse() {
+            return house;
+        }
+
+        public String getPrintNo() {
+            return printNo;
+        }
+
+        public String getAmendment() {
+            return amendment;
+        }
+    }
+
+    /** --- Constructors --- */
+
+    public BillDigestXml(int sessionYear, String house, String printNo, String action, String summary,
+                         List<PreviousBill> previousBills) {
+        this.sessionYear = sessionYear;
+        this.house = house;
+        this.printNo = printNo;
+        this.action = action;
+        this.summary = summary;
+        this.previousBills = previousBills;
+    }
+
+    /** --- Methods --- */
+
+    private static BillDigestXml bind(XMLStreamReader reader) throws XMLStreamException {
+        requireRootElement(reader, ROOT_ELEMENT);
+        int sessionYear = toXPathInteger(getAttribute(reader, "sessyr"));
+        String house = getAttribute(reader, "billhse");
+        String printNo = getAttribute(reader, "billno");
+        String action = getAttribute(reader, "action");
+        String summary = null;
+        // The values of each field within each oldbill element, in document order
+        List<Map<String, List<String>>> oldBills = new ArrayList<>();
+        while (nextChildElement(reader)) {
+            if (reader.getLocalName().equals("summary") && summary == null) {
+                summary = readTextContent(reader);
+            }
+            else if (reader.getLocalName().equals("oldbill")) {
+                Map<String, List<String>> oldBill = new HashMap<>();
+                while (nextChildElement(reader)) {
+                    String name = reader.getLocalName();
+                    oldBill.computeIfAbsent(name, k -> new ArrayList<>()).add(readTextContent(reader));
+                }
+                oldBills.add(oldBill);
+            }
+            else {
+                skipElement(reader);
+            }
+        }
+        return new BillDigestXml(sessionYear, house, printNo, action, summary, getPreviousBills(oldBills));
+    }
+
+    /**
+     * Pairs up the fields of the previous bills by position. The i-th previous bill uses the i-th value of
+     * each field from the first oldbill element that has at least i such values, which is what the xpath
+     * expression 'digestsummary/oldbill/oldyear[i]' selects.
+     */
+    private static List<PreviousBill> getPreviousBills(List<Map<String, List<String>>> oldBills) {
+        int count = oldBills.stream().mapToInt(b -> b.getOrDefault("oldyear", new ArrayList<>()).size()).sum();
+        List<PreviousBill> previousBills = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            previousBills.add(new PreviousBill(
+                toXPathInteger(getOldBillValue(oldBills, "oldyear", i)),
+                getOldBillValue(oldBills, "oldhse", i).replace("\n", ""),
+                getOldBillValue(oldBills, "oldno", i).replace("\n", ""),
+                getOldBillValue(oldBills, "oldamd", i).replace("\n", "")));
+        }
+        return previousBills;
+    }
+
+    private static String getOldBillValue(List<Map<String, List<String>>> oldBills, String field, int index) {
+        for (Map<String, List<String>> oldBill : oldBills) {
+            List<String> values = oldBill.get(field);
+            if (values != null && values.size() > index) {
+                return values.get(index);
+            }
+        }
+        return "";
+    }
+
+    /** --- Basic Getters --- */
+
+    public int getSessionYear() {
+        return sessionYear;
+    }
+
+    public String getHouse() {
+        return house;
+    }
+
+    public String getPrintNo() {
+        return printNo;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public List<PreviousBill> getPreviousBills() {
+        return previousBills;
+    }
+}
@@ -0,0 +1,114 @@
+package gov.nysenate.openleg.processor.bill;
+
+import gov.nysenate.openleg.util.XmlBinder;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import static gov.nysenate.openleg.util.XmlStreamUtils.*;
+
+/**
+ * The content of a bill text xml fragment, i.e. a 'billtext_html' document. Line breaks are removed from
+ * the attributes and the text.
+ */
+public class BillTextXml
+{
+    public static final String ROOT_ELEMENT = "billtext_html";
+
+    /** Binds a bill text document in a single pass. */
+    public static final XmlBinder<BillTextXml> BINDER = BillTextXml::bind;
+
+    protected int sessionYear;
+    protected String senateHouse;
+    protected String senatePrintNo;
+    protected String senateAmendment;
+    protected String assemblyHouse;
+    protected String assemblyPrintNo;
+    protected String assemblyAmendment;
+    protected String action;
+    protected String text;
+
+    /** --- Constructors --- */
+
+    public BillTextXml(int sessionYear, String senateHouse, String senatePrintNo, String senateAmendment,
+                       String assemblyHouse, String assemblyPrintNo, String assemblyAmendment,
+                       String action, String text) {
+        this.sessionYear = sessionYear;
+        this.senateHouse = senateHouse;
+        this.senatePrintNo = senatePrintNo;
+        this.senateAmendment = senateAmendment;
+        this.assemblyHouse = assemblyHouse;
+        this.assemblyPrintNo = assemblyPrintNo;
+        this.assemblyAmendment = assemblyAmendment;
+        this.action = action;
+        this.text = text;
+    }
+
+    /** --- Methods --- */
+
+    private static BillTextXml bind(XMLStreamReader reader) throws XMLStreamException {
+        requireRootElement(reader, ROOT_ELEMENT);
+        return new BillTextXml(
+            toXPathInteger(getAttribute(reader, "sessyr")),
+            stripLineBreaks(getAttribute(reader, "senhse")),
+            stripLineBreaks(getAttribute(reader, "senno")),
+            stripLineBreaks(getAttribute(reader, "senamd")),
+            stripLineBreaks(getAttribute(reader, "asmhse")),
+            stripLineBreaks(getAttribute(reader, "asmno")),
+            stripLineBreaks(getAttribute(reader, "asmamd")),
+            stripLineBreaks(getAttribute(reader, "action")),
+            stripLineBreaks(readTextContent(reader)));
+    }
+
+    private static String stripLineBreaks(String value) {
+        return value.replace("\n", "");
+    }
+
+    /** The bill print no, using the senate print no if present and the assembly one otherwise. */
+    public String getPrintNo() {
+        return senateHouse.isEmpty() ? assemblyHouse + assemblyPrintNo : senateHouse + senatePrintNo;
+    }
+
+    /** The amendment version, using the senate amendment if present and the assembly one otherwise. */
+    public String getAmendment() {
+        return senateAmendment.isEmpty() ? assemblyAmendment : senateAmendment;
+    }
+
+    /** --- Basic Getters --- */
+
+    public int getSessionYear() {
+        return sessionYear;
+    }
+
+    public String getSenateHouse() {
+        return senateHouse;
+    }
+
+    public String getSenatePrintNo() {
+        return senatePrintNo;
+    }
+
+    public String getSenateAmendment() {
+        return senateAmendment;
+    }
+
+    public String getAssemblyHouse() {
+        return assemblyHouse;
+    }
+
+    public String getAssemblyPrintNo() {
+        return assemblyPrintNo;
+    }
+
+    public String getAssemblyAmendment() {
+        return assemblyAmendment;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
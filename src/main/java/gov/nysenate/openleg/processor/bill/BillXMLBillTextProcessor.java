@@ -13,12 +13,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.xml.sax.SAXException;
 
-import java.io.IOException;
-import java.time.LocalDateTime;
 
 /**
  * Created by Chenguang He(gaoyike@gmail.com) on 2016/12/1.
@@ -47,22 +42,11 @@ public class BillXMLBillTextProcessor extends AbstractDataProcessor implements S
     public void process(SobiFragment sobiFragment) {
         try {
             logger.info("XML Processing " + sobiFragment.getFragmentId());
-            final Document doc = xmlHelper.parse(sobiFragment.getText());
-            final Node billTextNode = xmlHelper.getNode("billtext_html",doc);
-            final int sessionYear = xmlHelper.getInteger("@sessyr",billTextNode);
-            final String senhse = xmlHelper.getString("@senhse",billTextNode).replaceAll("\n","");;
-            final String senno = xmlHelper.getString("@senno",billTextNode).replaceAll("\n","");;
-            final String senamd = xmlHelper.getString("@senamd",billTextNode).replaceAll("\n","");;
-            final String asmhse = xmlHelper.getString("@asmhse",billTextNode).replaceAll("\n","");;
-            final String asmno = xmlHelper.getString("@asmno",billTextNode).replaceAll("\n","");;
-            final String asmamd = xmlHelper.getString("@asmamd",billTextNode).replaceAll("\n","");;
-            final String action = xmlHelper.getString("@action",billTextNode).replaceAll("\n","");; //todo wait for LDBC for explaination of action
-            final String billText = billTextNode.getTextContent().replaceAll("\n","");;
-            final Version version = Version.of(senamd.isEmpty() ? asmamd:senamd);
-            final Bill baseBill = getOrCreateBaseBill(sobiFragment.getPublishedDateTime(), new BillId(senhse.isEmpty() ? asmhse+asmno : senhse+senno, new SessionYear(sessionYear),version) ,sobiFragment);
-            baseBill.getAmendment(version).setFullText(billText);
+            final BillTextXml billText = xmlHelper.bind(sobiFragment.getText(), BillTextXml.BINDER);
+            final Version version = Version.of(billText.getAmendment());
+            final Bill baseBill = getOrCreateBaseBill(sobiFragment.getPublishedDateTime(), new BillId(billText.getPrintNo(), new SessionYear(billText.getSessionYear()),version) ,sobiFragment);
+            baseBill.getAmendment(version).setFullText(billText.getText());
             billIngestCache.set(baseBill.getBaseBillId(), baseBill, sobiFragment);
-            System.out.println("abc");
         } catch (Exception e) {
             e.printStackTrace();
         }
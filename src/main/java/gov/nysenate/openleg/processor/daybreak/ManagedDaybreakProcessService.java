@@ -2,6 +2,7 @@ package gov.nysenate.openleg.processor.daybreak;
 
 import gov.nysenate.openleg.dao.bill.reference.daybreak.DaybreakDao;
 import gov.nysenate.openleg.model.spotcheck.daybreak.*;
+import gov.nysenate.openleg.processor.base.ProcessRunContext;
 import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -93,9 +95,10 @@ public class ManagedDaybreakProcessService implements DaybreakProcessService{
     public int processFragments(List<DaybreakFragment> fragments) {
         if (fragments.size() > 0) {
             ExecutorService executorService = Executors.newFixedThreadPool(4, threadFactory);
+            Executor runExecutor = ProcessRunContext.propagate(executorService);
             logger.info("Processing " + fragments.size() + " daybreak fragments");
             for (DaybreakFragment daybreakFragment : fragments) {
-                executorService.submit(() -> processFragment(daybreakFragment));
+                runExecutor.execute(() -> processFragment(daybreakFragment));
             }
             executorService.shutdown();
             try {
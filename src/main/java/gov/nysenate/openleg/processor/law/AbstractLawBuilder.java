@@ -52,6 +52,9 @@ public abstract class AbstractLawBuilder implements LawBuilder
     /** A sequence number is used to maintain the order of the nodes. */
     protected int sequenceNo = 0;
 
+    /** Map of document id to the nodes in the tree, built on demand and cleared whenever nodes are added or removed. */
+    private Map<String, LawTreeNode> nodeLookupMap;
+
     /** --- Constructors --- */
 
     public AbstractLawBuilder(LawVersionId lawVersionId) {
@@ -93,6 +96,7 @@ public abstract class AbstractLawBuilder implements LawBuilder
      * {@inheritDoc}
      */
     public void addInitialBlock(LawBlock block, boolean isNewDoc) {
+        nodeLookupMap = null;
         final LawDocument lawDoc = new LawDocument(block);
         boolean isRootDoc = false;
 
@@ -158,7 +162,7 @@ public abstract class AbstractLawBuilder implements LawBuilder
         // Repeal the document
         else if (block.getMethod().equals("*REPEAL*")) {
             logger.info("{} , {}", block.getDocumentId(), rootNode);
-            Optional<LawTreeNode> node = rootNode.findNode(block.getDocumentId(), false);
+            Optional<LawTreeNode> node = findNode(block.getDocumentId());
             if (node.isPresent()) {
                 logger.info("Repealing {}", block.getDocumentId());
                 node.get().setRepealedDate(block.getPublishedDate());
@@ -171,11 +175,12 @@ public abstract class AbstractLawBuilder implements LawBuilder
         else if (block.getMethod().equals("*DELETE*")) {
             logger.info("Deleting {}", block.getDocumentId());
             rootNode.findNode(block.getDocumentId(), true);
+            nodeLookupMap = null;
         }
         // Update the document
         else if (block.getMethod().isEmpty()) {
             if (rootNode != null) {
-                Optional<LawDocInfo> existingDocInfo = rootNode.find(block.getDocumentId());
+                Optional<LawDocInfo> existingDocInfo = findNode(block.getDocumentId()).map(LawTreeNode::getLawDocInfo);
                 if (existingDocInfo.isPresent()) {
                     existingDocInfo.get().setPublishedDate(block.getPublishedDate());
                     LawDocument lawDoc = new LawDocument(existingDocInfo.get(), block.getText().toString());
@@ -203,6 +208,7 @@ public abstract class AbstractLawBuilder implements LawBuilder
      */
     public void rebuildTree(String masterDoc) {
         LawTreeNode priorRootNode = this.rootNode;
+        Map<String, LawTreeNode> priorNodes = (priorRootNode != null) ? getNodeLookupMap() : new HashMap<>();
         this.rootNode = null;
         logger.info("Rebuilding tree for {} with master document.", this.lawVersionId.getLawId());
         // Clear out any existing parents when rebuilding trees.
@@ -222,15 +228,13 @@ public abstract class AbstractLawBuilder implements LawBuilder
                 continue;
             }
             // Or from the previous tree node if set
-            else if (priorRootNode != null) {
-                Optional<LawDocInfo> existingDocInfo = priorRootNode.find(resolvedDocId);
-                if (existingDocInfo.isPresent()) {
-                    block.setPublishedDate(existingDocInfo.get().getPublishedDate());
-                    addInitialBlock(block, false);
-                    logger.debug("Found existing law with doc id {} with published date {}",
-                        block.getDocumentId(), block.getPublishedDate());
-                    continue;
-                }
+            else if (priorNodes.containsKey(resolvedDocId)) {
+                LawDocInfo existingDocInfo = priorNodes.get(resolvedDocId).getLawDocInfo();
+                block.setPublishedDate(existingDocInfo.getPublishedDate());
+                addInitialBlock(block, false);
+                logger.debug("Found existing law with doc id {} with published date {}",
+                    block.getDocumentId(), block.getPublishedDate());
+                continue;
             }
             logger.info("New document id found in master document: {}", resolvedDocId);
             block.setPublishedDate(this.lawVersionId.getPublishedDate());
@@ -253,6 +257,25 @@ public abstract class AbstractLawBuilder implements LawBuilder
         return lawDocMap.values().stream().collect(toList());
     }
 
+    /**
+     * Looks up a node in the current tree by document id. The lookup map is built from the tree on first use
+     * so that a series of update blocks does not search the whole tree for each block.
+     *
+     * @param documentId String
+     * @return Optional<LawTreeNode>
+     */
+    protected Optional<LawTreeNode> findNode(String documentId) {
+        return (rootNode != null) ? Optional.ofNullable(getNodeLookupMap().get(documentId)) : Optional.empty();
+    }
+
+    private Map<String, LawTreeNode> getNodeLookupMap() {
+        if (nodeLookupMap == null) {
+            nodeLookupMap = new HashMap<>();
+            rootNode.getAllNodes().forEach(node -> nodeLookupMap.putIfAbsent(node.getDocumentId(), node));
+        }
+        return nodeLookupMap;
+    }
+
     /**
      * Add the root document which does not have to be associated with a parent.
      *
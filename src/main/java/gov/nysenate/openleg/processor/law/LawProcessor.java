@@ -1,25 +1,32 @@
 package gov.nysenate.openleg.processor.law;
 
 import com.google.common.collect.Sets;
+import gov.nysenate.openleg.model.law.LawDocument;
 import gov.nysenate.openleg.model.law.LawDocumentType;
 import gov.nysenate.openleg.model.law.LawFile;
 import gov.nysenate.openleg.model.law.LawTree;
 import gov.nysenate.openleg.model.law.LawVersionId;
 import gov.nysenate.openleg.model.process.DataProcessUnit;
 import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
+import gov.nysenate.openleg.processor.base.ProcessRunContext;
 import gov.nysenate.openleg.service.law.data.LawDataService;
 import gov.nysenate.openleg.service.law.data.LawTreeNotFoundEx;
 import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -53,6 +60,14 @@ public class LawProcessor extends AbstractDataProcessor
     /** Set of law ids to only allow processing of. Overrides 'ignoreLaws'. */
     protected Set<String> onlyLaws = Sets.newHashSet();
 
+    /** The number of blocks that are handed to a law builder at once. */
+    private static final int BLOCK_CHUNK_SIZE = 100;
+
+    private ThreadFactory threadFactory = new OpenlegThreadFactory("law-process");
+
+    /** The number of laws that can be built concurrently. */
+    @Value("${law.process.threads:4}") private int lawProcessThreads;
+
     @Autowired private LawDataService lawDataService;
 
     @Override
@@ -63,20 +78,24 @@ public class LawProcessor extends AbstractDataProcessor
     /**
      * Performs all the steps required to process and persist the supplied LawFile.
      *
+     * The law blocks are handed to the law builders as they are read from the file, so the file is never held in
+     * memory as a whole. Each law is built independently on a pool of threads. The documents of a law in an initial
+     * dump are contiguous, so each law is persisted once the reader has moved past it, and only a few laws are held
+     * in memory at a time. Laws in update files are persisted once the whole file has been read.
+     *
+     * If a law fails to build, processing of the file is halted. Laws that were already persisted are kept, and
+     * are listed in the data process unit along with the failure.
+     *
      * @param lawFile LawFile
      */
     public void process(final LawFile lawFile) {
-        boolean isInitial = lawFile.isInitialDump();
         DataProcessUnit unit = createDataProcessUnit(lawFile);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(lawProcessThreads, 1), threadFactory);
         try {
             logger.info("Processing law file {}", lawFile);
-            List<LawBlock> lawBlocks = getLawBlocks(lawFile);
-            if (isInitial) {
-                processInitialLaws(lawFile, lawBlocks, unit);
-            }
-            else {
-                processLawUpdates(lawFile, lawBlocks, unit);
-            }
+            LawIngest ingest = new LawIngest(lawFile, unit, executor);
+            readLawBlocks(lawFile, ingest::addBlock);
+            ingest.persist();
         }
         catch (IOException ex) {
             logger.error("Unexpected IOException during LawFile processing", ex);
@@ -85,6 +104,9 @@ public class LawProcessor extends AbstractDataProcessor
         catch (LawParseException ex) {
             unit.addException("Fatal law parsing error, processing has been halted! " + ex.getMessage(), logger);
         }
+        finally {
+            executor.shutdown();
+        }
         postDataUnitEvent(unit);
     }
 
@@ -109,125 +131,62 @@ public class LawProcessor extends AbstractDataProcessor
     /** --- Internal Methods --- */
 
     /**
-     * The initial laws are parsed such that the order of the documents indicates the structure of the laws
-     * (i.e. there are no master documents).
-     *
-     * @param lawFile LawFile
-     * @param lawBlocks List<LawBlock>
-     */
-    protected void processInitialLaws(LawFile lawFile, List<LawBlock> lawBlocks, DataProcessUnit unit) {
-        Map<String, LawBuilder> lawBuilders = new HashMap<>();
-        for (LawBlock block : lawBlocks) {
-            if (!shouldProcessLaw(block)) continue;
-            // Create the law builder for the law id if it doesn't already exist.
-            if (!lawBuilders.containsKey(block.getLawId())) {
-                LawBuilder lawBuilder = createLawBuilder(new LawVersionId(block.getLawId(), block.getPublishedDate()), null);
-                lawBuilders.put(block.getLawId(), lawBuilder);
-                unit.addMessage("Processing initial docs for " + block.getLawId());
-            }
-            // Process the initial block
-            lawBuilders.get(block.getLawId()).addInitialBlock(block, true);
-        }
-        // Persist the results
-        persist(lawFile, lawBuilders);
-    }
-
-    /**
-     * The update files will either contain a document for a new or changed law block, or a MASTER document
-     * to indicate that the organization of the law has changed. The other types of actions include AMENDED
-     * and REPEALED but we have not encountered those as of yet.
+     * Extracts a collection of LawBlocks from the given LawFile.
      *
-     * @param lawFile LawFile
-     * @param lawBlocks List<LawBlock>
-     */
-    protected void processLawUpdates(LawFile lawFile, List<LawBlock> lawBlocks, DataProcessUnit unit) {
-        Map<String, LawBuilder> lawBuilders = new HashMap<>();
-        Map<String, LawTree> lawTrees = new HashMap<>();
-        for (LawBlock block : lawBlocks) {
-            if (!shouldProcessLaw(block)) continue;
-            LawVersionId lawVersionId = new LawVersionId(block.getLawId(), block.getPublishedDate());
-            logger.debug("Processing law version id: {}", lawVersionId);
-            // Retrieve the existing law tree if it exists.
-            if (!lawTrees.containsKey(block.getLawId())) {
-                try {
-                    LawTree lawTree = lawDataService.getLawTree(block.getLawId(), block.getPublishedDate());
-                    lawTrees.put(block.getLawId(), lawTree);
-                }
-                catch (LawTreeNotFoundEx ex) {
-                    lawTrees.put(block.getLawId(), null);
-                    unit.addException("Update received for a law " + block.getLawId() + " without an existing tree!", logger);
-                }
-            }
-            // Create the law builder for the law id if it doesn't already exist.
-            if (!lawBuilders.containsKey(block.getLawId())) {
-                LawBuilder lawBuilder = createLawBuilder(lawVersionId, lawTrees.get(block.getLawId()));
-                lawBuilders.put(block.getLawId(), lawBuilder);
-            }
-            // Process the update block
-            lawBuilders.get(block.getLawId()).addUpdateBlock(block);
-        }
-        persist(lawFile, lawBuilders);
-    }
-
-    /**
-     * Iterates over the law builders and persists the processed output.
-     *
-     * @param lawFile LawFile - Used to keep track of the source
-     * @param lawBuilders Map<String, LawBuilder>
+     * @param lawFile LawFile - The LawFile to extract the blocks from.
+     * @return List<ListBlock>
+     * @throws IOException
+     * @see #readLawBlocks(LawFile, Consumer)
      */
-    private void persist(LawFile lawFile, Map<String, LawBuilder> lawBuilders) {
-        // Persist the results
-        lawBuilders.forEach((lawId, lawBuilder) ->{
-            logger.info("Persisting law documents for {}", lawId);
-            eventBus.post(new BulkLawUpdateEvent(lawBuilder.getProcessedLawDocuments()));
-            lawBuilder.getProcessedLawDocuments().forEach(d -> lawDataService.saveLawDocument(lawFile, d));
-            logger.info("Persisting law tree for {}", lawId);
-            lawDataService.saveLawTree(lawFile, lawBuilder.getProcessedLawTree());
-        });
+    protected List<LawBlock> getLawBlocks(LawFile lawFile) throws IOException {
+        List<LawBlock> rawDocList = new ArrayList<>();
+        readLawBlocks(lawFile, rawDocList::add);
+        return rawDocList;
     }
 
     /**
-     * Extracts a collection of LawBlocks from the given LawFile. Each block is represents all the meta data and
+     * Reads the LawBlocks from the given LawFile one at a time. Each block is represents all the meta data and
      * text for each document section in the law file (delineated by the ..SO DOC header). The LawBlock is just
      * a helper object that should be used to construct LawDocuments.
      *
      * @param lawFile LawFile - The LawFile to extract the blocks from.
-     * @return List<ListBlock>
+     * @param blockConsumer Consumer<LawBlock> - Receives each block as soon as all of its lines have been read.
      * @throws IOException
      */
-    protected List<LawBlock> getLawBlocks(LawFile lawFile) throws IOException {
-        List<LawBlock> rawDocList = new ArrayList<>();
+    protected static void readLawBlocks(LawFile lawFile, Consumer<LawBlock> blockConsumer) throws IOException {
         logger.debug("Extracting law blocks...");
         File file = lawFile.getFile();
-        Iterator<String> fileItr = Files.lines(file.toPath(), LAWFILE_CHARSET).iterator();
-        LawBlock block = null;
-        Matcher headerMatcher;
-        while (fileItr.hasNext()) {
-            String line = fileItr.next();
-            headerMatcher = lawHeader.matcher(line);
-            if (headerMatcher.matches()) {
-                if (block != null && !LawDocIdFixer.ignoreDocument(block.getDocumentId(), block.getPublishedDate())) {
-                    rawDocList.add(block);
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), LAWFILE_CHARSET)) {
+            LawBlock block = null;
+            Matcher headerMatcher;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                headerMatcher = lawHeader.matcher(line);
+                if (headerMatcher.matches()) {
+                    acceptBlock(block, blockConsumer);
+                    block = new LawBlock();
+                    block.setHeader(line);
+                    block.setLawId(headerMatcher.group(2).trim());
+                    block.setPublishedDate(lawFile.getPublishedDate());
+                    block.setDocumentId(
+                        LawDocIdFixer.applyReplacement(headerMatcher.group(1).trim(), lawFile.getPublishedDate()));
+                    block.setLocationId(block.getDocumentId().substring(3));
+                    block.setMethod(headerMatcher.group(4).trim());
+                    block.setConsolidated(headerMatcher.group(6).equals("CONSOLIDATED"));
+                }
+                else {
+                    if (block == null) throw new LawParseException("No doc header received prior to line: " + line);
+                    block.getText().append(line).append("\\n");
                 }
-                block = new LawBlock();
-                block.setHeader(line);
-                block.setLawId(headerMatcher.group(2).trim());
-                block.setPublishedDate(lawFile.getPublishedDate());
-                block.setDocumentId(
-                    LawDocIdFixer.applyReplacement(headerMatcher.group(1).trim(), lawFile.getPublishedDate()));
-                block.setLocationId(block.getDocumentId().substring(3));
-                block.setMethod(headerMatcher.group(4).trim());
-                block.setConsolidated(headerMatcher.group(6).equals("CONSOLIDATED"));
-            }
-            else {
-                if (block == null) throw new LawParseException("No doc header received prior to line: " + line);
-                block.getText().append(line).append("\\n");
             }
+            acceptBlock(block, blockConsumer);
         }
+    }
+
+    private static void acceptBlock(LawBlock block, Consumer<LawBlock> blockConsumer) {
         if (block != null && !LawDocIdFixer.ignoreDocument(block.getDocumentId(), block.getPublishedDate())) {
-            rawDocList.add(block);
+            blockConsumer.accept(block);
         }
-        return rawDocList;
     }
 
     protected boolean shouldProcessLaw(LawBlock block) {
@@ -243,4 +202,170 @@ public class LawProcessor extends AbstractDataProcessor
             return new IdBasedLawBuilder(lawVersionId, previousTree);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Routes the blocks of a single law file to a lane for each law. The initial laws are parsed such that the
+     * order of the documents indicates the structure of the laws (i.e. there are no master documents). The update
+     * files will either contain a document for a new or changed law block, or a MASTER document to indicate that
+     * the organization of the law has changed. The other types of actions include AMENDED and REPEALED but we have
+     * not encountered those as of yet.
+     */
+    private class LawIngest
+    {
+        private final LawFile lawFile;
+        private final DataProcessUnit unit;
+        /** Runs the law builders as part of the data process run that is processing the file. */
+        private final Executor executor;
+
+        /** Limits the number of block chunks waiting to be built so that reading can't outpace the builders. */
+        private final Semaphore pendingChunks;
+
+        /** The lane for each law id that has not been persisted yet, in the order the laws appear in the file. */
+        private final Map<String, LawLane> lanes = new LinkedHashMap<>();
+
+        /** The ids of the laws that have been persisted, in the order they were persisted. */
+        private final List<String> persistedLaws = new ArrayList<>();
+
+        public LawIngest(LawFile lawFile, DataProcessUnit unit, ExecutorService executor) {
+            this.lawFile = lawFile;
+            this.unit = unit;
+            this.executor = ProcessRunContext.propagate(executor);
+            this.pendingChunks = new Semaphore(Math.max(lawProcessThreads, 1) * 2);
+        }
+
+        public void addBlock(LawBlock block) {
+            if (!shouldProcessLaw(block)) return;
+            LawLane lane = lanes.get(block.getLawId());
+            if (lane == null) {
+                if (lawFile.isInitialDump()) {
+                    if (persistedLaws.contains(block.getLawId())) {
+                        throw new LawParseException("Documents for " + block.getLawId() + " are not contiguous in " +
+                            "initial law file " + lawFile.getFileName() + ". Laws already persisted from this file: " +
+                            persistedLaws);
+                    }
+                    // The reader has moved past the previous laws, so they can be persisted once they are built.
+                    lanes.values().forEach(this::submitChunk);
+                    persistLanes(Math.max(lawProcessThreads, 1));
+                }
+                lane = createLane(block);
+                lanes.put(block.getLawId(), lane);
+            }
+            lane.chunk.add(block);
+            if (lane.chunk.size() >= BLOCK_CHUNK_SIZE) {
+                submitChunk(lane);
+            }
+        }
+
+        /**
+         * Waits for the remaining laws to finish building and persists them.
+         */
+        public void persist() {
+            lanes.values().forEach(this::submitChunk);
+            persistLanes(0);
+        }
+
+        /**
+         * Persists the lanes in file order that have finished building. Waits for lanes to finish when more than
+         * the given number of lanes would be left.
+         */
+        private void persistLanes(int maxRemaining) {
+            Iterator<Map.Entry<String, LawLane>> laneIterator = lanes.entrySet().iterator();
+            while (laneIterator.hasNext()) {
+                Map.Entry<String, LawLane> entry = laneIterator.next();
+                if (lanes.size() <= maxRemaining && !entry.getValue().tail.isDone()) {
+                    break;
+                }
+                persistLane(entry.getKey(), entry.getValue());
+                laneIterator.remove();
+            }
+        }
+
+        private void persistLane(String lawId, LawLane lane) {
+            awaitLane(lawId, lane);
+            List<LawDocument> lawDocuments = lane.builder.getProcessedLawDocuments();
+            logger.info("Persisting {} law documents for {}", lawDocuments.size(), lawId);
+            eventBus.post(new BulkLawUpdateEvent(lawDocuments));
+            lawDataService.saveLawDocuments(lawFile, lawDocuments);
+            logger.info("Persisting law tree for {}", lawId);
+            lawDataService.saveLawTree(lawFile, lane.builder.getProcessedLawTree());
+            persistedLaws.add(lawId);
+        }
+
+        private LawLane createLane(LawBlock block) {
+            LawVersionId lawVersionId = new LawVersionId(block.getLawId(), block.getPublishedDate());
+            if (lawFile.isInitialDump()) {
+                unit.addMessage("Processing initial docs for " + block.getLawId());
+                return new LawLane(createLawBuilder(lawVersionId, null), true);
+            }
+            logger.debug("Processing law version id: {}", lawVersionId);
+            // Retrieve the existing law tree if it exists.
+            LawTree lawTree = null;
+            try {
+                lawTree = lawDataService.getLawTree(block.getLawId(), block.getPublishedDate());
+            }
+            catch (LawTreeNotFoundEx ex) {
+                unit.addException("Update received for a law " + block.getLawId() + " without an existing tree!", logger);
+            }
+            return new LawLane(createLawBuilder(lawVersionId, lawTree), false);
+        }
+
+        /**
+         * Queues the lane's current chunk of blocks to be added to its builder once the previous chunk is done.
+         */
+        private void submitChunk(LawLane lane) {
+            if (lane.chunk.isEmpty()) return;
+            List<LawBlock> blocks = lane.chunk;
+            lane.chunk = new ArrayList<>(BLOCK_CHUNK_SIZE);
+            pendingChunks.acquireUninterruptibly();
+            lane.tail = lane.tail.whenCompleteAsync((v, ex) -> {
+                try {
+                    if (ex == null) {
+                        blocks.forEach(lane::addBlock);
+                    }
+                }
+                finally {
+                    pendingChunks.release();
+                }
+            }, executor);
+        }
+
+        private void awaitLane(String lawId, LawLane lane) {
+            try {
+                lane.tail.join();
+            }
+            catch (CompletionException ex) {
+                unit.addException("Failed to build " + lawId + ". Laws already persisted from this file: " +
+                                  persistedLaws, logger);
+                if (ex.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ex.getCause();
+                }
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Builds a single law. Chunks of blocks are chained onto the tail so that they are added in file order.
+     */
+    private static class LawLane
+    {
+        private final LawBuilder builder;
+        private final boolean initial;
+        private List<LawBlock> chunk = new ArrayList<>(BLOCK_CHUNK_SIZE);
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        public LawLane(LawBuilder builder, boolean initial) {
+            this.builder = builder;
+            this.initial = initial;
+        }
+
+        public void addBlock(LawBlock block) {
+            if (initial) {
+                builder.addInitialBlock(block, true);
+            }
+            else {
+                builder.addUpdateBlock(block);
+            }
+        }
+    }
+}
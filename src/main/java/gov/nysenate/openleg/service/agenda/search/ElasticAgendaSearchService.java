@@ -17,6 +17,8 @@ import gov.nysenate.openleg.service.agenda.event.AgendaUpdateEvent;
 import gov.nysenate.openleg.service.agenda.event.BulkAgendaUpdateEvent;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexUpdateQueue;
+import gov.nysenate.openleg.service.base.search.SearchIndexUpdateQueueManager;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -29,6 +31,7 @@ import org.springframework.stereotype.Service;
 import javax.annotation.PostConstruct;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import static java.util.stream.Collectors.toList;
@@ -40,12 +43,17 @@ public class ElasticAgendaSearchService implements AgendaSearchService, IndexedS
 
     @Autowired private Environment env;
     @Autowired private EventBus eventBus;
+    @Autowired private SearchIndexUpdateQueueManager indexUpdateQueueManager;
     @Autowired private ElasticAgendaSearchDao agendaSearchDao;
     @Autowired private AgendaDataService agendaDataService;
 
+    /** Queues updates to the index, null if updates are indexed on the posting thread. */
+    private SearchIndexUpdateQueue<AgendaId, Agenda> updateQueue;
+
     @PostConstruct
     protected void init() {
         eventBus.register(this);
+        updateQueue = indexUpdateQueueManager.createQueue(SearchIndex.AGENDA, Agenda::getId, this::updateIndex);
     }
 
     /** {@inheritDoc} */
@@ -140,7 +148,7 @@ public class ElasticAgendaSearchService implements AgendaSearchService, IndexedS
     @Override
     public synchronized void handleAgendaUpdateEvent(AgendaUpdateEvent agendaUpdateEvent) {
         if (agendaUpdateEvent != null && agendaUpdateEvent.getAgenda() != null) {
-            updateIndex(agendaUpdateEvent.getAgenda());
+            queueIndexUpdate(Collections.singletonList(agendaUpdateEvent.getAgenda()));
         }
     }
 
@@ -149,7 +157,7 @@ public class ElasticAgendaSearchService implements AgendaSearchService, IndexedS
     @Override
     public synchronized void handleBulkAgendaUpdateEvent(BulkAgendaUpdateEvent bulkAgendaUpdateEvent) {
         if (bulkAgendaUpdateEvent != null && !bulkAgendaUpdateEvent.getAgendas().isEmpty()) {
-            updateIndex(bulkAgendaUpdateEvent.getAgendas());
+            queueIndexUpdate(bulkAgendaUpdateEvent.getAgendas());
         }
     }
 
@@ -169,4 +177,16 @@ public class ElasticAgendaSearchService implements AgendaSearchService, IndexedS
             throw new UnexpectedSearchException(ex);
         }
     }
+
+    /**
+     * Queues the given agendas to be indexed, or indexes them right away if updates are not queued.
+     */
+    private void queueIndexUpdate(Collection<Agenda> agendas) {
+        if (updateQueue != null) {
+            updateQueue.addAll(agendas);
+        }
+        else {
+            updateIndex(agendas);
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package gov.nysenate.openleg.service.base.data;
+
+/**
+ * Identifies the state of a piece of content as seen by this instance. A new version is assigned each time
+ * the content is updated, so two equal versions are guaranteed to describe the same data.
+ *
+ * @see ContentVersionService
+ */
+public class ContentVersion
+{
+    /** Identifies the running instance since version numbers are only unique within a single instance. */
+    private final String instanceId;
+
+    /** Monotonically increasing version number. */
+    private final long version;
+
+    /** Epoch millis of the update that produced this version. */
+    private final long modifiedMillis;
+
+    /** --- Constructors --- */
+
+    public ContentVersion(String instanceId, long version, long modifiedMillis) {
+        this.instanceId = instanceId;
+        this.version = version;
+        this.modifiedMillis = modifiedMillis;
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Combines two versions for content that is built from several sources, e.g. an agenda that contains
+     * bill info. Since version numbers only increase, the combined version changes whenever either source does.
+     *
+     * @param other ContentVersion
+     * @return ContentVersion - the more recent of the two versions.
+     */
+    public ContentVersion combine(ContentVersion other) {
+        return (other.version > this.version) ? other : this;
+    }
+
+    /**
+     * Returns a weak entity tag for this version. Content that is rendered differently depending on request
+     * parameters should supply a hash of those parameters as the variant.
+     *
+     * @param variant int
+     * @return String
+     */
+    public String getETag(int variant) {
+        return "W/\"" + instanceId + "-" + Long.toString(version, 36) + "-" + Integer.toHexString(variant) + "\"";
+    }
+
+    /** --- Overrides --- */
+
+    @Override
+    public String toString() {
+        return instanceId + "-" + version + " @ " + modifiedMillis;
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getModifiedMillis() {
+        return modifiedMillis;
+    }
+}
@@ -0,0 +1,218 @@
+package gov.nysenate.openleg.service.base.data;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.cache.CacheEvictEvent;
+import gov.nysenate.openleg.model.cache.CacheEvictIdEvent;
+import gov.nysenate.openleg.model.cache.CacheWarmEvent;
+import gov.nysenate.openleg.model.law.LawDocument;
+import gov.nysenate.openleg.service.agenda.event.AgendaUpdateEvent;
+import gov.nysenate.openleg.service.agenda.event.BulkAgendaUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BillFieldUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.service.calendar.event.BulkCalendarUpdateEvent;
+import gov.nysenate.openleg.service.calendar.event.CalendarUpdateEvent;
+import gov.nysenate.openleg.service.entity.committee.event.CommitteeUpdateEvent;
+import gov.nysenate.openleg.service.entity.member.event.BulkMemberUpdateEvent;
+import gov.nysenate.openleg.service.entity.member.event.MemberUpdateEvent;
+import gov.nysenate.openleg.service.hearing.event.BulkPublicHearingUpdateEvent;
+import gov.nysenate.openleg.service.hearing.event.PublicHearingUpdateEvent;
+import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
+import gov.nysenate.openleg.service.law.event.LawUpdateEvent;
+import gov.nysenate.openleg.service.transcript.event.BulkTranscriptUpdateEvent;
+import gov.nysenate.openleg.service.transcript.event.TranscriptUpdateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of a version for each piece of content that has been updated while this instance has been running.
+ * The versions are used to answer conditional requests (If-None-Match / If-Modified-Since) without having to
+ * load the content itself.
+ *
+ * Content ids are the same objects used to retrieve the content from the data services, i.e. BaseBillId,
+ * AgendaId, CalendarId, TranscriptId, PublicHearingId and the law id string for laws.
+ * Content that hasn't been updated since startup (or since the last cache evict/warm) shares a base version.
+ * Events that may change how content is presented without identifying it, such as member, committee or cache
+ * updates, move every piece of content to a new base version.
+ */
+@Service
+public class ContentVersionService
+{
+    private static final Logger logger = LoggerFactory.getLogger(ContentVersionService.class);
+
+    @Autowired private EventBus eventBus;
+
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong versionCounter = new AtomicLong();
+
+    /** Version of all content that hasn't been updated since the last reset. */
+    private volatile ContentVersion baseVersion = nextVersion();
+
+    /** Latest version of each updated piece of content, keyed by content id. */
+    private final Map<Object, ContentVersion> versions = new ConcurrentHashMap<>();
+
+    /** Latest version of any content, keyed by the class of the content id. */
+    private final Map<Class<?>, ContentVersion> typeVersions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        eventBus.register(this);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @param contentId Object
+     * @return ContentVersion - the current version of the content identified by the given id.
+     */
+    public ContentVersion getVersion(Object contentId) {
+        return versions.getOrDefault(contentId, baseVersion);
+    }
+
+    /**
+     * Gets the most recent version for all content of a type.
+     * This is useful for content that is rendered alongside data from many other pieces of content.
+     *
+     * @param idType Class - the class of the content id, e.g. BaseBillId for bills.
+     * @return ContentVersion
+     */
+    public ContentVersion getLatestVersion(Class<?> idType) {
+        return typeVersions.getOrDefault(idType, baseVersion);
+    }
+
+    /**
+     * Assigns a new version to the content identified by the given id.
+     *
+     * @param contentId Object
+     */
+    public void contentUpdated(Object contentId) {
+        ContentVersion version = nextVersion();
+        versions.put(contentId, version);
+        typeVersions.put(contentId.getClass(), version);
+    }
+
+    /**
+     * Moves all content to a new base version.
+     */
+    public void reset() {
+        baseVersion = nextVersion();
+        versions.clear();
+        typeVersions.clear();
+        logger.debug("Reset content versions to {}", baseVersion);
+    }
+
+    /** --- Event Handlers --- */
+
+    @Subscribe
+    public void handleBillUpdate(BillUpdateEvent event) {
+        contentUpdated(event.getBill().getBaseBillId());
+    }
+
+    @Subscribe
+    public void handleBulkBillUpdate(BulkBillUpdateEvent event) {
+        event.getBills().stream().map(Bill::getBaseBillId).forEach(this::contentUpdated);
+    }
+
+    @Subscribe
+    public void handleBillFieldUpdate(BillFieldUpdateEvent event) {
+        contentUpdated(event.getBillId());
+    }
+
+    @Subscribe
+    public void handleAgendaUpdate(AgendaUpdateEvent event) {
+        contentUpdated(event.getAgenda().getId());
+    }
+
+    @Subscribe
+    public void handleBulkAgendaUpdate(BulkAgendaUpdateEvent event) {
+        event.getAgendas().forEach(agenda -> contentUpdated(agenda.getId()));
+    }
+
+    @Subscribe
+    public void handleCalendarUpdate(CalendarUpdateEvent event) {
+        contentUpdated(event.getCalendar().getId());
+    }
+
+    @Subscribe
+    public void handleBulkCalendarUpdate(BulkCalendarUpdateEvent event) {
+        event.getCalendars().forEach(calendar -> contentUpdated(calendar.getId()));
+    }
+
+    @Subscribe
+    public void handleLawUpdate(LawUpdateEvent event) {
+        contentUpdated(event.getLawDoc().getLawId());
+    }
+
+    @Subscribe
+    public void handleBulkLawUpdate(BulkLawUpdateEvent event) {
+        event.getLawDocuments().stream().map(LawDocument::getLawId).distinct().forEach(this::contentUpdated);
+    }
+
+    @Subscribe
+    public void handleTranscriptUpdate(TranscriptUpdateEvent event) {
+        contentUpdated(event.getTranscript().getTranscriptId());
+    }
+
+    @Subscribe
+    public void handleBulkTranscriptUpdate(BulkTranscriptUpdateEvent event) {
+        event.getTranscripts().forEach(transcript -> contentUpdated(transcript.getTranscriptId()));
+    }
+
+    @Subscribe
+    public void handlePublicHearingUpdate(PublicHearingUpdateEvent event) {
+        contentUpdated(event.getPublicHearing().getId());
+    }
+
+    @Subscribe
+    public void handleBulkPublicHearingUpdate(BulkPublicHearingUpdateEvent event) {
+        event.getPublicHearings().forEach(hearing -> contentUpdated(hearing.getId()));
+    }
+
+    /** Member and committee details are rendered within most content. */
+    @Subscribe
+    public void handleMemberUpdate(MemberUpdateEvent event) {
+        reset();
+    }
+
+    @Subscribe
+    public void handleBulkMemberUpdate(BulkMemberUpdateEvent event) {
+        reset();
+    }
+
+    @Subscribe
+    public void handleCommitteeUpdate(CommitteeUpdateEvent event) {
+        reset();
+    }
+
+    /** Cache evictions and warm ups may reload content that was changed outside of this instance. */
+    @Subscribe
+    public void handleCacheEvict(CacheEvictEvent event) {
+        reset();
+    }
+
+    @Subscribe
+    public void handleCacheWarm(CacheWarmEvent event) {
+        reset();
+    }
+
+    @Subscribe
+    public void handleCacheEvictId(CacheEvictIdEvent<?> event) {
+        contentUpdated(event.getContentId());
+    }
+
+    /** --- Internal --- */
+
+    private ContentVersion nextVersion() {
+        return new ContentVersion(instanceId, versionCounter.incrementAndGet(), System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,359 @@
+package gov.nysenate.openleg.service.base.search;
+
+import gov.nysenate.openleg.dao.base.SearchIndex;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Queues content to be written to a search index on a dedicated thread so that the threads posting update
+ * events are not held up by the search layer.
+ *
+ * Pending content is keyed by its id, so if the same content is updated several times before it is indexed,
+ * only the latest version is sent. The pending content is flushed in batches once a batch worth of content is
+ * pending or the oldest pending update has waited for the flush interval. Adding new content blocks while the
+ * maximum number of updates are pending, which keeps producers from getting too far ahead of the index.
+ *
+ * Content in a batch that fails to be indexed is queued again, unless newer content with the same id is already
+ * pending, and is given up on after {@link #MAX_ATTEMPTS} failed attempts.
+ *
+ * @param <Key> The type of the content id
+ * @param <Content> The type of content that is indexed
+ */
+public class SearchIndexUpdateQueue<Key, Content>
+{
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexUpdateQueue.class);
+
+    /** The number of times content is sent to the index before it is given up on. */
+    static final int MAX_ATTEMPTS = 3;
+
+    private final SearchIndex searchIndex;
+    private final Function<Content, Key> keyFunction;
+    private final Consumer<Collection<Content>> indexFunction;
+
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final int maxPending;
+
+    /** Pending content in the order it was first queued. */
+    private final LinkedHashMap<Key, Content> pending = new LinkedHashMap<>();
+
+    /** The number of failed attempts to index content that is being retried, keyed by content id. */
+    private final Map<Key, Integer> failedAttempts = new HashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition contentAdded = lock.newCondition();
+    private final Condition contentRemoved = lock.newCondition();
+
+    /** The time at which the oldest pending update was queued. */
+    private long oldestPendingNanos;
+
+    /** Set while a caller is waiting for all pending content to be indexed. */
+    private boolean flushRequested = false;
+
+    /** The number of updates that have been taken from the queue but not yet indexed. */
+    private int inFlight = 0;
+
+    private volatile boolean running = true;
+
+    private final Thread worker;
+
+    /** --- Metrics --- */
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong indexedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong retriedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong blockedCount = new AtomicLong();
+
+    public SearchIndexUpdateQueue(SearchIndex searchIndex, Function<Content, Key> keyFunction,
+                                  Consumer<Collection<Content>> indexFunction,
+                                  int batchSize, long flushIntervalMillis, int maxPending) {
+        if (batchSize < 1 || maxPending < batchSize) {
+            throw new IllegalArgumentException("Batch size must be positive and no greater than max pending");
+        }
+        this.searchIndex = searchIndex;
+        this.keyFunction = keyFunction;
+        this.indexFunction = indexFunction;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxPending = maxPending;
+        this.worker = new OpenlegThreadFactory("index-" + searchIndex.name().toLowerCase()).newThread(this::run);
+        this.worker.start();
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Queues the given content to be indexed, replacing any pending version of the same content.
+     * Blocks while the queue is full. Content added after shutdown is indexed immediately.
+     *
+     * @param content Content
+     */
+    public void add(Content content) {
+        if (content == null) {
+            return;
+        }
+        if (!running) {
+            indexFunction.accept(Collections.singletonList(content));
+            return;
+        }
+        Key key = keyFunction.apply(content);
+        lock.lock();
+        try {
+            if (!pending.containsKey(key)) {
+                if (pending.size() >= maxPending) {
+                    blockedCount.incrementAndGet();
+                    while (running && pending.size() >= maxPending) {
+                        contentRemoved.awaitUninterruptibly();
+                    }
+                }
+                if (pending.isEmpty()) {
+                    oldestPendingNanos = System.nanoTime();
+                }
+            }
+            else {
+                coalescedCount.incrementAndGet();
+            }
+            queuedCount.incrementAndGet();
+            pending.put(key, content);
+            contentAdded.signal();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues each of the given content to be indexed.
+     *
+     * @param contents Collection<Content>
+     * @see #add(Object)
+     */
+    public void addAll(Collection<Content> contents) {
+        contents.forEach(this::add);
+    }
+
+    /**
+     * Blocks until all content that was pending at the time of the call has been indexed.
+     */
+    public void awaitFlush() {
+        lock.lock();
+        try {
+            while (running && (!pending.isEmpty() || inFlight > 0)) {
+                // Requested again after each batch so that content queued again by a failed batch is also flushed
+                flushRequested = true;
+                contentAdded.signal();
+                contentRemoved.awaitUninterruptibly();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Indexes any pending content and stops the worker thread.
+     */
+    public void shutdown() {
+        if (running) {
+            awaitFlush();
+            running = false;
+            lock.lock();
+            try {
+                contentAdded.signalAll();
+                contentRemoved.signalAll();
+            }
+            finally {
+                lock.unlock();
+            }
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(30));
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** --- Internal --- */
+
+    private void run() {
+        while (running) {
+            List<Content> batch = takeBatch();
+            if (batch.isEmpty()) {
+                continue;
+            }
+            boolean indexed = false;
+            try {
+                indexFunction.accept(batch);
+                indexedCount.addAndGet(batch.size());
+                indexed = true;
+            }
+            catch (Exception ex) {
+                logger.error("Failed to index a batch of " + batch.size() + " " + searchIndex + " updates", ex);
+            }
+            finally {
+                batchCount.incrementAndGet();
+                lock.lock();
+                try {
+                    if (indexed) {
+                        batch.forEach(content -> failedAttempts.remove(keyFunction.apply(content)));
+                    }
+                    else {
+                        requeueFailed(batch);
+                    }
+                    inFlight = 0;
+                    contentRemoved.signalAll();
+                }
+                finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues the content of a failed batch again, skipping content that has newer pending content with the same id
+     * and giving up on content that has failed too many times. The content is not subject to the pending limit.
+     * Must be called while holding the lock.
+     */
+    private void requeueFailed(List<Content> batch) {
+        for (Content content : batch) {
+            Key key = keyFunction.apply(content);
+            if (pending.containsKey(key)) {
+                failedAttempts.remove(key);
+                continue;
+            }
+            int attempts = failedAttempts.merge(key, 1, Integer::sum);
+            if (attempts >= MAX_ATTEMPTS) {
+                failedAttempts.remove(key);
+                failedCount.incrementAndGet();
+                logger.error("Giving up on indexing {} update {} after {} attempts", searchIndex, key, attempts);
+                continue;
+            }
+            if (pending.isEmpty()) {
+                oldestPendingNanos = System.nanoTime();
+            }
+            pending.put(key, content);
+            retriedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Waits until a batch is ready to be indexed and removes it from the pending content.
+     * Returns an empty list if the queue was shut down while waiting.
+     */
+    private List<Content> takeBatch() {
+        lock.lock();
+        try {
+            while (running && !isBatchReady()) {
+                if (pending.isEmpty()) {
+                    contentAdded.awaitUninterruptibly();
+                }
+                else {
+                    long waitNanos = oldestPendingNanos + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis)
+                                     - System.nanoTime();
+                    contentAdded.awaitNanos(Math.max(waitNanos, 1));
+                }
+            }
+            List<Content> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            Iterator<Content> pendingIterator = pending.values().iterator();
+            while (pendingIterator.hasNext() && batch.size() < batchSize) {
+                batch.add(pendingIterator.next());
+                pendingIterator.remove();
+            }
+            inFlight = batch.size();
+            oldestPendingNanos = System.nanoTime();
+            flushRequested = flushRequested && !pending.isEmpty();
+            contentRemoved.signalAll();
+            return batch;
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return new ArrayList<>();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isBatchReady() {
+        return pending.size() >= batchSize || (!pending.isEmpty() && (flushRequested ||
+            System.nanoTime() - oldestPendingNanos >= TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis)));
+    }
+
+    /** --- Getters --- */
+
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    /** The number of updates currently waiting to be indexed. */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return pending.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    /** The number of updates that were added to the queue. */
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /** The number of updates that replaced a pending version of the same content. */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /** The number of updates that were sent to the index. */
+    public long getIndexedCount() {
+        return indexedCount.get();
+    }
+
+    /** The number of batches that were sent to the index. */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /** The number of updates that were queued again after their batch failed to be indexed. */
+    public long getRetriedCount() {
+        return retriedCount.get();
+    }
+
+    /** The number of updates that were given up on after failing to be indexed {@link #MAX_ATTEMPTS} times. */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /** The number of times a producer had to wait because the queue was full. */
+    public long getBlockedCount() {
+        return blockedCount.get();
+    }
+}
@@ -0,0 +1,86 @@
+package gov.nysenate.openleg.service.base.search;
+
+import gov.nysenate.openleg.dao.base.SearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Creates the {@link SearchIndexUpdateQueue}s used by the search services to index updates asynchronously,
+ * and keeps track of them so that their metrics can be reported and they can be flushed on shutdown.
+ */
+@Service
+public class SearchIndexUpdateQueueManager
+{
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexUpdateQueueManager.class);
+
+    /** If false, updates are indexed on the thread that posted them. */
+    @Value("${elastic.search.update.async:true}")
+    private boolean asyncUpdates;
+
+    /** The maximum number of updates that are sent to the index together. */
+    @Value("${elastic.search.update.batch.size:200}")
+    private int batchSize;
+
+    /** The maximum amount of time that an update waits for a full batch. */
+    @Value("${elastic.search.update.flush.interval.ms:2000}")
+    private long flushIntervalMillis;
+
+    /** The maximum number of pending updates per index before producers are blocked. */
+    @Value("${elastic.search.update.max.pending:5000}")
+    private int maxPending;
+
+    private final List<SearchIndexUpdateQueue<?, ?>> queues = new CopyOnWriteArrayList<>();
+
+    @PreDestroy
+    protected void shutdown() {
+        queues.forEach(queue -> {
+            logger.info("Flushing {} pending {} index updates", queue.getQueueDepth(), queue.getSearchIndex());
+            queue.shutdown();
+        });
+    }
+
+    /**
+     * Creates a queue for updates to the given search index, or returns null if asynchronous updates are disabled,
+     * in which case the caller should index updates directly.
+     *
+     * @param searchIndex SearchIndex - The index that the queue updates.
+     * @param keyFunction Function<Content, Key> - Gets the id of content, used to coalesce pending updates.
+     * @param indexFunction Consumer<Collection<Content>> - Writes a batch of content to the index.
+     * @return SearchIndexUpdateQueue<Key, Content>
+     */
+    public <Key, Content> SearchIndexUpdateQueue<Key, Content> createQueue(SearchIndex searchIndex,
+                                                                         Function<Content, Key> keyFunction,
+                                                                         Consumer<Collection<Content>> indexFunction) {
+        if (!asyncUpdates) {
+            return null;
+        }
+        SearchIndexUpdateQueue<Key, Content> queue = new SearchIndexUpdateQueue<>(
+            searchIndex, keyFunction, indexFunction, batchSize, flushIntervalMillis, maxPending);
+        queues.add(queue);
+        return queue;
+    }
+
+    /**
+     * Blocks until the updates that are currently pending on every queue have been indexed.
+     */
+    public void awaitFlush() {
+        queues.forEach(SearchIndexUpdateQueue::awaitFlush);
+    }
+
+    /**
+     * @return List<SearchIndexUpdateQueue<?, ?>> - All queues that were created.
+     */
+    public List<SearchIndexUpdateQueue<?, ?>> getQueues() {
+        return new ArrayList<>(queues);
+    }
+}
@@ -8,8 +8,10 @@ import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.dao.DataAccessException;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +32,17 @@ public interface BillDataService
      */
     public Bill getBill(BaseBillId billId) throws BillNotFoundEx;
 
+    /**
+     * Retrieve a Bill instance, optionally leaving out the full text of its amendments.
+     * The full text makes up most of a bill, so it should be left out for views that don't display it.
+     *
+     * @param billId BaseBillId
+     * @param withFullText boolean - if false, the amendments' full text will be empty
+     * @return Bill
+     * @throws BillNotFoundEx - If no Bill was matched via the given id.
+     */
+    public Bill getBill(BaseBillId billId, boolean withFullText) throws BillNotFoundEx;
+
     /**
      * Retrieve a BillInfo instance for the matching BillId. This contains
      * less information that the Bill for purposes of displaying in listings.
@@ -51,6 +64,31 @@ public interface BillDataService
      */
     public BillInfo getBillInfoSafe(BaseBillId billId);
 
+    /**
+     * Retrieve Bill instances for each of the given BillIds. This should be preferred over calling
+     * {@link #getBill(BaseBillId)} in a loop since the bills that need to be fetched are retrieved together.
+     *
+     * Unlike {@link #getBill(BaseBillId)}, no BillNotFoundEx is thrown for ids that don't match a Bill; those ids are
+     * silently left out of the result. Callers that need to report missing bills (e.g. with a 404 or a spotcheck
+     * mismatch) have to compare the returned bills against the requested ids.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @return List<Bill> - In the same order as the given ids. Ids that don't match a Bill are omitted.
+     */
+    public List<Bill> getBills(Collection<BaseBillId> billIds);
+
+    /**
+     * Retrieve BillInfo instances for each of the given BillIds. This should be preferred over calling
+     * {@link #getBillInfo(BaseBillId)} in a loop since the bill infos that need to be fetched are retrieved together.
+     *
+     * As with {@link #getBills(Collection)}, ids that don't match a Bill are left out rather than causing a
+     * BillNotFoundEx.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @return List<BillInfo> - In the same order as the given ids. Ids that don't match a Bill are omitted.
+     */
+    public List<BillInfo> getBillInfos(Collection<BaseBillId> billIds);
+
     /**
      * Retrieve a list of BaseBillIds within the specified session year in ascending order.
      * This can be useful for functions that need to iterate over the entire collection of
@@ -83,6 +121,16 @@ public interface BillDataService
      */
     public void saveBill(Bill bill, SobiFragment fragment, boolean postUpdateEvent);
 
+    /**
+     * Saves a collection of Bills in the persistence layer, each paired with the SobiFragment that
+     * triggered its update. This is more efficient than calling saveBill for each bill individually.
+     *
+     * @param billFragments Collection<Pair<Bill, SobiFragment>>
+     * @param postUpdateEvent boolean - Set to true if this method should post a BulkBillUpdateEvent
+     *                                  to the event bus indicating to subscribers that the bills may have changed.
+     */
+    public void saveBills(Collection<Pair<Bill, SobiFragment>> billFragments, boolean postUpdateEvent);
+
     /**
      * Returns a closed Range containing the session years for which bill data exists.
      * If there are no bills in the database, an empty Optional will be returned instead.
@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.service.bill.data;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
@@ -16,15 +17,21 @@ import gov.nysenate.openleg.model.cache.CacheEvictIdEvent;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
 import gov.nysenate.openleg.model.cache.CacheEvictEvent;
 import gov.nysenate.openleg.model.cache.CacheWarmEvent;
+import gov.nysenate.openleg.model.cache.CacheWarmProgressEvent;
 import gov.nysenate.openleg.service.base.data.CachingService;
 import gov.nysenate.openleg.model.cache.ContentCache;
 import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.util.CompressionUtils;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import gov.nysenate.openleg.util.OutputUtils;
 import net.sf.ehcache.*;
 import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.MemoryUnit;
+import net.sf.ehcache.config.PersistenceConfiguration;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,10 +42,13 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import java.io.Serializable;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * Data service layer for retrieving and updating bill data. This implementation makes use of
@@ -55,9 +65,25 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
 
     @Value("${bill.cache.size}") private long billCacheSizeMb;
     @Value("${bill-info.cache.size}") private long billInfoCacheSizeMb;
+    @Value("${bill-text.cache.size:50}") private long billTextCacheSizeMb;
+
+    /** If true, cached bills and bill infos are stored as compressed serialized bytes instead of object graphs. */
+    @Value("${bill.cache.serialized:false}") private boolean serializedCache;
+
+    /** Size of the disk tier for each of the serialized bill caches. The disk tier is not used if 0. */
+    @Value("${bill.cache.disk.size:0}") private long billCacheDiskSizeMb;
+
+    /** The number of threads used to load bills when warming the caches. */
+    @Value("${bill.cache.warm.threads:4}") private int warmThreads;
+
+    /** The number of bills that are loaded at a time when warming the caches. */
+    private static final int WARM_PAGE_SIZE = 250;
+
+    private final ThreadFactory threadFactory = new OpenlegThreadFactory("bill-cache-warm");
 
     private Cache billCache;
     private Cache billInfoCache;
+    private Cache billTextCache;
 
     @PostConstruct
     private void init() {
@@ -70,6 +96,7 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         evictCaches();
         cacheManager.removeCache(ContentCache.BILL.name());
         cacheManager.removeCache(ContentCache.BILL_INFO.name());
+        cacheManager.removeCache(ContentCache.BILL_TEXT.name());
     }
 
     /** --- CachingService implementation --- */
@@ -77,61 +104,95 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     /** {@inheritDoc} */
     @Override
     public List<Ehcache> getCaches() {
-        return Arrays.asList(billCache, billInfoCache);
+        return Arrays.asList(billCache, billInfoCache, billTextCache);
     }
 
     /** {@inheritDoc} */
     @Override
     public void setupCaches() {
         // Partial bill cache will store Bill instances with the full text fields stripped to save space.
-        this.billCache = new Cache(new CacheConfiguration().name(ContentCache.BILL.name())
-            .eternal(true)
-            .maxBytesLocalHeap(billCacheSizeMb, MemoryUnit.MEGABYTES)
-            .sizeOfPolicy(defaultSizeOfPolicy()));
+        this.billCache = new Cache(getCacheConfiguration(ContentCache.BILL, billCacheSizeMb));
         cacheManager.addCache(this.billCache);
         // This can only be called after the cache is added to the cache manager.
         this.billCache.setMemoryStoreEvictionPolicy(new BillCacheEvictionPolicy());
 
         // Bill Info cache will store BillInfo instances to speed up search and listings.
         // If a bill is already stored in the billCache, it's BillInfo does not need to be stored here.
-        this.billInfoCache = new Cache(new CacheConfiguration().name(ContentCache.BILL_INFO.name())
-            .eternal(true)
-            .maxBytesLocalHeap(billInfoCacheSizeMb, MemoryUnit.MEGABYTES)
-            .sizeOfPolicy(defaultSizeOfPolicy()));
+        this.billInfoCache = new Cache(getCacheConfiguration(ContentCache.BILL_INFO, billInfoCacheSizeMb));
         cacheManager.addCache(this.billInfoCache);
+
+        // Bill Text cache will store the compressed memos and full text that are stripped from the cached bills.
+        this.billTextCache = new Cache(getCacheConfiguration(ContentCache.BILL_TEXT, billTextCacheSizeMb));
+        cacheManager.addCache(this.billTextCache);
     }
 
     /**
      * Pre-load the bill caches by clearing out each of their contents and then loading:
      * Bill Cache - Current session year bills only
      * Bill Info Cache - Bill Infos from all available session years.
+     *
+     * The bills are bulk loaded in pages which are spread across a pool of threads. Progress is reported
+     * by posting a {@link CacheWarmProgressEvent} after each page.
      */
     public void warmCaches() {
         evictCaches();
         logger.info("Warming up bill cache.");
+        LocalDateTime startDateTime = LocalDateTime.now();
+        List<Pair<Boolean, List<BaseBillId>>> pages = new ArrayList<>();
         Optional<Range<SessionYear>> sessionRange = activeSessionRange();
         if (sessionRange.isPresent()) {
             SessionYear sessionYear = sessionRange.get().lowerEndpoint();
             while (sessionYear.compareTo(sessionRange.get().upperEndpoint()) <= 0) {
-                if (sessionYear.equals(SessionYear.current())) {
-                    logger.info("Caching Bill instances for current session year: {}", sessionYear);
-                    getBillIds(sessionYear, LimitOffset.ALL).forEach(id -> getBill(id));
+                boolean fullBills = sessionYear.equals(SessionYear.current());
+                Lists.partition(getBillIds(sessionYear, LimitOffset.ALL), WARM_PAGE_SIZE)
+                    .forEach(page -> pages.add(Pair.of(fullBills, page)));
+                sessionYear = sessionYear.next();
+            }
+        }
+        int total = pages.stream().mapToInt(page -> page.getRight().size()).sum();
+        AtomicInteger completed = new AtomicInteger();
+        eventBus.post(new CacheWarmProgressEvent(ContentCache.BILL, 0, total, false, startDateTime));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.max(warmThreads, 1), threadFactory);
+        List<Future<?>> futures = pages.stream()
+            .map(page -> executorService.submit(() -> {
+                if (page.getLeft()) {
+                    billDao.getBills(page.getRight()).forEach(this::putStrippedBillInCache);
                 }
                 else {
-                    logger.info("Caching Bill Info instances for session year: {}", sessionYear);
-                    getBillIds(sessionYear, LimitOffset.ALL).forEach(id -> getBillInfo(id));
+                    billDao.getBillInfos(page.getRight()).forEach(billInfo ->
+                        putCachedValue(billInfoCache, BaseBillId.of(billInfo.getBillId()), billInfo));
+                }
+                int done = completed.addAndGet(page.getRight().size());
+                eventBus.post(new CacheWarmProgressEvent(ContentCache.BILL, done, total, false, startDateTime));
+            }))
+            .collect(Collectors.toList());
+        executorService.shutdown();
+        try {
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                }
+                catch (ExecutionException ex) {
+                    logger.error("Failed to warm a page of the bill cache", ex.getCause());
                 }
-                sessionYear = sessionYear.next();
             }
         }
-        logger.info("Done warming up bill cache.");
+        catch (InterruptedException ex) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        eventBus.post(new CacheWarmProgressEvent(ContentCache.BILL, completed.get(), total, true, startDateTime));
+        logger.info("Done warming up bill cache. Loaded {} of {} bills in {}", completed.get(), total,
+                    Duration.between(startDateTime, LocalDateTime.now()));
     }
 
     /** {@inheritDoc} */
     @Override
     @Subscribe
     public synchronized void handleCacheEvictEvent(CacheEvictEvent evictEvent) {
-        if (evictEvent.affects(ContentCache.BILL) || evictEvent.affects(ContentCache.BILL_INFO)) {
+        if (evictEvent.affects(ContentCache.BILL) || evictEvent.affects(ContentCache.BILL_INFO)
+                || evictEvent.affects(ContentCache.BILL_TEXT)) {
             evictCaches();
         }
     }
@@ -140,7 +201,8 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     @Subscribe
     @Override
     public void handleCacheEvictIdEvent(CacheEvictIdEvent<BaseBillId> evictIdEvent) {
-        if (evictIdEvent.affects(ContentCache.BILL) || evictIdEvent.affects(ContentCache.BILL_INFO)) {
+        if (evictIdEvent.affects(ContentCache.BILL) || evictIdEvent.affects(ContentCache.BILL_INFO)
+                || evictIdEvent.affects(ContentCache.BILL_TEXT)) {
             evictContent(evictIdEvent.getContentId());
         }
     }
@@ -151,6 +213,7 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         logger.debug("evicting {}", baseBillId);
         billInfoCache.remove(baseBillId);
         billCache.remove(baseBillId);
+        billTextCache.remove(baseBillId);
     }
 
     /** {@inheritDoc} */
@@ -166,28 +229,34 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     /** {@inheritDoc} */
     @Override
     public Bill getBill(BaseBillId billId) throws BillNotFoundEx {
+        return getBill(billId, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Bill getBill(BaseBillId billId, boolean withFullText) throws BillNotFoundEx {
         if (billId == null) {
             throw new IllegalArgumentException("BillId cannot be null");
         }
         try {
             Bill bill;
-            if (billCache.get(billId) != null) {
-                bill = constructBillFromCache(billId);
+            if (billCache.isKeyInCache(billId)) {
+                bill = constructBillFromCache(billId, withFullText);
                 logger.debug("Cache hit for bill {}", bill);
             }
             else {
                 logger.debug("Fetching bill {}..", billId);
                 bill = billDao.getBill(billId);
                 putStrippedBillInCache(bill);
+                if (!withFullText) {
+                    stripFullText(bill);
+                }
             }
             return bill;
         }
         catch (EmptyResultDataAccessException ex) {
             throw new BillNotFoundEx(billId, ex);
         }
-        catch (CloneNotSupportedException e) {
-            throw new CacheException("Failed to cache retrieved Bill: " + e.getMessage());
-        }
     }
 
     /** {@inheritDoc} */
@@ -197,15 +266,17 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         if (billId == null) {
             throw new IllegalArgumentException("BillId cannot be null");
         }
-        if (billCache.get(billId) != null) {
-            return new BillInfo((Bill) billCache.get(billId).getObjectValue());
+        Bill cachedBill = getCachedValue(billCache, billId, Bill.class);
+        if (cachedBill != null) {
+            return new BillInfo(cachedBill);
         }
-        if (billInfoCache.get(billId) != null) {
-            return (BillInfo) billInfoCache.get(billId).getObjectValue();
+        BillInfo cachedBillInfo = getCachedValue(billInfoCache, billId, BillInfo.class);
+        if (cachedBillInfo != null) {
+            return cachedBillInfo;
         }
         try {
             BillInfo billInfo = billDao.getBillInfo(billId);
-            billInfoCache.put(new Element(billId, billInfo));
+            putCachedValue(billInfoCache, billId, billInfo);
             return billInfo;
         }
         catch (EmptyResultDataAccessException ex) {
@@ -213,6 +284,75 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public List<Bill> getBills(Collection<BaseBillId> billIds) {
+        Map<BaseBillId, Bill> bills = new HashMap<>();
+        List<Bill> cachedBills = new ArrayList<>();
+        List<BaseBillId> uncachedIds = new ArrayList<>();
+        for (BaseBillId billId : new LinkedHashSet<>(billIds)) {
+            Bill cachedBill = getCachedBillCopy(billId);
+            if (cachedBill != null) {
+                cachedBills.add(cachedBill);
+            }
+            else {
+                uncachedIds.add(billId);
+            }
+        }
+        logger.debug("Fetching {} bills, {} cache hits", billIds.size(), cachedBills.size());
+        if (!cachedBills.isEmpty()) {
+            List<Bill> textMisses = cachedBills.stream()
+                .filter(bill -> !applyCachedText(bill, true))
+                .collect(Collectors.toList());
+            if (!textMisses.isEmpty()) {
+                billDao.applyText(textMisses);
+                textMisses.forEach(this::putBillTextInCache);
+            }
+            cachedBills.forEach(bill -> bills.put(bill.getBaseBillId(), bill));
+        }
+        if (!uncachedIds.isEmpty()) {
+            billDao.getBills(uncachedIds).forEach(bill -> {
+                putStrippedBillInCache(bill);
+                bills.put(bill.getBaseBillId(), bill);
+            });
+        }
+        return billIds.stream()
+            .filter(bills::containsKey)
+            .map(bills::get)
+            .collect(Collectors.toList());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<BillInfo> getBillInfos(Collection<BaseBillId> billIds) {
+        Map<BaseBillId, BillInfo> billInfos = new HashMap<>();
+        List<BaseBillId> uncachedIds = new ArrayList<>();
+        for (BaseBillId billId : new LinkedHashSet<>(billIds)) {
+            Bill cachedBill = getCachedValue(billCache, billId, Bill.class);
+            BillInfo cachedBillInfo = (cachedBill != null)
+                ? new BillInfo(cachedBill)
+                : getCachedValue(billInfoCache, billId, BillInfo.class);
+            if (cachedBillInfo != null) {
+                billInfos.put(billId, cachedBillInfo);
+            }
+            else {
+                uncachedIds.add(billId);
+            }
+        }
+        logger.debug("Fetching {} bill infos, {} cache hits", billIds.size(), billInfos.size());
+        if (!uncachedIds.isEmpty()) {
+            billDao.getBillInfos(uncachedIds).forEach(billInfo -> {
+                BaseBillId baseBillId = BaseBillId.of(billInfo.getBillId());
+                putCachedValue(billInfoCache, baseBillId, billInfo);
+                billInfos.put(baseBillId, billInfo);
+            });
+        }
+        return billIds.stream()
+            .filter(billInfos::containsKey)
+            .map(billInfos::get)
+            .collect(Collectors.toList());
+    }
+
     /** {@inheritDoc} */
     @Override
     public BillInfo getBillInfoSafe(BaseBillId billId) {
@@ -260,6 +400,18 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void saveBills(Collection<Pair<Bill, SobiFragment>> billFragments, boolean postUpdateEvent) {
+        logger.debug("Persisting {} bills", billFragments.size());
+        billDao.updateBills(billFragments);
+        List<Bill> bills = billFragments.stream().map(Pair::getLeft).collect(Collectors.toList());
+        bills.forEach(this::putStrippedBillInCache);
+        if (postUpdateEvent) {
+            eventBus.post(new BulkBillUpdateEvent(bills, LocalDateTime.now()));
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Optional<Range<SessionYear>> activeSessionRange() {
@@ -286,33 +438,122 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
 
     /**
      * Retrieves the bill from the cache. You must check that the bill exists prior to calling this
-     * method. The fulltext and memo are put back into a copy of the cached bill.
+     * method. The memo and, if requested, the fulltext are put back into a copy of the cached bill.
+     * The text is taken from the bill text cache when possible, and from the database otherwise.
      *
      * @param billId BaseBillId
+     * @param withFullText boolean
      * @return Bill
-     * @throws CloneNotSupportedException
      */
-    private Bill constructBillFromCache(BaseBillId billId) throws CloneNotSupportedException {
-        Bill cachedBill = (Bill) billCache.get(billId).getObjectValue();
-        cachedBill = cachedBill.shallowClone();
-        billDao.applyText(cachedBill);
-        return cachedBill;
+    private Bill constructBillFromCache(BaseBillId billId, boolean withFullText) {
+        Bill bill = getCachedBillCopy(billId);
+        if (bill == null) {
+            // The bill was evicted after the caller checked for it
+            bill = billDao.getBill(billId);
+        }
+        else if (applyCachedText(bill, withFullText)) {
+            return bill;
+        }
+        else {
+            billDao.applyText(bill);
+            putBillTextInCache(bill);
+        }
+        if (!withFullText) {
+            stripFullText(bill);
+        }
+        return bill;
+    }
+
+    /**
+     * Applies the text from the bill text cache to a stripped bill.
+     *
+     * @return boolean - false if the bill's text is not cached, in which case the bill is unchanged
+     */
+    private boolean applyCachedText(Bill strippedBill, boolean withFullText) {
+        Element element = billTextCache.get(strippedBill.getBaseBillId());
+        return element != null && ((CompressedBillText) element.getObjectValue()).applyTo(strippedBill, withFullText);
+    }
+
+    /**
+     * Compresses the memos and full text of the given bill and stores them in the bill text cache.
+     */
+    private void putBillTextInCache(Bill bill) {
+        billTextCache.put(new Element(bill.getBaseBillId(), new CompressedBillText(bill)));
+    }
+
+    private static void stripFullText(Bill bill) {
+        bill.getAmendmentList().forEach(ba -> ba.setFullText(""));
+    }
+
+    /**
+     * Returns a copy of the cached stripped bill that is safe to apply text to, or null if it is not cached.
+     */
+    private Bill getCachedBillCopy(BaseBillId billId) {
+        Bill cachedBill = getCachedValue(billCache, billId, Bill.class);
+        // Serialized values are already a private copy
+        if (cachedBill == null || serializedCache) {
+            return cachedBill;
+        }
+        try {
+            return cachedBill.shallowClone();
+        }
+        catch (CloneNotSupportedException ex) {
+            throw new CacheException("Failed to copy cached Bill: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Creates the configuration for one of the bill caches. If the serialized cache is enabled, a disk tier
+     * is added when a disk size is configured.
+     */
+    private CacheConfiguration getCacheConfiguration(ContentCache contentCache, long heapSizeMb) {
+        CacheConfiguration config = new CacheConfiguration().name(contentCache.name())
+            .eternal(true)
+            .maxBytesLocalHeap(heapSizeMb, MemoryUnit.MEGABYTES)
+            .sizeOfPolicy(defaultSizeOfPolicy());
+        if (serializedCache && billCacheDiskSizeMb > 0) {
+            config.maxBytesLocalDisk(billCacheDiskSizeMb, MemoryUnit.MEGABYTES)
+                .persistence(new PersistenceConfiguration().strategy(PersistenceConfiguration.Strategy.LOCALTEMPSWAP));
+        }
+        return config;
+    }
+
+    /**
+     * Get a value from one of the bill caches, decoding it if the serialized cache is enabled.
+     * Returns null if the value is not cached.
+     */
+    private <T> T getCachedValue(Cache cache, BaseBillId billId, Class<T> type) {
+        Element element = cache.get(billId);
+        if (element == null) {
+            return null;
+        }
+        return serializedCache
+            ? CompressionUtils.deserializeCompressed((byte[]) element.getObjectValue(), type)
+            : type.cast(element.getObjectValue());
+    }
+
+    /**
+     * Put a value into one of the bill caches, encoding it if the serialized cache is enabled.
+     */
+    private void putCachedValue(Cache cache, BaseBillId billId, Serializable value) {
+        cache.put(new Element(billId, serializedCache ? CompressionUtils.serializeCompressed(value) : value));
     }
 
     /**
      * In order to cache bills effectively, we strip out the memos and full text from the bill first
-     * to save some heap space.
+     * to save some heap space. The memos and full text are cached separately in compressed form.
      * @param bill Bill
      */
     private void putStrippedBillInCache(final Bill bill) {
         if (bill != null) {
             try {
+                putBillTextInCache(bill);
                 Bill cacheBill = bill.shallowClone();
                 cacheBill.getAmendmentList().stream().forEach(ba -> {
                     ba.setMemo("");
                     ba.setFullText("");
                 });
-                this.billCache.put(new Element(cacheBill.getBaseBillId(), cacheBill));
+                putCachedValue(this.billCache, cacheBill.getBaseBillId(), cacheBill);
                 // Remove entry from the bill info cache if it exists
                 this.billInfoCache.remove(cacheBill.getBaseBillId());
             }
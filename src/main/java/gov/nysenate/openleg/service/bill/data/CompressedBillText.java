@@ -0,0 +1,68 @@
+package gov.nysenate.openleg.service.bill.data;
+
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import gov.nysenate.openleg.util.CompressionUtils;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Holds the memo and full text of each amendment of a bill as compressed bytes. These are the fields that are
+ * stripped from bills before they are cached, and they make up most of a bill's size.
+ * The memos and full texts are compressed separately so that views without the full text only inflate the memos.
+ */
+public class CompressedBillText implements Serializable
+{
+    private static final long serialVersionUID = 2717384460547934710L;
+
+    private final EnumMap<Version, byte[]> memos = new EnumMap<>(Version.class);
+    private final EnumMap<Version, byte[]> fullTexts = new EnumMap<>(Version.class);
+
+    /** --- Constructors --- */
+
+    public CompressedBillText(Bill bill) {
+        for (BillAmendment amendment : bill.getAmendmentList()) {
+            memos.put(amendment.getVersion(), CompressionUtils.compressString(amendment.getMemo()));
+            fullTexts.put(amendment.getVersion(), CompressionUtils.compressString(amendment.getFullText()));
+        }
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Sets the memo and, if requested, the full text of each of the bill's amendments.
+     *
+     * @param bill Bill - a bill with the text stripped
+     * @param withFullText boolean - if false, only the memos are applied
+     * @return boolean - false if the bill has an amendment that this text wasn't created with,
+     *                   in which case the bill is left unchanged
+     */
+    public boolean applyTo(Bill bill, boolean withFullText) {
+        if (!memos.keySet().containsAll(bill.getAmendmentMap().keySet())) {
+            return false;
+        }
+        for (BillAmendment amendment : bill.getAmendmentList()) {
+            amendment.setMemo(CompressionUtils.decompressString(memos.get(amendment.getVersion())));
+            if (withFullText) {
+                amendment.setFullText(CompressionUtils.decompressString(fullTexts.get(amendment.getVersion())));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return int - the total number of compressed bytes
+     */
+    public int getCompressedSize() {
+        return size(memos) + size(fullTexts);
+    }
+
+    /** --- Internal --- */
+
+    private static int size(Map<Version, byte[]> texts) {
+        return texts.values().stream().mapToInt(bytes -> bytes != null ? bytes.length : 0).sum();
+    }
+}
@@ -1,8 +1,10 @@
 package gov.nysenate.openleg.service.bill.search;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.dao.base.ElasticBulkIndexer;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.dao.bill.search.ElasticBillSearchDao;
@@ -14,9 +16,12 @@ import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexUpdateQueue;
+import gov.nysenate.openleg.service.base.search.SearchIndexUpdateQueueManager;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
 import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.index.query.*;
 import org.elasticsearch.search.SearchParseException;
@@ -24,30 +29,64 @@ import org.elasticsearch.search.rescore.RescoreBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 @Service
 public class ElasticBillSearchService implements BillSearchService, IndexedSearchService<Bill>
 {
     private static final Logger logger = LoggerFactory.getLogger(ElasticBillSearchService.class);
 
+    /** The number of bills that are loaded together when rebuilding the index. */
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    /** The number of loaded pages that can wait to be indexed before the loader threads block. */
+    private static final int REBUILD_QUEUE_SIZE = 4;
+
     @Autowired protected Environment env;
     @Autowired protected EventBus eventBus;
+    @Autowired protected SearchIndexUpdateQueueManager indexUpdateQueueManager;
     @Autowired protected ElasticBillSearchDao billSearchDao;
     @Autowired protected BillDataService billDataService;
 
+    /** The number of threads used to load bills when rebuilding the index. */
+    @Value("${elastic.search.rebuild.threads:4}")
+    private int rebuildThreads;
+
+    /**
+     * Queues the ids of updated bills, null if updates are indexed on the posting thread. The bills are reloaded
+     * when their batch is indexed since the updated bill objects may still be modified by their processor.
+     */
+    private SearchIndexUpdateQueue<BaseBillId, BaseBillId> updateQueue;
+
+    /** Ids of the bills updated since the running index rebuild started, null while no rebuild is running. */
+    private volatile Set<BaseBillId> rebuildUpdatedIds;
+
     @PostConstruct
     protected void init() {
         eventBus.register(this);
+        updateQueue = indexUpdateQueueManager.createQueue(SearchIndex.BILL, Function.identity(), this::reindexBills);
     }
 
     /** --- BillSearchService implementation --- */
@@ -117,7 +156,8 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     @Subscribe
     public void handleBillUpdate(BillUpdateEvent billUpdateEvent) {
         if (billUpdateEvent.getBill() != null) {
-            updateIndex(billUpdateEvent.getBill());
+            recordRebuildUpdates(Collections.singletonList(billUpdateEvent.getBill()));
+            queueIndexUpdate(Collections.singletonList(billUpdateEvent.getBill()));
         }
     }
 
@@ -126,7 +166,8 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     @Subscribe
     public void handleBulkBillUpdate(BulkBillUpdateEvent bulkBillUpdateEvent) {
         if (bulkBillUpdateEvent.getBills() != null) {
-            updateIndex(bulkBillUpdateEvent.getBills());
+            recordRebuildUpdates(bulkBillUpdateEvent.getBills());
+            queueIndexUpdate(bulkBillUpdateEvent.getBills());
         }
     }
 
@@ -176,28 +217,101 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
         billSearchDao.createIndices();
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * Bills are loaded in pages on a pool of threads and handed off through a bounded queue to a bulk indexer
+     * that populates a new index. Once every page is indexed the bill alias is swapped over to the new index,
+     * so searches are served from the existing index for the duration of the rebuild. If any page fails to load
+     * or index, the new index is discarded and the existing index is left in place.
+     *
+     * Bill updates made during the rebuild only reach the index in service, and the pages may have been loaded
+     * before those updates. So the ids of bills updated while the rebuild runs are recorded, and those bills are
+     * reloaded and written to the new index right before the alias is swapped, and once more after the swap for
+     * updates that arrived in between.
+     */
     @Override
-    public void rebuildIndex() {
-        clearIndex();
+    public synchronized void rebuildIndex() {
+        if (!env.isElasticIndexing()) {
+            logger.info("Elastic indexing is disabled, skipping the bill index rebuild.");
+            return;
+        }
+        rebuildUpdatedIds = ConcurrentHashMap.newKeySet();
+        try {
+            rebuildIndexPages();
+        }
+        finally {
+            rebuildUpdatedIds = null;
+        }
+    }
+
+    /**
+     * Performs the rebuild described in {@link #rebuildIndex()} while the updated bill ids are being recorded.
+     */
+    private void rebuildIndexPages() {
         Optional<Range<SessionYear>> sessions = billDataService.activeSessionRange();
-        if (sessions.isPresent()) {
-            SessionYear session = sessions.get().lowerEndpoint();
-            while (session.getSessionStartYear() <= LocalDate.now().getYear()) {
-                LimitOffset limOff = LimitOffset.THOUSAND;
-                List<BaseBillId> billIds = billDataService.getBillIds(session, limOff);
-                while (!billIds.isEmpty()) {
-                    logger.info("Indexing {} bills starting from {}", billIds.size(), billIds.get(0));
-                    updateIndex(billIds.stream().map(id -> billDataService.getBill(id)).collect(toList()));
-                    limOff = limOff.next();
-                    billIds = billDataService.getBillIds(session, limOff);
-                }
-                session = session.next();
+        if (!sessions.isPresent()) {
+            logger.info("Can't rebuild the bill search index because there are no bills. Clearing it instead!");
+            clearIndex();
+            return;
+        }
+        List<List<BaseBillId>> pages = new ArrayList<>();
+        for (SessionYear session = sessions.get().lowerEndpoint();
+             session.getSessionStartYear() <= LocalDate.now().getYear(); session = session.next()) {
+            pages.addAll(Lists.partition(billDataService.getBillIds(session, LimitOffset.ALL), REBUILD_PAGE_SIZE));
+        }
+        int totalBills = pages.stream().mapToInt(List::size).sum();
+        String indexName = billSearchDao.createNewBillIndex();
+        logger.info("Rebuilding the bill index into {} with {} bills in {} pages", indexName, totalBills, pages.size());
+
+        BlockingQueue<List<Bill>> loadedPages = new ArrayBlockingQueue<>(REBUILD_QUEUE_SIZE);
+        AtomicInteger loadFailures = new AtomicInteger();
+        ExecutorService loaderPool = Executors.newFixedThreadPool(rebuildThreads, new OpenlegThreadFactory("bill-reindex"));
+        pages.forEach(page -> loaderPool.submit(() -> loadPage(page, loadedPages, loadFailures)));
+        loaderPool.shutdown();
+
+        long startNanos = System.nanoTime();
+        int processedBills = 0;
+        ElasticBulkIndexer indexer = billSearchDao.getBulkIndexer();
+        try {
+            for (int i = 0; i < pages.size(); i++) {
+                // Pages arrive in the order they finish loading, not in the order of the page list
+                List<Bill> bills = loadedPages.take();
+                billSearchDao.indexBills(indexer, indexName, bills);
+                processedBills += bills.size();
+                double seconds = Math.max((System.nanoTime() - startNanos) / 1e9, 0.001);
+                logger.info("Bill reindex progress: {}/{} pages, {} indexable bills loaded, {} indexed ({} MB), " +
+                            "{} bills/sec", i + 1, pages.size(), processedBills, indexer.getIndexedCount(),
+                            indexer.getIndexedBytes() / (1024 * 1024), Math.round(processedBills / seconds));
             }
         }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            loaderPool.shutdownNow();
+            indexer.close();
+            logger.error("Bill reindex was interrupted, discarding {}", indexName);
+            billSearchDao.discardBillIndex(indexName);
+            return;
+        }
+        indexer.close();
+        long failedDocs = indexer.getFailedCount();
+        if (loadFailures.get() == 0 && failedDocs == 0) {
+            // Catch up on the bills that were updated while the pages were being indexed
+            failedDocs = reindexUpdatedBills(indexName);
+        }
+        if (loadFailures.get() > 0 || failedDocs > 0) {
+            logger.error("Bill reindex had {} page load failures and {} document failures, discarding {}",
+                         loadFailures.get(), failedDocs, indexName);
+            billSearchDao.discardBillIndex(indexName);
+        }
         else {
-            logger.info("Can't rebuild the bill search index because there are no bills. Clearing it instead!");
-            clearIndex();
+            billSearchDao.activateBillIndex(indexName);
+            // Updates recorded during the catch up or the swap may have only been written to the old index
+            if (reindexUpdatedBills(indexName) > 0) {
+                logger.error("Failed to write some bills updated during the rebuild to {}", indexName);
+            }
+            logger.info("Rebuilt the bill index with {} bills in {} seconds", totalBills,
+                        (System.nanoTime() - startNanos) / 1_000_000_000L);
         }
     }
 
@@ -236,4 +350,97 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     protected boolean isBillIndexable(Bill bill) {
         return bill != null && bill.isBaseVersionPublished();
     }
-}
\ No newline at end of file
+
+    /**
+     * Loads a page of bills for the rebuild and puts the indexable ones on the queue. An empty page is queued
+     * if the bills could not be loaded so that the consumer always receives one entry per page.
+     */
+    private void loadPage(List<BaseBillId> billIds, BlockingQueue<List<Bill>> loadedPages, AtomicInteger loadFailures) {
+        List<Bill> bills;
+        try {
+            bills = billDataService.getBills(billIds).stream()
+                .filter(this::isBillIndexable)
+                .collect(toList());
+        }
+        catch (Exception ex) {
+            logger.error("Failed to load bills starting from " + billIds.get(0) + " for reindexing", ex);
+            loadFailures.incrementAndGet();
+            bills = Collections.emptyList();
+        }
+        try {
+            loadedPages.put(bills);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reloads the bills recorded as updated during the rebuild and writes them to the given index, removing the
+     * ones that no longer exist or are no longer indexable. The reindexed ids are no longer recorded afterwards.
+     *
+     * @return long - The number of bills that failed to be indexed.
+     */
+    private long reindexUpdatedBills(String indexName) {
+        List<BaseBillId> billIds = new ArrayList<>(rebuildUpdatedIds);
+        rebuildUpdatedIds.removeAll(billIds);
+        if (billIds.isEmpty()) {
+            return 0;
+        }
+        logger.info("Writing {} bills updated during the rebuild to {}", billIds.size(), indexName);
+        List<Bill> bills = billDataService.getBills(billIds).stream()
+            .filter(this::isBillIndexable)
+            .collect(toList());
+        Set<BaseBillId> indexedIds = bills.stream().map(Bill::getBaseBillId).collect(toSet());
+        ElasticBulkIndexer indexer = billSearchDao.getBulkIndexer();
+        billSearchDao.indexBills(indexer, indexName, bills);
+        indexer.close();
+        billSearchDao.deleteBillsFromIndex(indexName, billIds.stream()
+            .filter(billId -> !indexedIds.contains(billId))
+            .collect(toList()));
+        return indexer.getFailedCount();
+    }
+
+    /**
+     * Reloads the given bills and updates the index with them, removing the ones that no longer exist or
+     * are no longer indexable.
+     */
+    private void reindexBills(Collection<BaseBillId> billIds) {
+        if (env.isElasticIndexing() && !billIds.isEmpty()) {
+            List<Bill> bills = billDataService.getBills(billIds).stream()
+                .filter(this::isBillIndexable)
+                .collect(toList());
+            logger.info("Indexing {} valid bills into elastic search.", bills.size());
+            billSearchDao.updateBillIndex(bills);
+            Set<BaseBillId> indexedIds = bills.stream().map(Bill::getBaseBillId).collect(toSet());
+            billIds.stream()
+                .filter(billId -> !indexedIds.contains(billId))
+                .forEach(billId -> {
+                    logger.info("Deleting {} from index.", billId);
+                    billSearchDao.deleteBillFromIndex(billId);
+                });
+        }
+    }
+
+    /**
+     * Records the ids of the given bills if an index rebuild is running.
+     */
+    private void recordRebuildUpdates(Collection<Bill> bills) {
+        Set<BaseBillId> updatedIds = rebuildUpdatedIds;
+        if (updatedIds != null) {
+            bills.stream().filter(Objects::nonNull).map(Bill::getBaseBillId).forEach(updatedIds::add);
+        }
+    }
+
+    /**
+     * Queues the given bills to be indexed, or indexes them right away if updates are not queued.
+     */
+    private void queueIndexUpdate(Collection<Bill> bills) {
+        if (updateQueue != null) {
+            updateQueue.addAll(bills.stream().filter(Objects::nonNull).map(Bill::getBaseBillId).collect(toList()));
+        }
+        else {
+            updateIndex(bills);
+        }
+    }
+}
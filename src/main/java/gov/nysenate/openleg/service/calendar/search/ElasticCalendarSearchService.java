@@ -12,6 +12,8 @@ import gov.nysenate.openleg.model.calendar.Calendar;
 import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
+import gov.nysenate.openleg.service.base.search.SearchIndexUpdateQueue;
+import gov.nysenate.openleg.service.base.search.SearchIndexUpdateQueueManager;
 import gov.nysenate.openleg.service.calendar.data.CalendarDataService;
 import gov.nysenate.openleg.service.calendar.event.BulkCalendarUpdateEvent;
 import gov.nysenate.openleg.service.calendar.event.CalendarUpdateEvent;
@@ -25,6 +27,7 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.regex.Matcher;
 
@@ -37,10 +40,15 @@ public class ElasticCalendarSearchService implements CalendarSearchService {
     @Autowired private CalendarDataService calendarDataService;
     @Autowired private Environment env;
     @Autowired private EventBus eventBus;
+    @Autowired private SearchIndexUpdateQueueManager indexUpdateQueueManager;
+
+    /** Queues updates to the index, null if updates are indexed on the posting thread. */
+    private SearchIndexUpdateQueue<CalendarId, Calendar> updateQueue;
 
     @PostConstruct
     private void init() {
         eventBus.register(this);
+        updateQueue = indexUpdateQueueManager.createQueue(SearchIndex.CALENDAR, Calendar::getId, this::updateIndex);
     }
 
     /** {@inheritDoc} */
@@ -60,15 +68,14 @@ public class ElasticCalendarSearchService implements CalendarSearchService {
     @Subscribe
     @Override
     public synchronized void handleCalendarUpdateEvent(CalendarUpdateEvent calendarUpdateEvent) {
-
-        updateIndex(calendarUpdateEvent.getCalendar());
+        queueIndexUpdate(Collections.singletonList(calendarUpdateEvent.getCalendar()));
     }
 
     /** {@inheritDoc} */
     @Subscribe
     @Override
     public void handleBulkCalendarUpdateEvent(BulkCalendarUpdateEvent bulkCalendarUpdateEvent) {
-        updateIndex(bulkCalendarUpdateEvent.getCalendars());
+        queueIndexUpdate(bulkCalendarUpdateEvent.getCalendars());
     }
 
     /** {@inheritDoc} */
@@ -177,4 +184,16 @@ public class ElasticCalendarSearchService implements CalendarSearchService {
         }
         return query;
     }
+
+    /**
+     * Queues the given calendars to be indexed, or indexes them right away if updates are not queued.
+     */
+    private void queueIndexUpdate(Collection<Calendar> calendars) {
+        if (updateQueue != null) {
+            updateQueue.addAll(calendars);
+        }
+        else {
+            updateIndex(calendars);
+        }
+    }
 }
@@ -17,15 +17,10 @@ import gov.nysenate.openleg.model.search.RebuildIndexEvent;
 import gov.nysenate.openleg.processor.base.ParseError;
 import gov.nysenate.openleg.service.base.data.CachingService;
 import gov.nysenate.openleg.service.entity.member.event.UnverifiedMemberEvent;
-import net.sf.ehcache.Cache;
-import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.Ehcache;
-import net.sf.ehcache.Element;
-import net.sf.ehcache.config.CacheConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
 
@@ -45,10 +40,8 @@ public class CachedMemberService implements MemberService, CachingService<Intege
     @Autowired
     private EventBus eventBus;
 
-    private Cache memberCache;
-
-    @Autowired
-    private CacheManager cacheManager;
+    /** Members are kept in an index rather than an ehcache so that they can also be resolved by short name. */
+    private volatile MemberIndex memberIndex = new MemberIndex();
 
     @Resource(name = "sqlMember")
     private MemberDao memberDao;
@@ -63,7 +56,6 @@ public class CachedMemberService implements MemberService, CachingService<Intege
     @PreDestroy
     private void cleanUp() {
         evictCaches();
-        cacheManager.removeCache(ContentCache.MEMBER.name());
     }
 
     /** --- Caching Service Implementation --- */
@@ -71,14 +63,20 @@ public class CachedMemberService implements MemberService, CachingService<Intege
     /** {@inheritDoc} */
     @Override
     public void setupCaches() {
-        this.memberCache = new Cache(new CacheConfiguration().name(ContentCache.MEMBER.name()).eternal(true));
-        cacheManager.addCache(this.memberCache);
+        this.memberIndex = new MemberIndex();
     }
 
     /** {@inheritDoc} */
     @Override
     public List<Ehcache> getCaches() {
-        return Arrays.asList(memberCache);
+        return Collections.emptyList();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictCaches() {
+        logger.info("Clearing out member index");
+        this.memberIndex = new MemberIndex();
     }
 
     /** {@inheritDoc} */
@@ -102,16 +100,16 @@ public class CachedMemberService implements MemberService, CachingService<Intege
     /** {@inheritDoc} */
     @Override
     public void evictContent(Integer sessionMemberId) {
-        memberCache.remove(sessionMemberId);
+        memberIndex.remove(sessionMemberId);
     }
 
     /** {@inheritDoc} */
     @Override
     public void warmCaches() {
-        evictCaches();
-        logger.info("Warming up member cache");
-        memberDao.getAllMembers(SortOrder.ASC, LimitOffset.ALL).stream().forEach(this::putMemberInCache);
-        logger.info("Done warming up member cache");
+        logger.info("Warming up member index");
+        // The new index replaces the old one once it is complete so that lookups never see a partial index
+        this.memberIndex = new MemberIndex(memberDao.getAllMembers(SortOrder.ASC, LimitOffset.ALL));
+        logger.info("Done warming up member index with {} session members", memberIndex.size());
     }
 
     /** {@inheritDoc} */
@@ -154,13 +152,13 @@ public class CachedMemberService implements MemberService, CachingService<Intege
     /** {@inheritDoc} */
     @Override
     public SessionMember getMemberBySessionId(int sessionMemberId) throws MemberNotFoundEx {
-        SimpleKey key = new SimpleKey(sessionMemberId);
-        if (memberCache.isKeyInCache(key)) {
-            return (SessionMember) memberCache.get(key).getObjectValue();
+        SessionMember member = memberIndex.getBySessionMemberId(sessionMemberId);
+        if (member != null) {
+            return member;
         }
         try {
-            SessionMember member = memberDao.getMemberBySessionId(sessionMemberId);
-            putMemberInCache(member);
+            member = memberDao.getMemberBySessionId(sessionMemberId);
+            memberIndex.putSessionMemberId(sessionMemberId, member);
             return member;
         }
         catch (EmptyResultDataAccessException ex) {
@@ -174,8 +172,14 @@ public class CachedMemberService implements MemberService, CachingService<Intege
         if (lbdcShortName == null || chamber == null) {
             throw new IllegalArgumentException("Shortname and/or chamber cannot be null.");
         }
+        SessionMember member = memberIndex.getByShortName(lbdcShortName, sessionYear, chamber);
+        if (member != null) {
+            return member;
+        }
         try {
-            return memberDao.getMemberByShortName(lbdcShortName, sessionYear, chamber);
+            member = memberDao.getMemberByShortName(lbdcShortName, sessionYear, chamber);
+            memberIndex.putShortName(lbdcShortName, sessionYear, chamber, member);
+            return member;
         }
         catch (EmptyResultDataAccessException ex) {
             throw new MemberNotFoundEx(lbdcShortName, sessionYear, chamber);
@@ -184,7 +188,7 @@ public class CachedMemberService implements MemberService, CachingService<Intege
 
     /** {@inheritDoc} */
     @Override
-    public SessionMember getMemberByShortNameEnsured(String lbdcShortName, SessionYear sessionYear, Chamber chamber) throws ParseError {
+    public synchronized SessionMember getMemberByShortNameEnsured(String lbdcShortName, SessionYear sessionYear, Chamber chamber) throws ParseError {
         try {
             return getMemberByShortName(lbdcShortName, sessionYear, chamber);
         }
@@ -193,6 +197,7 @@ public class CachedMemberService implements MemberService, CachingService<Intege
             memberDao.updatePerson(member);
             memberDao.updateMember(member);
             memberDao.updateSessionMember(member);
+            memberIndex.put(member);
             eventBus.post(new UnverifiedMemberEvent(member, LocalDateTime.now()));
             return member;
         }
@@ -237,10 +242,4 @@ public class CachedMemberService implements MemberService, CachingService<Intege
         eventBus.post(new RebuildIndexEvent(Collections.singleton(SearchIndex.MEMBER)));
 
     }
-
-    /** --- Internal Methods --- */
-
-    private void putMemberInCache(SessionMember member) {
-        memberCache.put(new Element(new SimpleKey(member.getSessionMemberId()), member, true));
-    }
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+package gov.nysenate.openleg.service.entity.member.data;
+
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.SessionMember;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An in memory index of session members that can be read concurrently. Members are indexed by their session member id
+ * and by the (short name, session year, chamber) combination that is used to identify members in the source data.
+ *
+ * The lookups mirror the semantics of the member dao:
+ * <ul>
+ *     <li>Short names are matched case insensitively on their first {@link #SHORT_NAME_LENGTH} characters, and a
+ *     primary short name takes precedence over an alternate one.</li>
+ *     <li>The session member id of an alternate short name resolves to the primary member for that session.</li>
+ * </ul>
+ */
+public class MemberIndex
+{
+    /** The number of leading characters of a short name that are significant when matching. */
+    protected static final int SHORT_NAME_LENGTH = 15;
+
+    private final Map<Integer, SessionMember> sessionMemberIdMap = new ConcurrentHashMap<>();
+    private final Map<ShortNameKey, SessionMember> shortNameMap = new ConcurrentHashMap<>();
+
+    /** --- Constructors --- */
+
+    public MemberIndex() {}
+
+    /**
+     * Creates an index of the given members, which should include every session member row,
+     * both primary and alternate.
+     *
+     * @param members Collection<SessionMember>
+     */
+    public MemberIndex(Collection<SessionMember> members) {
+        Map<SessionMemberKey, SessionMember> primaryMembers = new HashMap<>();
+        members.stream().filter(member -> !member.isAlternate()).forEach(member -> {
+            primaryMembers.put(new SessionMemberKey(member), member);
+            shortNameMap.putIfAbsent(new ShortNameKey(member), member);
+        });
+        members.forEach(member -> {
+            SessionMember primary = member.isAlternate()
+                    ? primaryMembers.getOrDefault(new SessionMemberKey(member), member)
+                    : member;
+            sessionMemberIdMap.put(member.getSessionMemberId(), primary);
+            if (member.isAlternate()) {
+                shortNameMap.putIfAbsent(new ShortNameKey(member), member);
+            }
+        });
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @param sessionMemberId int
+     * @return SessionMember - The member with the given session member id, or null if it is not indexed.
+     */
+    public SessionMember getBySessionMemberId(int sessionMemberId) {
+        return sessionMemberIdMap.get(sessionMemberId);
+    }
+
+    /**
+     * @param shortName String
+     * @param sessionYear SessionYear
+     * @param chamber Chamber
+     * @return SessionMember - The member matching the given short name, or null if none is indexed.
+     */
+    public SessionMember getByShortName(String shortName, SessionYear sessionYear, Chamber chamber) {
+        return shortNameMap.get(new ShortNameKey(shortName, sessionYear, chamber));
+    }
+
+    /**
+     * Indexes the member under its session member id and its short name.
+     *
+     * @param member SessionMember
+     */
+    public void put(SessionMember member) {
+        putSessionMemberId(member.getSessionMemberId(), member);
+        putShortName(member.getLbdcShortName(), member.getSessionYear(), member.getChamber(), member);
+    }
+
+    /**
+     * Indexes the member under the given session member id.
+     */
+    public void putSessionMemberId(int sessionMemberId, SessionMember member) {
+        sessionMemberIdMap.put(sessionMemberId, member);
+    }
+
+    /**
+     * Indexes the member under the given short name, session year and chamber.
+     */
+    public void putShortName(String shortName, SessionYear sessionYear, Chamber chamber, SessionMember member) {
+        shortNameMap.put(new ShortNameKey(shortName, sessionYear, chamber), member);
+    }
+
+    /**
+     * Removes the member with the given session member id from the index.
+     *
+     * @param sessionMemberId int
+     */
+    public void remove(int sessionMemberId) {
+        SessionMember member = sessionMemberIdMap.remove(sessionMemberId);
+        if (member != null) {
+            shortNameMap.values().removeIf(indexed -> indexed == member);
+        }
+    }
+
+    /**
+     * @return int - The number of indexed session member ids.
+     */
+    public int size() {
+        return sessionMemberIdMap.size();
+    }
+
+    /** --- Internal --- */
+
+    private static final class ShortNameKey
+    {
+        private final String shortName;
+        private final SessionYear sessionYear;
+        private final Chamber chamber;
+
+        private ShortNameKey(SessionMember member) {
+            this(member.getLbdcShortName(), member.getSessionYear(), member.getChamber());
+        }
+
+        private ShortNameKey(String shortName, SessionYear sessionYear, Chamber chamber) {
+            String normalized = shortName != null ? shortName.trim().toUpperCase() : "";
+            this.shortName = normalized.length() > SHORT_NAME_LENGTH
+                    ? normalized.substring(0, SHORT_NAME_LENGTH)
+                    : normalized;
+            this.sessionYear = sessionYear;
+            this.chamber = chamber;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ShortNameKey)) return false;
+            ShortNameKey that = (ShortNameKey) o;
+            return shortName.equals(that.shortName) &&
+                   Objects.equals(sessionYear, that.sessionYear) &&
+                   chamber == that.chamber;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(shortName, sessionYear, chamber);
+        }
+    }
+
+    private static final class SessionMemberKey
+    {
+        private final int memberId;
+        private final SessionYear sessionYear;
+
+        private SessionMemberKey(SessionMember member) {
+            this.memberId = member.getMemberId();
+            this.sessionYear = member.getSessionYear();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SessionMemberKey)) return false;
+            SessionMemberKey that = (SessionMemberKey) o;
+            return memberId == that.memberId && Objects.equals(sessionYear, that.sessionYear);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(memberId, sessionYear);
+        }
+    }
+}
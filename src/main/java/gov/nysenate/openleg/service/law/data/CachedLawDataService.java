@@ -28,6 +28,8 @@ import javax.annotation.PreDestroy;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.toList;
 
@@ -104,7 +106,13 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     /** {@inheritDoc} */
     @Override
     public void evictContent(LawVersionId lawVersionId) {
-        lawTreeCache.evict(lawVersionId);
+        LawTreeHistory history = getLawTreeHistory(lawVersionId.getLawId());
+        if (history != null && lawVersionId.getPublishedDate() != null) {
+            history.removeLawTree(lawVersionId.getPublishedDate());
+        }
+        if (history != null && (history.isEmpty() || lawVersionId.getPublishedDate() == null)) {
+            lawTreeCache.evict(lawVersionId.getLawId());
+        }
         maxPubDates.clear();
     }
 
@@ -142,22 +150,18 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     @Override
     public LawTree getLawTree(String lawId, LocalDate endPublishedDate) throws LawTreeNotFoundEx {
         if (lawId == null) throw new IllegalArgumentException("Supplied lawId cannot be null");
+        lawId = lawId.toUpperCase();
+        endPublishedDate = resolveEndPublishedDate(lawId, endPublishedDate);
         try {
-            if (endPublishedDate == null) {
-                if (maxPubDates.isEmpty()) {
-                    maxPubDates = lawDataDao.getLastPublishedMap();
+            if (endPublishedDate != null) {
+                LawTreeHistory history = getLawTreeHistory(lawId);
+                Optional<LawTree> cachedTree = (history != null) ? history.getLawTree(endPublishedDate) : Optional.empty();
+                if (cachedTree.isPresent()) {
+                    return cachedTree.get();
                 }
-                endPublishedDate = maxPubDates.get(lawId);
-            }
-            LawVersionId lawVersionId = new LawVersionId(lawId.toUpperCase(), endPublishedDate);
-            LawTree lawTree;
-            if (lawTreeCache.get(lawVersionId) != null) {
-                lawTree = (LawTree) lawTreeCache.get(lawVersionId).get();
-            }
-            else {
-                lawTree = lawDataDao.getLawTree(lawId, endPublishedDate);
-                lawTreeCache.put(lawTree.getLawVersionId(), lawTree);
             }
+            LawTree lawTree = lawDataDao.getLawTree(lawId, endPublishedDate);
+            cacheLawTree(lawTree);
             return lawTree;
         }
         catch (EmptyResultDataAccessException ex) {
@@ -171,10 +175,19 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
         if (documentId == null || documentId.length() < 4) {
             throw new IllegalArgumentException("Document id cannot be less than 4 characters");
         }
-        Optional<LawTreeNode> node =
-            getLawTree(documentId.substring(0, 3), endPublishedDate).find(documentId);
-        if (node.isPresent()) {
-            return node.get().getLawDocInfo();
+        String lawId = documentId.substring(0, 3).toUpperCase();
+        endPublishedDate = resolveEndPublishedDate(lawId, endPublishedDate);
+        LawTreeHistory history = getLawTreeHistory(lawId);
+        Optional<LawDocInfo> docInfo;
+        if (endPublishedDate != null && history != null && history.hasLawTree(endPublishedDate)) {
+            // Avoid building the whole tree just to look up a single document
+            docInfo = history.findLawDocInfo(endPublishedDate, documentId);
+        }
+        else {
+            docInfo = getLawTree(lawId, endPublishedDate).find(documentId).map(LawTreeNode::getLawDocInfo);
+        }
+        if (docInfo.isPresent()) {
+            return docInfo.get();
         }
         else {
             throw new LawDocumentNotFoundEx(documentId, endPublishedDate, "Law tree was found but document was not matched");
@@ -214,7 +227,12 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     public void saveLawTree(LawFile lawFile, LawTree lawTree) {
         if (lawTree == null) throw new IllegalArgumentException("Supplied lawTree cannot be null");
         lawDataDao.updateLawTree(lawFile, lawTree);
-        lawTreeCache.put(lawTree.getLawVersionId(), lawTree);
+        // Only laws that are already cached are updated, since a new history would not know the other published dates
+        LawTreeHistory history = getLawTreeHistory(lawTree.getLawId());
+        if (history != null) {
+            history.addLawTree(lawTree);
+            lawTreeCache.put(lawTree.getLawId(), history);
+        }
         maxPubDates.clear();
     }
 
@@ -225,4 +243,51 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
         if (lawFile == null) throw new IllegalArgumentException("Supplied lawFile cannot be null");
         lawDataDao.updateLawDocument(lawFile, lawDocument);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public void saveLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments) {
+        if (lawDocuments == null) throw new IllegalArgumentException("Supplied lawDocuments cannot be null");
+        if (lawFile == null) throw new IllegalArgumentException("Supplied lawFile cannot be null");
+        lawDataDao.updateLawDocuments(lawFile, lawDocuments);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void streamLawText(LawTree lawTree, Set<String> documentIds, Consumer<Function<String, String>> textHandler) {
+        if (lawTree == null) throw new IllegalArgumentException("Supplied lawTree cannot be null");
+        lawDataDao.streamLawTreeText(lawTree, documentIds, textHandler::accept);
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * A null end published date refers to the latest published version of the law.
+     */
+    private LocalDate resolveEndPublishedDate(String lawId, LocalDate endPublishedDate) {
+        if (endPublishedDate == null) {
+            if (maxPubDates.isEmpty()) {
+                maxPubDates = lawDataDao.getLastPublishedMap();
+            }
+            return maxPubDates.get(lawId);
+        }
+        return endPublishedDate;
+    }
+
+    private LawTreeHistory getLawTreeHistory(String lawId) {
+        return lawTreeCache.get(lawId.toUpperCase(), LawTreeHistory.class);
+    }
+
+    /**
+     * Adds the tree to the cached history of its law. The history is put back into the cache after each new
+     * version so that the cache accounts for its larger size.
+     */
+    private void cacheLawTree(LawTree lawTree) {
+        LawTreeHistory history = getLawTreeHistory(lawTree.getLawId());
+        if (history == null) {
+            history = new LawTreeHistory(lawTree.getLawId());
+        }
+        history.addLawTree(lawTree);
+        lawTreeCache.put(lawTree.getLawId(), history);
+    }
 }
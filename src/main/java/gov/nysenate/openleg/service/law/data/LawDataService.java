@@ -5,9 +5,12 @@ import gov.nysenate.openleg.model.law.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public interface LawDataService
 {
@@ -85,4 +88,23 @@ public interface LawDataService
      * @param lawDocument LawDocument - The LawDocument to persist.
      */
     public void saveLawDocument(LawFile lawFile, LawDocument lawDocument);
+
+    /**
+     * Persists a collection of LawDocuments into the backing store in bulk.
+     *
+     * @param lawFile LawFile - The LawFile instance that represents the source data.
+     * @param lawDocuments Collection<LawDocument> - The LawDocuments to persist.
+     */
+    public void saveLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments);
+
+    /**
+     * Streams the text of the documents in the given law tree to the text handler, in tree order, so that the
+     * text of a large law never has to be held in memory at once.
+     *
+     * @param lawTree LawTree - The tree whose documents' text is streamed.
+     * @param documentIds Set<String> - The ids of the documents whose text will be looked up, null for all.
+     * @param textHandler Consumer<Function<String, String>> - Looks up document text by document id.
+     *                    Each document can be looked up once, and only until the handler returns.
+     */
+    public void streamLawText(LawTree lawTree, Set<String> documentIds, Consumer<Function<String, String>> textHandler);
 }
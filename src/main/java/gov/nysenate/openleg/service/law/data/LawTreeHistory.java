@@ -0,0 +1,229 @@
+package gov.nysenate.openleg.service.law.data;
+
+import gov.nysenate.openleg.model.law.*;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Holds any number of point in time versions of a single law's tree in a compact form where versions share the
+ * subtrees that did not change between them. Since consecutive versions of a law typically differ by only a handful
+ * of documents, caching another version costs roughly the size of the changed nodes and their ancestors.
+ *
+ * The shared nodes are never handed out. Each request is served a freshly built LawTree, so callers (e.g. the law
+ * builders) are free to modify the returned tree without affecting other versions or other callers.
+ *
+ * Sequence numbers are stored relative to the parent node. Inserting a document shifts the sequence numbers of
+ * everything after it, but shifts the nodes within any later subtree equally, so those subtrees can still be shared.
+ */
+public class LawTreeHistory
+{
+    private final String lawId;
+
+    /** Law info from the most recently added version. */
+    private LawInfo lawInfo;
+
+    /** Every published date of the law's tree, whether or not the version for that date is held here. */
+    private final TreeSet<LocalDate> publishedDates = new TreeSet<>();
+
+    /** The root node of each held version, keyed by the version's published date. */
+    private final TreeMap<LocalDate, SharedNode> versions = new TreeMap<>();
+
+    public LawTreeHistory(String lawId) {
+        this.lawId = lawId;
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Builds the tree that was in effect on the given date, which is the version with the latest published date on
+     * or before the given date, as long as that version is held here.
+     *
+     * @param endPublishedDate LocalDate
+     * @return Optional<LawTree> - Empty if the version in effect on that date is not held here.
+     */
+    public synchronized Optional<LawTree> getLawTree(LocalDate endPublishedDate) {
+        LocalDate publishedDate = publishedDates.floor(endPublishedDate);
+        if (publishedDate == null || !versions.containsKey(publishedDate)) {
+            return Optional.empty();
+        }
+        LawTreeNode rootNode = versions.get(publishedDate).toLawTreeNode(0);
+        LawTree lawTree = new LawTree(new LawVersionId(lawId, publishedDate), rootNode, lawInfo);
+        lawTree.setPublishedDates(new ArrayList<>(publishedDates));
+        return Optional.of(lawTree);
+    }
+
+    /**
+     * @param endPublishedDate LocalDate
+     * @return boolean - true if the version in effect on the given date is held here.
+     */
+    public synchronized boolean hasLawTree(LocalDate endPublishedDate) {
+        LocalDate publishedDate = publishedDates.floor(endPublishedDate);
+        return publishedDate != null && versions.containsKey(publishedDate);
+    }
+
+    /**
+     * Finds a document's info within the version in effect on the given date without building the whole tree.
+     *
+     * @param endPublishedDate LocalDate
+     * @param documentId String
+     * @return Optional<LawDocInfo> - Empty if the document is not in that version or the version is not held here.
+     */
+    public synchronized Optional<LawDocInfo> findLawDocInfo(LocalDate endPublishedDate, String documentId) {
+        LocalDate publishedDate = publishedDates.floor(endPublishedDate);
+        if (publishedDate == null || !versions.containsKey(publishedDate)) {
+            return Optional.empty();
+        }
+        return versions.get(publishedDate).find(documentId).map(node -> SharedNode.copyDocInfo(node.lawDocInfo));
+    }
+
+    /**
+     * Adds the given version of the law's tree, sharing any subtrees that are identical to those of the versions
+     * already held here. The tree is copied, so later changes to it are not reflected here.
+     *
+     * @param lawTree LawTree
+     */
+    public synchronized void addLawTree(LawTree lawTree) {
+        if (!lawId.equals(lawTree.getLawId())) {
+            throw new IllegalArgumentException("Cannot add a " + lawTree.getLawId() + " tree to the " + lawId + " history");
+        }
+        Map<String, List<SharedNode>> existingNodes = new HashMap<>();
+        Set<SharedNode> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        versions.values().forEach(root -> root.index(existingNodes, visited));
+        SharedNode root = SharedNode.share(lawTree.getRootNode(), 0, existingNodes);
+        versions.put(lawTree.getPublishedDate(), root);
+        publishedDates.add(lawTree.getPublishedDate());
+        if (lawTree.getPublishedDates() != null) {
+            publishedDates.addAll(lawTree.getPublishedDates());
+        }
+        lawInfo = lawTree.getLawInfo();
+    }
+
+    /**
+     * Removes the version with the given published date if it is held here.
+     *
+     * @param publishedDate LocalDate
+     */
+    public synchronized void removeLawTree(LocalDate publishedDate) {
+        versions.remove(publishedDate);
+    }
+
+    /**
+     * @return int - The number of distinct nodes held across all versions.
+     */
+    public synchronized int getSharedNodeCount() {
+        Set<SharedNode> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        versions.values().forEach(root -> root.index(new HashMap<>(), visited));
+        return visited.size();
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getLawId() {
+        return lawId;
+    }
+
+    public synchronized int getVersionCount() {
+        return versions.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return versions.isEmpty();
+    }
+
+    /** --- Internal Classes --- */
+
+    /**
+     * An immutable tree node. Nodes are only ever created through {@link #share}, which reuses an existing node
+     * whenever one with the same content and the same (already shared) children exists.
+     */
+    private static class SharedNode
+    {
+        private final LawDocInfo lawDocInfo;
+        private final int sequenceOffset;
+        private final LocalDate repealedDate;
+        private final SharedNode[] children;
+
+        private SharedNode(LawDocInfo lawDocInfo, int sequenceOffset, LocalDate repealedDate, SharedNode[] children) {
+            this.lawDocInfo = lawDocInfo;
+            this.sequenceOffset = sequenceOffset;
+            this.repealedDate = repealedDate;
+            this.children = children;
+        }
+
+        static SharedNode share(LawTreeNode node, int parentSequenceNo, Map<String, List<SharedNode>> existingNodes) {
+            List<LawTreeNode> childNodes = node.getChildNodeList();
+            SharedNode[] children = new SharedNode[childNodes.size()];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = share(childNodes.get(i), node.getSequenceNo(), existingNodes);
+            }
+            int sequenceOffset = node.getSequenceNo() - parentSequenceNo;
+            List<SharedNode> candidates = existingNodes.computeIfAbsent(node.getDocumentId(), id -> new ArrayList<>(1));
+            for (SharedNode candidate : candidates) {
+                if (candidate.matches(node, sequenceOffset, children)) {
+                    return candidate;
+                }
+            }
+            SharedNode shared = new SharedNode(copyDocInfo(node.getLawDocInfo()), sequenceOffset,
+                                               node.getRepealedDate(), children);
+            candidates.add(shared);
+            return shared;
+        }
+
+        /**
+         * Builds a mutable copy of the subtree rooted at this node.
+         */
+        LawTreeNode toLawTreeNode(int parentSequenceNo) {
+            int sequenceNo = parentSequenceNo + sequenceOffset;
+            LawTreeNode node = new LawTreeNode(copyDocInfo(lawDocInfo), sequenceNo);
+            node.setRepealedDate(repealedDate);
+            for (SharedNode child : children) {
+                node.addChild(child.toLawTreeNode(sequenceNo));
+            }
+            return node;
+        }
+
+        Optional<SharedNode> find(String documentId) {
+            if (lawDocInfo.getDocumentId().equals(documentId)) {
+                return Optional.of(this);
+            }
+            for (SharedNode child : children) {
+                Optional<SharedNode> match = child.find(documentId);
+                if (match.isPresent()) {
+                    return match;
+                }
+            }
+            return Optional.empty();
+        }
+
+        void index(Map<String, List<SharedNode>> nodeIndex, Set<SharedNode> visited) {
+            if (visited.add(this)) {
+                nodeIndex.computeIfAbsent(lawDocInfo.getDocumentId(), id -> new ArrayList<>(1)).add(this);
+                for (SharedNode child : children) {
+                    child.index(nodeIndex, visited);
+                }
+            }
+        }
+
+        private boolean matches(LawTreeNode node, int sequenceOffset, SharedNode[] children) {
+            if (this.sequenceOffset != sequenceOffset || !Objects.equals(this.repealedDate, node.getRepealedDate())
+                    || this.children.length != children.length) {
+                return false;
+            }
+            for (int i = 0; i < children.length; i++) {
+                if (this.children[i] != children[i]) {
+                    return false;
+                }
+            }
+            LawDocInfo other = node.getLawDocInfo();
+            return lawDocInfo.equals(other) && Objects.equals(lawDocInfo.getTitle(), other.getTitle()) &&
+                   lawDocInfo.getDocType() == other.getDocType() &&
+                   Objects.equals(lawDocInfo.getDocTypeId(), other.getDocTypeId());
+        }
+
+        private static LawDocInfo copyDocInfo(LawDocInfo docInfo) {
+            return new LawDocInfo(docInfo.getDocumentId(), docInfo.getLawId(), docInfo.getLocationId(),
+                    docInfo.getTitle(), docInfo.getDocType(), docInfo.getDocTypeId(), docInfo.getPublishedDate());
+        }
+    }
+}
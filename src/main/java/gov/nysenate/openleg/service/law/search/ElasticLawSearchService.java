@@ -12,6 +12,8 @@ import gov.nysenate.openleg.model.law.LawDocument;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexUpdateQueue;
+import gov.nysenate.openleg.service.base.search.SearchIndexUpdateQueueManager;
 import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
 import gov.nysenate.openleg.service.law.event.LawUpdateEvent;
 import org.elasticsearch.ElasticsearchException;
@@ -27,6 +29,7 @@ import javax.annotation.PostConstruct;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,13 +38,18 @@ public class ElasticLawSearchService implements LawSearchService, IndexedSearchS
     private static final Logger logger = LoggerFactory.getLogger(ElasticLawSearchService.class);
 
     @Autowired private EventBus eventBus;
+    @Autowired private SearchIndexUpdateQueueManager indexUpdateQueueManager;
     @Autowired private Environment env;
     @Autowired private ElasticLawSearchDao lawSearchDao;
     @Autowired private LawDataDao lawDataDao;
 
+    /** Queues updates to the index, null if updates are indexed on the posting thread. */
+    private SearchIndexUpdateQueue<String, LawDocument> updateQueue;
+
     @PostConstruct
     private void init() {
         eventBus.register(this);
+        updateQueue = indexUpdateQueueManager.createQueue(SearchIndex.LAW, LawDocument::getDocumentId, this::updateIndex);
     }
 
     /** --- LawSearchService implementation --- */
@@ -76,7 +84,7 @@ public class ElasticLawSearchService implements LawSearchService, IndexedSearchS
     @Override
     public void handleLawUpdate(LawUpdateEvent lawUpdateEvent) {
         if (lawUpdateEvent != null && lawUpdateEvent.getLawDoc() != null) {
-            updateIndex(lawUpdateEvent.getLawDoc());
+            queueIndexUpdate(Collections.singletonList(lawUpdateEvent.getLawDoc()));
         }
     }
 
@@ -85,7 +93,7 @@ public class ElasticLawSearchService implements LawSearchService, IndexedSearchS
     @Override
     public void handleBulkLawUpdate(BulkLawUpdateEvent bulkLawUpdateEvent) {
         if (bulkLawUpdateEvent != null && !bulkLawUpdateEvent.getLawDocuments().isEmpty()) {
-            updateIndex(bulkLawUpdateEvent.getLawDocuments());
+            queueIndexUpdate(bulkLawUpdateEvent.getLawDocuments());
         }
     }
 
@@ -139,4 +147,16 @@ public class ElasticLawSearchService implements LawSearchService, IndexedSearchS
             clearIndex();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Queues the given law documents to be indexed, or indexes them right away if updates are not queued.
+     */
+    private void queueIndexUpdate(Collection<LawDocument> documents) {
+        if (updateQueue != null) {
+            updateQueue.addAll(documents);
+        }
+        else {
+            updateIndex(documents);
+        }
+    }
+}
@@ -22,7 +22,8 @@ public interface ApiLogDataService
     List<ApiResponse> getResponses(Range<LocalDateTime> dateTimeRange, LimitOffset limOff, SortOrder order);
 
     /**
-     * Persist ApiLogEvent into the data store asynchronously.
+     * Persist ApiLogEvent into the data store asynchronously. Implementations may batch log entries and
+     * drop them under load rather than block the caller.
      *
      * @param apiLogEvent ApiLogEvent
      * @param emitSearchEvent boolean - set to true if a ApiLogIndexEvent should fire upon persisting.
@@ -0,0 +1,176 @@
+package gov.nysenate.openleg.service.log.data;
+
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Buffers log entries in a bounded ring buffer and writes them in batches on a dedicated thread, so that
+ * request threads only pay for an enqueue. A batch is written once it is full or the oldest entry in it has
+ * waited for the flush interval.
+ *
+ * Logging is best effort. When the buffer is full, new entries are dropped and counted rather than blocking
+ * the request thread.
+ *
+ * @param <T> The type of log entry
+ */
+public class ApiLogWriter<T>
+{
+    private static final Logger logger = LoggerFactory.getLogger(ApiLogWriter.class);
+
+    private final BlockingQueue<T> buffer;
+    private final Consumer<List<T>> batchWriter;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+
+    private volatile boolean running = true;
+
+    private final Thread worker;
+
+    /** --- Metrics --- */
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+
+    public ApiLogWriter(int capacity, int batchSize, long flushIntervalMillis, Consumer<List<T>> batchWriter) {
+        if (batchSize < 1 || capacity < batchSize) {
+            throw new IllegalArgumentException("Batch size must be positive and no greater than the capacity");
+        }
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchWriter = batchWriter;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.worker = new OpenlegThreadFactory("api-log-writer").newThread(this::run);
+        this.worker.start();
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Adds an entry to the buffer without blocking.
+     *
+     * @param entry T
+     * @return boolean - false if the entry was dropped because the buffer is full or the writer was shut down.
+     */
+    public boolean add(T entry) {
+        if (running && buffer.offer(entry)) {
+            queuedCount.incrementAndGet();
+            return true;
+        }
+        if (droppedCount.incrementAndGet() % 1000 == 1) {
+            logger.warn("Api log buffer is full, {} log entries have been dropped", droppedCount.get());
+        }
+        return false;
+    }
+
+    /**
+     * Stops accepting entries and waits for the entries that are still buffered to be written.
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** --- Internal --- */
+
+    private void run() {
+        List<T> batch = new ArrayList<>(batchSize);
+        // Once shut down, keep going until the remaining entries are written
+        while (running || !buffer.isEmpty()) {
+            try {
+                T first = buffer.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (running && batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long waitNanos = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || waitNanos <= 0) {
+                        break;
+                    }
+                    T entry = buffer.poll(waitNanos, TimeUnit.NANOSECONDS);
+                    if (entry != null) {
+                        batch.add(entry);
+                    }
+                }
+                buffer.drainTo(batch, batchSize - batch.size());
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            write(batch);
+        }
+        if (!buffer.isEmpty()) {
+            logger.warn("Api log writer stopped with {} log entries still buffered", buffer.size());
+        }
+    }
+
+    private void write(List<T> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            batchWriter.accept(batch);
+            writtenCount.addAndGet(batch.size());
+        }
+        catch (Exception ex) {
+            failedCount.addAndGet(batch.size());
+            logger.error("Failed to write a batch of " + batch.size() + " api log entries", ex);
+        }
+        finally {
+            batchCount.incrementAndGet();
+            batch.clear();
+        }
+    }
+
+    /** --- Getters --- */
+
+    /** The number of entries currently waiting to be written. */
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    /** The number of entries that were added to the buffer. */
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /** The number of entries that were dropped because the buffer was full. */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /** The number of entries that were written. */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /** The number of entries in batches that failed to be written. */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /** The number of batches that were written. */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+}
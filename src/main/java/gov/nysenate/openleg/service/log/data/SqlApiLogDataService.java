@@ -8,16 +8,19 @@ import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.log.data.ApiLogDao;
 import gov.nysenate.openleg.model.auth.ApiResponse;
 import gov.nysenate.openleg.service.log.event.ApiLogIndexEvent;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.DataAccessException;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class SqlApiLogDataService implements ApiLogDataService
@@ -27,26 +30,44 @@ public class SqlApiLogDataService implements ApiLogDataService
     @Autowired protected EventBus eventBus;
     @Autowired protected ApiLogDao apiLogDao;
 
+    /** The maximum number of log entries that can be buffered before new entries are dropped. */
+    @Value("${api.log.buffer.size:10000}")
+    private int bufferSize;
+
+    /** The maximum number of log entries that are written together. */
+    @Value("${api.log.batch.size:200}")
+    private int batchSize;
+
+    /** The maximum amount of time that a log entry waits for a full batch. */
+    @Value("${api.log.flush.interval.ms:1000}")
+    private long flushIntervalMillis;
+
+    /** Buffered responses, paired with whether they should be indexed once saved. */
+    private ApiLogWriter<Pair<ApiResponse, Boolean>> logWriter;
+
     @PostConstruct
     public void init() {
         this.eventBus.register(this);
+        this.logWriter = new ApiLogWriter<>(bufferSize, batchSize, flushIntervalMillis, this::saveApiResponses);
     }
 
-    /** {@inheritDoc} */
+    @PreDestroy
+    public void shutdown() {
+        logWriter.shutdown();
+        logger.info("Api log writer stopped after writing {} log entries in {} batches ({} failed, {} dropped)",
+                    logWriter.getWrittenCount(), logWriter.getBatchCount(), logWriter.getFailedCount(),
+                    logWriter.getDroppedCount());
+    }
+
+    /** {@inheritDoc}
+     *
+     *  The response is added to a buffer and saved along with other buffered responses on the log writer thread.
+     *  If the buffer is full the response is dropped instead of holding up the caller.
+     */
     @Override
-    @Async
     public void saveApiResponseAsync(ApiLogEvent apiLogEvent, boolean emitSearchEvent) {
-        try {
-            if (apiLogEvent != null) {
-                ApiResponse apiResponse = apiLogEvent.getApiResponse();
-                apiLogDao.saveApiResponse(apiResponse);
-                if (emitSearchEvent) {
-                    // This event should be picked up by the log indexer
-                    eventBus.post(new ApiLogIndexEvent(apiResponse));
-                }
-            }
-        } catch (DataAccessException ex) {
-            logger.error("Error while saving api req/res log.", ex);
+        if (apiLogEvent != null && apiLogEvent.getApiResponse() != null) {
+            logWriter.add(ImmutablePair.of(apiLogEvent.getApiResponse(), emitSearchEvent));
         }
     }
 
@@ -55,4 +76,21 @@ public class SqlApiLogDataService implements ApiLogDataService
     public List<ApiResponse> getResponses(Range<LocalDateTime> dateTimeRange, LimitOffset limOff, SortOrder order) {
         return apiLogDao.getResponses(dateTimeRange, limOff, order);
     }
-}
\ No newline at end of file
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Saves a batch of buffered responses and then indexes the ones that requested it with a single event.
+     */
+    private void saveApiResponses(List<Pair<ApiResponse, Boolean>> entries) {
+        apiLogDao.saveApiResponses(entries.stream().map(Pair::getLeft).collect(Collectors.toList()));
+        List<ApiResponse> indexResponses = entries.stream()
+                .filter(Pair::getRight)
+                .map(Pair::getLeft)
+                .collect(Collectors.toList());
+        if (!indexResponses.isEmpty()) {
+            // This event should be picked up by the log indexer
+            eventBus.post(new ApiLogIndexEvent(indexResponses));
+        }
+    }
+}
@@ -68,7 +68,7 @@ public class ElasticApiLogSearchService implements ApiLogSearchService
     @Subscribe
     public void handleUpdateIndexEvent(ApiLogIndexEvent apiLogIndexEvent) {
         if (apiLogIndexEvent != null) {
-            apiLogSearchDao.updateLogIndex(apiLogIndexEvent.getApiResponse());
+            apiLogSearchDao.updateLogIndex(apiLogIndexEvent.getApiResponses());
         }
     }
 
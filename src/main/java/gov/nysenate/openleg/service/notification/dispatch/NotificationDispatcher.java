@@ -1,26 +1,31 @@
 package gov.nysenate.openleg.service.notification.dispatch;
 
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Multimap;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.model.notification.*;
 import gov.nysenate.openleg.service.notification.data.NotificationService;
 import gov.nysenate.openleg.service.notification.subscription.NotificationSubscriptionDataService;
-import org.apache.commons.lang3.StringUtils;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Registers notifications posted to the event bus and sends them to their subscribers.
+ *
+ * Notifications are registered on a dedicated intake thread and then handed off to a
+ * {@link NotificationTargetQueue} for each notification target, so the thread that posted the notification
+ * (often a data processing thread) is never held up by the notification store, mail server or slack.
+ */
 @Service
 public class NotificationDispatcher {
 
@@ -41,33 +46,76 @@ public class NotificationDispatcher {
     @Autowired
     private List<NotificationSender> notificationSenders;
 
-    private ImmutableMap<NotificationTarget, NotificationSender> senderMap;
+    /** The maximum number of notifications waiting to be registered or sent through a single target. */
+    @Value("${notification.dispatch.queue.size:1000}")
+    private int queueSize;
+
+    /** The number of threads sending notifications for each target. */
+    @Value("${notification.dispatch.threads:2}")
+    private int dispatchThreads;
+
+    /** The number of times sending a notification is attempted before giving up. */
+    @Value("${notification.dispatch.max.attempts:3}")
+    private int maxAttempts;
+
+    /** The delay before a failed notification is first retried, doubled on each subsequent retry. */
+    @Value("${notification.dispatch.retry.delay.ms:2000}")
+    private long retryDelayMillis;
+
+    /** Time allowed for queued notifications to be sent on shutdown. */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private ImmutableMap<NotificationTarget, NotificationTargetQueue> targetQueues;
+
+    private ThreadPoolExecutor intakeExecutor;
+
+    private ScheduledExecutorService retryScheduler;
 
     @PostConstruct
     public void init() {
-        Map<NotificationTarget, NotificationSender> senderProtoMap = new HashMap<>();
-        notificationSenders.forEach(sender -> senderProtoMap.put(sender.getTargetType(), sender));
-        senderMap = ImmutableMap.copyOf(senderProtoMap);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(new OpenlegThreadFactory("notify-retry"));
+        Map<NotificationTarget, NotificationTargetQueue> queueProtoMap = new EnumMap<>(NotificationTarget.class);
+        notificationSenders.forEach(sender -> queueProtoMap.put(sender.getTargetType(),
+                new NotificationTargetQueue(sender, queueSize, dispatchThreads, maxAttempts, retryDelayMillis, retryScheduler)));
+        targetQueues = ImmutableMap.copyOf(queueProtoMap);
+        intakeExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new OpenlegThreadFactory("notify-intake"));
 
         eventBus.register(this);
     }
 
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        eventBus.unregister(this);
+        intakeExecutor.shutdown();
+        intakeExecutor.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        for (NotificationTargetQueue queue : targetQueues.values()) {
+            queue.shutdown(SHUTDOWN_TIMEOUT_MILLIS);
+            logger.info("{} notifications: {} sent, {} retried, {} failed, {} dropped", queue.getTarget(),
+                    queue.getSentCount(), queue.getRetriedCount(), queue.getFailedCount(), queue.getDroppedCount());
+        }
+        retryScheduler.shutdownNow();
+    }
+
     /**
-     * Sends a registered notification to all pertinent subscribers
+     * Queues a registered notification to be sent to all pertinent subscribers
      * @param notification NotificationBody
      */
-    @Async
     public void dispatchNotification(RegisteredNotification notification) {
         if (!environment.isNotificationsEnabled()) {
             return;
         }
         try {
-            Multimap<NotificationTarget, NotificationSubscription> subscriptionMap = ArrayListMultimap.create();
-            subscriptionDataService.getSubscriptions(notification.getType())
-                    .forEach(subscription -> addSubscription(subscriptionMap, subscription));
-
-            subscriptionMap.keySet().forEach(target ->
-                    senderMap.get(target).sendNotification(notification, subscriptionMap.get(target)));
+            groupSubscriptions(subscriptionDataService.getSubscriptions(notification.getType()))
+                    .forEach((target, subscriptions) -> {
+                        NotificationTargetQueue queue = targetQueues.get(target);
+                        if (queue != null) {
+                            queue.submit(notification, subscriptions);
+                        }
+                        else {
+                            logger.warn("No notification sender for target {}", target);
+                        }
+                    });
         } catch (Throwable ex) {
             handleNotificationException(ex);
         }
@@ -76,28 +124,34 @@ public class NotificationDispatcher {
     @Subscribe
     public void handleNotificationEvent(Notification notification) {
         try {
-            RegisteredNotification registeredNotification = notificationService.registerNotification(notification);
-            dispatchNotification(registeredNotification);
-        } catch (Throwable ex) {
-            handleNotificationException(ex);
+            intakeExecutor.execute(() -> {
+                try {
+                    dispatchNotification(notificationService.registerNotification(notification));
+                } catch (Throwable ex) {
+                    handleNotificationException(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            logger.warn("Dropped {} notification, the intake queue is full or shut down: {}",
+                    notification.getType(), notification.getSummary());
         }
     }
 
     /* --- Internal Methods --- */
 
     /**
-     * Adds a subscription to the specified multimap
-     * if the map does not already contain a subscription with the same address and same target
+     * Groups subscriptions by target, keeping only the first subscription for each target address
      * ensuring that a person won't get the same notification multiple times
      */
-    private void addSubscription(Multimap<NotificationTarget, NotificationSubscription> subMap,
-                                                        NotificationSubscription subscription) {
-        for (NotificationSubscription existingSub : subMap.get(subscription.getTarget())) {
-            if(StringUtils.equals(existingSub.getTargetAddress(), subscription.getTargetAddress())) {
-                return;
-            }
-        }
-        subMap.put(subscription.getTarget(), subscription);
+    static Map<NotificationTarget, Collection<NotificationSubscription>> groupSubscriptions(
+            Collection<NotificationSubscription> subscriptions) {
+        Map<NotificationTarget, Map<String, NotificationSubscription>> addressMap = new EnumMap<>(NotificationTarget.class);
+        subscriptions.forEach(subscription ->
+                addressMap.computeIfAbsent(subscription.getTarget(), target -> new LinkedHashMap<>())
+                        .putIfAbsent(subscription.getTargetAddress(), subscription));
+        Map<NotificationTarget, Collection<NotificationSubscription>> subscriptionMap = new EnumMap<>(NotificationTarget.class);
+        addressMap.forEach((target, addresses) -> subscriptionMap.put(target, addresses.values()));
+        return subscriptionMap;
     }
 
     /**
@@ -0,0 +1,174 @@
+package gov.nysenate.openleg.service.notification.dispatch;
+
+import com.google.common.collect.ImmutableList;
+import gov.nysenate.openleg.model.notification.NotificationSubscription;
+import gov.nysenate.openleg.model.notification.NotificationTarget;
+import gov.nysenate.openleg.model.notification.RegisteredNotification;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends notifications for a single notification target on its own pool of worker threads, so that a slow or
+ * unavailable mail server or slack endpoint only holds up notifications sent through that target.
+ *
+ * The number of notifications waiting to be sent is bounded; notifications submitted while the queue is full are
+ * dropped and logged. Failed sends are retried with an exponentially increasing delay up to a maximum number of
+ * attempts.
+ */
+public class NotificationTargetQueue
+{
+    private static final Logger logger = LoggerFactory.getLogger(NotificationTargetQueue.class);
+
+    /** Upper bound on the delay between retries. */
+    private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private final NotificationSender sender;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService retryScheduler;
+
+    /** --- Metrics --- */
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong retriedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * @param sender NotificationSender - Sends the notifications for this queue's target
+     * @param capacity int - The maximum number of notifications waiting to be sent
+     * @param threads int - The number of worker threads
+     * @param maxAttempts int - The number of times a notification is sent before giving up
+     * @param retryDelayMillis long - The delay before the first retry, doubled for each subsequent retry
+     * @param retryScheduler ScheduledExecutorService - Used to resubmit failed notifications after the retry delay
+     */
+    public NotificationTargetQueue(NotificationSender sender, int capacity, int threads, int maxAttempts,
+                                   long retryDelayMillis, ScheduledExecutorService retryScheduler) {
+        if (capacity < 1 || threads < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Capacity, threads and max attempts must all be positive");
+        }
+        this.sender = sender;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+        this.retryScheduler = retryScheduler;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                new OpenlegThreadFactory("notify-" + sender.getTargetType().name().toLowerCase()));
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Queues the notification to be sent to the given subscriptions.
+     *
+     * @param notification RegisteredNotification
+     * @param subscriptions Collection<NotificationSubscription>
+     * @return boolean - false if the notification was dropped because the queue is full or shut down
+     */
+    public boolean submit(RegisteredNotification notification, Collection<NotificationSubscription> subscriptions) {
+        return submit(new SendTask(notification, ImmutableList.copyOf(subscriptions)));
+    }
+
+    /**
+     * Stops accepting notifications and waits for the queued notifications to be sent.
+     *
+     * @param timeoutMillis long - The maximum time to wait
+     * @return boolean - true if all queued notifications were handled before the timeout
+     */
+    public boolean shutdown(long timeoutMillis) throws InterruptedException {
+        executor.shutdown();
+        return executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** --- Internal --- */
+
+    private boolean submit(SendTask task) {
+        try {
+            executor.execute(task);
+            return true;
+        }
+        catch (RejectedExecutionException ex) {
+            droppedCount.incrementAndGet();
+            logger.warn("Dropped {} notification #{}, the queue is full or shut down",
+                    getTarget(), task.notification.getId());
+            return false;
+        }
+    }
+
+    private void handleFailure(SendTask task, Throwable ex) {
+        if (task.attempt < maxAttempts) {
+            long delay = Math.min(retryDelayMillis << (task.attempt - 1), MAX_RETRY_DELAY_MILLIS);
+            task.attempt++;
+            try {
+                retryScheduler.schedule(() -> submit(task), delay, TimeUnit.MILLISECONDS);
+                retriedCount.incrementAndGet();
+                logger.warn("Failed to send {} notification #{}, retrying in {} ms: {}",
+                        getTarget(), task.notification.getId(), delay, ex.getMessage());
+                return;
+            }
+            catch (RejectedExecutionException ignored) {
+                // Shutting down, so the retry is abandoned
+            }
+        }
+        failedCount.incrementAndGet();
+        logger.error("Failed to send " + getTarget() + " notification #" + task.notification.getId() +
+                " after " + task.attempt + " attempt(s)", ex);
+    }
+
+    private class SendTask implements Runnable
+    {
+        private final RegisteredNotification notification;
+        private final ImmutableList<NotificationSubscription> subscriptions;
+        private volatile int attempt = 1;
+
+        public SendTask(RegisteredNotification notification, ImmutableList<NotificationSubscription> subscriptions) {
+            this.notification = notification;
+            this.subscriptions = subscriptions;
+        }
+
+        @Override
+        public void run() {
+            try {
+                sender.sendNotification(notification, subscriptions);
+                sentCount.incrementAndGet();
+            }
+            catch (Throwable ex) {
+                handleFailure(this, ex);
+            }
+        }
+    }
+
+    /** --- Getters --- */
+
+    public NotificationTarget getTarget() {
+        return sender.getTargetType();
+    }
+
+    /** @return int - The number of notifications waiting to be sent */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getRetriedCount() {
+        return retriedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
@@ -0,0 +1,268 @@
+package gov.nysenate.openleg.service.pdf;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.client.view.bill.BillPdfView;
+import gov.nysenate.openleg.client.view.hearing.PublicHearingPdfView;
+import gov.nysenate.openleg.client.view.transcript.TranscriptPdfView;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import gov.nysenate.openleg.model.hearing.PublicHearing;
+import gov.nysenate.openleg.model.hearing.PublicHearingId;
+import gov.nysenate.openleg.model.transcript.Transcript;
+import gov.nysenate.openleg.model.transcript.TranscriptId;
+import gov.nysenate.openleg.service.bill.event.BillFieldUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.service.hearing.event.BulkPublicHearingUpdateEvent;
+import gov.nysenate.openleg.service.hearing.event.PublicHearingUpdateEvent;
+import gov.nysenate.openleg.service.transcript.event.BulkTranscriptUpdateEvent;
+import gov.nysenate.openleg.service.transcript.event.TranscriptUpdateEvent;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.pdfbox.exceptions.COSVisitorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Writes bill, transcript and public hearing pdfs to http responses, keeping each rendered pdf on disk
+ * (see {@link PdfFileStore}) so that repeated requests for unchanged content are served straight from the file.
+ *
+ * Cached pdfs are keyed by content id and a hash of the text they were rendered from and are removed when their
+ * content is updated. Where the servlet container supports it (Tomcat's sendfile), the file is handed to the
+ * container to be sent without being read into the jvm, otherwise it is transferred from a file channel.
+ * The container opens the file after the request has been handled, which is safe because the file store only
+ * deletes evicted pdfs after a delay. Evicted pdfs are deleted every minute even if no pdfs are being requested.
+ */
+@Service
+public class PdfArtifactCache
+{
+    private static final Logger logger = LoggerFactory.getLogger(PdfArtifactCache.class);
+
+    private static final String PDF_CONTENT_TYPE = "application/pdf";
+
+    /** Change this whenever the pdf views change their output, so that pdfs cached by older versions are not used. */
+    private static final String RENDER_VERSION = "1";
+
+    private static final String BILL_TYPE = "bill";
+    private static final String TRANSCRIPT_TYPE = "transcript";
+    private static final String HEARING_TYPE = "hearing";
+
+    /** Request attributes used by Tomcat to send a file after the request has been handled. */
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    @Autowired private Environment env;
+    @Autowired private EventBus eventBus;
+
+    @Value("${pdf.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${pdf.cache.dir:}")
+    private String cacheDir;
+
+    @Value("${pdf.cache.size.mb:1024}")
+    private long cacheSizeMb;
+
+    /** Null when the cache is disabled. */
+    private PdfFileStore fileStore;
+
+    @PostConstruct
+    public void init() {
+        eventBus.register(this);
+        if (!cacheEnabled) {
+            return;
+        }
+        Path baseDir = StringUtils.isBlank(cacheDir)
+                ? env.getBaseDir().toPath().resolve("cache").resolve("pdf")
+                : Paths.get(cacheDir);
+        PdfFileStore store = new PdfFileStore(baseDir, cacheSizeMb * 1024 * 1024);
+        try {
+            store.load();
+            fileStore = store;
+        }
+        catch (IOException ex) {
+            logger.error("Could not load the pdf cache from " + baseDir + ", pdfs will not be cached", ex);
+        }
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Writes the pdf of the given bill amendment's full text to the response.
+     *
+     * @param bill Bill
+     * @param version Version - The amendment to write
+     */
+    public void writeBillPdf(Bill bill, Version version, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, COSVisitorException {
+        BillAmendment amendment = bill.getAmendment(version);
+        String fingerprint = version + "\n" + bill.isResolution() + "\n" + Objects.toString(amendment.getFullText(), "");
+        writePdf(BILL_TYPE, getBillContentId(bill.getBaseBillId()), fingerprint,
+                out -> BillPdfView.writeBillPdf(bill, version, out), request, response);
+    }
+
+    /**
+     * Writes the pdf of the given transcript to the response.
+     *
+     * @param transcript Transcript
+     */
+    public void writeTranscriptPdf(Transcript transcript, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, COSVisitorException {
+        String fingerprint = transcript.getDateTime() + "\n" + Objects.toString(transcript.getText(), "");
+        writePdf(TRANSCRIPT_TYPE, getTranscriptContentId(transcript.getTranscriptId()), fingerprint,
+                out -> TranscriptPdfView.writeTranscriptPdf(transcript, out), request, response);
+    }
+
+    /**
+     * Writes the pdf of the given public hearing to the response.
+     *
+     * @param hearing PublicHearing
+     */
+    public void writePublicHearingPdf(PublicHearing hearing, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, COSVisitorException {
+        writePdf(HEARING_TYPE, getHearingContentId(hearing.getId()), Objects.toString(hearing.getText(), ""),
+                out -> PublicHearingPdfView.writePublicHearingPdf(hearing, out), request, response);
+    }
+
+    /**
+     * Removes all cached pdfs.
+     */
+    public void clear() {
+        if (fileStore != null) {
+            fileStore.clear();
+        }
+    }
+
+    /**
+     * Deletes the cached pdfs that were evicted long enough ago that they are no longer being sent.
+     */
+    @Scheduled(cron = "0 */1 * * * *")
+    public void deleteEvictedPdfs() {
+        if (fileStore != null) {
+            fileStore.deleteEvictedPdfs();
+        }
+    }
+
+    /** --- Event Handlers --- */
+
+    @Subscribe
+    public void handleBillUpdate(BillUpdateEvent event) {
+        evict(BILL_TYPE, getBillContentId(event.getBill().getBaseBillId()));
+    }
+
+    @Subscribe
+    public void handleBulkBillUpdate(BulkBillUpdateEvent event) {
+        event.getBills().forEach(bill -> evict(BILL_TYPE, getBillContentId(bill.getBaseBillId())));
+    }
+
+    @Subscribe
+    public void handleBillFieldUpdate(BillFieldUpdateEvent event) {
+        evict(BILL_TYPE, getBillContentId(event.getBillId()));
+    }
+
+    @Subscribe
+    public void handleTranscriptUpdate(TranscriptUpdateEvent event) {
+        evict(TRANSCRIPT_TYPE, getTranscriptContentId(event.getTranscript().getTranscriptId()));
+    }
+
+    @Subscribe
+    public void handleBulkTranscriptUpdate(BulkTranscriptUpdateEvent event) {
+        event.getTranscripts().forEach(transcript ->
+                evict(TRANSCRIPT_TYPE, getTranscriptContentId(transcript.getTranscriptId())));
+    }
+
+    @Subscribe
+    public void handlePublicHearingUpdate(PublicHearingUpdateEvent event) {
+        evict(HEARING_TYPE, getHearingContentId(event.getPublicHearing().getId()));
+    }
+
+    @Subscribe
+    public void handleBulkPublicHearingUpdate(BulkPublicHearingUpdateEvent event) {
+        event.getPublicHearings().forEach(hearing -> evict(HEARING_TYPE, getHearingContentId(hearing.getId())));
+    }
+
+    /** --- Internal --- */
+
+    private void writePdf(String type, String contentId, String fingerprint, PdfRenderer renderer,
+                          HttpServletRequest request, HttpServletResponse response)
+            throws IOException, COSVisitorException {
+        if (fileStore == null) {
+            ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
+            renderer.render(pdfBytes);
+            response.setContentType(PDF_CONTENT_TYPE);
+            response.setContentLength(pdfBytes.size());
+            pdfBytes.writeTo(response.getOutputStream());
+            return;
+        }
+        fingerprint = RENDER_VERSION + "\n" + fingerprint;
+        try {
+            sendPdfFile(fileStore.getPdf(type, contentId, fingerprint, renderer), request, response);
+        }
+        catch (NoSuchFileException ex) {
+            // The pdf was evicted before it could be sent, in which case it is rendered again
+            sendPdfFile(fileStore.getPdf(type, contentId, fingerprint, renderer), request, response);
+        }
+    }
+
+    private static void sendPdfFile(Path pdfFile, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(pdfFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentType(PDF_CONTENT_TYPE);
+            response.setContentLengthLong(size);
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+                request.setAttribute(SENDFILE_FILENAME_ATTR, pdfFile.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START_ATTR, 0L);
+                request.setAttribute(SENDFILE_END_ATTR, size);
+                return;
+            }
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    private void evict(String type, String contentId) {
+        if (fileStore != null) {
+            fileStore.evictContent(type, contentId);
+        }
+    }
+
+    private static String getBillContentId(BaseBillId baseBillId) {
+        return baseBillId.getBasePrintNo() + "-" + baseBillId.getSession().getYear();
+    }
+
+    private static String getTranscriptContentId(TranscriptId transcriptId) {
+        return transcriptId.getFilename();
+    }
+
+    private static String getHearingContentId(PublicHearingId hearingId) {
+        return hearingId.getFileName();
+    }
+}
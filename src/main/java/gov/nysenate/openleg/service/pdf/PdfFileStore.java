@@ -0,0 +1,297 @@
+package gov.nysenate.openleg.service.pdf;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.Striped;
+import org.apache.pdfbox.exceptions.COSVisitorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores generated pdfs on disk so that they are only rendered once for a given version of their content.
+ *
+ * Files are laid out as {base dir}/{type}/{content id}/{fingerprint hash}.pdf, where the fingerprint is built by the
+ * caller from everything that affects the rendered pdf (typically the content's text). Changed content hashes to a
+ * new file, so a stale pdf is never served even if an update was missed; the old files are removed when the content
+ * is evicted or once they become the least recently used files after the store grows past its maximum size.
+ *
+ * Pdfs are rendered to a temporary file and moved into place, so a partially written pdf is never visible.
+ * Concurrent requests for the same missing pdf render it once.
+ *
+ * Evicted pdfs are only deleted once a delay has passed, since a path returned by {@link #getPdf} may still be
+ * opened after the pdf is evicted, e.g. by the servlet container when the file is sent with sendfile.
+ * Deletions are carried out as pdfs are rendered and evicted, and by calling {@link #deleteEvictedPdfs()}.
+ */
+public class PdfFileStore
+{
+    private static final Logger logger = LoggerFactory.getLogger(PdfFileStore.class);
+
+    private static final String PDF_EXT = ".pdf";
+    private static final String TEMP_EXT = ".tmp";
+
+    /** Evicted pdfs are kept for this long by default before they are deleted. */
+    public static final long DEFAULT_DELETE_DELAY_MILLIS = 60_000;
+
+    private final Path baseDir;
+    private final long maxBytes;
+    private final long deleteDelayNanos;
+
+    /** Size of each stored pdf, in least recently used order. Guarded by itself. */
+    private final LinkedHashMap<Path, Long> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes = 0;
+
+    /** The stored pdfs in each content directory, so that a content's pdfs are found without a scan of the index.
+     *  Guarded by the index. */
+    private final SetMultimap<Path, Path> contentFiles = HashMultimap.create();
+
+    /** The time (System.nanoTime) that each evicted pdf was evicted at, oldest first. Guarded by the index. */
+    private final LinkedHashMap<Path, Long> evicted = new LinkedHashMap<>();
+
+    /** Serializes the rendering of each pdf. */
+    private final Striped<Lock> renderLocks = Striped.lock(64);
+
+    /**
+     * @param baseDir Path - Directory that holds the pdfs
+     * @param maxBytes long - The total size of the stored pdfs is kept under this limit
+     */
+    public PdfFileStore(Path baseDir, long maxBytes) {
+        this(baseDir, maxBytes, DEFAULT_DELETE_DELAY_MILLIS);
+    }
+
+    /**
+     * @param baseDir Path - Directory that holds the pdfs
+     * @param maxBytes long - The total size of the stored pdfs is kept under this limit
+     * @param deleteDelayMillis long - Evicted pdfs are deleted once they have been evicted for this long
+     */
+    public PdfFileStore(Path baseDir, long maxBytes, long deleteDelayMillis) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("The max size of the pdf store must be positive");
+        }
+        if (deleteDelayMillis < 0) {
+            throw new IllegalArgumentException("The delete delay of the pdf store cannot be negative");
+        }
+        this.baseDir = baseDir;
+        this.maxBytes = maxBytes;
+        this.deleteDelayNanos = TimeUnit.MILLISECONDS.toNanos(deleteDelayMillis);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Indexes the pdfs left in the base directory by a previous run, oldest first, and removes any
+     * temporary files from renders that did not complete.
+     */
+    public void load() throws IOException {
+        Files.createDirectories(baseDir);
+        List<Path> pdfFiles;
+        try (Stream<Path> files = Files.find(baseDir, 3, (path, attrs) -> attrs.isRegularFile())) {
+            pdfFiles = files.collect(Collectors.toList());
+        }
+        Map<Path, BasicFileAttributes> pdfAttrs = new HashMap<>();
+        for (Path file : pdfFiles) {
+            if (file.getFileName().toString().endsWith(TEMP_EXT)) {
+                Files.deleteIfExists(file);
+            }
+            else if (file.getFileName().toString().endsWith(PDF_EXT)) {
+                pdfAttrs.put(file, Files.readAttributes(file, BasicFileAttributes.class));
+            }
+        }
+        synchronized (index) {
+            pdfAttrs.entrySet().stream()
+                    .sorted(Comparator.comparing(entry -> entry.getValue().lastModifiedTime()))
+                    .forEach(entry -> addToIndex(entry.getKey(), entry.getValue().size()));
+            evictOverflow();
+            deleteEvicted();
+            logger.info("Loaded {} cached pdfs ({} bytes) from {}", index.size(), totalBytes, baseDir);
+        }
+    }
+
+    /**
+     * Gets the stored pdf for the given content and fingerprint, rendering and storing it first if necessary.
+     *
+     * @param type String - The type of content, e.g. 'bill'
+     * @param contentId String - Identifies the content within its type
+     * @param fingerprint String - Identifies the version of the content, changes whenever the pdf would change
+     * @param renderer PdfRenderer - Renders the pdf if it is not stored
+     * @return Path - The pdf file
+     */
+    public Path getPdf(String type, String contentId, String fingerprint, PdfRenderer renderer)
+            throws IOException, COSVisitorException {
+        Path pdfFile = getContentDir(type, contentId).resolve(hash(type, contentId, fingerprint) + PDF_EXT);
+        if (isStored(pdfFile)) {
+            return pdfFile;
+        }
+        Lock lock = renderLocks.get(pdfFile);
+        lock.lock();
+        try {
+            if (!isStored(pdfFile)) {
+                render(pdfFile, renderer);
+            }
+            return pdfFile;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evicts every stored pdf of the given content.
+     *
+     * @param type String
+     * @param contentId String
+     */
+    public void evictContent(String type, String contentId) {
+        Path contentDir = getContentDir(type, contentId);
+        synchronized (index) {
+            new ArrayList<>(contentFiles.get(contentDir)).forEach(this::removeFromIndex);
+            deleteEvicted();
+        }
+    }
+
+    /**
+     * Evicts all stored pdfs.
+     */
+    public void clear() {
+        synchronized (index) {
+            new ArrayList<>(index.keySet()).forEach(this::removeFromIndex);
+            deleteEvicted();
+        }
+    }
+
+    /**
+     * Deletes the evicted pdfs whose delete delay has passed. This should be called periodically so that evicted
+     * pdfs are deleted even when no pdfs are being rendered or evicted.
+     */
+    public void deleteEvictedPdfs() {
+        synchronized (index) {
+            deleteEvicted();
+        }
+    }
+
+    /** --- Internal --- */
+
+    private boolean isStored(Path pdfFile) {
+        synchronized (index) {
+            return index.get(pdfFile) != null;
+        }
+    }
+
+    private void render(Path pdfFile, PdfRenderer renderer) throws IOException, COSVisitorException {
+        Path contentDir = pdfFile.getParent();
+        Files.createDirectories(contentDir);
+        Path tempFile = Files.createTempFile(contentDir, "render", TEMP_EXT);
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                renderer.render(outputStream);
+            }
+            Files.move(tempFile, pdfFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        finally {
+            Files.deleteIfExists(tempFile);
+        }
+        long size = Files.size(pdfFile);
+        synchronized (index) {
+            addToIndex(pdfFile, size);
+            evictOverflow();
+            deleteEvicted();
+        }
+    }
+
+    /** Removes the least recently used pdfs until the store is within its size limit, always keeping the newest. */
+    private void evictOverflow() {
+        Iterator<Map.Entry<Path, Long>> lruFiles = index.entrySet().iterator();
+        List<Path> overflow = new ArrayList<>();
+        long remainingBytes = totalBytes;
+        while (remainingBytes > maxBytes && index.size() - overflow.size() > 1) {
+            Map.Entry<Path, Long> file = lruFiles.next();
+            remainingBytes -= file.getValue();
+            overflow.add(file.getKey());
+        }
+        overflow.forEach(this::removeFromIndex);
+    }
+
+    /** Deletes the pdfs that have been evicted for longer than the delete delay. */
+    private void deleteEvicted() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path, Long>> evictedFiles = evicted.entrySet().iterator();
+        while (evictedFiles.hasNext()) {
+            Map.Entry<Path, Long> file = evictedFiles.next();
+            if (now - file.getValue() < deleteDelayNanos) {
+                break;
+            }
+            evictedFiles.remove();
+            try {
+                Files.deleteIfExists(file.getKey());
+            }
+            catch (IOException ex) {
+                logger.warn("Failed to delete cached pdf {}: {}", file.getKey(), ex.getMessage());
+            }
+        }
+    }
+
+    /** A pdf that is stored again after being evicted is no longer deleted. */
+    private void addToIndex(Path pdfFile, long size) {
+        evicted.remove(pdfFile);
+        Long previousSize = index.put(pdfFile, size);
+        totalBytes += size - (previousSize != null ? previousSize : 0);
+        contentFiles.put(pdfFile.getParent(), pdfFile);
+    }
+
+    /** Removes the pdf from the index and schedules its file to be deleted, see {@link #deleteEvicted()}. */
+    private void removeFromIndex(Path pdfFile) {
+        Long size = index.remove(pdfFile);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        contentFiles.remove(pdfFile.getParent(), pdfFile);
+        evicted.remove(pdfFile);
+        evicted.put(pdfFile, System.nanoTime());
+    }
+
+    private Path getContentDir(String type, String contentId) {
+        return baseDir.resolve(type).resolve(contentId.replaceAll("[^A-Za-z0-9_-]", "_"));
+    }
+
+    /** The hash also covers the unsanitized id, since different ids may share a content directory. */
+    private static String hash(String type, String contentId, String fingerprint) {
+        return Hashing.sha1().newHasher()
+                .putString(type, StandardCharsets.UTF_8).putChar('\n')
+                .putString(contentId, StandardCharsets.UTF_8).putChar('\n')
+                .putString(fingerprint, StandardCharsets.UTF_8)
+                .hash().toString();
+    }
+
+    /** --- Getters --- */
+
+    public Path getBaseDir() {
+        return baseDir;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getTotalBytes() {
+        synchronized (index) {
+            return totalBytes;
+        }
+    }
+
+    public int getFileCount() {
+        synchronized (index) {
+            return index.size();
+        }
+    }
+}
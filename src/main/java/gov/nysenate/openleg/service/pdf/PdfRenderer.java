@@ -0,0 +1,15 @@
+package gov.nysenate.openleg.service.pdf;
+
+import org.apache.pdfbox.exceptions.COSVisitorException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a generated pdf to the given stream, e.g. a call to one of the pdf views.
+ */
+@FunctionalInterface
+public interface PdfRenderer
+{
+    void render(OutputStream outputStream) throws IOException, COSVisitorException;
+}
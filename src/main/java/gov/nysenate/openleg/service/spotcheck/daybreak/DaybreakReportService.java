@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.service.spotcheck.daybreak;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
 import com.google.common.collect.Sets;
 import gov.nysenate.openleg.dao.base.LimitOffset;
@@ -38,6 +39,9 @@ public class DaybreakReportService extends BaseSpotCheckReportService<BillId>
 {
     private static final Logger logger = LoggerFactory.getLogger(DaybreakReportService.class);
 
+    /** The number of bills that are fetched at a time when checking bills. */
+    private static final int CHECK_PAGE_SIZE = 100;
+
     @Autowired
     private DaybreakCheckService daybreakCheckService;
 
@@ -116,13 +120,27 @@ public class DaybreakReportService extends BaseSpotCheckReportService<BillId>
                     }
                 });
 
-        // Perform actual spot checks for the bills common to both sets
-        daybreakBills.stream()
+        // Perform actual spot checks for the bills common to both sets, fetching the bills a page at a time
+        List<DaybreakBill> commonBills = daybreakBills.stream()
             .filter(daybreakBill -> openlegBillIds.contains(daybreakBill.getBaseBillId()))
-            .forEach(daybreakBill -> {
-                Bill bill = billDataService.getBill(daybreakBill.getBaseBillId());
-                report.addObservation(daybreakCheckService.check(bill, daybreakBill));
+            .collect(Collectors.toList());
+        for (List<DaybreakBill> daybreakPage : Lists.partition(commonBills, CHECK_PAGE_SIZE)) {
+            Map<BaseBillId, Bill> bills = new HashMap<>();
+            billDataService.getBills(daybreakPage.stream().map(DaybreakBill::getBaseBillId).collect(Collectors.toList()))
+                .forEach(bill -> bills.put(bill.getBaseBillId(), bill));
+            daybreakPage.forEach(daybreakBill -> {
+                Bill bill = bills.get(daybreakBill.getBaseBillId());
+                if (bill == null) {
+                    // The bill was removed after the openleg bill ids were listed
+                    logger.info("Missing OpenLeg bill {}", daybreakBill.getBaseBillId());
+                    recordMismatch(report, new SpotCheckObservation<>(refId, daybreakBill.getBaseBillId()),
+                                   new SpotCheckMismatch(OBSERVE_DATA_MISSING, "", ""));
+                }
+                else {
+                    report.addObservation(daybreakCheckService.check(bill, daybreakBill));
+                }
             });
+        }
         // Set the report as being checked
         daybreakDao.updateDaybreakReportSetChecked(report.getReferenceDateTime().toLocalDate(), true);
         // Done with this report!
@@ -17,7 +17,6 @@ import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDump;
 import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDumpId;
 import gov.nysenate.openleg.model.spotcheck.senatesite.bill.SenateSiteBill;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
-import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
 import gov.nysenate.openleg.service.spotcheck.base.BaseSpotCheckReportService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,10 +69,9 @@ public class BillReportService extends BaseSpotCheckReportService<BillId> {
             logger.info("got {} updated bill ids", updatedBillIds.size());
             Map<BaseBillId, Bill> updatedBills = new LinkedHashMap<>();
             logger.info("retrieving bills");
+            billDataService.getBills(updatedBillIds).forEach(bill -> updatedBills.put(bill.getBaseBillId(), bill));
             for (BaseBillId billId : updatedBillIds) {
-                try {
-                    updatedBills.put(billId, billDataService.getBill(billId));
-                } catch (BillNotFoundEx ex) {
+                if (!updatedBills.containsKey(billId)) {
                     SpotCheckObservation<BillId> observation = new SpotCheckObservation<>(reportId.getReferenceId(), billId);
                     observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", billId));
                     report.addObservation(observation);
@@ -69,7 +69,7 @@ public class CalendarCheckServices extends BaseSpotCheckService<CalendarEntryLis
         List<CalendarEntryView> calendarEntryViews = content.getActiveLists().getItems()
                 .get(reference.getSequenceNo())
                 .getEntries()
-                .getItems().asList();
+                .getItems();
         List<CalendarEntry> refCalEntries = getCalEntry(reference);
         List<CalendarEntryView> refCalEntryViews = getCalEntryView(refCalEntries);
         checkCollection(calendarEntryViews, refCalEntryViews, observation, SpotCheckMismatchType.ACTIVE_LIST_ENTRY, this::calEntryViewDiffString,"\n");
@@ -0,0 +1,93 @@
+package gov.nysenate.openleg.service.updates;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.client.view.updates.UpdateStreamReplayView;
+import gov.nysenate.openleg.client.view.updates.UpdateStreamTokenView;
+import gov.nysenate.openleg.model.updates.UpdateStreamTopic;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns stream positions to update tokens and holds on to the most recent tokens so that clients can replay
+ * the updates they missed while disconnected.
+ *
+ * Positions increase by one for each token and are only meaningful within a single stream, which is identified
+ * by a stream id that changes whenever the application is restarted.
+ */
+public class UpdateStreamBuffer
+{
+    private final String streamId;
+    private final int capacity;
+
+    /** The most recent tokens, oldest first. */
+    private final ArrayDeque<UpdateStreamTokenView> tokens;
+
+    private long lastPosition = 0;
+
+    public UpdateStreamBuffer(String streamId, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Update stream buffer capacity must be positive");
+        }
+        this.streamId = streamId;
+        this.capacity = capacity;
+        this.tokens = new ArrayDeque<>(capacity);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Creates a token at the next stream position and adds it to the buffer, discarding the oldest token
+     * if the buffer is full.
+     *
+     * @param topic UpdateStreamTopic
+     * @param id ViewObject - id of the updated content
+     * @param processedDateTime LocalDateTime - when the update was processed
+     * @return UpdateStreamTokenView
+     */
+    public synchronized UpdateStreamTokenView append(UpdateStreamTopic topic, ViewObject id,
+                                                     LocalDateTime processedDateTime) {
+        UpdateStreamTokenView token = new UpdateStreamTokenView(streamId, ++lastPosition, topic, id, processedDateTime);
+        if (tokens.size() == capacity) {
+            tokens.removeFirst();
+        }
+        tokens.addLast(token);
+        return token;
+    }
+
+    /**
+     * Gets the buffered tokens that were published after the given position.
+     * The replay is incomplete if the client's stream id doesn't match (the application was restarted) or tokens
+     * following the given position have already been discarded.
+     *
+     * @param clientStreamId String - the stream id of the last token received by the client, null if none
+     * @param afterPosition long - the position of the last token received by the client
+     * @param topics Set<UpdateStreamTopic> - only tokens of these topics are replayed
+     * @return UpdateStreamReplayView
+     */
+    public synchronized UpdateStreamReplayView replay(String clientStreamId, long afterPosition,
+                                                      Set<UpdateStreamTopic> topics) {
+        boolean sameStream = streamId.equals(clientStreamId) && afterPosition <= lastPosition;
+        long from = sameStream ? afterPosition : 0;
+        long firstBuffered = tokens.isEmpty() ? lastPosition + 1 : tokens.getFirst().getPosition();
+        boolean complete = sameStream && firstBuffered <= from + 1;
+        List<UpdateStreamTokenView> replayed = tokens.stream()
+                .filter(token -> token.getPosition() > from)
+                .filter(token -> topics.contains(UpdateStreamTopic.valueOf(token.getContentType())))
+                .collect(Collectors.toList());
+        return new UpdateStreamReplayView(streamId, lastPosition, complete, replayed);
+    }
+
+    /** --- Getters --- */
+
+    public String getStreamId() {
+        return streamId;
+    }
+
+    public synchronized long getLastPosition() {
+        return lastPosition;
+    }
+}
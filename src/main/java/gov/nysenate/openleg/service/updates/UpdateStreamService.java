@@ -0,0 +1,196 @@
+package gov.nysenate.openleg.service.updates;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.client.view.agenda.AgendaIdView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.client.view.bill.BaseBillIdView;
+import gov.nysenate.openleg.client.view.calendar.CalendarIdView;
+import gov.nysenate.openleg.client.view.law.LawDocIdView;
+import gov.nysenate.openleg.client.view.law.LawVersionIdView;
+import gov.nysenate.openleg.client.view.transcript.TranscriptIdView;
+import gov.nysenate.openleg.client.view.updates.UpdateStreamReplayView;
+import gov.nysenate.openleg.client.view.updates.UpdateStreamTokenView;
+import gov.nysenate.openleg.model.law.LawVersionId;
+import gov.nysenate.openleg.model.updates.UpdateStreamTopic;
+import gov.nysenate.openleg.service.agenda.event.AgendaUpdateEvent;
+import gov.nysenate.openleg.service.agenda.event.BulkAgendaUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.service.calendar.event.BulkCalendarUpdateEvent;
+import gov.nysenate.openleg.service.calendar.event.CalendarUpdateEvent;
+import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
+import gov.nysenate.openleg.service.law.event.LawUpdateEvent;
+import gov.nysenate.openleg.service.transcript.event.BulkTranscriptUpdateEvent;
+import gov.nysenate.openleg.service.transcript.event.TranscriptUpdateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Publishes content updates over STOMP as they are processed, so that clients can be notified of updates without
+ * polling the /updates api.
+ *
+ * Each update is published as a compact token on the destination for its topic (see {@link UpdateStreamTopic}).
+ * Api clients receive the tokens through the public endpoint described in
+ * {@link gov.nysenate.openleg.controller.api.update.UpdateStreamCtrl}.
+ * Tokens carry a stream position; a client that reconnects can subscribe to /app/updates/replay/{streamId}/{position}
+ * to receive the buffered tokens it missed.
+ */
+@Service
+public class UpdateStreamService
+{
+    private static final Logger logger = LoggerFactory.getLogger(UpdateStreamService.class);
+
+    @Autowired private EventBus eventBus;
+    @Autowired private SimpMessagingTemplate messagingTemplate;
+    @Autowired private ObjectMapper objectMapper;
+
+    @Value("${update.stream.enabled:true}") private boolean enabled;
+    @Value("${update.stream.replay.size:10000}") private int replaySize;
+
+    private UpdateStreamBuffer buffer;
+
+    /** Held while tokens are appended and sent, so that tokens are sent in position order. */
+    private final Lock sendLock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        buffer = new UpdateStreamBuffer(Long.toString(System.currentTimeMillis(), 36), replaySize);
+        if (enabled) {
+            eventBus.register(this);
+        }
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @see UpdateStreamBuffer#replay(String, long, Set)
+     */
+    public UpdateStreamReplayView getReplay(String streamId, long afterPosition, Set<UpdateStreamTopic> topics) {
+        return buffer.replay(streamId, afterPosition, topics);
+    }
+
+    /**
+     * Converts a view to json using the application's object mapper so that tokens sent over STOMP are formatted
+     * the same way as api responses.
+     */
+    public JsonNode toJson(ViewObject view) {
+        return objectMapper.valueToTree(view);
+    }
+
+    /** --- Event Handlers --- */
+
+    @Subscribe
+    public void handleBillUpdate(BillUpdateEvent event) {
+        publish(UpdateStreamTopic.BILL, event.getUpdateDateTime(),
+                Stream.of(new BaseBillIdView(event.getBill().getBaseBillId())));
+    }
+
+    @Subscribe
+    public void handleBulkBillUpdate(BulkBillUpdateEvent event) {
+        publish(UpdateStreamTopic.BILL, event.getUpdateDateTime(),
+                event.getBills().stream().map(bill -> new BaseBillIdView(bill.getBaseBillId())));
+    }
+
+    @Subscribe
+    public void handleAgendaUpdate(AgendaUpdateEvent event) {
+        publish(UpdateStreamTopic.AGENDA, event.getUpdateDateTime(),
+                Stream.of(new AgendaIdView(event.getAgenda().getId())));
+    }
+
+    @Subscribe
+    public void handleBulkAgendaUpdate(BulkAgendaUpdateEvent event) {
+        publish(UpdateStreamTopic.AGENDA, event.getUpdateDateTime(),
+                event.getAgendas().stream().map(agenda -> new AgendaIdView(agenda.getId())));
+    }
+
+    @Subscribe
+    public void handleCalendarUpdate(CalendarUpdateEvent event) {
+        publish(UpdateStreamTopic.CALENDAR, event.getUpdateDateTime(),
+                Stream.of(new CalendarIdView(event.getCalendar().getId())));
+    }
+
+    @Subscribe
+    public void handleBulkCalendarUpdate(BulkCalendarUpdateEvent event) {
+        publish(UpdateStreamTopic.CALENDAR, event.getUpdateDateTime(),
+                event.getCalendars().stream().map(calendar -> new CalendarIdView(calendar.getId())));
+    }
+
+    @Subscribe
+    public void handleLawUpdate(LawUpdateEvent event) {
+        publish(UpdateStreamTopic.LAW, event.getUpdateDateTime(), Stream.of(new LawDocIdView(event.getLawDoc())));
+    }
+
+    /** Bulk law updates can contain thousands of documents, so a single token is published per law version. */
+    @Subscribe
+    public void handleBulkLawUpdate(BulkLawUpdateEvent event) {
+        publish(UpdateStreamTopic.LAW, event.getUpdateDateTime(),
+                event.getLawDocuments().stream()
+                        .map(doc -> new LawVersionId(doc.getLawId(), doc.getPublishedDate()))
+                        .distinct()
+                        .map(LawVersionIdView::new));
+    }
+
+    @Subscribe
+    public void handleTranscriptUpdate(TranscriptUpdateEvent event) {
+        publish(UpdateStreamTopic.TRANSCRIPT, event.getUpdateDateTime(),
+                Stream.of(new TranscriptIdView(event.getTranscript().getTranscriptId())));
+    }
+
+    @Subscribe
+    public void handleBulkTranscriptUpdate(BulkTranscriptUpdateEvent event) {
+        publish(UpdateStreamTopic.TRANSCRIPT, event.getUpdateDateTime(),
+                event.getTranscripts().stream().map(transcript -> new TranscriptIdView(transcript.getTranscriptId())));
+    }
+
+    /** --- Internal --- */
+
+    /**
+     * Appends a token for each id to the buffer and sends it to the topic's destination.
+     * Publishers take turns on the send lock, so tokens are sent in position order even when updates are
+     * published from several threads. The buffer itself is only locked while appending so that replays are not
+     * held up by sends.
+     */
+    private void publish(UpdateStreamTopic topic, LocalDateTime processedDateTime, Stream<? extends ViewObject> ids) {
+        Collection<? extends ViewObject> idViews = ids.collect(Collectors.toList());
+        List<UpdateStreamTokenView> tokens = new ArrayList<>(idViews.size());
+        sendLock.lock();
+        try {
+            synchronized (buffer) {
+                for (ViewObject id : idViews) {
+                    tokens.add(buffer.append(topic, id, processedDateTime));
+                }
+            }
+            for (UpdateStreamTokenView token : tokens) {
+                try {
+                    messagingTemplate.convertAndSend(topic.getDestination(), toJson(token));
+                }
+                catch (MessagingException ex) {
+                    logger.warn("Failed to publish update stream token {} on {}: {}",
+                            token.getPosition(), topic.getDestination(), ex.getMessage());
+                }
+            }
+        }
+        finally {
+            sendLock.unlock();
+        }
+    }
+}
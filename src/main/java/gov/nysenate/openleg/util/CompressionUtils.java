@@ -0,0 +1,102 @@
+package gov.nysenate.openleg.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Utility methods for storing objects as compact, compressed byte arrays. This is primarily
+ * useful for caches that want to keep large object graphs around without the heap overhead.
+ */
+public abstract class CompressionUtils
+{
+    /**
+     * Serializes the given object and deflates the result.
+     *
+     * @param object Serializable
+     * @return byte[]
+     * @throws IllegalArgumentException - If the object graph could not be serialized.
+     */
+    public static byte[] serializeCompressed(Serializable object) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            out.writeObject(object);
+        }
+        catch (IOException ex) {
+            throw new IllegalArgumentException("Failed to serialize " + object.getClass().getSimpleName(), ex);
+        }
+        finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Inflates and deserializes an object that was created via {@link #serializeCompressed(Serializable)}.
+     *
+     * @param bytes byte[]
+     * @param type Class<T> - The expected type of the object.
+     * @return T
+     * @throws IllegalArgumentException - If the bytes could not be deserialized into the given type.
+     */
+    public static <T> T deserializeCompressed(byte[] bytes, Class<T> type) {
+        try (ObjectInputStream in = new ObjectInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+            return type.cast(in.readObject());
+        }
+        catch (IOException | ClassNotFoundException | ClassCastException ex) {
+            throw new IllegalArgumentException("Failed to deserialize " + type.getSimpleName(), ex);
+        }
+    }
+
+    /**
+     * Deflates the UTF-8 bytes of the given string.
+     *
+     * @param text String
+     * @return byte[] - null if the text is null
+     */
+    public static byte[] compressString(String text) {
+        if (text == null) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (OutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        catch (IOException ex) {
+            throw new IllegalArgumentException("Failed to compress text", ex);
+        }
+        finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Inflates a string that was created via {@link #compressString(String)}.
+     *
+     * @param bytes byte[]
+     * @return String - null if the bytes are null
+     * @throws IllegalArgumentException - If the bytes could not be inflated.
+     */
+    public static String decompressString(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        ByteArrayOutputStream text = new ByteArrayOutputStream(bytes.length * 4);
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                text.write(buffer, 0, read);
+            }
+        }
+        catch (IOException ex) {
+            throw new IllegalArgumentException("Failed to decompress text", ex);
+        }
+        return new String(text.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,24 @@
+package gov.nysenate.openleg.util;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Binds the content of an xml document to a typed object in a single pass over a stream reader.
+ * Used with {@link XmlHelper#bind(String, XmlBinder)} as a lighter weight alternative to building a DOM
+ * and evaluating xpath expressions against it.
+ *
+ * @param <T> The type of object the document is bound to
+ */
+@FunctionalInterface
+public interface XmlBinder<T>
+{
+    /**
+     * Reads the document from the given reader, which is positioned at the start of the document.
+     *
+     * @param reader XMLStreamReader
+     * @return T
+     * @throws XMLStreamException - If the document is malformed or does not have the expected structure.
+     */
+    T bind(XMLStreamReader reader) throws XMLStreamException;
+}
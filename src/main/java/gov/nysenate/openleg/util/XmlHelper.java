@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.util;
 
+import com.ctc.wstx.stax.WstxInputFactory;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
@@ -10,6 +11,9 @@ import org.xml.sax.SAXException;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
@@ -17,6 +21,7 @@ import javax.xml.xpath.XPathFactory;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.StringReader;
 
 @Component
 public class XmlHelper
@@ -24,9 +29,34 @@ public class XmlHelper
     private final DocumentBuilder dBuilder;
     private final XPath xpath;
 
+    /** Creates the stream readers used by {@link #bind}. Thread safe once configured. */
+    private final XMLInputFactory inputFactory;
+
     public XmlHelper() throws ParserConfigurationException {
         dBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
         xpath = XPathFactory.newInstance().newXPath();
+        inputFactory = new WstxInputFactory();
+        inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Parses the xml string with a streaming reader and binds its content via the given binder. Unlike
+     * {@link #parse(String)}, no document tree is built, so this is preferable for large documents.
+     *
+     * @param xmlString String
+     * @param binder XmlBinder<T>
+     * @return T
+     * @throws XMLStreamException - If the document is malformed or could not be bound.
+     */
+    public <T> T bind(String xmlString, XmlBinder<T> binder) throws XMLStreamException {
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(new StringReader(xmlString));
+        try {
+            return binder.bind(reader);
+        }
+        finally {
+            reader.close();
+        }
     }
 
     public Document parse(File file) throws SAXException, IOException {
@@ -0,0 +1,130 @@
+package gov.nysenate.openleg.util;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.regex.Pattern;
+
+/**
+ * Helper methods for writing {@link XmlBinder}s. Where the result of an xpath expression is mirrored, the
+ * method follows the xpath conversion rules so that a binder returns the same values as the DOM based
+ * {@link XmlHelper} methods.
+ */
+public abstract class XmlStreamUtils
+{
+    /** The lexical form of an xpath number. */
+    private static final Pattern xpathNumberPattern = Pattern.compile("-?([0-9]+(\\.[0-9]*)?|\\.[0-9]+)");
+
+    /**
+     * Advances to the document's root element and verifies its name.
+     *
+     * @param reader XMLStreamReader - Positioned at the start of the document.
+     * @param rootName String - The expected name of the root element.
+     * @throws XMLStreamException - If the root element has a different name.
+     */
+    public static void requireRootElement(XMLStreamReader reader, String rootName) throws XMLStreamException {
+        reader.nextTag();
+        if (!rootName.equals(reader.getLocalName())) {
+            throw new XMLStreamException("Expected root element " + rootName + " but found " + reader.getLocalName(),
+                                         reader.getLocation());
+        }
+    }
+
+    /**
+     * Advances to the next child element of the current element.
+     *
+     * @param reader XMLStreamReader - Positioned on a start element or within its content.
+     * @return boolean - True if positioned on a child start element, false if the current element has ended.
+     */
+    public static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the value of an attribute on the current element, or an empty string if it is not set
+     * (the string value of an empty xpath node set).
+     *
+     * @param reader XMLStreamReader - Positioned on a start element.
+     * @param name String - The attribute name.
+     * @return String
+     */
+    public static String getAttribute(XMLStreamReader reader, String name) {
+        String value = reader.getAttributeValue(null, name);
+        return (value != null) ? value : "";
+    }
+
+    /**
+     * Reads all of the text within the current element, including the text of descendant elements, and leaves
+     * the reader on the element's end tag. This is equivalent to the DOM's Node#getTextContent.
+     *
+     * @param reader XMLStreamReader - Positioned on a start element.
+     * @return String
+     */
+    public static String readTextContent(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    break;
+                case XMLStreamConstants.END_DOCUMENT:
+                    throw new XMLStreamException("Unexpected end of document", reader.getLocation());
+                default:
+                    break;
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Skips the current element and all of its content, leaving the reader on the element's end tag.
+     *
+     * @param reader XMLStreamReader - Positioned on a start element.
+     */
+    public static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+            else if (event == XMLStreamConstants.END_DOCUMENT) {
+                throw new XMLStreamException("Unexpected end of document", reader.getLocation());
+            }
+        }
+    }
+
+    /**
+     * Converts a string to an integer the same way {@link XmlHelper#getInteger} does, i.e. by the xpath
+     * number() rules, where a value that is not a number becomes NaN which in turn becomes 0.
+     *
+     * @param value String
+     * @return int
+     */
+    public static int toXPathInteger(String value) {
+        String trimmed = value.trim();
+        return xpathNumberPattern.matcher(trimmed).matches() ? (int) Double.parseDouble(trimmed) : 0;
+    }
+}
@@ -0,0 +1,80 @@
+package gov.nysenate.openleg.controller.api.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.service.base.data.ContentVersion;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ConditionalRequestTest
+{
+    private static final ContentVersion version = new ContentVersion("abc", 10, 1_500_000_000_000L);
+
+    private final BaseCtrl ctrl = new BaseCtrl() {};
+
+    @Test
+    public void testSetsHeaders() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(ctrl.checkNotModified(webRequest(new MockHttpServletRequest("GET", "/api/3/bills/2015/S1"), response),
+                                          version));
+        assertEquals(200, response.getStatus());
+        assertNotNull(response.getHeader("ETag"));
+        assertEquals(1_500_000_000_000L, response.getDateHeader("Last-Modified"));
+    }
+
+    @Test
+    public void testMatchingETag() {
+        String etag = getETag(new MockHttpServletRequest("GET", "/api/3/bills/2015/S1"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/3/bills/2015/S1");
+        request.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(ctrl.checkNotModified(webRequest(request, response), version));
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    public void testNewerVersion() {
+        String etag = getETag(new MockHttpServletRequest("GET", "/api/3/bills/2015/S1"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/3/bills/2015/S1");
+        request.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(ctrl.checkNotModified(webRequest(request, response),
+                                          new ContentVersion("abc", 11, 1_500_000_001_000L)));
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    public void testParamsAffectETagExceptApiKey() {
+        MockHttpServletRequest plain = new MockHttpServletRequest("GET", "/api/3/bills/2015/S1");
+        MockHttpServletRequest withKey = new MockHttpServletRequest("GET", "/api/3/bills/2015/S1");
+        withKey.setParameter("key", "1234");
+        MockHttpServletRequest withView = new MockHttpServletRequest("GET", "/api/3/bills/2015/S1");
+        withView.setParameter("view", "info");
+        assertEquals(getETag(plain), getETag(withKey));
+        assertNotEquals(getETag(plain), getETag(withView));
+    }
+
+    @Test
+    public void testIfModifiedSince() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/3/bills/2015/S1");
+        request.addHeader("If-Modified-Since", 1_500_000_000_000L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(ctrl.checkNotModified(webRequest(request, response), version));
+        assertEquals(304, response.getStatus());
+    }
+
+    private String getETag(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ctrl.checkNotModified(webRequest(request, response), version);
+        return response.getHeader("ETag");
+    }
+
+    private static ServletWebRequest webRequest(MockHttpServletRequest request, MockHttpServletResponse response) {
+        return new ServletWebRequest(request, response);
+    }
+}
@@ -0,0 +1,102 @@
+package gov.nysenate.openleg.controller.api.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class GzipFilterTest
+{
+    private static final String BODY = "{\"success\":true,\"message\":\"\",\"result\":{\"items\":[1,2,3,4,5,6,7,8,9]}}";
+
+    private GzipFilter filter = new GzipFilter();
+
+    @Test
+    public void testCompressesWhenAccepted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/3/bills/2015");
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, writeBody("application/json"));
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        assertNull(response.getHeader("Content-Length"));
+        String body = IOUtils.toString(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray())),
+                                       StandardCharsets.UTF_8);
+        assertEquals(BODY, body);
+    }
+
+    @Test
+    public void testSkipsWhenNotAccepted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/3/bills/2015");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, writeBody("application/json"));
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(BODY, response.getContentAsString());
+        assertEquals(BODY.length(), response.getContentLength());
+    }
+
+    @Test
+    public void testSkipsCompressedContent() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/3/bills/2015/S1234.pdf");
+        request.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, writeBody("application/pdf"));
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(BODY, response.getContentAsString());
+        assertEquals(BODY.length(), response.getContentLength());
+    }
+
+    @Test
+    public void testSkipsGzipDownload() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/3/laws/ABC/export");
+        request.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            res.setContentType("application/gzip");
+            try (GZIPOutputStream out = new GZIPOutputStream(res.getOutputStream())) {
+                out.write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        // The download is already gzipped, so it must only be decompressed once
+        assertNull(response.getHeader("Content-Encoding"));
+        String body = IOUtils.toString(new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray())),
+                                       StandardCharsets.UTF_8);
+        assertEquals(BODY, body);
+    }
+
+    @Test
+    public void testEmptyResponse() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/3/bills/2015");
+        request.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> ((HttpServletResponse) res).setStatus(304));
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private static FilterChain writeBody(String contentType) {
+        return (req, res) -> {
+            byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+            res.setContentType(contentType);
+            res.setContentLength(bytes.length);
+            res.getOutputStream().write(bytes);
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package gov.nysenate.openleg.controller.api.base;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.client.response.base.ListViewResponse;
+import gov.nysenate.openleg.client.view.bill.BaseBillIdView;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class JsonResponseConverterTest
+{
+    private static final List<BaseBillId> billIds =
+        Arrays.asList(new BaseBillId("S1234", 2015), new BaseBillId("A50", 2015), new BaseBillId("S2", 2015));
+
+    private final JsonResponseConverter converter =
+        new JsonResponseConverter(new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT));
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testCompactByDefault() throws Exception {
+        setRequest(new MockHttpServletRequest("GET", "/api/3/bills/2015"));
+        String json = write(ListViewResponse.of(getViews(), 3, LimitOffset.ALL));
+        assertFalse(json.contains("\n"));
+        assertTrue(json.startsWith("{\"success\":true"));
+    }
+
+    @Test
+    public void testPrettyOnRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/3/bills/2015");
+        request.setParameter("pretty", "true");
+        setRequest(request);
+        String json = write(ListViewResponse.of(getViews(), 3, LimitOffset.ALL));
+        assertTrue(json.contains("\n  \"success\" : true"));
+    }
+
+    @Test
+    public void testMappedListMatchesList() throws Exception {
+        String expected = write(ListViewResponse.of(getViews(), 3, LimitOffset.ALL));
+        String mapped = write(ListViewResponse.ofMapped(billIds, BaseBillIdView::new, 3, LimitOffset.ALL));
+        assertEquals(expected, mapped);
+    }
+
+    private static List<BaseBillIdView> getViews() {
+        return billIds.stream().map(BaseBillIdView::new).collect(Collectors.toList());
+    }
+
+    private static void setRequest(MockHttpServletRequest request) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private String write(Object response) throws Exception {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(response, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage.getBodyAsString();
+    }
+}
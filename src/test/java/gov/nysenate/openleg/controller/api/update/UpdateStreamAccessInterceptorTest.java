@@ -0,0 +1,63 @@
+package gov.nysenate.openleg.controller.api.update;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class UpdateStreamAccessInterceptorTest
+{
+    private final UpdateStreamAccessInterceptor interceptor = new UpdateStreamAccessInterceptor();
+
+    @Test
+    public void testUpdateStreamSessionsAreLimited() throws Exception {
+        Map<String, Object> attributes = new HashMap<>();
+        assertTrue(interceptor.beforeHandshake(null, null, null, attributes));
+
+        assertAllowed(message(SimpMessageType.CONNECT, null, attributes));
+        assertAllowed(message(SimpMessageType.SUBSCRIBE, "/event/updates/bill", attributes));
+        assertAllowed(message(SimpMessageType.SUBSCRIBE, "/app/updates/replay/abc/10", attributes));
+        assertRejected(message(SimpMessageType.SUBSCRIBE, "/event/apiLogs", attributes));
+        assertRejected(message(SimpMessageType.SUBSCRIBE, "/event/updatesbill", attributes));
+        assertRejected(message(SimpMessageType.MESSAGE, "/app/updates/replay/abc/10", attributes));
+    }
+
+    @Test
+    public void testOtherSessionsAreNotLimited() {
+        assertAllowed(message(SimpMessageType.SUBSCRIBE, "/event/apiLogs", new HashMap<>()));
+        assertAllowed(message(SimpMessageType.SUBSCRIBE, "/event/apiLogs", null));
+    }
+
+    /** --- Internal --- */
+
+    private static Message<byte[]> message(SimpMessageType type, String destination, Map<String, Object> attributes) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        accessor.setSessionAttributes(attributes);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private void assertAllowed(Message<?> message) {
+        assertSame(message, interceptor.preSend(message, null));
+    }
+
+    private void assertRejected(Message<?> message) {
+        try {
+            interceptor.preSend(message, null);
+            fail("Expected " + message + " to be rejected");
+        }
+        catch (MessageDeliveryException expected) {}
+    }
+}
@@ -0,0 +1,65 @@
+package gov.nysenate.openleg.dao.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTest.class)
+public class SqlBatchUpdateTest
+{
+    private enum TestQuery implements BasicSqlQuery
+    {
+        UPDATE_PARENT, INSERT_PARENT, DELETE_CHILD, INSERT_CHILD;
+
+        @Override
+        public String getSql() {
+            return name();
+        }
+    }
+
+    /** Records executed batches instead of sending them to a database. Updates match rows with even ids. */
+    private static class RecordingJdbcTemplate extends NamedParameterJdbcTemplate
+    {
+        private final List<String> executed = new ArrayList<>();
+
+        public RecordingJdbcTemplate() {
+            super(new JdbcTemplate());
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, SqlParameterSource[] batchArgs) {
+            return Arrays.stream(batchArgs)
+                .peek(params -> executed.add(sql + ":" + params.getValue("id")))
+                .mapToInt(params -> (int) params.getValue("id") % 2 == 0 ? 1 : 0)
+                .toArray();
+        }
+    }
+
+    @Test
+    public void testExecuteOrderAndUpsert() throws Exception {
+        RecordingJdbcTemplate jdbcNamed = new RecordingJdbcTemplate();
+        SqlBatchUpdate batch = new SqlBatchUpdate(jdbcNamed, "test")
+            .registerUpsert(TestQuery.UPDATE_PARENT, TestQuery.INSERT_PARENT)
+            .register(TestQuery.DELETE_CHILD, TestQuery.INSERT_CHILD);
+        batch.add(TestQuery.INSERT_CHILD, new MapSqlParameterSource("id", 3));
+        batch.add(TestQuery.DELETE_CHILD, new MapSqlParameterSource("id", 4));
+        batch.add(TestQuery.UPDATE_PARENT, new MapSqlParameterSource("id", 1));
+        batch.add(TestQuery.UPDATE_PARENT, new MapSqlParameterSource("id", 2));
+        assertEquals(4, batch.size());
+
+        batch.execute();
+        assertEquals(Arrays.asList("UPDATE_PARENT:1", "UPDATE_PARENT:2", "INSERT_PARENT:1",
+                                   "DELETE_CHILD:4", "INSERT_CHILD:3"), jdbcNamed.executed);
+        assertEquals(0, batch.size());
+    }
+}
@@ -19,6 +19,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+
 @Category(SillyTest.class)
 public class SqlBillDaoTest extends BaseTests
 {
@@ -49,6 +51,21 @@ public class SqlBillDaoTest extends BaseTests
         logger.info("{}", billDao.getBillCount(SessionYear.current()));
     }
 
+    @Test
+    public void testGetBillsMatchesGetBill() throws Exception {
+        List<BaseBillId> baseBillIds = billDao.getBillIds(SessionYear.current(), LimitOffset.FIFTY, SortOrder.ASC);
+        StopWatch sw = new StopWatch();
+        sw.start();
+        List<Bill> bills = billDao.getBills(baseBillIds);
+        sw.stop();
+        logger.info("Bulk fetched {} bills in {} ms", bills.size(), sw.getTime());
+        assertEquals(baseBillIds.size(), bills.size());
+        for (Bill bill : bills) {
+            Bill expected = billDao.getBill(bill.getBaseBillId());
+            assertEquals(OutputUtils.toJson(expected), OutputUtils.toJson(bill));
+        }
+    }
+
     @Test
     public void testFastBill() throws Exception {
         Bill bill = billDao.getBill(new BillId("S5922", 2013));
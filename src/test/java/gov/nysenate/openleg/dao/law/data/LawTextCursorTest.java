@@ -0,0 +1,75 @@
+package gov.nysenate.openleg.dao.law.data;
+
+import com.google.common.collect.Sets;
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class LawTextCursorTest
+{
+    private static final List<Pair<String, String>> ROWS = Arrays.asList(
+            Pair.of("ABC-CH", "chapter"), Pair.of("ABCA1", "article 1"), Pair.of("ABC1", "section 1"),
+            Pair.of("ABC2", "section 2"), Pair.of("ABCA2", "article 2"));
+
+    @Test
+    public void testLookupInRowOrder() throws Exception {
+        CountingIterator rows = new CountingIterator(ROWS.iterator());
+        LawTextCursor cursor = new LawTextCursor(rows, null);
+        assertEquals("chapter", cursor.apply("ABC-CH"));
+        assertEquals(1, rows.count);
+        assertEquals("article 1", cursor.apply("ABCA1"));
+        assertEquals("section 1", cursor.apply("ABC1"));
+        assertEquals(3, rows.count);
+        assertEquals(0, cursor.getReadAheadCount());
+    }
+
+    @Test
+    public void testLookupOutOfOrder() throws Exception {
+        LawTextCursor cursor = new LawTextCursor(ROWS.iterator(), null);
+        assertEquals("section 2", cursor.apply("ABC2"));
+        assertEquals(3, cursor.getReadAheadCount());
+        assertEquals("section 1", cursor.apply("ABC1"));
+        assertEquals("article 2", cursor.apply("ABCA2"));
+        assertEquals("chapter", cursor.apply("ABC-CH"));
+        assertNull(cursor.apply("ABC-CH"));
+        assertNull(cursor.apply("ABC9"));
+    }
+
+    @Test
+    public void testUnwantedRowsAreSkipped() throws Exception {
+        LawTextCursor cursor = new LawTextCursor(ROWS.iterator(), Sets.newHashSet("ABCA2", "ABC1"));
+        assertEquals("article 2", cursor.apply("ABCA2"));
+        assertEquals(1, cursor.getReadAheadCount());
+        assertEquals("section 1", cursor.apply("ABC1"));
+        assertEquals(0, cursor.getReadAheadCount());
+    }
+
+    private static class CountingIterator implements Iterator<Pair<String, String>>
+    {
+        private final Iterator<Pair<String, String>> delegate;
+        private int count = 0;
+
+        CountingIterator(Iterator<Pair<String, String>> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Pair<String, String> next() {
+            count++;
+            return delegate.next();
+        }
+    }
+}
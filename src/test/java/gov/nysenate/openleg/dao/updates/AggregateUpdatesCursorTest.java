@@ -0,0 +1,139 @@
+package gov.nysenate.openleg.dao.updates;
+
+import com.google.common.collect.Sets;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
+import gov.nysenate.openleg.model.updates.UpdateCursorPage;
+import gov.nysenate.openleg.model.updates.UpdateReturnType;
+import gov.nysenate.openleg.model.updates.UpdateType;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class AggregateUpdatesCursorTest
+{
+    @Test
+    public void testCursorRoundTrip() {
+        UpdateCursor cursor = new UpdateCursor(LocalDateTime.of(2017, 3, 4, 10, 15, 30, 123456000),
+                                               UpdateContentType.BILL, "{printNo,S1234|A,session,2017}");
+        String encoded = cursor.encode();
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, UpdateCursor.decode(encoded));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCursor() {
+        UpdateCursor.decode("bm90IGEgY3Vyc29y");
+    }
+
+    @Test
+    public void testFirstPageQuery() {
+        String query = SqlAggregateUpdatesQuery.buildCursorQuery("master", 51, SortOrder.ASC,
+                Sets.newHashSet(UpdateContentType.BILL), UpdateReturnType.TOKEN, UpdateType.PROCESSED_DATE, false);
+        assertFalse(query.contains("COUNT(*) OVER"));
+        assertFalse(query.contains(":cursorDateTime"));
+        assertTrue(query.contains("id::text AS cursor_key"));
+        assertTrue(query.endsWith(
+                "ORDER BY last_processed_date_time ASC, content_type ASC, cursor_key ASC LIMIT 51"));
+        assertFalse(query.contains("${"));
+    }
+
+    @Test
+    public void testNextPageQuery() {
+        String query = SqlAggregateUpdatesQuery.buildCursorQuery("master", 11, SortOrder.DESC,
+                Sets.newHashSet(UpdateContentType.BILL, UpdateContentType.LAW), UpdateReturnType.DIGEST,
+                UpdateType.PUBLISHED_DATE, true);
+        assertTrue(query.contains("change_id::text AS cursor_key"));
+        assertTrue(query.contains("WHERE (last_published_date_time, content_type, cursor_key) < " +
+                                  "(:cursorDateTime, :cursorContentType, :cursorKey)"));
+        assertTrue(query.contains("master.law_change_log"));
+        assertTrue(query.endsWith(
+                "ORDER BY last_published_date_time DESC, content_type DESC, cursor_key DESC LIMIT 11"));
+        assertFalse(query.contains("${"));
+    }
+
+    @Test
+    public void testPagingThroughEqualTimestamps() throws Exception {
+        LocalDateTime first = LocalDateTime.of(2017, 3, 4, 10, 15, 30);
+        LocalDateTime second = first.plusSeconds(1);
+        List<UpdateCursor> rows = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            rows.add(new UpdateCursor(first, UpdateContentType.BILL, "bill" + i));
+        }
+        for (int i = 0; i < 3; i++) {
+            rows.add(new UpdateCursor(first, UpdateContentType.LAW, "law" + i));
+        }
+        for (int i = 0; i < 4; i++) {
+            rows.add(new UpdateCursor(second, UpdateContentType.BILL, "bill" + i));
+        }
+        rows.sort(CURSOR_ORDER);
+
+        for (int limit = 1; limit <= rows.size() + 1; limit++) {
+            List<UpdateCursor> paged = new ArrayList<>();
+            Optional<UpdateCursor> after = Optional.empty();
+            int pages = 0;
+            do {
+                UpdateCursorPage<UpdateCursor> page = queryPage(rows, after, limit);
+                paged.addAll(page.getResults());
+                after = page.getNextCursor();
+                assertTrue("Paging did not end with a limit of " + limit, ++pages <= rows.size() + 1);
+            }
+            while (after.isPresent());
+            assertEquals("Gaps or duplicates with a limit of " + limit, rows, paged);
+        }
+    }
+
+    /** Orders rows the same way as the cursor query: by date time, content type and cursor key. */
+    private static final Comparator<UpdateCursor> CURSOR_ORDER = Comparator.comparing(UpdateCursor::getDateTime)
+            .thenComparing(cursor -> cursor.getContentType().name())
+            .thenComparing(UpdateCursor::getKey);
+
+    /**
+     * Runs the rows past the cursor through the dao's row handler the way the cursor query would return them,
+     * i.e. ordered and with one more row than the limit.
+     */
+    private static UpdateCursorPage<UpdateCursor> queryPage(List<UpdateCursor> rows, Optional<UpdateCursor> after,
+                                                            int limit) throws Exception {
+        SqlAggregateUpdatesDao.CursorPageRowHandler<UpdateCursor> rowHandler =
+                new SqlAggregateUpdatesDao.CursorPageRowHandler<>(limit, "last_processed_date_time",
+                        (rs, rowNum) -> new UpdateCursor(rs.getTimestamp("last_processed_date_time").toLocalDateTime(),
+                                UpdateContentType.getValue(rs.getString("content_type")), rs.getString("cursor_key")));
+        List<UpdateCursor> selected = rows.stream()
+                .filter(row -> !after.isPresent() || CURSOR_ORDER.compare(row, after.get()) > 0)
+                .limit(limit + 1)
+                .collect(Collectors.toList());
+        for (UpdateCursor row : selected) {
+            rowHandler.processRow(toResultSet(row));
+        }
+        UpdateCursorPage<UpdateCursor> page = rowHandler.getPage();
+        assertEquals(new HashSet<>(page.getResults()).size(), page.getResults().size());
+        return page;
+    }
+
+    private static ResultSet toResultSet(UpdateCursor row) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName() + ":" + args[0]) {
+                        case "getTimestamp:last_processed_date_time": return Timestamp.valueOf(row.getDateTime());
+                        case "getString:content_type": return row.getContentType().name().toLowerCase();
+                        case "getString:cursor_key": return row.getKey();
+                        default: throw new UnsupportedOperationException(method.getName() + " " + args[0]);
+                    }
+                });
+    }
+}
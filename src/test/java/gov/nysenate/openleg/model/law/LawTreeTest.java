@@ -0,0 +1,80 @@
+package gov.nysenate.openleg.model.law;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class LawTreeTest
+{
+    private static final LocalDate PUB_DATE = LocalDate.of(2017, 1, 1);
+
+    private int sequenceNo = 0;
+
+    private LawTreeNode node(String locationId, LawDocumentType docType) {
+        return new LawTreeNode(new LawDocInfo("ABC" + locationId, "ABC", locationId, locationId, docType,
+                                              locationId, PUB_DATE), ++sequenceNo);
+    }
+
+    /**
+     * Builds:  CH -> A1 -> (1, 2), A2 -> (3), A3
+     */
+    private LawTree buildTree() {
+        LawTreeNode root = node("-CH", LawDocumentType.CHAPTER);
+        LawTreeNode a1 = node("A1", LawDocumentType.ARTICLE);
+        root.addChild(a1);
+        a1.addChild(node("1", LawDocumentType.SECTION));
+        a1.addChild(node("2", LawDocumentType.SECTION));
+        LawTreeNode a2 = node("A2", LawDocumentType.ARTICLE);
+        root.addChild(a2);
+        a2.addChild(node("3", LawDocumentType.SECTION));
+        root.addChild(node("A3", LawDocumentType.ARTICLE));
+        return new LawTree(new LawVersionId("ABC", PUB_DATE), root, new LawInfo());
+    }
+
+    @Test
+    public void testFindAndNavigation() throws Exception {
+        LawTree tree = buildTree();
+        assertEquals(7, tree.getNodeCount());
+        assertEquals(Arrays.asList("ABC-CH", "ABCA1", "ABC1", "ABC2", "ABCA2", "ABC3", "ABCA3"),
+                     tree.getAllNodes().stream().map(LawTreeNode::getDocumentId).collect(Collectors.toList()));
+        assertFalse(tree.find("ABCA9").isPresent());
+
+        LawTreeNode a2 = tree.find("ABCA2").get();
+        assertEquals("ABCA1", a2.getPrevSibling().get().getDocumentId());
+        assertEquals("ABCA3", a2.getNextSibling().get().getDocumentId());
+        assertFalse(tree.find("ABC1").get().getPrevSibling().isPresent());
+        assertFalse(tree.find("ABCA3").get().getNextSibling().isPresent());
+
+        LawTreeNode root = tree.getRootNode();
+        assertEquals("ABC1", root.getFromSection().get().getDocumentId());
+        assertEquals("ABC3", root.getToSection().get().getDocumentId());
+        assertEquals("ABC2", tree.find("ABCA1").get().getToSection().get().getDocumentId());
+        assertFalse(tree.find("ABCA3").get().getFromSection().isPresent());
+    }
+
+    @Test
+    public void testRebuildAfterModification() throws Exception {
+        LawTree tree = buildTree();
+        LawTreeNode root = tree.getRootNode();
+        root.findNode("ABCA2", true);
+        LawTreeNode a4 = node("A4", LawDocumentType.ARTICLE);
+        a4.addChild(node("4", LawDocumentType.SECTION));
+        root.addChild(a4);
+
+        // Sibling navigation reflects the change right away, lookups once the tree is re-indexed
+        assertEquals("ABCA3", tree.find("ABCA1").get().getNextSibling().get().getDocumentId());
+        assertEquals("ABCA3", a4.getPrevSibling().get().getDocumentId());
+        tree.rebuildLookupMap();
+        assertFalse(tree.find("ABCA2").isPresent());
+        assertFalse(tree.find("ABC3").isPresent());
+        assertEquals(a4, tree.find("ABCA4").get());
+        assertEquals("ABC4", root.getToSection().get().getDocumentId());
+    }
+}
@@ -0,0 +1,99 @@
+package gov.nysenate.openleg.model.sobi;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTest.class)
+public class SobiFragmentTest
+{
+    private static final String fragmentId = "test-fragment";
+
+    @Test
+    public void testBlocksMatchRegexTokenizer() throws Exception {
+        File sobiFile = new File(getClass().getClassLoader()
+            .getResource("sobi/SOBI.D140509.T124706.TXT-bill-1.sobi").getFile());
+        String text = FileUtils.readFileToString(sobiFile, StandardCharsets.UTF_8);
+        assertBlocksMatch(text);
+        assertBlocksMatch(text.replace("\n", "\r\n"));
+    }
+
+    @Test
+    public void testEdgeCases() throws Exception {
+        assertBlocksMatch("");
+        assertBlocksMatch("\n\n");
+        assertBlocksMatch("2013S07300 1Some bill info\n2013S07300 1Another bill info");
+        // Null bytes in the header and data, a missing law line before the summary and a DELETE block
+        assertBlocksMatch("2013S07300\0C Summary line one\n" +
+                          "2013S07300 CSummary\0line two\n" +
+                          "not a block\n" +
+                          "2013S07300 3Title\n" +
+                          "2013S07300 3DELETE\n" +
+                          "2013S07300 3DELETE\n" +
+                          "2013S07300 \n" +
+                          "2013A00001 4Text\r\n" +
+                          "2013A00001 4More text\n\n\n");
+    }
+
+    private void assertBlocksMatch(String text) {
+        SobiFragment fragment = new SobiFragment(fragmentId, null, SobiFragmentType.BILL, text, 1);
+        List<SobiBlock> expected = getSobiBlocksByRegex(text);
+        List<SobiBlock> actual = fragment.getSobiBlocks();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getHeader(), actual.get(i).getHeader());
+            assertEquals(expected.get(i).getData(), actual.get(i).getData());
+            assertEquals(expected.get(i).getLocation(), actual.get(i).getLocation());
+            assertEquals(expected.get(i).getBillId(), actual.get(i).getBillId());
+        }
+    }
+
+    /** The original line splitting and regex based implementation of SobiFragment#getSobiBlocks. */
+    private List<SobiBlock> getSobiBlocksByRegex(String text) {
+        List<SobiBlock> blocks = new ArrayList<>();
+        SobiFragmentType type = SobiFragmentType.BILL;
+        SobiBlock block = null;
+        List<String> lines = new ArrayList<>(Arrays.asList(text.split("\\r?\\n")));
+        lines.add("");
+        for (int lineNo = 0; lineNo < lines.size(); lineNo++) {
+            String line = lines.get(lineNo).replace('\0', ' ');
+            Matcher headerMatcher = SobiBlock.blockPattern.matcher(line);
+            if (headerMatcher.find()) {
+                if (block == null) {
+                    block = new SobiBlock(fragmentId, type, lineNo, line);
+                }
+                else if (block.getHeader().equals(headerMatcher.group()) && block.isMultiline()) {
+                    block.extend(line);
+                }
+                else {
+                    block.setEndLineNo(lineNo - 1);
+                    blocks.add(block);
+                    SobiBlock newBlock = new SobiBlock(fragmentId, type, lineNo, line);
+                    if (newBlock.getBillHeader().equals(block.getBillHeader())) {
+                        if (newBlock.getType().equals(SobiLineType.SUMMARY) && !block.getType().equals(SobiLineType.LAW)) {
+                            blocks.add(new SobiBlock(fragmentId, type, lineNo,
+                                       block.getBillHeader() + SobiLineType.LAW.getTypeCode()));
+                        }
+                    }
+                    block = newBlock;
+                }
+            }
+            else if (block != null) {
+                block.setEndLineNo(lineNo - 1);
+                blocks.add(block);
+                block = null;
+            }
+        }
+        return blocks;
+    }
+}
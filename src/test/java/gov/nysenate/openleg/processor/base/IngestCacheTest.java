@@ -0,0 +1,48 @@
+package gov.nysenate.openleg.processor.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class IngestCacheTest
+{
+    @Test
+    public void testFlushOnCapacity() throws Exception {
+        IngestCache<Integer, String, String> cache = new IngestCache<>(2);
+        cache.setFlushCallback(cache::clearCache);
+        cache.set(1, "a", "src");
+        cache.set(2, "b", "src");
+        // Updating an existing key does not trigger a flush
+        cache.set(2, "bb", "src");
+        assertEquals(2, cache.getSize());
+        assertEquals(0, cache.getAutoFlushCount());
+        // Adding a new key at capacity flushes the existing entries first
+        cache.set(3, "c", "src");
+        assertEquals(1, cache.getSize());
+        assertTrue(cache.has(3));
+        assertFalse(cache.has(1));
+        assertEquals(1, cache.getAutoFlushCount());
+        assertEquals(1, cache.getFlushCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testFlushOnSize() throws Exception {
+        IngestCache<Integer, String, String> cache = new IngestCache<>(100, 10, String::length);
+        cache.set(1, "12345", "src");
+        cache.set(1, "1234567890", "src");
+        assertEquals(10, cache.getEstimatedBytes());
+        assertFalse(cache.exceedsCapacity());
+        // Without a callback the bound is advisory
+        cache.set(2, "1", "src");
+        assertTrue(cache.exceedsCapacity());
+        cache.setFlushCallback(cache::clearCache);
+        cache.set(3, "1", "src");
+        assertEquals(1, cache.getSize());
+        assertEquals(1, cache.getEstimatedBytes());
+    }
+}
@@ -0,0 +1,137 @@
+package gov.nysenate.openleg.processor.base;
+
+import com.google.common.collect.ImmutableList;
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ProcessPipelineSchedulerTest
+{
+    private final ProcessPipelineScheduler scheduler = new ProcessPipelineScheduler(1);
+
+    @After
+    public void tearDown() throws InterruptedException {
+        scheduler.shutdown(5000);
+    }
+
+    @Test
+    public void testRunningPipelineIsNotSubmittedTwice() throws Exception {
+        ProcessPipeline law = pipeline("law", false);
+        CountDownLatch release = new CountDownLatch(1);
+        Optional<CompletableFuture<Void>> first = scheduler.submit(law, () -> await(release));
+        assertTrue(first.isPresent());
+        assertTrue(law.isRunning());
+        assertFalse(scheduler.submit(law, () -> {}).isPresent());
+
+        release.countDown();
+        first.get().get(5, TimeUnit.SECONDS);
+        assertFalse(law.isRunning());
+        assertTrue(scheduler.submit(law, () -> {}).isPresent());
+    }
+
+    @Test
+    public void testPriorityPipelineDoesNotWaitForSlot() throws Exception {
+        CountDownLatch lawStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> law = scheduler.submit(pipeline("law", false), () -> {
+            lawStarted.countDown();
+            await(release);
+        }).get();
+        assertTrue(lawStarted.await(5, TimeUnit.SECONDS));
+        CountDownLatch transcriptStarted = new CountDownLatch(1);
+        CompletableFuture<Void> transcript =
+            scheduler.submit(pipeline("transcript", false), transcriptStarted::countDown).get();
+
+        // The only slot is held by the law pipeline but the priority pipeline still runs
+        scheduler.submit(pipeline("sobi", true), () -> {}).get().get(5, TimeUnit.SECONDS);
+        assertEquals(0, scheduler.getAvailableSlots());
+        assertFalse(transcriptStarted.await(100, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        law.get(5, TimeUnit.SECONDS);
+        transcript.get(5, TimeUnit.SECONDS);
+        assertEquals(1, scheduler.getAvailableSlots());
+    }
+
+    @Test
+    public void testPipelineUnlockedAfterFailure() throws Exception {
+        ProcessPipeline law = pipeline("law", false);
+        CompletableFuture<Void> future = scheduler.submit(law, () -> { throw new IllegalStateException(); }).get();
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected the pipeline failure to complete the future exceptionally");
+        }
+        catch (ExecutionException expected) {}
+        assertFalse(law.isRunning());
+        assertEquals(1, scheduler.getAvailableSlots());
+    }
+
+    @Test
+    public void testSubmitLockedPipeline() throws Exception {
+        ProcessPipeline law = pipeline("law", false);
+        assertTrue(law.tryLock());
+        assertFalse(scheduler.submit(law, () -> {}).isPresent());
+        scheduler.submitLocked(law, () -> {}).get(5, TimeUnit.SECONDS);
+        assertFalse(law.isRunning());
+    }
+
+    @Test
+    public void testPipelineWaitsForPrerequisite() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> sobi = scheduler.submit(pipeline("sobi", true), () -> await(release)).get();
+        ProcessPipeline spotcheck = pipeline("spotcheck", false);
+        assertTrue(spotcheck.tryLock());
+        CountDownLatch spotcheckStarted = new CountDownLatch(1);
+        CompletableFuture<Void> spotcheckRun = scheduler.submitLocked(spotcheck, spotcheckStarted::countDown, sobi);
+
+        // The waiting pipeline stays locked without holding a slot
+        assertFalse(spotcheckStarted.await(100, TimeUnit.MILLISECONDS));
+        assertTrue(spotcheck.isRunning());
+        assertEquals(1, scheduler.getAvailableSlots());
+
+        release.countDown();
+        spotcheckRun.get(5, TimeUnit.SECONDS);
+        assertEquals(0, spotcheckStarted.getCount());
+        assertFalse(spotcheck.isRunning());
+    }
+
+    @Test
+    public void testPipelineStartsAfterFailedPrerequisite() throws Exception {
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException());
+        ProcessPipeline spotcheck = pipeline("spotcheck", false);
+        assertTrue(spotcheck.tryLock());
+        CountDownLatch spotcheckStarted = new CountDownLatch(1);
+        scheduler.submitLocked(spotcheck, spotcheckStarted::countDown, failed).get(5, TimeUnit.SECONDS);
+        assertEquals(0, spotcheckStarted.getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSlots() {
+        new ProcessPipelineScheduler(0);
+    }
+
+    /** --- Internal --- */
+
+    private static ProcessPipeline pipeline(String name, boolean priority) {
+        return new ProcessPipeline(name, priority, ImmutableList.of());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package gov.nysenate.openleg.processor.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.process.DataProcessRun;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ProcessRunContextTest
+{
+    private final ExecutorService helpers = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        helpers.shutdownNow();
+    }
+
+    @Test
+    public void testRunWithRestoresPreviousRun() {
+        DataProcessRun outer = new DataProcessRun(1, LocalDateTime.now(), "test");
+        DataProcessRun inner = new DataProcessRun(2, LocalDateTime.now(), "test");
+        ProcessRunContext.runWith(outer, () -> {
+            ProcessRunContext.runWith(inner, () -> assertEquals(Optional.of(inner), ProcessRunContext.getActiveRun()));
+            assertEquals(Optional.of(outer), ProcessRunContext.getActiveRun());
+        });
+        assertFalse(ProcessRunContext.getActiveRun().isPresent());
+    }
+
+    @Test
+    public void testPropagateRunToHelperThreads() throws Exception {
+        Executor runExecutor = ProcessRunContext.propagate(helpers);
+        DataProcessRun first = new DataProcessRun(1, LocalDateTime.now(), "test");
+        DataProcessRun second = new DataProcessRun(2, LocalDateTime.now(), "test");
+        AtomicReference<Optional<DataProcessRun>> firstSeen = new AtomicReference<>();
+        AtomicReference<Optional<DataProcessRun>> secondSeen = new AtomicReference<>();
+
+        // Both runs use the same helper thread, which must not keep the run of a previous task
+        ProcessRunContext.runWith(first, () ->
+            CompletableFuture.runAsync(() -> firstSeen.set(ProcessRunContext.getActiveRun()), runExecutor).join());
+        ProcessRunContext.runWith(second, () ->
+            CompletableFuture.runAsync(() -> secondSeen.set(ProcessRunContext.getActiveRun()), runExecutor).join());
+        Optional<DataProcessRun> outsideRun =
+            CompletableFuture.supplyAsync(ProcessRunContext::getActiveRun, runExecutor).get(5, TimeUnit.SECONDS);
+
+        assertEquals(Optional.of(first), firstSeen.get());
+        assertEquals(Optional.of(second), secondSeen.get());
+        assertFalse(outsideRun.isPresent());
+    }
+}
@@ -0,0 +1,95 @@
+package gov.nysenate.openleg.processor.bill;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.util.XmlHelper;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import javax.xml.stream.XMLStreamException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that the streaming bill xml binders extract the same values as the DOM/xpath expressions
+ * that the bill xml processors used before.
+ */
+@Category(UnitTest.class)
+public class BillXmlBinderTest
+{
+    private final XmlHelper xmlHelper;
+
+    private static final List<String> billTextDocs = Arrays.asList(
+        "<?xml version='1.0' encoding='UTF-8'?>\n" +
+        "<billtext_html sessyr=\"2017\" senhse=\"S\" senno=\"01234\" senamd=\"A\" asmhse=\"\" asmno=\"\" asmamd=\"\" action=\"A\">\n" +
+        "<![CDATA[<pre>STATE OF NEW YORK\n  1  Section 1. &amp; so on</pre>]]>\n" +
+        "<p>Nested <b>markup</b> &amp; entities</p>\n</billtext_html>",
+        "<billtext_html sessyr=\" 2015 \" asmhse=\"A\" asmno=\"0999\nX\" asmamd=\"B\">plain text\r\nwith lines<!-- comment --></billtext_html>",
+        "<billtext_html senhse=\"S\" senno=\"1\"/>");
+
+    private static final List<String> digestDocs = Arrays.asList(
+        "<?xml version='1.0' encoding='UTF-8'?>\n" +
+        "<digestsummary sessyr=\"2017\" billhse=\"S\" billno=\"01234\" action=\"\">\n" +
+        "  <summary>Relates to the\nthing &amp; <i>other</i> thing</summary>\n" +
+        "  <oldbill>\n" +
+        "    <oldyear>2015</oldyear><oldhse>S</oldhse><oldno>05678\n</oldno><oldamd>A</oldamd>\n" +
+        "    <oldyear>2013</oldyear><oldhse>A</oldhse><oldno>1111</oldno><oldamd></oldamd>\n" +
+        "  </oldbill>\n" +
+        "  <oldbill><oldyear>2011</oldyear><oldhse>S</oldhse><oldno>2222</oldno></oldbill>\n" +
+        "</digestsummary>",
+        "<digestsummary sessyr=\"x\" billhse=\"A\" billno=\"5\"><summary/><other><summary>not this</summary></other></digestsummary>");
+
+    public BillXmlBinderTest() throws Exception {
+        xmlHelper = new XmlHelper();
+    }
+
+    @Test
+    public void testBillTextParity() throws Exception {
+        for (String xml : billTextDocs) {
+            Document doc = xmlHelper.parse(xml);
+            Node billTextNode = xmlHelper.getNode("billtext_html", doc);
+            BillTextXml billText = xmlHelper.bind(xml, BillTextXml.BINDER);
+            assertEquals((int) xmlHelper.getInteger("@sessyr", billTextNode), billText.getSessionYear());
+            assertEquals(xmlHelper.getString("@senhse", billTextNode).replaceAll("\n", ""), billText.getSenateHouse());
+            assertEquals(xmlHelper.getString("@senno", billTextNode).replaceAll("\n", ""), billText.getSenatePrintNo());
+            assertEquals(xmlHelper.getString("@senamd", billTextNode).replaceAll("\n", ""), billText.getSenateAmendment());
+            assertEquals(xmlHelper.getString("@asmhse", billTextNode).replaceAll("\n", ""), billText.getAssemblyHouse());
+            assertEquals(xmlHelper.getString("@asmno", billTextNode).replaceAll("\n", ""), billText.getAssemblyPrintNo());
+            assertEquals(xmlHelper.getString("@asmamd", billTextNode).replaceAll("\n", ""), billText.getAssemblyAmendment());
+            assertEquals(xmlHelper.getString("@action", billTextNode).replaceAll("\n", ""), billText.getAction());
+            assertEquals(billTextNode.getTextContent().replaceAll("\n", ""), billText.getText());
+        }
+    }
+
+    @Test
+    public void testBillDigestParity() throws Exception {
+        for (String xml : digestDocs) {
+            Document doc = xmlHelper.parse(xml);
+            Node digestNode = xmlHelper.getNode("digestsummary", doc);
+            BillDigestXml digest = xmlHelper.bind(xml, BillDigestXml.BINDER);
+            assertEquals((int) xmlHelper.getInteger("@sessyr", digestNode), digest.getSessionYear());
+            assertEquals(xmlHelper.getString("@billhse", digestNode), digest.getHouse());
+            assertEquals(xmlHelper.getString("@billno", digestNode), digest.getPrintNo());
+            assertEquals(xmlHelper.getString("@action", digestNode), digest.getAction());
+            assertEquals(xmlHelper.getNode("digestsummary/summary", doc).getTextContent(), digest.getSummary());
+
+            int previousCount = xmlHelper.getNodeList("digestsummary/oldbill/oldyear", doc).getLength();
+            assertEquals(previousCount, digest.getPreviousBills().size());
+            for (int i = 1; i <= previousCount; i++) {
+                BillDigestXml.PreviousBill previous = digest.getPreviousBills().get(i - 1);
+                assertEquals((int) xmlHelper.getInteger("digestsummary/oldbill/oldyear[" + i + "]", doc), previous.getSessionYear());
+                assertEquals(xmlHelper.getString("digestsummary/oldbill/oldhse[" + i + "]", doc).replaceAll("\n", ""), previous.getHouse());
+                assertEquals(xmlHelper.getString("digestsummary/oldbill/oldno[" + i + "]", doc).replaceAll("\n", ""), previous.getPrintNo());
+                assertEquals(xmlHelper.getString("digestsummary/oldbill/oldamd[" + i + "]", doc).replaceAll("\n", ""), previous.getAmendment());
+            }
+        }
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testUnexpectedRootElement() throws Exception {
+        xmlHelper.bind("<SENATEDATA><billtext_html sessyr=\"2017\"/></SENATEDATA>", BillTextXml.BINDER);
+    }
+}
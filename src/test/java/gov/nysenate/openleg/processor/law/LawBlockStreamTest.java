@@ -0,0 +1,69 @@
+package gov.nysenate.openleg.processor.law;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.law.LawFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class LawBlockStreamTest
+{
+    @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testReadBlocksInOrder() throws Exception {
+        LawFile lawFile = createLawFile(
+                header("ABCA1", "", "CONSOLIDATED"),
+                "Article 1 text",
+                "more text",
+                header("ABC1", "", "CONSOLIDATED"),
+                "Section 1 text",
+                header("XYZA1", "*MASTER*", "UNCONSOLIDATED"));
+
+        List<LawBlock> blocks = new ArrayList<>();
+        LawProcessor.readLawBlocks(lawFile, blocks::add);
+
+        assertEquals(3, blocks.size());
+        LawBlock first = blocks.get(0);
+        assertEquals("ABC", first.getLawId());
+        assertEquals("ABCA1", first.getDocumentId());
+        assertEquals("A1", first.getLocationId());
+        assertEquals(LocalDate.of(2015, 1, 2), first.getPublishedDate());
+        assertTrue(first.isConsolidated());
+        assertEquals("Article 1 text\\nmore text\\n", first.getText().toString());
+        assertEquals("ABC1", blocks.get(1).getDocumentId());
+        assertEquals("Section 1 text\\n", blocks.get(1).getText().toString());
+        LawBlock last = blocks.get(2);
+        assertEquals("XYZ", last.getLawId());
+        assertEquals("*MASTER*", last.getMethod());
+        assertFalse(last.isConsolidated());
+        assertEquals("", last.getText().toString());
+    }
+
+    @Test(expected = LawParseException.class)
+    public void testTextBeforeHeader() throws Exception {
+        LawFile lawFile = createLawFile("orphaned text", header("ABC1", "", "CONSOLIDATED"));
+        LawProcessor.readLawBlocks(lawFile, block -> {});
+    }
+
+    private static String header(String docId, String method, String consolidated) {
+        return String.format("..SO DOC %-16s%-8s %-15s LAWS(%s)", docId, method, "", consolidated);
+    }
+
+    private LawFile createLawFile(String... lines) throws Exception {
+        File file = tempFolder.newFile("20150102.UPDATE");
+        Files.write(file.toPath(), Arrays.asList(lines), LawProcessor.LAWFILE_CHARSET);
+        return new LawFile(file);
+    }
+}
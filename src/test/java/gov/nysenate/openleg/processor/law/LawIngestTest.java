@@ -0,0 +1,97 @@
+package gov.nysenate.openleg.processor.law;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.law.LawFile;
+import gov.nysenate.openleg.model.law.LawTree;
+import gov.nysenate.openleg.model.process.DataProcessUnit;
+import gov.nysenate.openleg.model.process.DataProcessUnitEvent;
+import gov.nysenate.openleg.service.law.data.LawDataService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class LawIngestTest
+{
+    @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private LawProcessor lawProcessor;
+    private List<String> savedTrees = new ArrayList<>();
+    private List<DataProcessUnit> units = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        LawDataService lawDataService = (LawDataService) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{LawDataService.class}, (proxy, method, args) -> {
+                if (method.getName().equals("saveLawTree")) {
+                    savedTrees.add(((LawTree) args[1]).getLawVersionId().getLawId());
+                }
+                return null;
+            });
+        EventBus eventBus = new EventBus();
+        eventBus.register(this);
+        lawProcessor = new LawProcessor();
+        ReflectionTestUtils.setField(lawProcessor, "lawDataService", lawDataService);
+        ReflectionTestUtils.setField(lawProcessor, "eventBus", eventBus);
+        ReflectionTestUtils.setField(lawProcessor, "lawProcessThreads", 1);
+    }
+
+    @Subscribe
+    public void handleUnit(DataProcessUnitEvent event) {
+        units.add(event.getUnit());
+    }
+
+    @Test
+    public void testPersistLawsInFileOrder() throws Exception {
+        lawProcessor.process(createInitialLawFile(
+                header("ABC1"), "Section 1 text",
+                header("ABC2"), "Section 2 text",
+                header("PEN1"), "Section 1 text",
+                header("TAX1"), "Section 1 text"));
+
+        assertEquals(Arrays.asList("ABC", "PEN", "TAX"), savedTrees);
+        assertEquals(1, units.size());
+        assertTrue(units.get(0).getErrors().isEmpty());
+    }
+
+    @Test
+    public void testNonContiguousLawHaltsProcessing() throws Exception {
+        lawProcessor.process(createInitialLawFile(
+                header("ABC1"), "Section 1 text",
+                header("PEN1"), "Section 1 text",
+                header("TAX1"), "Section 1 text",
+                header("ABC2"), "Section 2 text"));
+
+        // Only one finished law is held back with a single thread, so ABC is persisted before TAX is read
+        assertEquals("ABC", savedTrees.get(0));
+        assertFalse(savedTrees.contains("TAX"));
+        assertEquals(1, units.size());
+        String errors = units.get(0).getErrors().toString();
+        assertTrue(errors, errors.contains("not contiguous"));
+        assertTrue(errors, errors.contains("already persisted from this file: [ABC"));
+    }
+
+    private static String header(String docId) {
+        return String.format("..SO DOC %-16s%-8s %-15s LAWS(%s)", docId, "", "", "CONSOLIDATED");
+    }
+
+    private LawFile createInitialLawFile(String... lines) throws Exception {
+        File file = tempFolder.newFile("DATABASE.LAWA");
+        Files.write(file.toPath(), Arrays.asList(lines), LawProcessor.LAWFILE_CHARSET);
+        return new LawFile(file);
+    }
+}
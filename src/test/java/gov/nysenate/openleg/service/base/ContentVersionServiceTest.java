@@ -0,0 +1,68 @@
+package gov.nysenate.openleg.service.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.agenda.AgendaId;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.service.base.data.ContentVersion;
+import gov.nysenate.openleg.service.base.data.ContentVersionService;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ContentVersionServiceTest
+{
+    private ContentVersionService contentVersions = new ContentVersionService();
+
+    @Test
+    public void testUnchangedContentSharesBaseVersion() {
+        ContentVersion s1 = contentVersions.getVersion(new BaseBillId("S1", 2015));
+        ContentVersion s2 = contentVersions.getVersion(new BaseBillId("S2", 2015));
+        assertSame(s1, s2);
+        assertSame(s1, contentVersions.getLatestVersion(BaseBillId.class));
+    }
+
+    @Test
+    public void testUpdateChangesVersion() {
+        BaseBillId billId = new BaseBillId("S1", 2015);
+        ContentVersion before = contentVersions.getVersion(billId);
+        contentVersions.contentUpdated(new BaseBillId("S1", 2015));
+        ContentVersion after = contentVersions.getVersion(billId);
+        assertNotEquals(before.getETag(0), after.getETag(0));
+        assertTrue(after.getModifiedMillis() >= before.getModifiedMillis());
+        // Other content is unaffected
+        assertSame(before, contentVersions.getVersion(new BaseBillId("S2", 2015)));
+        assertSame(after, contentVersions.getLatestVersion(BaseBillId.class));
+        assertSame(before, contentVersions.getLatestVersion(AgendaId.class));
+    }
+
+    @Test
+    public void testCombine() {
+        AgendaId agendaId = new AgendaId(1, 2015);
+        ContentVersion agendaVersion = contentVersions.getVersion(agendaId)
+            .combine(contentVersions.getLatestVersion(BaseBillId.class));
+        contentVersions.contentUpdated(new BaseBillId("S1", 2015));
+        ContentVersion updated = contentVersions.getVersion(agendaId)
+            .combine(contentVersions.getLatestVersion(BaseBillId.class));
+        assertNotEquals(agendaVersion.getETag(0), updated.getETag(0));
+    }
+
+    @Test
+    public void testReset() {
+        BaseBillId billId = new BaseBillId("S1", 2015);
+        contentVersions.contentUpdated(billId);
+        ContentVersion updated = contentVersions.getVersion(billId);
+        ContentVersion base = contentVersions.getVersion(new BaseBillId("S2", 2015));
+        contentVersions.reset();
+        assertNotEquals(updated.getETag(0), contentVersions.getVersion(billId).getETag(0));
+        assertNotEquals(base.getETag(0), contentVersions.getVersion(new BaseBillId("S2", 2015)).getETag(0));
+    }
+
+    @Test
+    public void testVariantChangesETag() {
+        ContentVersion version = contentVersions.getVersion(new BaseBillId("S1", 2015));
+        assertNotEquals(version.getETag(1), version.getETag(2));
+        assertTrue(version.getETag(1).startsWith("W/\""));
+    }
+}
@@ -0,0 +1,106 @@
+package gov.nysenate.openleg.service.base.search;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.dao.base.SearchIndex;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SearchIndexUpdateQueueTest
+{
+    @Test
+    public void testCoalesceAndFlush() throws Exception {
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        SearchIndexUpdateQueue<Character, String> queue = new SearchIndexUpdateQueue<>(
+            SearchIndex.BILL, s -> s.charAt(0), batch -> batches.add(new ArrayList<>(batch)), 10, 60_000, 10);
+        queue.addAll(Arrays.asList("a1", "b1", "a2", "c1", "a3"));
+        assertEquals(3, queue.getQueueDepth());
+        assertEquals(2, queue.getCoalescedCount());
+        // The batch is not full and the flush interval has not elapsed, so nothing should be indexed yet
+        assertTrue(batches.isEmpty());
+
+        queue.awaitFlush();
+        assertEquals(Collections.singletonList(Arrays.asList("a3", "b1", "c1")), batches);
+        assertEquals(0, queue.getQueueDepth());
+        assertEquals(3, queue.getIndexedCount());
+        queue.shutdown();
+    }
+
+    @Test
+    public void testFlushOnBatchSizeAndInterval() throws Exception {
+        CountDownLatch indexed = new CountDownLatch(5);
+        SearchIndexUpdateQueue<Integer, Integer> queue = new SearchIndexUpdateQueue<>(
+            SearchIndex.BILL, i -> i, batch -> batch.forEach(i -> indexed.countDown()), 2, 50, 100);
+        for (int i = 0; i < 5; i++) {
+            queue.add(i);
+        }
+        // Two full batches are sent right away and the last update is sent once the interval elapses
+        assertTrue(indexed.await(5, TimeUnit.SECONDS));
+        queue.shutdown();
+        assertEquals(5, queue.getIndexedCount());
+        assertTrue(queue.getBatchCount() >= 3);
+    }
+
+    @Test
+    public void testBackpressureAndFailures() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SearchIndexUpdateQueue<Integer, Integer> queue = new SearchIndexUpdateQueue<>(
+            SearchIndex.BILL, i -> i, batch -> {
+                try {
+                    release.await();
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("Index unavailable");
+            }, 1, 0, 1);
+        queue.add(1);
+        while (queue.getQueueDepth() > 0) {
+            Thread.sleep(5);
+        }
+        queue.add(2);
+        // The worker is stuck on the first update and the second fills the queue, so this has to wait
+        Thread producer = new Thread(() -> queue.add(3));
+        producer.start();
+        producer.join(200);
+        assertTrue(producer.isAlive());
+        assertEquals(1, queue.getBlockedCount());
+
+        release.countDown();
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        queue.shutdown();
+        assertEquals(3, queue.getFailedCount());
+        assertEquals(3 * (SearchIndexUpdateQueue.MAX_ATTEMPTS - 1), queue.getRetriedCount());
+        assertEquals(0, queue.getIndexedCount());
+    }
+
+    @Test
+    public void testRetryFailedBatch() throws Exception {
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        SearchIndexUpdateQueue<Character, String> queue = new SearchIndexUpdateQueue<>(
+            SearchIndex.BILL, s -> s.charAt(0), batch -> {
+                batches.add(new ArrayList<>(batch));
+                if (batches.size() == 1) {
+                    throw new IllegalStateException("Index unavailable");
+                }
+            }, 10, 60_000, 10);
+        queue.addAll(Arrays.asList("a1", "b1"));
+        queue.awaitFlush();
+        // The failed batch is sent again in full
+        assertEquals(Arrays.asList(Arrays.asList("a1", "b1"), Arrays.asList("a1", "b1")), batches);
+        assertEquals(2, queue.getRetriedCount());
+        assertEquals(0, queue.getFailedCount());
+        assertEquals(2, queue.getIndexedCount());
+        queue.shutdown();
+    }
+}
@@ -0,0 +1,60 @@
+package gov.nysenate.openleg.service.bill.data;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CompressedBillTextTest
+{
+    private static final BaseBillId BILL_ID = new BaseBillId("S1234", 2015);
+
+    @Test
+    public void testApplyText() throws Exception {
+        CompressedBillText text = new CompressedBillText(createBill(true, Version.DEFAULT, Version.A));
+
+        Bill bill = createBill(false, Version.DEFAULT, Version.A);
+        assertTrue(text.applyTo(bill, true));
+        assertEquals("memo ", bill.getAmendment(Version.DEFAULT).getMemo());
+        assertEquals("full text ", bill.getAmendment(Version.DEFAULT).getFullText());
+        assertEquals("memo A", bill.getAmendment(Version.A).getMemo());
+        assertEquals("full text A", bill.getAmendment(Version.A).getFullText());
+    }
+
+    @Test
+    public void testApplyWithoutFullText() throws Exception {
+        CompressedBillText text = new CompressedBillText(createBill(true, Version.DEFAULT));
+        Bill bill = createBill(false, Version.DEFAULT);
+        assertTrue(text.applyTo(bill, false));
+        assertEquals("memo ", bill.getAmendment(Version.DEFAULT).getMemo());
+        assertEquals("", bill.getAmendment(Version.DEFAULT).getFullText());
+    }
+
+    @Test
+    public void testNewAmendmentIsNotApplied() throws Exception {
+        CompressedBillText text = new CompressedBillText(createBill(true, Version.DEFAULT));
+        Bill bill = createBill(false, Version.DEFAULT, Version.A);
+        assertFalse(text.applyTo(bill, true));
+        assertEquals("", bill.getAmendment(Version.DEFAULT).getMemo());
+        assertEquals("", bill.getAmendment(Version.DEFAULT).getFullText());
+    }
+
+    /** --- Internal --- */
+
+    private static Bill createBill(boolean withText, Version... versions) {
+        Bill bill = new Bill(BILL_ID);
+        for (Version version : versions) {
+            BillAmendment amendment = new BillAmendment(BILL_ID, version);
+            amendment.setMemo(withText ? "memo " + version.getValue() : "");
+            amendment.setFullText(withText ? "full text " + version.getValue() : "");
+            bill.addAmendment(amendment);
+        }
+        return bill;
+    }
+}
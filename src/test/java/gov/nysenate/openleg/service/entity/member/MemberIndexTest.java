@@ -0,0 +1,80 @@
+package gov.nysenate.openleg.service.entity.member;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.SessionMember;
+import gov.nysenate.openleg.service.entity.member.data.MemberIndex;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class MemberIndexTest
+{
+    private static final SessionYear session = SessionYear.of(2015);
+
+    @Test
+    public void testShortNameLookup() throws Exception {
+        SessionMember primary = member(1, 10, "LITTLE", false, Chamber.SENATE);
+        SessionMember assembly = member(2, 20, "LITTLE", false, Chamber.ASSEMBLY);
+        MemberIndex index = new MemberIndex(Arrays.asList(primary, assembly));
+
+        assertSame(primary, index.getByShortName("LITTLE", session, Chamber.SENATE));
+        assertSame(primary, index.getByShortName(" little ", session, Chamber.SENATE));
+        assertSame(assembly, index.getByShortName("LITTLE", session, Chamber.ASSEMBLY));
+        assertNull(index.getByShortName("LITTLE", SessionYear.of(2013), Chamber.SENATE));
+        assertNull(index.getByShortName("LARKIN", session, Chamber.SENATE));
+    }
+
+    @Test
+    public void testShortNamePrefixMatch() throws Exception {
+        SessionMember member = member(1, 10, "MONTGOMERY-SMITH", false, Chamber.SENATE);
+        MemberIndex index = new MemberIndex(Arrays.asList(member));
+        assertSame(member, index.getByShortName("MONTGOMERY-SMIT", session, Chamber.SENATE));
+        assertSame(member, index.getByShortName("MONTGOMERY-SMITHERS", session, Chamber.SENATE));
+    }
+
+    @Test
+    public void testAlternateShortNames() throws Exception {
+        SessionMember alternate = member(1, 11, "KRUEGER L", true, Chamber.SENATE);
+        SessionMember primary = member(1, 10, "KRUEGER", false, Chamber.SENATE);
+        SessionMember conflicting = member(2, 12, "KRUEGER", true, Chamber.SENATE);
+        MemberIndex index = new MemberIndex(Arrays.asList(alternate, conflicting, primary));
+
+        // Primary short names take precedence over alternates
+        assertSame(primary, index.getByShortName("KRUEGER", session, Chamber.SENATE));
+        assertSame(alternate, index.getByShortName("KRUEGER L", session, Chamber.SENATE));
+        // An alternate session member id resolves to the primary member of the session
+        assertSame(primary, index.getBySessionMemberId(10));
+        assertSame(primary, index.getBySessionMemberId(11));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testPutAndRemove() throws Exception {
+        MemberIndex index = new MemberIndex();
+        SessionMember makeshift = SessionMember.newMakeshiftMember("DOE J", session, Chamber.SENATE);
+        makeshift.setSessionMemberId(99);
+        index.put(makeshift);
+        assertSame(makeshift, index.getBySessionMemberId(99));
+        assertSame(makeshift, index.getByShortName("DOE J", session, Chamber.SENATE));
+
+        index.remove(99);
+        assertNull(index.getBySessionMemberId(99));
+        assertNull(index.getByShortName("DOE J", session, Chamber.SENATE));
+    }
+
+    private static SessionMember member(int memberId, int sessionMemberId, String shortName, boolean alternate,
+                                        Chamber chamber) {
+        SessionMember member = new SessionMember(memberId, session);
+        member.setSessionMemberId(sessionMemberId);
+        member.setLbdcShortName(shortName);
+        member.setAlternate(alternate);
+        member.setChamber(chamber);
+        return member;
+    }
+}
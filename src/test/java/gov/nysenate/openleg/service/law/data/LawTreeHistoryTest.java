@@ -0,0 +1,113 @@
+package gov.nysenate.openleg.service.law.data;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.law.*;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class LawTreeHistoryTest
+{
+    private static final LocalDate JAN = LocalDate.of(2017, 1, 1);
+    private static final LocalDate FEB = LocalDate.of(2017, 2, 1);
+    private static final LocalDate MAR = LocalDate.of(2017, 3, 1);
+
+    private int sequenceNo = 0;
+
+    private LawTreeNode node(String locationId, LawDocumentType docType, LocalDate docPubDate) {
+        return new LawTreeNode(new LawDocInfo("ABC" + locationId, "ABC", locationId, locationId, docType,
+                                              locationId, docPubDate), ++sequenceNo);
+    }
+
+    /**
+     * Builds:  CH -> A1 -> (1, [1-A], 2), A2 -> (3), A3
+     */
+    private LawTree buildTree(LocalDate treeDate, boolean withNewSection, LocalDate section3Date) {
+        sequenceNo = 0;
+        LawTreeNode root = node("-CH", LawDocumentType.CHAPTER, JAN);
+        LawTreeNode a1 = node("A1", LawDocumentType.ARTICLE, JAN);
+        root.addChild(a1);
+        a1.addChild(node("1", LawDocumentType.SECTION, JAN));
+        if (withNewSection) {
+            a1.addChild(node("1-A", LawDocumentType.SECTION, treeDate));
+        }
+        a1.addChild(node("2", LawDocumentType.SECTION, JAN));
+        LawTreeNode a2 = node("A2", LawDocumentType.ARTICLE, JAN);
+        root.addChild(a2);
+        a2.addChild(node("3", LawDocumentType.SECTION, section3Date));
+        root.addChild(node("A3", LawDocumentType.ARTICLE, JAN));
+        LawTree lawTree = new LawTree(new LawVersionId("ABC", treeDate), root, new LawInfo());
+        lawTree.setPublishedDates(Arrays.asList(JAN, FEB, MAR));
+        return lawTree;
+    }
+
+    @Test
+    public void testVersionsShareUnchangedSubtrees() throws Exception {
+        LawTreeHistory history = new LawTreeHistory("ABC");
+        history.addLawTree(buildTree(JAN, false, JAN));
+        assertEquals(7, history.getSharedNodeCount());
+
+        // Only section 3 and its ancestors change
+        history.addLawTree(buildTree(FEB, false, FEB));
+        assertEquals(2, history.getVersionCount());
+        assertEquals(10, history.getSharedNodeCount());
+
+        // The inserted section shifts the nodes after it, but section 3 is unchanged relative to A2, so only the
+        // ancestors, the new section and the shifted siblings (2, A2, A3) are added
+        history.addLawTree(buildTree(MAR, true, FEB));
+        assertEquals(3, history.getVersionCount());
+        assertEquals(16, history.getSharedNodeCount());
+    }
+
+    @Test
+    public void testGetLawTreeByDate() throws Exception {
+        LawTreeHistory history = new LawTreeHistory("ABC");
+        history.addLawTree(buildTree(JAN, false, JAN));
+        history.addLawTree(buildTree(MAR, true, FEB));
+
+        LawTree janTree = history.getLawTree(JAN.plusDays(10)).get();
+        assertEquals(JAN, janTree.getPublishedDate());
+        assertEquals(Arrays.asList(JAN, FEB, MAR), janTree.getPublishedDates());
+        assertEquals(JAN, janTree.find("ABC3").get().getPublishDate());
+
+        LawTree marTree = history.getLawTree(LocalDate.of(2018, 1, 1)).get();
+        assertEquals(MAR, marTree.getPublishedDate());
+        assertEquals(sequenceNos(buildTree(MAR, true, FEB)), sequenceNos(marTree));
+        assertEquals("ABC1-A", marTree.find("ABC1").get().getNextSibling().get().getDocumentId());
+        assertEquals(FEB, history.findLawDocInfo(MAR, "ABC3").get().getPublishedDate());
+        assertFalse(history.findLawDocInfo(JAN, "ABC1-A").isPresent());
+
+        // The February version is not held and dates before the first version have no tree
+        assertFalse(history.hasLawTree(FEB.plusDays(1)));
+        assertFalse(history.getLawTree(FEB).isPresent());
+        assertFalse(history.getLawTree(JAN.minusDays(1)).isPresent());
+    }
+
+    @Test
+    public void testReturnedTreesAreCopies() throws Exception {
+        LawTreeHistory history = new LawTreeHistory("ABC");
+        LawTree added = buildTree(JAN, false, JAN);
+        history.addLawTree(added);
+        added.find("ABC3").get().getLawDocInfo().setPublishedDate(FEB);
+
+        LawTree first = history.getLawTree(JAN).get();
+        assertEquals(JAN, first.find("ABC3").get().getPublishDate());
+        first.getRootNode().removeChild("ABCA2");
+        first.find("ABC1").get().getLawDocInfo().setPublishedDate(FEB);
+
+        LawTree second = history.getLawTree(JAN).get();
+        assertTrue(second.find("ABCA2").isPresent());
+        assertEquals(JAN, second.find("ABC1").get().getPublishDate());
+    }
+
+    private static List<Integer> sequenceNos(LawTree lawTree) {
+        return lawTree.getRootNode().getAllNodes().stream().map(LawTreeNode::getSequenceNo).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,97 @@
+package gov.nysenate.openleg.service.log;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.service.log.data.ApiLogWriter;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ApiLogWriterTest
+{
+    @Test
+    public void testWritesFullBatches() throws Exception {
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ApiLogWriter<Integer> writer = new ApiLogWriter<>(100, 5, TimeUnit.MINUTES.toMillis(1), batch -> {
+            batches.add(new ArrayList<>(batch));
+            blocked.countDown();
+            await(release);
+        });
+        // Hold the writer on the first full batch until the next batch has been added
+        for (int i = 0; i < 5; i++) {
+            assertTrue(writer.add(i));
+        }
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 5; i < 10; i++) {
+            assertTrue(writer.add(i));
+        }
+        release.countDown();
+        writer.shutdown();
+        assertEquals(2, batches.size());
+        assertEquals(5, batches.get(0).size());
+        assertEquals(5, batches.get(1).size());
+        assertEquals(10, writer.getWrittenCount());
+        assertEquals(2, writer.getBatchCount());
+    }
+
+    @Test
+    public void testFlushInterval() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        ApiLogWriter<Integer> writer = new ApiLogWriter<>(100, 50, 50, batch -> written.countDown());
+        writer.add(1);
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        writer.shutdown();
+        assertEquals(1, writer.getWrittenCount());
+    }
+
+    @Test
+    public void testDropsWhenFull() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ApiLogWriter<Integer> writer = new ApiLogWriter<>(2, 1, 10, batch -> {
+            writing.countDown();
+            await(release);
+        });
+        writer.add(0);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        // The writer thread is busy, so only the buffer capacity is accepted
+        assertTrue(writer.add(1));
+        assertTrue(writer.add(2));
+        assertFalse(writer.add(3));
+        assertEquals(1, writer.getDroppedCount());
+        release.countDown();
+        writer.shutdown();
+        assertEquals(3, writer.getWrittenCount());
+        assertFalse(writer.add(4));
+    }
+
+    @Test
+    public void testFailedBatchesAreCounted() throws Exception {
+        ApiLogWriter<Integer> writer = new ApiLogWriter<>(10, 10, 10, batch -> {
+            throw new IllegalStateException("db is down");
+        });
+        writer.add(1);
+        writer.add(2);
+        writer.shutdown();
+        assertEquals(2, writer.getFailedCount());
+        assertEquals(0, writer.getWrittenCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package gov.nysenate.openleg.service.notification.dispatch;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.notification.NotificationSubscription;
+import gov.nysenate.openleg.model.notification.NotificationTarget;
+import gov.nysenate.openleg.model.notification.NotificationType;
+import gov.nysenate.openleg.model.notification.RegisteredNotification;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class NotificationTargetQueueTest
+{
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void tearDown() {
+        retryScheduler.shutdownNow();
+    }
+
+    @Test
+    public void testSendsOnWorkerThread() throws Exception {
+        CountDownLatch sent = new CountDownLatch(1);
+        List<String> threadNames = new ArrayList<>();
+        NotificationTargetQueue queue = new NotificationTargetQueue(sender((n, subs) -> {
+            threadNames.add(Thread.currentThread().getName());
+            sent.countDown();
+        }), 10, 1, 1, 10, retryScheduler);
+        assertTrue(queue.submit(notification(1), subscriptions("a@b.c")));
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        assertTrue(queue.shutdown(5000));
+        assertEquals(1, queue.getSentCount());
+        assertTrue(threadNames.get(0).startsWith("notify-slack"));
+    }
+
+    @Test
+    public void testRetriesUntilSent() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch sent = new CountDownLatch(1);
+        NotificationTargetQueue queue = new NotificationTargetQueue(sender((n, subs) -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("smtp is down");
+            }
+            sent.countDown();
+        }), 10, 1, 3, 10, retryScheduler);
+        queue.submit(notification(1), subscriptions("a@b.c"));
+        assertTrue(sent.await(5, TimeUnit.SECONDS));
+        assertTrue(queue.shutdown(5000));
+        assertEquals(3, attempts.get());
+        assertEquals(2, queue.getRetriedCount());
+        assertEquals(1, queue.getSentCount());
+        assertEquals(0, queue.getFailedCount());
+    }
+
+    @Test
+    public void testGivesUpAfterMaxAttempts() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(2);
+        NotificationTargetQueue queue = new NotificationTargetQueue(sender((n, subs) -> {
+            attempts.incrementAndGet();
+            done.countDown();
+            throw new IllegalStateException("slack is down");
+        }), 10, 1, 2, 10, retryScheduler);
+        queue.submit(notification(1), subscriptions("#openleg"));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(queue.shutdown(5000));
+        assertEquals(2, attempts.get());
+        assertEquals(1, queue.getFailedCount());
+    }
+
+    @Test
+    public void testDropsWhenFull() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationTargetQueue queue = new NotificationTargetQueue(sender((n, subs) -> {
+            sending.countDown();
+            await(release);
+        }), 1, 1, 1, 10, retryScheduler);
+        assertTrue(queue.submit(notification(1), subscriptions("a@b.c")));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        assertTrue(queue.submit(notification(2), subscriptions("a@b.c")));
+        assertFalse(queue.submit(notification(3), subscriptions("a@b.c")));
+        assertEquals(1, queue.getDroppedCount());
+        release.countDown();
+        assertTrue(queue.shutdown(5000));
+        assertEquals(2, queue.getSentCount());
+    }
+
+    @Test
+    public void testGroupSubscriptionsRemovesDuplicateAddresses() {
+        List<NotificationSubscription> subscriptions = Arrays.asList(
+                new NotificationSubscription("a", NotificationType.EXCEPTION, NotificationTarget.EMAIL, "a@b.c"),
+                new NotificationSubscription("b", NotificationType.EXCEPTION, NotificationTarget.EMAIL, "a@b.c"),
+                new NotificationSubscription("c", NotificationType.EXCEPTION, NotificationTarget.EMAIL, "c@b.c"),
+                new NotificationSubscription("a", NotificationType.EXCEPTION, NotificationTarget.SLACK, "a@b.c"));
+        Map<NotificationTarget, Collection<NotificationSubscription>> grouped =
+                NotificationDispatcher.groupSubscriptions(subscriptions);
+        assertEquals(2, grouped.size());
+        assertEquals(2, grouped.get(NotificationTarget.EMAIL).size());
+        assertEquals("a", grouped.get(NotificationTarget.EMAIL).iterator().next().getUserName());
+        assertEquals(1, grouped.get(NotificationTarget.SLACK).size());
+    }
+
+    /** --- Internal --- */
+
+    private interface SendFunction
+    {
+        void send(RegisteredNotification notification, Collection<NotificationSubscription> subscriptions);
+    }
+
+    private static NotificationSender sender(SendFunction sendFunction) {
+        return new NotificationSender() {
+            @Override
+            public NotificationTarget getTargetType() {
+                return NotificationTarget.SLACK;
+            }
+
+            @Override
+            public void sendNotification(RegisteredNotification notification,
+                                         Collection<NotificationSubscription> subscriptions) {
+                sendFunction.send(notification, subscriptions);
+            }
+        };
+    }
+
+    private static RegisteredNotification notification(long id) {
+        return new RegisteredNotification(id, NotificationType.EXCEPTION, LocalDateTime.now(), "summary", "message");
+    }
+
+    private static List<NotificationSubscription> subscriptions(String address) {
+        return Collections.singletonList(
+                new NotificationSubscription("user", NotificationType.EXCEPTION, NotificationTarget.SLACK, address));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package gov.nysenate.openleg.service.pdf;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class PdfFileStoreTest
+{
+    @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final AtomicInteger renderCount = new AtomicInteger();
+
+    private PdfRenderer renderer(int size) {
+        return out -> {
+            renderCount.incrementAndGet();
+            out.write(new byte[size]);
+        };
+    }
+
+    @Test
+    public void testRendersOncePerFingerprint() throws Exception {
+        PdfFileStore store = new PdfFileStore(tempFolder.getRoot().toPath(), 1000);
+        Path first = store.getPdf("bill", "S1-2017", "text v1", renderer(10));
+        Path second = store.getPdf("bill", "S1-2017", "text v1", renderer(10));
+        assertEquals(first, second);
+        assertEquals(1, renderCount.get());
+        assertEquals(10, Files.size(first));
+
+        Path changed = store.getPdf("bill", "S1-2017", "text v2", renderer(20));
+        assertNotEquals(first, changed);
+        assertEquals(2, renderCount.get());
+        assertEquals(30, store.getTotalBytes());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws Exception {
+        PdfFileStore store = new PdfFileStore(tempFolder.getRoot().toPath(), 25, 0);
+        Path s1 = store.getPdf("bill", "S1-2017", "s1", renderer(10));
+        Path s2 = store.getPdf("bill", "S2-2017", "s2", renderer(10));
+        store.getPdf("bill", "S1-2017", "s1", renderer(10));
+        Path s3 = store.getPdf("bill", "S3-2017", "s3", renderer(10));
+
+        assertEquals(2, store.getFileCount());
+        assertEquals(20, store.getTotalBytes());
+        assertTrue(Files.exists(s1));
+        assertFalse(Files.exists(s2));
+        assertTrue(Files.exists(s3));
+    }
+
+    @Test
+    public void testEvictContentAndReload() throws Exception {
+        Path baseDir = tempFolder.getRoot().toPath();
+        PdfFileStore store = new PdfFileStore(baseDir, 1000, 0);
+        Path v1 = store.getPdf("transcript", "../010515.v1", "v1", renderer(10));
+        Path v2 = store.getPdf("transcript", "../010515.v1", "v2", renderer(10));
+        Path other = store.getPdf("transcript", "010615.v1", "v1", renderer(10));
+        assertTrue(v1.startsWith(baseDir.resolve("transcript")));
+
+        store.evictContent("transcript", "../010515.v1");
+        assertFalse(Files.exists(v1));
+        assertFalse(Files.exists(v2));
+        assertTrue(Files.exists(other));
+        Files.write(other.resolveSibling("render123.tmp"), new byte[5]);
+
+        PdfFileStore reloaded = new PdfFileStore(baseDir, 1000);
+        reloaded.load();
+        assertEquals(1, reloaded.getFileCount());
+        assertEquals(10, reloaded.getTotalBytes());
+        assertFalse(Files.exists(other.resolveSibling("render123.tmp")));
+        assertEquals(other, reloaded.getPdf("transcript", "010615.v1", "v1", renderer(10)));
+        assertEquals(3, renderCount.get());
+    }
+
+    @Test
+    public void testEvictedFilesDeletedAfterDelay() throws Exception {
+        PdfFileStore store = new PdfFileStore(tempFolder.getRoot().toPath(), 1000, 200);
+        Path s1 = store.getPdf("bill", "S1-2017", "s1", renderer(10));
+        Path s2 = store.getPdf("bill", "S2-2017", "s2", renderer(10));
+        store.evictContent("bill", "S1-2017");
+        store.evictContent("bill", "S2-2017");
+        // Evicted files can still be opened by whoever got their path before the eviction
+        assertEquals(0, store.getFileCount());
+        assertTrue(Files.exists(s1));
+        assertTrue(Files.exists(s2));
+
+        // Storing an evicted pdf again keeps it from being deleted
+        assertEquals(s2, store.getPdf("bill", "S2-2017", "s2", renderer(10)));
+        Thread.sleep(300);
+        store.getPdf("bill", "S3-2017", "s3", renderer(10));
+        assertFalse(Files.exists(s1));
+        assertTrue(Files.exists(s2));
+        assertEquals(2, store.getFileCount());
+    }
+
+    @Test
+    public void testDeleteEvictedPdfsWithoutRendering() throws Exception {
+        PdfFileStore store = new PdfFileStore(tempFolder.getRoot().toPath(), 1000, 100);
+        Path s1 = store.getPdf("bill", "S1-2017", "s1", renderer(10));
+        store.evictContent("bill", "S1-2017");
+        store.deleteEvictedPdfs();
+        assertTrue(Files.exists(s1));
+
+        Thread.sleep(200);
+        store.deleteEvictedPdfs();
+        assertFalse(Files.exists(s1));
+    }
+}
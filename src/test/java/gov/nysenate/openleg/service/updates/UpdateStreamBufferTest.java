@@ -0,0 +1,98 @@
+package gov.nysenate.openleg.service.updates;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.client.view.bill.BaseBillIdView;
+import gov.nysenate.openleg.client.view.updates.UpdateStreamReplayView;
+import gov.nysenate.openleg.client.view.updates.UpdateStreamTokenView;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.updates.UpdateStreamTopic;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class UpdateStreamBufferTest
+{
+    private static final Set<UpdateStreamTopic> ALL_TOPICS = EnumSet.allOf(UpdateStreamTopic.class);
+
+    @Test
+    public void testPositionsIncrease() {
+        UpdateStreamBuffer buffer = new UpdateStreamBuffer("s1", 10);
+        assertEquals(1, append(buffer, UpdateStreamTopic.BILL, "S1").getPosition());
+        assertEquals(2, append(buffer, UpdateStreamTopic.AGENDA, "S2").getPosition());
+        assertEquals(2, buffer.getLastPosition());
+    }
+
+    @Test
+    public void testReplayAfterPosition() {
+        UpdateStreamBuffer buffer = new UpdateStreamBuffer("s1", 10);
+        for (int i = 1; i <= 5; i++) {
+            append(buffer, UpdateStreamTopic.BILL, "S" + i);
+        }
+        UpdateStreamReplayView replay = buffer.replay("s1", 3, ALL_TOPICS);
+        assertTrue(replay.isComplete());
+        assertEquals(5, replay.getPosition());
+        assertEquals("[4, 5]", positions(replay));
+
+        UpdateStreamReplayView upToDate = buffer.replay("s1", 5, ALL_TOPICS);
+        assertTrue(upToDate.isComplete());
+        assertTrue(upToDate.getTokens().isEmpty());
+    }
+
+    @Test
+    public void testReplayFiltersTopics() {
+        UpdateStreamBuffer buffer = new UpdateStreamBuffer("s1", 10);
+        append(buffer, UpdateStreamTopic.BILL, "S1");
+        append(buffer, UpdateStreamTopic.CALENDAR, "S2");
+        append(buffer, UpdateStreamTopic.BILL, "S3");
+        UpdateStreamReplayView replay = buffer.replay("s1", 0, EnumSet.of(UpdateStreamTopic.BILL));
+        assertTrue(replay.isComplete());
+        assertEquals("[1, 3]", positions(replay));
+    }
+
+    @Test
+    public void testReplayIncompleteWhenTokensDiscarded() {
+        UpdateStreamBuffer buffer = new UpdateStreamBuffer("s1", 3);
+        for (int i = 1; i <= 6; i++) {
+            append(buffer, UpdateStreamTopic.BILL, "S" + i);
+        }
+        // Tokens 4 - 6 are still buffered, so a client that has seen 3 can resume but one that has seen 2 can't
+        assertTrue(buffer.replay("s1", 3, ALL_TOPICS).isComplete());
+        UpdateStreamReplayView replay = buffer.replay("s1", 2, ALL_TOPICS);
+        assertFalse(replay.isComplete());
+        assertEquals("[4, 5, 6]", positions(replay));
+    }
+
+    @Test
+    public void testReplayIncompleteForOtherStream() {
+        UpdateStreamBuffer buffer = new UpdateStreamBuffer("s2", 10);
+        append(buffer, UpdateStreamTopic.BILL, "S1");
+        append(buffer, UpdateStreamTopic.BILL, "S2");
+        UpdateStreamReplayView replay = buffer.replay("s1", 1, ALL_TOPICS);
+        assertFalse(replay.isComplete());
+        assertEquals("s2", replay.getStreamId());
+        assertEquals("[1, 2]", positions(replay));
+        assertFalse(buffer.replay("s2", 7, ALL_TOPICS).isComplete());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new UpdateStreamBuffer("s1", 0);
+    }
+
+    /** --- Internal --- */
+
+    private static UpdateStreamTokenView append(UpdateStreamBuffer buffer, UpdateStreamTopic topic, String printNo) {
+        return buffer.append(topic, new BaseBillIdView(new BaseBillId(printNo, 2017)), LocalDateTime.now());
+    }
+
+    private static String positions(UpdateStreamReplayView replay) {
+        return replay.getTokens().stream().map(UpdateStreamTokenView::getPosition).collect(Collectors.toList()).toString();
+    }
+}
@@ -0,0 +1,82 @@
+package gov.nysenate.openleg.service.updates;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.util.OutputUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.AbstractMessageChannel;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class UpdateStreamServiceTest
+{
+    @Test
+    public void testConcurrentPublishersSendInPositionOrder() throws Exception {
+        List<Long> sentPositions = Collections.synchronizedList(new ArrayList<>());
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate(new AbstractMessageChannel() {
+            @Override
+            protected boolean sendInternal(Message<?> message, long timeout) {
+                // A slow send gives the other publisher a chance to overtake
+                Thread.yield();
+                sentPositions.add(((JsonNode) message.getPayload()).get("position").asLong());
+                return true;
+            }
+        });
+        UpdateStreamService service = new UpdateStreamService();
+        ReflectionTestUtils.setField(service, "messagingTemplate", messagingTemplate);
+        ReflectionTestUtils.setField(service, "objectMapper", OutputUtils.getJsonMapper());
+        ReflectionTestUtils.setField(service, "enabled", false);
+        ReflectionTestUtils.setField(service, "replaySize", 10000);
+        service.init();
+
+        int publishers = 2, events = 50, billsPerEvent = 10;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < publishers; p++) {
+            String prefix = "S" + (p + 1);
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int e = 0; e < events; e++) {
+                    int event = e;
+                    List<Bill> bills = IntStream.range(0, billsPerEvent)
+                            .mapToObj(b -> new Bill(new BaseBillId(prefix + (100 + event) + b, 2017)))
+                            .collect(Collectors.toList());
+                    service.handleBulkBillUpdate(new BulkBillUpdateEvent(bills, LocalDateTime.now()));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(10000);
+        }
+
+        int total = publishers * events * billsPerEvent;
+        assertEquals(total, sentPositions.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(i + 1, (long) sentPositions.get(i));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.agenda.AgendaId;
+import gov.nysenate.openleg.model.agenda.CommitteeAgendaId;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.*;
+import gov.nysenate.openleg.model.calendar.CalendarId;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.CommitteeId;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CompressionUtilsTest
+{
+    @Test
+    public void testBillRoundTrip() throws Exception {
+        BaseBillId baseBillId = new BaseBillId("S1234", 2015);
+        Bill bill = new Bill(baseBillId);
+        bill.setTitle("An act to amend the public health law");
+        bill.setModifiedDateTime(LocalDateTime.of(2015, 3, 2, 10, 15));
+        bill.setStatus(new BillStatus(BillStatusType.IN_SENATE_COMM, LocalDate.of(2015, 3, 1)));
+        bill.addAmendment(new BillAmendment(baseBillId, Version.DEFAULT));
+        bill.addAction(new BillAction(LocalDate.of(2015, 3, 1), "REFERRED TO HEALTH", Chamber.SENATE, 1,
+                                      baseBillId.withVersion(Version.DEFAULT)));
+        bill.setCommitteeAgendas(Collections.singletonList(
+            new CommitteeAgendaId(new AgendaId(1, 2015), new CommitteeId(Chamber.SENATE, "Health"))));
+        bill.setCalendars(Collections.singletonList(new CalendarId(1, 2015)));
+
+        byte[] bytes = CompressionUtils.serializeCompressed(bill);
+        Bill copy = CompressionUtils.deserializeCompressed(bytes, Bill.class);
+        assertNotSame(bill, copy);
+        assertEquals(bill, copy);
+        assertEquals(SessionYear.of(2015), copy.getSession());
+        assertEquals(bill.getModifiedDateTime(), copy.getModifiedDateTime());
+        assertEquals(bill.getActions(), copy.getActions());
+        assertEquals(bill.getCommitteeAgendas(), copy.getCommitteeAgendas());
+
+        BillInfo billInfo = CompressionUtils.deserializeCompressed(
+            CompressionUtils.serializeCompressed(new BillInfo(bill)), BillInfo.class);
+        assertEquals(bill.getTitle(), billInfo.getTitle());
+        assertEquals(bill.getStatus(), billInfo.getStatus());
+        assertEquals(bill.getActions(), billInfo.getActions());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeserializeWrongType() throws Exception {
+        CompressionUtils.deserializeCompressed(CompressionUtils.serializeCompressed("text"), Bill.class);
+    }
+
+    @Test
+    public void testStringRoundTrip() throws Exception {
+        String text = StringUtils.repeat("Section 1. The public health law is amended to read as follows: \u00a7 ", 200);
+        byte[] bytes = CompressionUtils.compressString(text);
+        assertTrue(bytes.length < text.length() / 10);
+        assertEquals(text, CompressionUtils.decompressString(bytes));
+        assertEquals("", CompressionUtils.decompressString(CompressionUtils.compressString("")));
+        assertNull(CompressionUtils.compressString(null));
+        assertNull(CompressionUtils.decompressString(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecompressInvalidBytes() throws Exception {
+        CompressionUtils.decompressString("not deflated".getBytes(StandardCharsets.UTF_8));
+    }
+}